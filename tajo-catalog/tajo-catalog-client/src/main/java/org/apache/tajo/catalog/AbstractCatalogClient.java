@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.annotation.Nullable;
 import org.apache.tajo.catalog.CatalogProtocol.CatalogProtocolService;
 import org.apache.tajo.catalog.exception.NoSuchFunctionException;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos.*;
 import org.apache.tajo.common.TajoDataTypes.DataType;
@@ -51,12 +52,22 @@ public abstract class AbstractCatalogClient implements CatalogService {
   protected InetSocketAddress catalogServerAddr;
   protected TajoConf conf;
 
+  // It is null if the cache is disabled.
+  private final CatalogCache cache;
+
   abstract CatalogProtocolService.BlockingInterface getStub(NettyClientBase client);
 
   public AbstractCatalogClient(TajoConf conf, InetSocketAddress catalogServerAddr) {
     this.pool = RpcConnectionPool.getPool(conf);
     this.catalogServerAddr = catalogServerAddr;
     this.conf = conf;
+
+    int cacheSize = conf.getIntVar(TajoConf.ConfVars.CATALOG_CLIENT_CACHE_MAX_ENTRIES);
+    if (cacheSize > 0) {
+      cache = new CatalogCache(cacheSize, conf.getIntVar(TajoConf.ConfVars.CATALOG_CLIENT_CACHE_VERSION_CHECK_INTERVAL));
+    } else {
+      cache = null;
+    }
   }
 
   private InetSocketAddress getCatalogServerAddr() {
@@ -75,6 +86,35 @@ public abstract class AbstractCatalogClient implements CatalogService {
     }
   }
 
+  /**
+   * Validates the cache against the catalog version of the server if necessary.
+   *
+   * @return The catalog version of the cached entries
+   */
+  private long validateCache() {
+    if (cache.needVersionCheck()) {
+      try {
+        long version = new ServerCallable<Long>(pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+          public Long call(NettyClientBase client) throws ServiceException {
+            CatalogProtocolService.BlockingInterface stub = getStub(client);
+            return stub.getCatalogVersion(null, ProtoUtil.NULL_PROTO).getValue();
+          }
+        }.withRetries();
+        cache.updateVersion(version);
+      } catch (ServiceException e) {
+        LOG.warn("Failed to get the catalog version: " + e.getMessage());
+        cache.invalidate();
+      }
+    }
+    return cache.getVersion();
+  }
+
+  private void invalidateCache() {
+    if (cache != null) {
+      cache.invalidate();
+    }
+  }
+
   @Override
   public final Boolean createTablespace(final String tablespaceName, final String tablespaceUri) {
     try {
@@ -203,6 +243,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return Boolean.FALSE;
+    } finally {
+      invalidateCache();
     }
   }
 
@@ -237,19 +279,75 @@ public abstract class AbstractCatalogClient implements CatalogService {
     }
   }
 
+  /**
+   * Builds a lookup of a cached object. The catalog version is given only if the object is cached, so that
+   * the server returns the object only if the cached one may be stale.
+   */
+  private static GetCachedObjectRequest buildCachedObjectRequest(String databaseName, String tableName,
+                                                                 long version, boolean cached) {
+    GetCachedObjectRequest.Builder builder = GetCachedObjectRequest.newBuilder();
+    builder.setTableIdentifier(CatalogUtil.buildTableIdentifier(databaseName, tableName));
+    if (cached) {
+      builder.setCatalogVersion(version);
+    }
+    return builder.build();
+  }
+
   @Override
   public final TableDesc getTableDesc(final String databaseName, final String tableName) {
+    if (cache != null) {
+      return getCachedTableDesc(databaseName, tableName);
+    }
+
     try {
-      return new ServerCallable<TableDesc>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
-        public TableDesc call(NettyClientBase client) throws ServiceException {
+      TableDescProto proto = new ServerCallable<TableDescProto>(this.pool, getCatalogServerAddr(), CatalogProtocol.class,
+          false) {
+        public TableDescProto call(NettyClientBase client) throws ServiceException {
           TableIdentifierProto.Builder builder = TableIdentifierProto.newBuilder();
           builder.setDatabaseName(databaseName);
           builder.setTableName(tableName);
 
           CatalogProtocolService.BlockingInterface stub = getStub(client);
-          return CatalogUtil.newTableDesc(stub.getTableDesc(null, builder.build()));
+          return stub.getTableDesc(null, builder.build());
+        }
+      }.withRetries();
+
+      return CatalogUtil.newTableDesc(proto);
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Looks up a table through the cache. The cached table is validated and, if stale, fetched in a single call,
+   * whose response carries the catalog version.
+   */
+  private TableDesc getCachedTableDesc(final String databaseName, final String tableName) {
+    final long version = cache.getVersion();
+    final TableDescProto cached = cache.getTable(databaseName, tableName);
+    if (cached != null && !cache.needVersionCheck()) {
+      return CatalogUtil.newTableDesc(cached);
+    }
+
+    try {
+      GetTableDescResponse response = new ServerCallable<GetTableDescResponse>(this.pool, getCatalogServerAddr(),
+          CatalogProtocol.class, false) {
+        public GetTableDescResponse call(NettyClientBase client) throws ServiceException {
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          return stub.getCachedTableDesc(null,
+              buildCachedObjectRequest(databaseName, tableName, version, cached != null));
         }
       }.withRetries();
+
+      cache.updateVersion(response.getCatalogVersion());
+      if (response.hasTable()) {
+        cache.putTable(databaseName, tableName, response.getTable(), response.getCatalogVersion());
+        return CatalogUtil.newTableDesc(response.getTable());
+      } else {
+        // the cached table is still valid at the current version.
+        return CatalogUtil.newTableDesc(cached);
+      }
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return null;
@@ -264,18 +362,59 @@ public abstract class AbstractCatalogClient implements CatalogService {
 
   @Override
   public final PartitionMethodDesc getPartitionMethod(final String databaseName, final String tableName) {
+    if (cache != null) {
+      return getCachedPartitionMethod(databaseName, tableName);
+    }
+
     try {
-      return new ServerCallable<PartitionMethodDesc>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
-        public PartitionMethodDesc call(NettyClientBase client) throws ServiceException {
+      PartitionMethodProto proto = new ServerCallable<PartitionMethodProto>(this.pool, getCatalogServerAddr(),
+          CatalogProtocol.class, false) {
+        public PartitionMethodProto call(NettyClientBase client) throws ServiceException {
 
           TableIdentifierProto.Builder builder = TableIdentifierProto.newBuilder();
           builder.setDatabaseName(databaseName);
           builder.setTableName(tableName);
 
           CatalogProtocolService.BlockingInterface stub = getStub(client);
-          return CatalogUtil.newPartitionMethodDesc(stub.getPartitionMethodByTableName(null,  builder.build()));
+          return stub.getPartitionMethodByTableName(null,  builder.build());
         }
       }.withRetries();
+
+      return CatalogUtil.newPartitionMethodDesc(proto);
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Looks up a partition method through the cache in the same way as {@link #getCachedTableDesc(String, String)}.
+   */
+  private PartitionMethodDesc getCachedPartitionMethod(final String databaseName, final String tableName) {
+    final long version = cache.getVersion();
+    final PartitionMethodProto cached = cache.getPartitionMethod(databaseName, tableName);
+    if (cached != null && !cache.needVersionCheck()) {
+      return CatalogUtil.newPartitionMethodDesc(cached);
+    }
+
+    try {
+      GetPartitionMethodResponse response = new ServerCallable<GetPartitionMethodResponse>(this.pool,
+          getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public GetPartitionMethodResponse call(NettyClientBase client) throws ServiceException {
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          return stub.getCachedPartitionMethod(null,
+              buildCachedObjectRequest(databaseName, tableName, version, cached != null));
+        }
+      }.withRetries();
+
+      cache.updateVersion(response.getCatalogVersion());
+      if (response.hasPartitionMethod()) {
+        cache.putPartitionMethod(databaseName, tableName, response.getPartitionMethod(),
+            response.getCatalogVersion());
+        return CatalogUtil.newPartitionMethodDesc(response.getPartitionMethod());
+      } else {
+        return CatalogUtil.newPartitionMethodDesc(cached);
+      }
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return null;
@@ -303,40 +442,44 @@ public abstract class AbstractCatalogClient implements CatalogService {
   }
 
   @Override
-  public final Collection<String> getAllTableNames(final String databaseName) {
+  public final boolean addPartitions(final String databaseName, final String tableName,
+                                     final Collection<PartitionDesc> partitions) {
     try {
-      return new ServerCallable<Collection<String>>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
-        public Collection<String> call(NettyClientBase client) throws ServiceException {
+      return new ServerCallable<Boolean>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public Boolean call(NettyClientBase client) throws ServiceException {
+
+          PartitionsProto.Builder builder = PartitionsProto.newBuilder();
+          builder.setTableIdentifier(CatalogUtil.buildTableIdentifier(databaseName, tableName));
+          for (PartitionDesc partition : partitions) {
+            builder.addPartition(partition.getProto());
+          }
+
           CatalogProtocolService.BlockingInterface stub = getStub(client);
-          PrimitiveProtos.StringListProto response = stub.getAllTableNames(null, ProtoUtil.convertString(databaseName));
-          return ProtoUtil.convertStrings(response);
+          return stub.addPartitions(null, builder.build()).getValue();
         }
       }.withRetries();
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
-      return null;
+      return false;
     }
   }
 
   @Override
-  public final Collection<FunctionDesc> getFunctions() {
+  public final List<PartitionDesc> getPartitions(final String databaseName, final String tableName) {
     try {
-      return new ServerCallable<Collection<FunctionDesc>>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
-        public Collection<FunctionDesc> call(NettyClientBase client) throws ServiceException {
-          List<FunctionDesc> list = new ArrayList<FunctionDesc>();
-          GetFunctionsResponse response;
+      return new ServerCallable<List<PartitionDesc>>(this.pool, getCatalogServerAddr(), CatalogProtocol.class,
+          false) {
+        public List<PartitionDesc> call(NettyClientBase client) throws ServiceException {
+
           CatalogProtocolService.BlockingInterface stub = getStub(client);
-          response = stub.getFunctions(null, NullProto.newBuilder().build());
-          int size = response.getFunctionDescCount();
-          for (int i = 0; i < size; i++) {
-            try {
-              list.add(new FunctionDesc(response.getFunctionDesc(i)));
-            } catch (ClassNotFoundException e) {
-              LOG.error(e);
-              return null;
-            }
+          PartitionsProto response = stub.getPartitionsByTableName(null,
+              ProtoUtil.convertString(CatalogUtil.buildFQName(databaseName, tableName)));
+
+          List<PartitionDesc> partitions = new ArrayList<PartitionDesc>(response.getPartitionCount());
+          for (PartitionDescProto proto : response.getPartitionList()) {
+            partitions.add(new PartitionDesc(proto));
           }
-          return list;
+          return partitions;
         }
       }.withRetries();
     } catch (ServiceException e) {
@@ -345,6 +488,60 @@ public abstract class AbstractCatalogClient implements CatalogService {
     }
   }
 
+  @Override
+  public final Collection<String> getAllTableNames(final String databaseName) {
+    try {
+      return new ServerCallable<Collection<String>>(this.pool, getCatalogServerAddr(), CatalogProtocol.class, false) {
+        public Collection<String> call(NettyClientBase client) throws ServiceException {
+          CatalogProtocolService.BlockingInterface stub = getStub(client);
+          PrimitiveProtos.StringListProto response = stub.getAllTableNames(null, ProtoUtil.convertString(databaseName));
+          return ProtoUtil.convertStrings(response);
+        }
+      }.withRetries();
+    } catch (ServiceException e) {
+      LOG.error(e.getMessage(), e);
+      return null;
+    }
+  }
+
+  @Override
+  public final Collection<FunctionDesc> getFunctions() {
+    GetFunctionsResponse response = cache != null && validateCache() >= 0 ? cache.getFunctions() : null;
+
+    if (response == null) {
+      try {
+        response = new ServerCallable<GetFunctionsResponse>(this.pool, getCatalogServerAddr(), CatalogProtocol.class,
+            false) {
+          public GetFunctionsResponse call(NettyClientBase client) throws ServiceException {
+            CatalogProtocolService.BlockingInterface stub = getStub(client);
+            return stub.getFunctions(null, NullProto.newBuilder().build());
+          }
+        }.withRetries();
+      } catch (ServiceException e) {
+        LOG.error(e.getMessage(), e);
+        return null;
+      }
+
+      // the response carries the catalog version at which the functions were taken.
+      if (cache != null && response.hasCatalogVersion()) {
+        cache.updateVersion(response.getCatalogVersion());
+        cache.putFunctions(response, response.getCatalogVersion());
+      }
+    }
+
+    List<FunctionDesc> list = new ArrayList<FunctionDesc>();
+    int size = response.getFunctionDescCount();
+    for (int i = 0; i < size; i++) {
+      try {
+        list.add(new FunctionDesc(response.getFunctionDesc(i)));
+      } catch (ClassNotFoundException e) {
+        LOG.error(e);
+        return null;
+      }
+    }
+    return list;
+  }
+
   @Override
   public final boolean createTable(final TableDesc desc) {
     try {
@@ -357,6 +554,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateCache();
     }
   }
 
@@ -381,6 +580,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateCache();
     }
   }
 
@@ -542,6 +743,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateCache();
     }
   }
 
@@ -560,6 +763,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateCache();
     }
   }
 
@@ -655,6 +860,8 @@ public abstract class AbstractCatalogClient implements CatalogService {
     } catch (ServiceException e) {
       LOG.error(e.getMessage(), e);
       return false;
+    } finally {
+      invalidateCache();
     }
   }
 
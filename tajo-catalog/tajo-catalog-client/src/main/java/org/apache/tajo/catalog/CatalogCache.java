@@ -0,0 +1,133 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.catalog;
+
+import org.apache.tajo.catalog.proto.CatalogProtos.GetFunctionsResponse;
+import org.apache.tajo.catalog.proto.CatalogProtos.PartitionMethodProto;
+import org.apache.tajo.catalog.proto.CatalogProtos.TableDescProto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of catalog objects for a catalog client. Every entry is tagged with the catalog version at which
+ * it was fetched, and all entries are dropped once a different version is observed. It keeps protobuf messages,
+ * which are immutable, so each lookup can build a new descriptor which the caller is free to modify.
+ */
+class CatalogCache {
+  private static final long UNKNOWN_VERSION = -1;
+
+  private final long versionCheckInterval;
+  private final Map<String, TableDescProto> tables;
+  private final Map<String, PartitionMethodProto> partitionMethods;
+  private GetFunctionsResponse functions;
+
+  private long version = UNKNOWN_VERSION;
+  private long lastVersionCheckTime;
+
+  CatalogCache(final int maxEntries, long versionCheckInterval) {
+    this.versionCheckInterval = versionCheckInterval;
+    this.tables = new LinkedHashMap<String, TableDescProto>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, TableDescProto> eldest) {
+        return size() > maxEntries;
+      }
+    };
+    this.partitionMethods = new LinkedHashMap<String, PartitionMethodProto>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PartitionMethodProto> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * @return True if the cached entries should be validated against the catalog version of the server.
+   */
+  synchronized boolean needVersionCheck() {
+    return version == UNKNOWN_VERSION || System.currentTimeMillis() - lastVersionCheckTime >= versionCheckInterval;
+  }
+
+  /**
+   * Updates the version observed from the server. All entries are dropped if it is different from the cached one.
+   */
+  synchronized void updateVersion(long newVersion) {
+    if (newVersion != version) {
+      clear();
+      version = newVersion;
+    }
+    lastVersionCheckTime = System.currentTimeMillis();
+  }
+
+  synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Drops all entries. It is called after this client changes the catalog.
+   */
+  synchronized void invalidate() {
+    clear();
+    version = UNKNOWN_VERSION;
+  }
+
+  private void clear() {
+    tables.clear();
+    partitionMethods.clear();
+    functions = null;
+  }
+
+  synchronized TableDescProto getTable(String databaseName, String tableName) {
+    return tables.get(CatalogUtil.buildFQName(databaseName, tableName));
+  }
+
+  synchronized void putTable(String databaseName, String tableName, TableDescProto table, long fetchedVersion) {
+    if (isCurrent(fetchedVersion)) {
+      tables.put(CatalogUtil.buildFQName(databaseName, tableName), table);
+    }
+  }
+
+  synchronized PartitionMethodProto getPartitionMethod(String databaseName, String tableName) {
+    return partitionMethods.get(CatalogUtil.buildFQName(databaseName, tableName));
+  }
+
+  synchronized void putPartitionMethod(String databaseName, String tableName, PartitionMethodProto partitionMethod,
+                                       long fetchedVersion) {
+    if (isCurrent(fetchedVersion)) {
+      partitionMethods.put(CatalogUtil.buildFQName(databaseName, tableName), partitionMethod);
+    }
+  }
+
+  synchronized GetFunctionsResponse getFunctions() {
+    return functions;
+  }
+
+  synchronized void putFunctions(GetFunctionsResponse functions, long fetchedVersion) {
+    if (isCurrent(fetchedVersion)) {
+      this.functions = functions;
+    }
+  }
+
+  /**
+   * An entry fetched at an old version may be stale, so it is not cached.
+   */
+  private boolean isCurrent(long fetchedVersion) {
+    return fetchedVersion != UNKNOWN_VERSION && fetchedVersion == version;
+  }
+}
@@ -18,11 +18,13 @@
 
 package org.apache.tajo.catalog;
 
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.common.TajoDataTypes.DataType;
 
 import java.util.Collection;
+import java.util.List;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.AlterTablespaceProto;
 import static org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
@@ -151,6 +153,19 @@ public interface CatalogService {
 
   boolean existPartitionMethod(String databaseName, String tableName);
 
+  /**
+   * Registers partitions of a column-partitioned table. A partition with the same name as an
+   * existing one replaces it.
+   *
+   * @return True if all partitions are registered successfully. Otherwise, it will return FALSE.
+   */
+  boolean addPartitions(String databaseName, String tableName, Collection<PartitionDesc> partitions);
+
+  /**
+   * @return All partitions registered for the table, or NULL if the catalog cannot provide them.
+   */
+  List<PartitionDesc> getPartitions(String databaseName, String tableName);
+
   boolean createIndex(IndexDesc index);
 
   boolean existIndexByName(String databaseName, String indexName);
@@ -22,6 +22,7 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.annotations.Expose;
 import org.apache.tajo.catalog.json.CatalogGsonHelper;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.common.ProtoObject;
 import org.apache.tajo.json.GsonObject;
 
@@ -41,6 +42,8 @@ public class AlterTableDesc implements ProtoObject<AlterTableDescProto>, GsonObj
   protected String newColumnName; //optional
   @Expose
   protected Column addColumn = null; //optiona
+  @Expose
+  protected TableStats stats = null; //optional
 
   public AlterTableDesc() {
   }
@@ -86,6 +89,14 @@ public class AlterTableDesc implements ProtoObject<AlterTableDescProto>, GsonObj
     this.addColumn = addColumn;
   }
 
+  public TableStats getStats() {
+    return stats;
+  }
+
+  public void setStats(TableStats stats) {
+    this.stats = stats;
+  }
+
   public AlterTableType getAlterTableType() {
     return alterTableType;
   }
@@ -109,6 +120,7 @@ public class AlterTableDesc implements ProtoObject<AlterTableDescProto>, GsonObj
     newAlter.newTableName = newTableName;
     newAlter.columnName = newColumnName;
     newAlter.addColumn = addColumn;
+    newAlter.stats = stats;
     return newAlter;
   }
 
@@ -136,6 +148,9 @@ public class AlterTableDesc implements ProtoObject<AlterTableDescProto>, GsonObj
     if (null != this.addColumn) {
       builder.setAddColumn(addColumn.getProto());
     }
+    if (null != this.stats) {
+      builder.setStats(stats.getProto());
+    }
 
     switch (alterTableType) {
       case RENAME_TABLE:
@@ -147,6 +162,9 @@ public class AlterTableDesc implements ProtoObject<AlterTableDescProto>, GsonObj
       case ADD_COLUMN:
         builder.setAlterTableType(CatalogProtos.AlterTableType.ADD_COLUMN);
         break;
+      case UPDATE_STATS:
+        builder.setAlterTableType(CatalogProtos.AlterTableType.UPDATE_STATS);
+        break;
       default:
     }
     return builder.build();
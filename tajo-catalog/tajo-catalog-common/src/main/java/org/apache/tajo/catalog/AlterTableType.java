@@ -18,5 +18,5 @@
 package org.apache.tajo.catalog;
 
 public enum AlterTableType {
-    RENAME_TABLE, RENAME_COLUMN, ADD_COLUMN
+    RENAME_TABLE, RENAME_COLUMN, ADD_COLUMN, UPDATE_STATS
 }
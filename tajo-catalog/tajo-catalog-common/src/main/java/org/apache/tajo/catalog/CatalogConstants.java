@@ -53,4 +53,10 @@ public class CatalogConstants {
   public static final String COL_DATABASES_PK = "DB_ID";
   public static final String COL_TABLES_PK = "TID";
   public static final String COL_TABLES_NAME = "TABLE_NAME";
+
+  /**
+   * A table option which means that the catalog has all partitions of a column-partitioned table,
+   * so that the partitions can be found without listing the table directory.
+   */
+  public static final String PARTITIONS_REGISTERED = "catalog.partitions.registered";
 }
@@ -33,6 +33,8 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
   @Expose protected int ordinalPosition;                       // required
   @Expose protected String partitionValue;                     // optional
   @Expose protected String path;                               // optional
+  @Expose protected long numBytes = -1;                        // optional
+  @Expose protected long numRows = -1;                         // optional
 
   private CatalogProtos.PartitionDescProto.Builder builder = CatalogProtos.PartitionDescProto.newBuilder();
 
@@ -44,6 +46,8 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
     this.ordinalPosition = partition.ordinalPosition;
     this.partitionValue = partition.partitionValue;
     this.path = partition.path;
+    this.numBytes = partition.numBytes;
+    this.numRows = partition.numRows;
   }
 
   public PartitionDesc(CatalogProtos.PartitionDescProto proto) {
@@ -57,6 +61,12 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
     if(proto.hasPath()) {
       this.path = proto.getPath();
     }
+    if (proto.hasNumBytes()) {
+      this.numBytes = proto.getNumBytes();
+    }
+    if (proto.hasNumRows()) {
+      this.numRows = proto.getNumRows();
+    }
   }
 
   public void setName(String partitionName) {
@@ -88,6 +98,28 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
     return path;
   }
 
+  /**
+   * @return The number of bytes of the partition, or -1 if it is unknown
+   */
+  public long getNumBytes() {
+    return numBytes;
+  }
+
+  public void setNumBytes(long numBytes) {
+    this.numBytes = numBytes;
+  }
+
+  /**
+   * @return The number of rows of the partition, or -1 if it is unknown
+   */
+  public long getNumRows() {
+    return numRows;
+  }
+
+  public void setNumRows(long numRows) {
+    this.numRows = numRows;
+  }
+
   public int hashCode() {
     return Objects.hashCode(partitionName, ordinalPosition, partitionValue, path);
   }
@@ -130,6 +162,14 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
       builder.setPath(this.path);
     }
 
+    if (this.numBytes >= 0) {
+      builder.setNumBytes(this.numBytes);
+    }
+
+    if (this.numRows >= 0) {
+      builder.setNumRows(this.numRows);
+    }
+
     return builder.build();
   }
 
@@ -154,6 +194,8 @@ public class PartitionDesc implements ProtoObject<CatalogProtos.PartitionDescPro
     desc.ordinalPosition = ordinalPosition;
     desc.partitionValue = partitionValue;
     desc.path = path;
+    desc.numBytes = numBytes;
+    desc.numRows = numRows;
 
     return desc;
   }
@@ -614,6 +614,9 @@ public class HCatalogStore extends CatalogConstants implements CatalogStore {
         }
         addNewColumn(databaseName, tableName, alterTableDescProto.getAddColumn());
         break;
+      case UPDATE_STATS:
+        // the volume of a Hive table is computed from its directory whenever the table is read.
+        break;
       default:
         //TODO
     }
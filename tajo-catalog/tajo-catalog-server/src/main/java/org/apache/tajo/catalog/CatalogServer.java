@@ -39,6 +39,7 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.rpc.BlockingRpcServer;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.BoolProto;
+import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.LongProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.NullProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.StringProto;
 import org.apache.tajo.util.NetUtils;
@@ -51,6 +52,7 @@ import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -78,6 +80,10 @@ public class CatalogServer extends AbstractService {
   private Map<String, List<FunctionDescProto>> functions = new ConcurrentHashMap<String,
       List<FunctionDescProto>>();
 
+  // It is increased whenever tables or functions are changed, so that clients can invalidate their caches.
+  // It starts from the current time in order not to be reused after restart.
+  private final AtomicLong catalogVersion = new AtomicLong(System.currentTimeMillis());
+
   // RPC variables
   private BlockingRpcServer rpcServer;
   private InetSocketAddress bindAddress;
@@ -110,6 +116,11 @@ public class CatalogServer extends AbstractService {
   public void reloadBuiltinFunctions(List<FunctionDesc> builtingFuncs) throws ServiceException {
     this.builtingFuncs = builtingFuncs;
     initBuiltinFunctions(builtingFuncs);
+    catalogVersion.incrementAndGet();
+  }
+
+  public long getCatalogVersion() {
+    return catalogVersion.get();
   }
 
   @Override
@@ -373,6 +384,7 @@ public class CatalogServer extends AbstractService {
           throw new NoSuchTableException(proto.getTableName());
         }
         store.alterTable(proto);
+        catalogVersion.incrementAndGet();
       } catch (Exception e) {
         LOG.error(e.getMessage(), e);
         return BOOL_FALSE;
@@ -395,6 +407,7 @@ public class CatalogServer extends AbstractService {
         }
 
         store.dropDatabase(databaseName);
+        catalogVersion.incrementAndGet();
         return ProtoUtil.TRUE;
 
       } catch (Exception e) {
@@ -467,6 +480,19 @@ public class CatalogServer extends AbstractService {
       }
     }
 
+    @Override
+    public GetTableDescResponse getCachedTableDesc(RpcController controller, GetCachedObjectRequest request)
+        throws ServiceException {
+      // the version is taken before the table, so the table is never older than the version it is tagged with.
+      long version = catalogVersion.get();
+      GetTableDescResponse.Builder builder = GetTableDescResponse.newBuilder();
+      builder.setCatalogVersion(version);
+      if (!request.hasCatalogVersion() || request.getCatalogVersion() != version) {
+        builder.setTable(getTableDesc(controller, request.getTableIdentifier()));
+      }
+      return builder.build();
+    }
+
     @Override
     public StringListProto getAllTableNames(RpcController controller, StringProto request)
         throws ServiceException {
@@ -488,12 +514,18 @@ public class CatalogServer extends AbstractService {
       }
     }
 
+    @Override
+    public LongProto getCatalogVersion(RpcController controller, NullProto request) throws ServiceException {
+      return LongProto.newBuilder().setValue(catalogVersion.get()).build();
+    }
+
     @Override
     public GetFunctionsResponse getFunctions(RpcController controller,
                                              NullProto request)
         throws ServiceException {
       Iterator<List<FunctionDescProto>> iterator = functions.values().iterator();
       GetFunctionsResponse.Builder builder = GetFunctionsResponse.newBuilder();
+      builder.setCatalogVersion(catalogVersion.get());
       while (iterator.hasNext()) {
         builder.addAllFunctionDesc(iterator.next());
       }
@@ -520,6 +552,7 @@ public class CatalogServer extends AbstractService {
           }
 
           store.createTable(request);
+          catalogVersion.incrementAndGet();
           LOG.info(String.format("relation \"%s\" is added to the catalog (%s)",
               CatalogUtil.getCanonicalTableName(databaseName, tableName), bindAddressStr));
         } else {
@@ -551,6 +584,7 @@ public class CatalogServer extends AbstractService {
           }
 
           store.dropTable(databaseName, tableName);
+          catalogVersion.incrementAndGet();
           LOG.info(String.format("relation \"%s\" is deleted from the catalog (%s)",
               CatalogUtil.getCanonicalTableName(databaseName, tableName), bindAddressStr));
         } else {
@@ -630,6 +664,19 @@ public class CatalogServer extends AbstractService {
       }
     }
 
+    @Override
+    public GetPartitionMethodResponse getCachedPartitionMethod(RpcController controller,
+                                                               GetCachedObjectRequest request)
+        throws ServiceException {
+      long version = catalogVersion.get();
+      GetPartitionMethodResponse.Builder builder = GetPartitionMethodResponse.newBuilder();
+      builder.setCatalogVersion(version);
+      if (!request.hasCatalogVersion() || request.getCatalogVersion() != version) {
+        builder.setPartitionMethod(getPartitionMethodByTableName(controller, request.getTableIdentifier()));
+      }
+      return builder.build();
+    }
+
     @Override
     public BoolProto existPartitionMethod(RpcController controller, TableIdentifierProto request)
         throws ServiceException {
@@ -672,7 +719,29 @@ public class CatalogServer extends AbstractService {
 
     @Override
     public BoolProto addPartitions(RpcController controller, PartitionsProto request) throws ServiceException {
-      return ProtoUtil.TRUE;
+      String databaseName = request.getTableIdentifier().getDatabaseName();
+      String tableName = request.getTableIdentifier().getTableName();
+
+      wlock.lock();
+      try {
+        if (!store.existDatabase(databaseName)) {
+          throw new NoSuchDatabaseException(databaseName);
+        }
+        if (!store.existTable(databaseName, tableName)) {
+          throw new NoSuchTableException(databaseName, tableName);
+        }
+        if (!store.existPartitionMethod(databaseName, tableName)) {
+          throw new NoPartitionedTableException(databaseName, tableName);
+        }
+
+        store.addPartitions(request);
+        return ProtoUtil.TRUE;
+      } catch (Exception e) {
+        LOG.error(e);
+        throw new ServiceException(e);
+      } finally {
+        wlock.unlock();
+      }
     }
 
     @Override
@@ -690,7 +759,30 @@ public class CatalogServer extends AbstractService {
     public PartitionsProto getPartitionsByTableName(RpcController controller,
                                                     StringProto request)
         throws ServiceException {
-      return null;
+      String [] splitted = CatalogUtil.splitFQTableName(request.getValue());
+      String databaseName = splitted[0];
+      String tableName = splitted[1];
+
+      rlock.lock();
+      try {
+        if (!store.existDatabase(databaseName)) {
+          throw new NoSuchDatabaseException(databaseName);
+        }
+        if (!store.existTable(databaseName, tableName)) {
+          throw new NoSuchTableException(databaseName, tableName);
+        }
+
+        PartitionsProto partitions = store.getPartitions(request.getValue());
+        if (partitions == null) {
+          throw new CatalogException(store.getClass().getSimpleName() + " does not keep partitions");
+        }
+        return partitions;
+      } catch (Exception e) {
+        LOG.error(e);
+        throw new ServiceException(e);
+      } finally {
+        rlock.unlock();
+      }
     }
 
     @Override
@@ -913,6 +1005,7 @@ public class CatalogServer extends AbstractService {
       }
 
       TUtil.putToNestedList(functions, funcDesc.getSignature(), funcDesc);
+      catalogVersion.incrementAndGet();
       if (LOG.isDebugEnabled()) {
         LOG.info("Function " + signature + " is registered.");
       }
@@ -929,6 +1022,7 @@ public class CatalogServer extends AbstractService {
       }
 
       functions.remove(request.getSignature());
+      catalogVersion.incrementAndGet();
       LOG.info(request.getSignature() + " is dropped.");
 
       return BOOL_TRUE;
@@ -21,6 +21,7 @@
  */
 package org.apache.tajo.catalog.store;
 
+import com.google.common.collect.Lists;
 import com.google.protobuf.InvalidProtocolBufferException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -44,6 +45,8 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.*;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.AlterTablespaceProto.AlterTablespaceCommand;
@@ -194,7 +197,14 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
       boolean noVersion = !result.next();
 
       int schemaVersion = result.getInt(1);
-      if (noVersion || schemaVersion != getDriverVersion()) {
+      CatalogUtil.closeQuietly(pstmt, result);
+      pstmt = null;
+      result = null;
+
+      if (!noVersion && schemaVersion != getDriverVersion() && upgradeSchema(schemaVersion)) {
+        LOG.info(String.format("The catalog schema has been upgraded from version %d to version %d.",
+            schemaVersion, getDriverVersion()));
+      } else if (noVersion || schemaVersion != getDriverVersion()) {
         LOG.error(String.format("Catalog version (%d) and current driver version (%d) are mismatch to each other",
             schemaVersion, getDriverVersion()));
         LOG.error("=========================================================================");
@@ -217,6 +227,43 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
         getDriverVersion()));
   }
 
+  /**
+   * Upgrades the catalog schema in place if the stored schema can be upgraded without migration.
+   * Version 3 only adds NUM_BYTES and NUM_ROWS columns to PARTITIONS.
+   *
+   * @param schemaVersion The version of the stored catalog schema
+   * @return True if the catalog schema is upgraded to the current driver version
+   */
+  protected boolean upgradeSchema(int schemaVersion) throws CatalogException {
+    if (schemaVersion != 2 || getDriverVersion() != 3) {
+      return false;
+    }
+
+    Connection conn = null;
+    Statement stmt = null;
+    try {
+      conn = getConnection();
+      conn.setAutoCommit(false);
+      stmt = conn.createStatement();
+      stmt.executeUpdate("ALTER TABLE " + TB_PARTTIONS + " ADD COLUMN NUM_BYTES BIGINT");
+      stmt.executeUpdate("ALTER TABLE " + TB_PARTTIONS + " ADD COLUMN NUM_ROWS BIGINT");
+      stmt.executeUpdate("UPDATE " + TB_META + " SET VERSION = " + getDriverVersion());
+      conn.commit();
+    } catch (SQLException se) {
+      if (conn != null) {
+        try {
+          conn.rollback();
+        } catch (SQLException e) {
+          LOG.error(e);
+        }
+      }
+      throw new CatalogException("cannot upgrade the catalog schema from version " + schemaVersion, se);
+    } finally {
+      CatalogUtil.closeQuietly(stmt);
+    }
+    return true;
+  }
+
   /**
    * Insert the version of the current catalog schema
    */
@@ -821,6 +868,9 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
           }
           addNewColumn(tableId, alterTableDescProto.getAddColumn());
           break;
+        case UPDATE_STATS:
+          updateTableStats(tableId, alterTableDescProto.getStats());
+          break;
         default:
       }
     } catch (SQLException sqlException) {
@@ -829,6 +879,53 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
 
   }
 
+  /**
+   * It replaces the statistics of a table. The other rows of the table, e.g., its partitions, are kept.
+   */
+  private void updateTableStats(final int tableId, final CatalogProtos.TableStatsProto stats)
+      throws CatalogException {
+
+    final String deleteStatsSql = "DELETE FROM " + TB_STATISTICS + " WHERE " + COL_TABLES_PK + " = ?";
+    final String insertStatsSql = "INSERT INTO " + TB_STATISTICS + " (TID, NUM_ROWS, NUM_BYTES) VALUES(?, ?, ?)";
+
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(deleteStatsSql);
+      LOG.debug(insertStatsSql);
+    }
+
+    Connection conn = null;
+    PreparedStatement pstmt = null;
+
+    try {
+      conn = getConnection();
+      conn.setAutoCommit(false);
+
+      pstmt = conn.prepareStatement(deleteStatsSql);
+      pstmt.setInt(1, tableId);
+      pstmt.executeUpdate();
+      pstmt.close();
+
+      pstmt = conn.prepareStatement(insertStatsSql);
+      pstmt.setInt(1, tableId);
+      pstmt.setLong(2, stats.getNumRows());
+      pstmt.setLong(3, stats.getNumBytes());
+      pstmt.executeUpdate();
+
+      conn.commit();
+    } catch (SQLException se) {
+      if (conn != null) {
+        try {
+          conn.rollback();
+        } catch (SQLException e) {
+          LOG.error(e);
+        }
+      }
+      throw new CatalogException(se);
+    } finally {
+      CatalogUtil.closeQuietly(pstmt);
+    }
+  }
+
   private void renameTable(final int tableId, final String tableName) throws CatalogException {
 
     final String updtaeRenameTableSql = "UPDATE " + TB_TABLES + " SET " + COL_TABLES_NAME + " = ? " + " WHERE TID = ?";
@@ -1347,33 +1444,53 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
     return tables;
   }
 
-  private static final String ADD_PARTITION_SQL =
-      "INSERT INTO " + TB_PARTTIONS + " (TID, PARTITION_NAME, ORDINAL_POSITION, PATH) VALUES (?,?,?,?)";
+  private static final String DEL_PARTITION_SQL =
+      "DELETE FROM " + TB_PARTTIONS + " WHERE TID = ? AND PARTITION_NAME = ?";
 
+  private static final String ADD_PARTITION_SQL =
+      "INSERT INTO " + TB_PARTTIONS + " (TID, PARTITION_NAME, ORDINAL_POSITION, PARTITION_VALUE, PATH, " +
+          "NUM_BYTES, NUM_ROWS) VALUES (?,?,?,?,?,?,?)";
 
+  /**
+   * Adds partitions to a table. A partition which has the same name as an existing one replaces it.
+   */
   @Override
   public void addPartitions(CatalogProtos.PartitionsProto partitionsProto) throws CatalogException {
+    String databaseName = partitionsProto.getTableIdentifier().getDatabaseName();
+    String tableName = partitionsProto.getTableIdentifier().getTableName();
+    addPartitionsInternal(databaseName, tableName, partitionsProto.getPartitionList());
+  }
+
+  private void addPartitionsInternal(String databaseName, String tableName, List<PartitionDescProto> partitions)
+      throws CatalogException {
     Connection conn = null;
-    PreparedStatement pstmt = null;
+    PreparedStatement delStmt = null;
+    PreparedStatement addStmt = null;
 
     try {
       if (LOG.isDebugEnabled()) {
+        LOG.debug(DEL_PARTITION_SQL);
         LOG.debug(ADD_PARTITION_SQL);
       }
 
-      String databaseName = partitionsProto.getTableIdentifier().getDatabaseName();
-      String tableName = partitionsProto.getTableIdentifier().getTableName();
-
       int databaseId = getDatabaseId(databaseName);
       int tableId = getTableId(databaseId, databaseName, tableName);
 
       conn = getConnection();
-      pstmt = conn.prepareStatement(ADD_PARTITION_SQL);
+      conn.setAutoCommit(false);
+      delStmt = conn.prepareStatement(DEL_PARTITION_SQL);
+      addStmt = conn.prepareStatement(ADD_PARTITION_SQL);
 
-      for (CatalogProtos.PartitionDescProto partition : partitionsProto.getPartitionList()) {
-        addPartitionInternal(pstmt, tableId, partition);
+      for (PartitionDescProto partition : partitions) {
+        delStmt.setInt(1, tableId);
+        delStmt.setString(2, partition.getPartitionName());
+        delStmt.addBatch();
+        delStmt.clearParameters();
+
+        addPartitionInternal(addStmt, tableId, partition);
       }
-      pstmt.executeBatch();
+      delStmt.executeBatch();
+      addStmt.executeBatch();
       conn.commit();
     } catch (SQLException se) {
       if (conn != null) {
@@ -1385,7 +1502,8 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
       }
       throw new CatalogException(se);
     } finally {
-      CatalogUtil.closeQuietly(pstmt);
+      CatalogUtil.closeQuietly(delStmt);
+      CatalogUtil.closeQuietly(addStmt);
     }
   }
 
@@ -1394,7 +1512,22 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
     pstmt.setInt(1, tableId);
     pstmt.setString(2, partition.getPartitionName());
     pstmt.setInt(3, partition.getOrdinalPosition());
-    pstmt.setString(4, partition.getPath());
+    if (partition.hasPartitionValue()) {
+      pstmt.setString(4, partition.getPartitionValue());
+    } else {
+      pstmt.setNull(4, Types.VARCHAR);
+    }
+    pstmt.setString(5, partition.getPath());
+    if (partition.hasNumBytes()) {
+      pstmt.setLong(6, partition.getNumBytes());
+    } else {
+      pstmt.setNull(6, Types.BIGINT);
+    }
+    if (partition.hasNumRows()) {
+      pstmt.setLong(7, partition.getNumRows());
+    } else {
+      pstmt.setNull(7, Types.BIGINT);
+    }
     pstmt.addBatch();
     pstmt.clearParameters();
   }
@@ -1520,41 +1653,79 @@ public abstract class AbstractDBStore extends CatalogConstants implements Catalo
   @Override
   public void addPartition(String databaseName, String tableName,
                            CatalogProtos.PartitionDescProto partition) throws CatalogException {
+    addPartitionsInternal(databaseName, tableName, Lists.newArrayList(partition));
+  }
+
+  @Override
+  public CatalogProtos.PartitionDescProto getPartition(String partitionName) throws CatalogException {
+    // TODO
+    throw new UnimplementedException("getPartition is not implemented");
+  }
+
+
+  /**
+   * Gets all partitions of a table.
+   *
+   * @param tableName The qualified table name
+   */
+  @Override
+  public CatalogProtos.PartitionsProto getPartitions(String tableName) throws CatalogException {
     Connection conn = null;
     PreparedStatement pstmt = null;
+    ResultSet res = null;
+
+    String [] splitted = CatalogUtil.splitFQTableName(tableName);
+    String databaseName = splitted[0];
+    String simpleTableName = splitted[1];
 
     try {
+      String sql = "SELECT PARTITION_NAME, ORDINAL_POSITION, PARTITION_VALUE, PATH, NUM_BYTES, NUM_ROWS FROM " +
+          TB_PARTTIONS + " WHERE TID = ?";
+
       if (LOG.isDebugEnabled()) {
-        LOG.debug(ADD_PARTITION_SQL);
+        LOG.debug(sql);
       }
 
       int databaseId = getDatabaseId(databaseName);
-      int tableId = getTableId(databaseId, databaseName, tableName);
+      int tableId = getTableId(databaseId, databaseName, simpleTableName);
 
       conn = getConnection();
-      pstmt = conn.prepareStatement(ADD_PARTITION_SQL);
-      addPartitionInternal(pstmt, tableId, partition);
-      pstmt.executeUpdate();
+      pstmt = conn.prepareStatement(sql);
+      pstmt.setInt(1, tableId);
+      res = pstmt.executeQuery();
+
+      CatalogProtos.PartitionsProto.Builder builder = CatalogProtos.PartitionsProto.newBuilder();
+      builder.setTableIdentifier(CatalogUtil.buildTableIdentifier(databaseName, simpleTableName));
+      while (res.next()) {
+        PartitionDescProto.Builder partition = PartitionDescProto.newBuilder();
+        partition.setPartitionName(res.getString(1));
+        partition.setOrdinalPosition(res.getInt(2));
+        String partitionValue = res.getString(3);
+        if (partitionValue != null) {
+          partition.setPartitionValue(partitionValue);
+        }
+        String path = res.getString(4);
+        if (path != null) {
+          partition.setPath(path);
+        }
+        long numBytes = res.getLong(5);
+        if (!res.wasNull()) {
+          partition.setNumBytes(numBytes);
+        }
+        long numRows = res.getLong(6);
+        if (!res.wasNull()) {
+          partition.setNumRows(numRows);
+        }
+        builder.addPartition(partition);
+      }
+      return builder.build();
     } catch (SQLException se) {
       throw new CatalogException(se);
     } finally {
-      CatalogUtil.closeQuietly(pstmt);
+      CatalogUtil.closeQuietly(pstmt, res);
     }
   }
 
-  @Override
-  public CatalogProtos.PartitionDescProto getPartition(String partitionName) throws CatalogException {
-    // TODO
-    throw new UnimplementedException("getPartition is not implemented");
-  }
-
-
-  @Override
-  public CatalogProtos.PartitionsProto getPartitions(String tableName) throws CatalogException {
-    // TODO
-    throw new UnimplementedException("getPartitions is not implemented");
-  }
-
 
   @Override
   public void delPartition(String partitionName) throws CatalogException {
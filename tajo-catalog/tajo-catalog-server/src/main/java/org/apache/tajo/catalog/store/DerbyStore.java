@@ -32,6 +32,8 @@ import java.util.Map;
 
 public class DerbyStore extends AbstractDBStore {
 
+  /** NUM_BYTES and NUM_ROWS are added to PARTITIONS */
+  private static final int DERBY_STORE_VERSION_3 = 3;
   /** 2014-03-20: First versioning */
   private static final int DERBY_STORE_VERSION_2 = 2;
   /** Before 2013-03-20 */
@@ -47,7 +49,7 @@ public class DerbyStore extends AbstractDBStore {
   }
 
   public int getDriverVersion() {
-    return DERBY_STORE_VERSION_2;
+    return DERBY_STORE_VERSION_3;
   }
 
   protected Connection createConnection(Configuration conf) throws SQLException {
@@ -26,8 +26,8 @@ import org.apache.tajo.catalog.exception.CatalogException;
 import org.apache.tajo.exception.InternalException;
 
 public class MariaDBStore extends AbstractMySQLMariaDBStore {
-  /** 2014-06-09: First versioning */
-  private static final int MARIADB_CATALOG_STORE_VERSION = 2;
+  /** 2014-06-09: First versioning. NUM_BYTES and NUM_ROWS are added to PARTITIONS in version 3. */
+  private static final int MARIADB_CATALOG_STORE_VERSION = 3;
 
   private static final String CATALOG_DRIVER = "org.mariadb.jdbc.Driver";
 
@@ -47,6 +47,8 @@ public class MemStore implements CatalogStore {
   private final Map<String, CatalogProtos.FunctionDescProto> functions = Maps.newHashMap();
   private final Map<String, Map<String, IndexDescProto>> indexes = Maps.newHashMap();
   private final Map<String, Map<String, IndexDescProto>> indexesByColumn = Maps.newHashMap();
+  /** qualified table name -> partition name -> partition */
+  private final Map<String, Map<String, CatalogProtos.PartitionDescProto>> partitions = Maps.newHashMap();
 
   public MemStore(Configuration conf) {
   }
@@ -132,6 +134,9 @@ public class MemStore implements CatalogStore {
     if (!databases.containsKey(databaseName)) {
       throw new NoSuchDatabaseException(databaseName);
     }
+    for (String tableName : databases.get(databaseName).keySet()) {
+      partitions.remove(CatalogUtil.buildFQName(databaseName, tableName));
+    }
     databases.remove(databaseName);
   }
 
@@ -184,6 +189,7 @@ public class MemStore implements CatalogStore {
 
     if (database.containsKey(tbName)) {
       database.remove(tbName);
+      partitions.remove(CatalogUtil.buildFQName(dbName, tbName));
     } else {
       throw new NoSuchTableException(tbName);
     }
@@ -223,6 +229,11 @@ public class MemStore implements CatalogStore {
             .setPath(newPath).build();
         database.remove(tableName);
         database.put(alterTableDescProto.getNewTableName(), newTableDescProto);
+        Map<String, CatalogProtos.PartitionDescProto> renamed =
+            partitions.remove(CatalogUtil.buildFQName(databaseName, tableName));
+        if (renamed != null) {
+          partitions.put(CatalogUtil.buildFQName(databaseName, alterTableDescProto.getNewTableName()), renamed);
+        }
         break;
       case RENAME_COLUMN:
         schemaProto = tableDescProto.getSchema();
@@ -242,6 +253,10 @@ public class MemStore implements CatalogStore {
         newTableDescProto = tableDescProto.toBuilder().setSchema(newSchemaProto).build();
         database.put(tableName, newTableDescProto);
         break;
+      case UPDATE_STATS:
+        newTableDescProto = tableDescProto.toBuilder().setStats(alterTableDescProto.getStats()).build();
+        database.put(tableName, newTableDescProto);
+        break;
       default:
         //TODO
     }
@@ -323,20 +338,56 @@ public class MemStore implements CatalogStore {
     throw new RuntimeException("not supported!");
   }
 
+  /**
+   * Adds partitions to a table. A partition which has the same name as an existing one replaces it.
+   */
   @Override
   public void addPartitions(CatalogProtos.PartitionsProto partitionDescList) throws CatalogException {
-    throw new RuntimeException("not supported!");
+    String databaseName = partitionDescList.getTableIdentifier().getDatabaseName();
+    String tableName = partitionDescList.getTableIdentifier().getTableName();
+    for (CatalogProtos.PartitionDescProto partition : partitionDescList.getPartitionList()) {
+      addPartition(databaseName, tableName, partition);
+    }
   }
 
   @Override
   public void addPartition(String databaseName, String tableName, CatalogProtos.PartitionDescProto
       partitionDescProto) throws CatalogException {
-    throw new RuntimeException("not supported!");
+    Map<String, CatalogProtos.TableDescProto> database = checkAndGetDatabaseNS(databases, databaseName);
+    if (!database.containsKey(tableName)) {
+      throw new NoSuchTableException(tableName);
+    }
+
+    String qualifiedName = CatalogUtil.buildFQName(databaseName, tableName);
+    Map<String, CatalogProtos.PartitionDescProto> tablePartitions = partitions.get(qualifiedName);
+    if (tablePartitions == null) {
+      tablePartitions = Maps.newLinkedHashMap();
+      partitions.put(qualifiedName, tablePartitions);
+    }
+    tablePartitions.put(partitionDescProto.getPartitionName(), partitionDescProto);
   }
 
+  /**
+   * Gets all partitions of a table.
+   *
+   * @param tableName The qualified table name
+   */
   @Override
   public CatalogProtos.PartitionsProto getPartitions(String tableName) throws CatalogException {
-    throw new RuntimeException("not supported!");
+    String [] splitted = CatalogUtil.splitFQTableName(tableName);
+    Map<String, CatalogProtos.TableDescProto> database = checkAndGetDatabaseNS(databases, splitted[0]);
+    if (!database.containsKey(splitted[1])) {
+      throw new NoSuchTableException(tableName);
+    }
+
+    CatalogProtos.PartitionsProto.Builder builder = CatalogProtos.PartitionsProto.newBuilder();
+    builder.setTableIdentifier(CatalogUtil.buildTableIdentifier(splitted[0], splitted[1]));
+    Map<String, CatalogProtos.PartitionDescProto> tablePartitions =
+        partitions.get(CatalogUtil.buildFQName(splitted[0], splitted[1]));
+    if (tablePartitions != null) {
+      builder.addAllPartition(tablePartitions.values());
+    }
+    return builder.build();
   }
 
   @Override
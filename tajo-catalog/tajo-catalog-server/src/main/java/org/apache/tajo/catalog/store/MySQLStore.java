@@ -26,6 +26,8 @@ import org.apache.tajo.catalog.exception.CatalogException;
 import org.apache.tajo.exception.InternalException;
 
 public class MySQLStore extends AbstractMySQLMariaDBStore  {
+  /** NUM_BYTES and NUM_ROWS are added to PARTITIONS */
+  private static final int MYSQL_CATALOG_STORE_VERSION_3 = 3;
   /** 2014-03-20: First versioning */
   private static final int MYSQL_CATALOG_STORE_VERSION_2 = 2;
   /** Before 2013-03-20 */
@@ -43,7 +45,7 @@ public class MySQLStore extends AbstractMySQLMariaDBStore  {
 
   @Override
   public int getDriverVersion() {
-    return MYSQL_CATALOG_STORE_VERSION_2;
+    return MYSQL_CATALOG_STORE_VERSION_3;
   }
 
   @Override
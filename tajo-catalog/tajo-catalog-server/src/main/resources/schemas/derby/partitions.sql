@@ -5,6 +5,8 @@ CREATE TABLE PARTITIONS (
   ORDINAL_POSITION INT NOT NULL,
   PARTITION_VALUE VARCHAR(1024),
   PATH VARCHAR(1024),
+  NUM_BYTES BIGINT,
+  NUM_ROWS BIGINT,
   CONSTRAINT C_PARTITION_PK PRIMARY KEY (PID),
   CONSTRAINT C_PARTITION_UNIQUE UNIQUE (TID, PARTITION_NAME)
 )
\ No newline at end of file
@@ -5,6 +5,8 @@ CREATE TABLE PARTITIONS (
   ORDINAL_POSITION INT NOT NULL,
   PARTITION_VALUE VARCHAR(1024),
   PATH VARCHAR(4096),
+  NUM_BYTES BIGINT,
+  NUM_ROWS BIGINT,
   FOREIGN KEY (TID) REFERENCES TABLES (TID) ON DELETE CASCADE,
   CONSTRAINT C_PARTITION_UNIQUE UNIQUE (TID, PARTITION_NAME),
   INDEX IDX_TID (TID),
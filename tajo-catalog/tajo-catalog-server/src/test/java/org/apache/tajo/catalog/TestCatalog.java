@@ -24,8 +24,10 @@ import org.apache.tajo.TajoConstants;
 import org.apache.tajo.catalog.exception.CatalogException;
 import org.apache.tajo.catalog.exception.NoSuchFunctionException;
 import org.apache.tajo.catalog.function.Function;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
+import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.catalog.proto.CatalogProtos.FunctionType;
 import org.apache.tajo.catalog.proto.CatalogProtos.IndexMethod;
 import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
@@ -43,6 +45,8 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.*;
 
 import static org.apache.tajo.TajoConstants.DEFAULT_DATABASE_NAME;
@@ -745,6 +749,93 @@ public class TestCatalog {
     assertFalse(catalog.existsTable(tableName));
   }
 
+  private static PartitionDesc newPartition(String name, Path tablePath, long numBytes, long numRows) {
+    PartitionDesc partition = new PartitionDesc();
+    partition.setName(name);
+    partition.setPartitionValue(name);
+    partition.setPath(new Path(tablePath, name).toString());
+    partition.setNumBytes(numBytes);
+    partition.setNumRows(numRows);
+    return partition;
+  }
+
+  @Test
+  public final void testAddAndGetPartitions() throws Exception {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4)
+        .addColumn("name", Type.TEXT);
+
+    String tableName = CatalogUtil.buildFQName(DEFAULT_DATABASE_NAME, "partitionedtable");
+    TableMeta meta = CatalogUtil.newTableMeta(StoreType.CSV);
+
+    Schema partSchema = new Schema();
+    partSchema.addColumn("id", Type.INT4);
+
+    PartitionMethodDesc partitionDesc =
+        new PartitionMethodDesc(DEFAULT_DATABASE_NAME, tableName,
+            CatalogProtos.PartitionType.COLUMN, "id", partSchema);
+
+    Path tablePath = new Path(CommonTestingUtil.getTestDir(), "partitionedtable");
+    TableDesc desc = new TableDesc(tableName, schema, meta, tablePath);
+    desc.setPartitionMethod(partitionDesc);
+    catalog.createTable(desc);
+
+    List<PartitionDesc> partitions = catalog.getPartitions(DEFAULT_DATABASE_NAME, "partitionedtable");
+    assertNotNull(partitions);
+    assertEquals(0, partitions.size());
+
+    assertTrue(catalog.addPartitions(DEFAULT_DATABASE_NAME, "partitionedtable",
+        TUtil.newList(newPartition("id=1", tablePath, 100, 10), newPartition("id=2", tablePath, 200, 20))));
+
+    // a partition with the same name replaces the registered one.
+    assertTrue(catalog.addPartitions(DEFAULT_DATABASE_NAME, "partitionedtable",
+        TUtil.newList(newPartition("id=2", tablePath, 300, 30), newPartition("id=3", tablePath, 400, 40))));
+
+    Map<String, PartitionDesc> retrieved = new HashMap<String, PartitionDesc>();
+    for (PartitionDesc partition : catalog.getPartitions(DEFAULT_DATABASE_NAME, "partitionedtable")) {
+      retrieved.put(partition.getName(), partition);
+    }
+    assertEquals(3, retrieved.size());
+    assertEquals(100, retrieved.get("id=1").getNumBytes());
+    assertEquals(10, retrieved.get("id=1").getNumRows());
+    assertEquals(300, retrieved.get("id=2").getNumBytes());
+    assertEquals(30, retrieved.get("id=2").getNumRows());
+    assertEquals(new Path(tablePath, "id=3").toString(), retrieved.get("id=3").getPath());
+
+    // partitions of an unknown table cannot be registered.
+    assertFalse(catalog.addPartitions(DEFAULT_DATABASE_NAME, "nosuchtable",
+        TUtil.newList(newPartition("id=1", tablePath, 100, 10))));
+
+    catalog.dropTable(tableName);
+    assertFalse(catalog.existsTable(tableName));
+  }
+
+  @Test
+  public final void testUpgradeDerbySchemaVersion2() throws Exception {
+    TajoConf conf = new TajoConf();
+    conf.set(CATALOG_URI, "jdbc:derby:memory:upgradetest;create=true");
+
+    // make a catalog of the schema version 2, which has no partition stats
+    DerbyStore store = new DerbyStore(conf);
+    Statement stmt = store.getConnection().createStatement();
+    stmt.executeUpdate("ALTER TABLE " + CatalogConstants.TB_PARTTIONS + " DROP COLUMN NUM_BYTES");
+    stmt.executeUpdate("ALTER TABLE " + CatalogConstants.TB_PARTTIONS + " DROP COLUMN NUM_ROWS");
+    stmt.executeUpdate("UPDATE " + CatalogConstants.TB_META + " SET VERSION = 2");
+    stmt.close();
+
+    // the schema should be upgraded in place instead of requiring migration
+    DerbyStore upgraded = new DerbyStore(conf);
+    stmt = upgraded.getConnection().createStatement();
+    ResultSet res = stmt.executeQuery("SELECT VERSION FROM " + CatalogConstants.TB_META);
+    assertTrue(res.next());
+    assertEquals(upgraded.getDriverVersion(), res.getInt(1));
+    res.close();
+    res = stmt.executeQuery("SELECT NUM_BYTES, NUM_ROWS FROM " + CatalogConstants.TB_PARTTIONS);
+    assertFalse(res.next());
+    res.close();
+    stmt.close();
+  }
+
   @Test
   public void testAlterTableName () throws Exception {
 
@@ -766,6 +857,39 @@ public class TestCatalog {
     TableDesc addColumnDesc = catalog.getTableDesc("default","mynewcooltable");
     assertTrue(addColumnDesc.getSchema().containsByName("mynewcol"));
 
+    //UPDATE_STATS
+    catalog.alterTable(createMockAlterTableStats());
+    TableDesc statsDesc = catalog.getTableDesc("default","mynewcooltable");
+    assertEquals(10, statsDesc.getStats().getNumRows().longValue());
+    assertEquals(1024, statsDesc.getStats().getNumBytes().longValue());
+  }
+
+  @Test
+  public void testCachedTableDesc() throws Exception {
+    TableDesc table = createMockupTable("default", "cachedtable");
+    assertTrue(catalog.createTable(table));
+
+    long version = server.getCatalogVersion();
+    TableDesc desc1 = catalog.getTableDesc("default", "cachedtable");
+    TableDesc desc2 = catalog.getTableDesc("default", "cachedtable");
+    assertEquals(desc1, desc2);
+    // each lookup should return a new object even if it comes from the cache
+    assertNotSame(desc1, desc2);
+    assertEquals(version, server.getCatalogVersion());
+
+    // a change made by another client should be visible through the version check
+    LocalCatalogWrapper otherClient = new LocalCatalogWrapper(server);
+    AlterTableDesc alterTableDesc = new AlterTableDesc();
+    alterTableDesc.setTableName("default.cachedtable");
+    alterTableDesc.setAddColumn(new Column("cachedcol", Type.TEXT));
+    alterTableDesc.setAlterTableType(AlterTableType.ADD_COLUMN);
+    assertTrue(otherClient.alterTable(alterTableDesc));
+    assertTrue(server.getCatalogVersion() > version);
+
+    assertTrue(catalog.getTableDesc("default", "cachedtable").getSchema().containsByName("cachedcol"));
+
+    assertTrue(otherClient.dropTable("default.cachedtable"));
+    assertNull(catalog.getTableDesc("default", "cachedtable"));
   }
 
   private AlterTableDesc createMockAlterTableName(){
@@ -785,6 +909,17 @@ public class TestCatalog {
     return alterTableDesc;
   }
 
+  private AlterTableDesc createMockAlterTableStats(){
+    TableStats stats = new TableStats();
+    stats.setNumRows(10);
+    stats.setNumBytes(1024);
+    AlterTableDesc alterTableDesc = new AlterTableDesc();
+    alterTableDesc.setTableName("default.mynewcooltable");
+    alterTableDesc.setStats(stats);
+    alterTableDesc.setAlterTableType(AlterTableType.UPDATE_STATS);
+    return alterTableDesc;
+  }
+
   private AlterTableDesc createMockAlterTableAddColumn(){
     AlterTableDesc alterTableDesc = new AlterTableDesc();
     alterTableDesc.setTableName("default.mynewcooltable");
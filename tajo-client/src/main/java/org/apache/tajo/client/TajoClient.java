@@ -22,6 +22,7 @@ import com.google.protobuf.ServiceException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.QueryIdFactory;
@@ -55,6 +56,8 @@ import org.apache.tajo.rpc.NettyClientBase;
 import org.apache.tajo.rpc.RpcConnectionPool;
 import org.apache.tajo.rpc.ServerCallable;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.KeyValueProto;
+import org.apache.tajo.storage.ColumnarStoreUtil;
+import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.util.HAServiceUtil;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.NetUtils;
@@ -93,6 +96,12 @@ public class TajoClient implements Closeable {
 
   private AtomicBoolean closed = new AtomicBoolean(false);
 
+  private final boolean columnarResultEnabled;
+
+  // the codec for fetching result sets. It is null if no codec is configured or the codec is not available.
+  private final String resultCodecName;
+  private final CompressionCodec resultCodec;
+
   public TajoClient(TajoConf conf) throws IOException {
     this(conf, NetUtils.createSocketAddr(conf.getVar(ConfVars.TAJO_MASTER_CLIENT_RPC_ADDRESS)), null);
   }
@@ -119,6 +128,14 @@ public class TajoClient implements Closeable {
     connPool = RpcConnectionPool.newPool(conf, getClass().getSimpleName(), workerNum);
     userInfo = UserGroupInformation.getCurrentUser();
     this.baseDatabase = baseDatabase != null ? baseDatabase : null;
+
+    columnarResultEnabled = conf.getBoolVar(ConfVars.$RESULT_SET_FETCH_COLUMNAR_ENABLED);
+    String codecName = conf.getVar(ConfVars.$RESULT_SET_FETCH_COMPRESSION_CODEC);
+    resultCodec = ColumnarStoreUtil.getCodec(conf, codecName);
+    if (resultCodec == null && codecName != null && !codecName.isEmpty()) {
+      LOG.warn("Compression codec '" + codecName + "' is not available. Result sets will be fetched uncompressed.");
+    }
+    resultCodecName = resultCodec != null ? codecName : null;
   }
 
   public void setSessionId(TajoIdProtos.SessionIdProto sessionId) {
@@ -548,15 +565,23 @@ public class TajoClient implements Closeable {
       // non-forward query
       // select * from table1 [limit 10]
       int fetchRowNum = client.getConf().getIntVar(ConfVars.$RESULT_SET_FETCH_ROWNUM);
+      boolean prefetchEnabled = client.getConf().getBoolVar(ConfVars.$RESULT_SET_PREFETCH_ENABLED);
+      int prefetchMemoryMB = client.getConf().getIntVar(ConfVars.$RESULT_SET_PREFETCH_MEMORY);
       if (response.hasSessionVariables()) {
         for (KeyValueProto eachKeyValue: response.getSessionVariables().getKeyvalList()) {
           if (eachKeyValue.getKey().equals(SessionVars.FETCH_ROWNUM.keyname())) {
             fetchRowNum = Integer.parseInt(eachKeyValue.getValue());
+          } else if (eachKeyValue.getKey().equals(SessionVars.FETCH_PREFETCH_ENABLED.keyname())) {
+            prefetchEnabled = Boolean.parseBoolean(eachKeyValue.getValue());
+          } else if (eachKeyValue.getKey().equals(SessionVars.FETCH_PREFETCH_MEMORY.keyname())) {
+            prefetchMemoryMB = Integer.parseInt(eachKeyValue.getValue());
           }
         }
       }
       TableDesc tableDesc = new TableDesc(response.getTableDesc());
-      return new FetchResultSet(client, tableDesc.getLogicalSchema(), new QueryId(response.getQueryId()), fetchRowNum);
+      long prefetchMemory = prefetchEnabled ? prefetchMemoryMB * 1024L * 1024L : 0;
+      return new FetchResultSet(client, tableDesc.getLogicalSchema(), new QueryId(response.getQueryId()), fetchRowNum,
+          prefetchMemory);
     } else {
       // simple eval query
       // select substr('abc', 1, 2)
@@ -642,6 +667,12 @@ public class TajoClient implements Closeable {
           builder.setSessionId(sessionId);
           builder.setQueryId(queryId.getProto());
           builder.setFetchRowNum(fetchRowNum);
+          if (columnarResultEnabled) {
+            builder.setFormat(ResultSetFormat.COLUMNAR);
+            if (resultCodecName != null) {
+              builder.setCompressionCodec(resultCodecName);
+            }
+          }
           try {
             GetQueryResultDataResponse response = tajoMasterService.getQueryResultData(null, builder.build());
             if (response.getResultCode() == ResultCode.ERROR) {
@@ -660,6 +691,11 @@ public class TajoClient implements Closeable {
 
       SerializedResultSet serializedResultSet = callable.withRetries();
 
+      // a server which does not support the columnar format always responds with the row format.
+      if (serializedResultSet.getFormat() == ResultSetFormat.COLUMNAR) {
+        return toColumnarResultSet(serializedResultSet);
+      }
+
       return new TajoMemoryResultSet(
           new Schema(serializedResultSet.getSchema()),
           serializedResultSet.getSerializedTuplesList(),
@@ -669,6 +705,20 @@ public class TajoClient implements Closeable {
     }
   }
 
+  private TajoMemoryResultSet toColumnarResultSet(SerializedResultSet serializedResultSet) throws IOException {
+    Schema schema = new Schema(serializedResultSet.getSchema());
+    byte[] block = serializedResultSet.getColumnarBlock().toByteArray();
+    if (serializedResultSet.hasCompressionCodec()) {
+      if (!serializedResultSet.getCompressionCodec().equals(resultCodecName)) {
+        throw new IOException("Unexpected compression codec: " + serializedResultSet.getCompressionCodec());
+      }
+      block = ColumnarStoreUtil.decompress(resultCodec, block);
+    }
+
+    Tuple[] tuples = ColumnarStoreUtil.createDecoder(schema).toTuples(block);
+    return new TajoMemoryResultSet(schema, tuples, block.length);
+  }
+
   public boolean updateQuery(final String sql) throws ServiceException {
     return new ServerCallable<Boolean>(connPool, getTajoMasterAddr(),
         TajoMasterClientProtocol.class, false, true) {
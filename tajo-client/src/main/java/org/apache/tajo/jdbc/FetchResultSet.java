@@ -18,6 +18,8 @@
 
 package org.apache.tajo.jdbc;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.client.TajoClient;
@@ -25,20 +27,45 @@ import org.apache.tajo.storage.Tuple;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.LinkedList;
 
 public class FetchResultSet extends TajoResultSetBase {
+  private static final Log LOG = LogFactory.getLog(FetchResultSet.class);
+
   private TajoClient tajoClient;
   private QueryId queryId;
   private int fetchRowNum;
   private TajoMemoryResultSet currentResultSet;
   private boolean finished = false;
+  // it is null if prefetch is disabled.
+  private Prefetcher prefetcher;
 
   public FetchResultSet(TajoClient tajoClient, Schema schema, QueryId queryId, int fetchRowNum) {
+    this(tajoClient, schema, queryId, fetchRowNum, 0);
+  }
+
+  /**
+   * @param prefetchMemory The maximum bytes of the rows fetched in advance. If it is 0, the rows are fetched only
+   *                       when the current rows are exhausted.
+   */
+  public FetchResultSet(TajoClient tajoClient, Schema schema, QueryId queryId, int fetchRowNum,
+                        long prefetchMemory) {
     this.tajoClient = tajoClient;
     this.queryId = queryId;
     this.fetchRowNum = fetchRowNum;
     this.totalRow = Integer.MAX_VALUE;
     this.schema = schema;
+    if (prefetchMemory > 0) {
+      prefetcher = new Prefetcher(prefetchMemory);
+      prefetcher.start();
+    }
+  }
+
+  private TajoMemoryResultSet fetchNext() throws Throwable {
+    if (prefetcher != null) {
+      return prefetcher.take();
+    }
+    return tajoClient.fetchNextQueryResult(queryId, fetchRowNum);
   }
 
   @Override
@@ -58,7 +85,7 @@ public class FetchResultSet extends TajoResultSetBase {
           currentResultSet.close();
           currentResultSet = null;
         }
-        currentResultSet = tajoClient.fetchNextQueryResult(queryId, fetchRowNum);
+        currentResultSet = fetchNext();
         if (currentResultSet == null) {
           finished = true;
           return null;
@@ -82,10 +109,163 @@ public class FetchResultSet extends TajoResultSetBase {
 
   @Override
   public void close() throws SQLException {
+    if (prefetcher != null) {
+      // the query must not be closed while a fetch request is in flight.
+      prefetcher.shutdown();
+      prefetcher = null;
+    }
     if (currentResultSet != null) {
       currentResultSet.close();
       currentResultSet = null;
     }
     tajoClient.closeNonForwardQuery(queryId);
   }
+
+  /**
+   * It fetches and decodes the next rows in background while the consumer reads the current rows. Because the
+   * rows of a query are returned in the order of requests, only one request is in flight at a time. The fetched
+   * rows are bounded by a memory budget.
+   *
+   * The number of rows per request starts from tajo.resultset.fetch.rownum. If the consumer had to wait for
+   * a request, it grows so that a request carries about a quarter of the memory budget according to the measured
+   * row size. It reduces the round trips of a large result.
+   */
+  class Prefetcher extends Thread {
+    private final long maxMemory;
+    private final long targetBatchBytes;
+    private final LinkedList<TajoMemoryResultSet> queue = new LinkedList<TajoMemoryResultSet>();
+    // the fields below are guarded by queue
+    // the serialized bytes of each result set in the queue
+    private final LinkedList<Long> queuedSizes = new LinkedList<Long>();
+    private long queuedBytes = 0;
+    private boolean endOfResult = false;
+    private boolean stopped = false;
+    private Throwable error;
+    // true if the consumer waited for the request in flight
+    private boolean consumerWaited = false;
+
+    Prefetcher(long maxMemory) {
+      super("FetchResultSet-Prefetcher-" + queryId);
+      setDaemon(true);
+      this.maxMemory = maxMemory;
+      this.targetBatchBytes = Math.max(1, maxMemory / 4);
+    }
+
+    @Override
+    public void run() {
+      int rowNum;
+      while (true) {
+        synchronized (queue) {
+          while (!stopped && queuedBytes >= maxMemory) {
+            try {
+              queue.wait();
+            } catch (InterruptedException e) {
+              stopped = true;
+            }
+          }
+          if (stopped) {
+            break;
+          }
+          consumerWaited = false;
+          rowNum = fetchRowNum;
+        }
+
+        TajoMemoryResultSet resultSet;
+        long bytes;
+        long startTime = System.currentTimeMillis();
+        try {
+          resultSet = tajoClient.fetchNextQueryResult(queryId, rowNum);
+          bytes = resultSet == null ? 0 : resultSet.getSerializedBytes();
+          if (resultSet != null) {
+            resultSet.decodeAll();
+          }
+        } catch (Throwable t) {
+          synchronized (queue) {
+            error = t;
+            endOfResult = true;
+            queue.notifyAll();
+          }
+          break;
+        }
+        long latency = System.currentTimeMillis() - startTime;
+
+        synchronized (queue) {
+          if (stopped) {
+            break;
+          }
+          if (resultSet == null || !resultSet.hasResult()) {
+            endOfResult = true;
+            queue.notifyAll();
+            break;
+          }
+          queue.add(resultSet);
+          queuedSizes.add(bytes);
+          queuedBytes += bytes;
+          adjustFetchRowNum(rowNum, resultSet.totalRow, bytes, latency);
+          queue.notifyAll();
+        }
+      }
+    }
+
+    private void adjustFetchRowNum(int requestedRowNum, long rowNum, long bytes, long latency) {
+      // a short response means the end of the result.
+      if (!consumerWaited || rowNum < requestedRowNum || bytes >= targetBatchBytes) {
+        return;
+      }
+      long avgRowBytes = Math.max(1, bytes / rowNum);
+      long targetRowNum = Math.min(Integer.MAX_VALUE, targetBatchBytes / avgRowBytes);
+      int newRowNum = (int) Math.min(targetRowNum, (long) fetchRowNum * 2);
+      if (newRowNum > fetchRowNum) {
+        if (LOG.isDebugEnabled()) {
+          LOG.debug(queryId + ": fetch rows " + fetchRowNum + " -> " + newRowNum + " (row size: " + avgRowBytes +
+              " bytes, latency: " + latency + " ms)");
+        }
+        fetchRowNum = newRowNum;
+      }
+    }
+
+    /**
+     * @return the next rows, or null if there is no more row.
+     */
+    TajoMemoryResultSet take() throws Throwable {
+      synchronized (queue) {
+        while (queue.isEmpty() && !endOfResult) {
+          consumerWaited = true;
+          queue.wait();
+        }
+        if (!queue.isEmpty()) {
+          TajoMemoryResultSet resultSet = queue.poll();
+          queuedBytes -= queuedSizes.poll();
+          queue.notifyAll();
+          return resultSet;
+        }
+        if (error != null) {
+          throw error;
+        }
+        return null;
+      }
+    }
+
+    void shutdown() {
+      synchronized (queue) {
+        stopped = true;
+        queue.notifyAll();
+      }
+      try {
+        join();
+      } catch (InterruptedException e) {
+      }
+      synchronized (queue) {
+        for (TajoMemoryResultSet eachResultSet : queue) {
+          try {
+            eachResultSet.close();
+          } catch (SQLException e) {
+          }
+        }
+        queue.clear();
+        queuedSizes.clear();
+        queuedBytes = 0;
+      }
+    }
+  }
 }
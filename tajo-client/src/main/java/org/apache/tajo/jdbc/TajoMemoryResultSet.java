@@ -32,6 +32,9 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   private List<ByteString> serializedTuples;
   private AtomicBoolean closed = new AtomicBoolean(false);
   private RowStoreUtil.RowStoreDecoder decoder;
+  // the rows decoded in advance by decodeAll() or given by the constructor
+  private Tuple[] decodedTuples;
+  private long serializedBytes = -1;
 
   public TajoMemoryResultSet(Schema schema, List<ByteString> serializedTuples, int maxRowNum) {
     this.schema = schema;
@@ -41,6 +44,20 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
     init();
   }
 
+  /**
+   * Creates a result set of the rows which are already decoded, e.g., from a columnar block.
+   *
+   * @param serializedBytes the size of the rows in the serialized form
+   */
+  public TajoMemoryResultSet(Schema schema, Tuple[] decodedTuples, long serializedBytes) {
+    this.schema = schema;
+    this.totalRow = decodedTuples.length;
+    this.decodedTuples = decodedTuples;
+    this.serializedBytes = serializedBytes;
+    decoder = RowStoreUtil.createDecoder(schema);
+    init();
+  }
+
   @Override
   protected void init() {
     cur = null;
@@ -56,6 +73,41 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
     cur = null;
     curRow = -1;
     serializedTuples = null;
+    decodedTuples = null;
+  }
+
+  /**
+   * Decodes all rows in advance, so the rows can be decoded by a thread other than the consumer.
+   */
+  public synchronized void decodeAll() {
+    if (decodedTuples != null || serializedTuples == null) {
+      return;
+    }
+    int rowNum = (int) Math.min(totalRow, serializedTuples.size());
+    Tuple[] tuples = new Tuple[rowNum];
+    for (int i = 0; i < rowNum; i++) {
+      tuples[i] = decoder.toTuple(serializedTuples.get(i).toByteArray());
+    }
+    totalRow = rowNum;
+    decodedTuples = tuples;
+    serializedTuples = null;
+  }
+
+  /**
+   * @return the total bytes of the serialized rows. It should be called before decodeAll().
+   */
+  public long getSerializedBytes() {
+    if (serializedBytes >= 0) {
+      return serializedBytes;
+    }
+
+    long bytes = 0;
+    if (serializedTuples != null) {
+      for (ByteString eachTuple : serializedTuples) {
+        bytes += eachTuple.size();
+      }
+    }
+    return bytes;
   }
 
   @Override
@@ -66,7 +118,11 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   @Override
   protected Tuple nextTuple() throws IOException {
     if (curRow < totalRow) {
-      cur = decoder.toTuple(serializedTuples.get(curRow).toByteArray());
+      if (decodedTuples != null) {
+        cur = decodedTuples[curRow];
+      } else {
+        cur = decoder.toTuple(serializedTuples.get(curRow).toByteArray());
+      }
       return cur;
     } else {
       return null;
@@ -74,6 +130,9 @@ public class TajoMemoryResultSet extends TajoResultSetBase {
   }
 
   public boolean hasResult() {
+    if (decodedTuples != null) {
+      return decodedTuples.length > 0;
+    }
     return serializedTuples.size() > 0;
   }
 }
@@ -97,6 +97,14 @@ public enum SessionVars implements ConfigKey {
   GROUPBY_PER_SHUFFLE_SIZE(ConfVars.$DIST_QUERY_GROUPBY_PARTITION_VOLUME, "shuffle output size for sort (mb)", DEFAULT),
   TABLE_PARTITION_PER_SHUFFLE_SIZE(ConfVars.$DIST_QUERY_TABLE_PARTITION_VOLUME,
       "shuffle output size for partition table write (mb)", DEFAULT),
+  JOIN_RUNTIME_BROADCAST_ENABLED(ConfVars.$DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED,
+      "Broadcast join of small intermediate data enabled", DEFAULT),
+  JOIN_SKEW_SPLIT_ENABLED(ConfVars.$DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED,
+      "Skewed join partition split enabled", DEFAULT),
+  JOIN_SKEW_FACTOR(ConfVars.$DIST_QUERY_JOIN_SKEW_FACTOR,
+      "skew factor over the median join partition volume", DEFAULT),
+  JOIN_SKEW_MAX_SPLIT_NUM(ConfVars.$DIST_QUERY_JOIN_SKEW_MAX_SPLIT_NUM,
+      "maximum split number of a skewed join partition", DEFAULT),
 
   GROUPBY_MULTI_LEVEL_ENABLED(ConfVars.$GROUPBY_MULTI_LEVEL_ENABLED, "Multiple level groupby enabled", DEFAULT),
 
@@ -109,9 +117,12 @@ public enum SessionVars implements ConfigKey {
       DEFAULT),
   HASH_GROUPBY_SIZE_LIMIT(ConfVars.$EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD, "limited size for hash groupby (mb)",
       DEFAULT),
+  HASH_JOIN_MEMORY_SIZE(ConfVars.$EXECUTOR_HASH_JOIN_MEMORY_SIZE,
+      "memory size for the build side of hybrid hash join (mb)", DEFAULT),
   MAX_OUTPUT_FILE_SIZE(ConfVars.$MAX_OUTPUT_FILE_SIZE, "Maximum per-output file size (mb). 0 means infinite.", DEFAULT),
   NULL_CHAR(ConfVars.$CSVFILE_NULL, "null char of text file output", DEFAULT),
   CODEGEN(ConfVars.$CODEGEN, "Runtime code generation enabled (experiment)", DEFAULT),
+  VECTORIZED_EXECUTION(ConfVars.$EXECUTOR_VECTORIZED_ENABLED, "Vectorized execution enabled (experiment)", DEFAULT),
 
   // Behavior Control ---------------------------------------------------------
   ARITHABORT(ConfVars.$BEHAVIOR_ARITHMETIC_ABORT,
@@ -119,6 +130,9 @@ public enum SessionVars implements ConfigKey {
 
   // ResultSet ----------------------------------------------------------------
   FETCH_ROWNUM(ConfVars.$RESULT_SET_FETCH_ROWNUM, "Sets the number of rows at a time from Master", DEFAULT),
+  FETCH_PREFETCH_ENABLED(ConfVars.$RESULT_SET_PREFETCH_ENABLED, "Fetches the next rows from Master in background",
+      DEFAULT),
+  FETCH_PREFETCH_MEMORY(ConfVars.$RESULT_SET_PREFETCH_MEMORY, "Maximum memory size of prefetched rows (mb)", DEFAULT),
 
   //-------------------------------------------------------------------------------
   // Only for Unit Testing
@@ -202,6 +202,12 @@ public class TajoConf extends Configuration {
 
     // Catalog
     CATALOG_ADDRESS("tajo.catalog.client-rpc.address", "localhost:26005"),
+    // the maximum number of tables kept by a catalog client. 0 disables the cache.
+    CATALOG_CLIENT_CACHE_MAX_ENTRIES("tajo.catalog.client.cache.max-entries", 1000),
+    // how long a catalog client trusts its cache without asking the catalog version. 0 means checking every lookup.
+    CATALOG_CLIENT_CACHE_VERSION_CHECK_INTERVAL("tajo.catalog.client.cache.version-check-interval-ms", 0),
+    // whether partitions of managed column-partitioned tables are registered to and pruned from the catalog
+    CATALOG_PARTITION_INDEX_ENABLED("tajo.catalog.partition-index.enabled", true),
 
 
     // for Yarn Resource Manager ----------------------------------------------
@@ -223,15 +229,32 @@ public class TajoConf extends Configuration {
     SHUFFLE_FETCHER_CHUNK_MAX_SIZE("tajo.shuffle.fetcher.chunk.max-size",  8192),
     SHUFFLE_FETCHER_READ_TIMEOUT("tajo.shuffle.fetcher.read.timeout-sec", 120),
     SHUFFLE_FETCHER_READ_RETRY_MAX_NUM("tajo.shuffle.fetcher.read.retry.max-num", 20),
+    SHUFFLE_FETCHER_BATCH_MAX_PARTITION_NUM("tajo.shuffle.fetcher.batch.max-partition-num", 64),
+    SHUFFLE_FETCHER_STREAMING_ENABLED("tajo.shuffle.fetcher.streaming.enabled", false),
     SHUFFLE_HASH_APPENDER_BUFFER_SIZE("tajo.shuffle.hash.appender.buffer.size", 10000),
+    SHUFFLE_HASH_APPENDER_BUFFER_VOLUME("tajo.shuffle.hash.appender.buffer.volume-mb", 4),
     SHUFFLE_HASH_APPENDER_PAGE_VOLUME("tajo.shuffle.hash.appender.page.volumn-mb", 30),
     HASH_SHUFFLE_PARENT_DIRS("tajo.hash.shuffle.parent.dirs.count", 10),
 
     // Storage Configuration --------------------------------------------------
     ROWFILE_SYNC_INTERVAL("rowfile.sync.interval", 100),
     MINIMUM_SPLIT_SIZE("tajo.min.split.size", (long) 1),
+    // the number of threads which generate the splits of input paths in parallel
+    STORAGE_SPLIT_THREAD_NUM("tajo.storage.split.thread-num", 8),
+    // the maximum number of directories and files whose listings and block locations are cached. 0 disables it.
+    // Cached listings are validated by modification times, so it is only used for HDFS.
+    STORAGE_SPLIT_LISTING_CACHE_MAX_ENTRIES("tajo.storage.split.listing-cache.max-entries", 0),
+    // for CSVFile, it reuses a tuple across rows. A consumer should copy a tuple to keep it after the next row.
+    CSVFILE_LAZY_TOKENIZE_ENABLED("tajo.storage.csvfile.lazy-tokenize.enabled", false),
     // for RCFile
     HIVEUSEEXPLICITRCFILEHEADER("tajo.exec.rcfile.use.explicit.header", true),
+    // for zone maps (per-block min/max statistics of table files)
+    STORAGE_ZONEMAP_ENABLED("tajo.storage.zonemap.enabled", false),
+    STORAGE_ZONEMAP_BLOCK_SIZE("tajo.storage.zonemap.block-size-mb", 8),
+    // for read-ahead of file scanners
+    STORAGE_READ_AHEAD_ENABLED("tajo.storage.read-ahead.enabled", false),
+    STORAGE_READ_AHEAD_BUFFER_SIZE("tajo.storage.read-ahead.buffer-size-kb", 1024),
+    STORAGE_READ_AHEAD_THREADS_PER_DISK("tajo.storage.read-ahead.threads-per-disk", 2),
 
     // for Storage Manager v2
     STORAGE_MANAGER_VERSION_2("tajo.storage-manager.v2", false),
@@ -279,6 +302,9 @@ public class TajoConf extends Configuration {
     // Query and Optimization -------------------------------------------------
     EXECUTOR_EXTERNAL_SORT_THREAD_NUM("tajo.executor.external-sort.thread-num", 1),
     EXECUTOR_EXTERNAL_SORT_FANOUT("tajo.executor.external-sort.fanout-num", 8),
+    EXECUTOR_HYBRID_HASH_JOIN_PARTITION_NUM("tajo.executor.join.hybrid-hash.partition-num", 16),
+    EXECUTOR_GROUPBY_SPILL_PARTITION_NUM("tajo.executor.groupby.spill.partition-num", 16),
+    EXECUTOR_VECTORIZED_BATCH_SIZE("tajo.executor.vectorized.batch-size", 1024),
 
     EXECUTOR_INNER_JOIN_INMEMORY_HASH_TABLE_SIZE("tajo.executor.join.inner.in-memory-table-num", (long)1000000),
 
@@ -316,6 +342,14 @@ public class TajoConf extends Configuration {
     $DIST_QUERY_GROUPBY_PARTITION_VOLUME("tajo.dist-query.groupby.partition-volume-mb", 256),
     $DIST_QUERY_TABLE_PARTITION_VOLUME("tajo.dist-query.table-partition.task-volume-mb", 256),
 
+    // for switching a repartition join to a broadcast join with actual intermediate data volumes
+    $DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED("tajo.dist-query.join.runtime-broadcast.enabled", true),
+
+    // for splitting skewed partitions of repartition joins
+    $DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED("tajo.dist-query.join.skew-split.enabled", true),
+    $DIST_QUERY_JOIN_SKEW_FACTOR("tajo.dist-query.join.skew-split.factor", 4.0f),
+    $DIST_QUERY_JOIN_SKEW_MAX_SPLIT_NUM("tajo.dist-query.join.skew-split.max-num", 16),
+
     $GROUPBY_MULTI_LEVEL_ENABLED("tajo.dist-query.groupby.multi-level-aggr", true),
 
     // for physical Executors
@@ -328,8 +362,10 @@ public class TajoConf extends Configuration {
         (long)256 * 1048576),
     $EXECUTOR_GROUPBY_INMEMORY_HASH_THRESHOLD("tajo.executor.groupby.in-memory-hash-threshold-bytes",
         (long)256 * 1048576),
+    $EXECUTOR_HASH_JOIN_MEMORY_SIZE("tajo.executor.join.hash.memory-mb", 512L),
     $MAX_OUTPUT_FILE_SIZE("tajo.query.max-outfile-size-mb", 0), // zero means infinite
     $CODEGEN("tajo.executor.codegen.enabled", false), // Runtime code generation
+    $EXECUTOR_VECTORIZED_ENABLED("tajo.executor.vectorized.enabled", false), // Vectorized execution
 
     // Client -----------------------------------------------------------------
     $CLIENT_SESSION_EXPIRY_TIME("tajo.client.session.expiry-time-sec", 3600), // default time is one hour.
@@ -362,6 +398,10 @@ public class TajoConf extends Configuration {
 
     // ResultSet ---------------------------------------------------------
     $RESULT_SET_FETCH_ROWNUM("tajo.resultset.fetch.rownum", 200),
+    $RESULT_SET_PREFETCH_ENABLED("tajo.resultset.prefetch.enabled", true),
+    $RESULT_SET_PREFETCH_MEMORY("tajo.resultset.prefetch.memory-mb", 16),
+    $RESULT_SET_FETCH_COLUMNAR_ENABLED("tajo.resultset.fetch.columnar.enabled", true),
+    $RESULT_SET_FETCH_COMPRESSION_CODEC("tajo.resultset.fetch.compression.codec", "deflate"),
     ;
 
     public final String varname;
@@ -28,4 +28,8 @@ public class CompilationError extends RuntimeException {
   public CompilationError(EvalNode evalNode, Throwable t, byte [] clazz) {
     super("Compilation Error: " + evalNode.toString() + "\n\nBYTES CODE DUMP:\n" + CodeGenUtils.disassemble(clazz), t);
   }
+
+  public CompilationError(String target, Throwable t, byte [] clazz) {
+    super("Compilation Error: " + target + "\n\nBYTES CODE DUMP:\n" + CodeGenUtils.disassemble(clazz), t);
+  }
 }
@@ -38,14 +38,33 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
   final Schema schema;
   final ClassWriter classWriter;
   final EvalNode evalNode;
+  final EvalNode [] evalNodes;
+  final Class superClass;
   final Map<EvalNode, String> symbols;
   int seqId = 0;
 
   public EvalCodeGenContext(String className, Schema schema, ClassWriter classWriter, EvalNode evalNode) {
+    this(className, schema, classWriter, EvalNode.class, new EvalNode[] {evalNode}, "eval",
+        TajoGeneratorAdapter.getMethodDescription(Datum.class, new Class[]{Schema.class, Tuple.class}), 3);
+  }
+
+  /**
+   * Creates a context which generates one method evaluating a number of expressions.
+   *
+   * @param superClass The super class of the generated class. It must have a public constructor without parameters.
+   * @param evalNodes All expressions to be evaluated in the generated method
+   * @param methodName The name of the generated method
+   * @param methodDesc The descriptor of the generated method. The first two parameters must be Schema and Tuple.
+   * @param firstLocalVarId The first id of local variables, which follows the method parameters
+   */
+  public EvalCodeGenContext(String className, Schema schema, ClassWriter classWriter, Class superClass,
+                            EvalNode [] evalNodes, String methodName, String methodDesc, int firstLocalVarId) {
     this.owner = className;
     this.classWriter = classWriter;
     this.schema = schema;
-    this.evalNode = evalNode;
+    this.superClass = superClass;
+    this.evalNodes = evalNodes;
+    this.evalNode = evalNodes[0];
     this.symbols = Maps.newHashMap();
 
     emitClassDefinition();
@@ -53,17 +72,16 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
     classWriter.visitEnd();
     emitConstructor();
 
-    String methodName = "eval";
-    String methodDesc = TajoGeneratorAdapter.getMethodDescription(Datum.class, new Class[]{Schema.class, Tuple.class});
     MethodVisitor evalMethod = classWriter.visitMethod(Opcodes.ACC_PUBLIC, methodName, methodDesc, null, null);
     evalMethod.visitCode();
     this.methodvisitor = evalMethod;
     generatorAdapter = new GeneratorAdapter(this.methodvisitor, access, methodDesc, methodDesc);
+    setFirstLocalVarId(firstLocalVarId);
   }
 
   public void emitClassDefinition() {
     classWriter.visit(Opcodes.V1_5, Opcodes.ACC_PUBLIC, this.owner, null,
-        TajoGeneratorAdapter.getInternalName(EvalNode.class), null);
+        TajoGeneratorAdapter.getInternalName(superClass), null);
   }
 
   public void emitMemberFields() {
@@ -71,7 +89,9 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
         "L" + TajoGeneratorAdapter.getInternalName(Schema.class) + ";", null, null);
 
     VariablesPreBuilder builder = new VariablesPreBuilder();
-    builder.visit(this, evalNode, new Stack<EvalNode>());
+    for (EvalNode eval : evalNodes) {
+      builder.visit(this, eval, new Stack<EvalNode>());
+    }
   }
 
   public static void emitCreateSchema(TajoGeneratorAdapter adapter, MethodVisitor mv, Schema schema) {
@@ -100,7 +120,7 @@ public class EvalCodeGenContext extends TajoGeneratorAdapter {
     MethodVisitor initMethod = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
     initMethod.visitCode();
     initMethod.visitVarInsn(Opcodes.ALOAD, 0);
-    initMethod.visitMethodInsn(Opcodes.INVOKESPECIAL, TajoGeneratorAdapter.getInternalName(EvalNode.class), "<init>",
+    initMethod.visitMethodInsn(Opcodes.INVOKESPECIAL, TajoGeneratorAdapter.getInternalName(superClass), "<init>",
         "()V");
 
     TajoGeneratorAdapter consAdapter = new TajoGeneratorAdapter(Opcodes.ACC_PUBLIC, initMethod, "<init>", "()V");
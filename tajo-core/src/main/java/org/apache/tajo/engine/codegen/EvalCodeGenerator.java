@@ -96,6 +96,83 @@ public class EvalCodeGenerator extends SimpleEvalNodeVisitor<EvalCodeGenContext>
     return compiledEval;
   }
 
+  /**
+   * Compiles a search condition and target expressions of a scan into one {@link FusedPipeline} class.
+   *
+   * @param schema The input schema
+   * @param qual The search condition. It can be null if there is no search condition.
+   * @param targets The target expressions
+   * @return A fused pipeline instance
+   */
+  public FusedPipeline compilePipeline(Schema schema, EvalNode qual, EvalNode [] targets) throws CompilationError {
+    if (qual != null && qual.getValueType().getType() != TajoDataTypes.Type.BOOLEAN) {
+      throw new CompilationError("Search condition must be a boolean expression: " + qual);
+    }
+
+    ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+    EvalNode [] evalNodes;
+    if (qual != null) {
+      evalNodes = new EvalNode[targets.length + 1];
+      evalNodes[0] = qual;
+      System.arraycopy(targets, 0, evalNodes, 1, targets.length);
+    } else {
+      evalNodes = targets;
+    }
+
+    String className = EvalCodeGenerator.class.getPackage().getName() + ".CompiledPipeline" + classSeq++;
+    String methodDesc = TajoGeneratorAdapter.getMethodDescription(boolean.class,
+        new Class[]{Schema.class, Tuple.class, Tuple.class});
+    // local variable 3 is the output tuple.
+    EvalCodeGenContext context = new EvalCodeGenContext(TajoGeneratorAdapter.getInternalName(className),
+        schema, classWriter, FusedPipeline.class, evalNodes, "process", methodDesc, 4);
+
+    if (qual != null) {
+      Label ifNull = new Label();
+      Label ifNotTrue = new Label();
+      Label afterFilter = new Label();
+
+      visit(context, qual, new Stack<EvalNode>());    // < value, nullflag
+      context.emitNullityCheck(ifNull);                // < value
+      context.push(TRUE);
+      context.methodvisitor.visitJumpInsn(Opcodes.IF_ICMPNE, ifNotTrue);
+      context.gotoLabel(afterFilter);
+
+      context.methodvisitor.visitLabel(ifNull);
+      context.pop();
+      context.methodvisitor.visitLabel(ifNotTrue);
+      context.push(false);
+      context.methodvisitor.visitInsn(Opcodes.IRETURN);
+
+      context.methodvisitor.visitLabel(afterFilter);
+    }
+
+    for (int i = 0; i < targets.length; i++) {
+      visit(context, targets[i], new Stack<EvalNode>());
+      context.convertToDatum(targets[i].getValueType(), true);
+      int DATUM = context.astore();
+
+      context.aload(3);
+      context.push(i);
+      context.aload(DATUM);
+      context.invokeInterface(Tuple.class, "put", void.class, new Class[]{int.class, Datum.class});
+    }
+
+    context.push(true);
+    context.methodvisitor.visitInsn(Opcodes.IRETURN);
+    context.methodvisitor.visitMaxs(0, 0);
+    context.methodvisitor.visitEnd();
+    classWriter.visitEnd();
+
+    Class aClass = classLoader.defineClass(className, classWriter.toByteArray());
+
+    try {
+      return (FusedPipeline) aClass.getConstructor().newInstance();
+    } catch (Throwable t) {
+      throw new CompilationError("pipeline " + className, t, classWriter.toByteArray());
+    }
+  }
+
   private void printOut(EvalCodeGenContext context, String message) {
     context.methodvisitor.visitFieldInsn(Opcodes.GETSTATIC, "java/lang/System", "out", "Ljava/io/PrintStream;");
     context.push(message);
@@ -27,7 +27,9 @@ import org.apache.tajo.engine.planner.*;
 import org.apache.tajo.engine.planner.logical.*;
 import org.apache.tajo.util.Pair;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
@@ -43,6 +45,7 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
   public static void compile(CompilationContext context, LogicalNode node) throws PlanningException {
     instance.visit(context, null, null, node, new Stack<LogicalNode>());
     context.compiledEval = Collections.unmodifiableMap(context.compiledEval);
+    context.compiledPipelines = Collections.unmodifiableMap(context.compiledPipelines);
   }
 
   public static Map<Pair<Schema, EvalNode>, EvalNode> compile(TajoClassLoader classLoader, LogicalNode node)
@@ -55,10 +58,12 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
   public static class CompilationContext {
     private final EvalCodeGenerator compiler;
     private Map<Pair<Schema,EvalNode>, EvalNode> compiledEval;
+    private Map<Pair<Schema,List<EvalNode>>, FusedPipeline> compiledPipelines;
 
     public CompilationContext(TajoClassLoader classLoader) {
       this.compiler = new EvalCodeGenerator(classLoader);
       this.compiledEval = Maps.newHashMap();
+      this.compiledPipelines = Maps.newHashMap();
     }
 
     public EvalCodeGenerator getCompiler() {
@@ -68,6 +73,38 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
     public Map<Pair<Schema, EvalNode>, EvalNode> getPrecompiedEvals() {
       return compiledEval;
     }
+
+    /**
+     * A null value means that the pipeline cannot be compiled, and the scan should work without it.
+     */
+    public Map<Pair<Schema, List<EvalNode>>, FusedPipeline> getPrecompiledPipelines() {
+      return compiledPipelines;
+    }
+  }
+
+  /**
+   * Returns a key of a fused pipeline. The first element of the list is a search condition, which can be null.
+   */
+  public static Pair<Schema, List<EvalNode>> getPipelineKey(Schema schema, EvalNode qual, EvalNode [] targets) {
+    List<EvalNode> evals = new ArrayList<EvalNode>(targets.length + 1);
+    evals.add(qual);
+    Collections.addAll(evals, targets);
+    return new Pair<Schema, List<EvalNode>>(schema, evals);
+  }
+
+  public static EvalNode [] getTargetEvals(Projectable node) {
+    Target [] targets;
+    if (node.hasTargets()) {
+      targets = node.getTargets();
+    } else {
+      targets = PlannerUtil.schemaToTargets(node.getOutSchema());
+    }
+
+    EvalNode [] evals = new EvalNode[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      evals[i] = targets[i].getEvalTree();
+    }
+    return evals;
   }
 
   private static void compileIfAbsent(CompilationContext context, Schema schema, EvalNode eval) {
@@ -86,16 +123,25 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
     }
   }
 
-  private static void compileProjectableNode(CompilationContext context, Schema schema, Projectable node) {
-    Target [] targets;
-    if (node.hasTargets()) {
-      targets = node.getTargets();
-    } else {
-      targets = PlannerUtil.schemaToTargets(node.getOutSchema());
+  private static void compilePipelineIfAbsent(CompilationContext context, Schema schema, ScanNode node) {
+    EvalNode qual = node.hasQual() ? node.getQual() : null;
+    EvalNode [] targets = getTargetEvals(node);
+
+    Pair<Schema, List<EvalNode>> key = getPipelineKey(schema, qual, targets);
+    if (!context.compiledPipelines.containsKey(key)) {
+      try {
+        context.compiledPipelines.put(key, context.compiler.compilePipeline(schema, qual, targets));
+      } catch (Throwable t) {
+        // A scan works with individually compiled expressions if its pipeline cannot be compiled.
+        context.compiledPipelines.put(key, null);
+        LOG.warn(t);
+      }
     }
+  }
 
-    for (Target target : targets) {
-      compileIfAbsent(context, schema, target.getEvalTree());
+  private static void compileProjectableNode(CompilationContext context, Schema schema, Projectable node) {
+    for (EvalNode eval : getTargetEvals(node)) {
+      compileIfAbsent(context, schema, eval);
     }
   }
 
@@ -207,6 +253,7 @@ public class ExecutorPreCompiler extends BasicLogicalPlanVisitor<ExecutorPreComp
 
     compileProjectableNode(context, node.getInSchema(), node);
     compileSelectableNode(context, node.getInSchema(), node);
+    compilePipelineIfAbsent(context, node.getInSchema(), node);
 
     return node;
   }
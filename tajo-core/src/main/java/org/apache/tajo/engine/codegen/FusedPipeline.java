@@ -0,0 +1,41 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * A fused scan pipeline generated by {@link EvalCodeGenerator#compilePipeline}. It evaluates a search condition
+ * and all target expressions of a scan operator in a single generated method, so that neither an intermediate
+ * boolean datum for the condition nor a virtual call per target expression is needed for each row.
+ */
+public abstract class FusedPipeline {
+
+  /**
+   * Evaluates the search condition against an input tuple, and fills the output tuple with the target values
+   * only if the condition is satisfied.
+   *
+   * @param schema The schema of the input tuple
+   * @param in The input tuple
+   * @param out The output tuple to be filled
+   * @return True if the input tuple satisfies the search condition. Otherwise, false.
+   */
+  public abstract boolean process(Schema schema, Tuple in, Tuple out);
+}
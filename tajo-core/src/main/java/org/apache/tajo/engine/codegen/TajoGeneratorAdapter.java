@@ -814,6 +814,14 @@ class TajoGeneratorAdapter {
 
   private int nextVarId = 3;
 
+  /**
+   * Sets the first id of local variables. It must be called before any local variable is allocated
+   * if a generated method takes more parameters than <code>eval(Schema, Tuple)</code>.
+   */
+  protected void setFirstLocalVarId(int varId) {
+    this.nextVarId = varId;
+  }
+
   private Map<String, Integer> localVariablesMap = new HashMap<String, Integer>();
 
   public void astore(String name) {
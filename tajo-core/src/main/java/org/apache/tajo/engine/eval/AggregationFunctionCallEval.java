@@ -82,6 +82,27 @@ public class AggregationFunctionCallEval extends FunctionEval implements Cloneab
     }
   }
 
+  /**
+   * Returns the partial result of a given context regardless of the aggregation phase.
+   * It can be merged later through {@link #mergePartialResult(FunctionContext, Tuple)}.
+   */
+  public Datum getPartialResult(FunctionContext context) {
+    return instance.getPartialResult(context);
+  }
+
+  public DataType getPartialResultType() {
+    return instance.getPartialResultType();
+  }
+
+  /**
+   * Merges a partial result, which was computed by {@link #getPartialResult(FunctionContext)}, into a given context.
+   *
+   * @param partialResult A tuple whose first field is a partial result
+   */
+  public void mergePartialResult(FunctionContext context, Tuple partialResult) {
+    instance.merge(context, partialResult);
+  }
+
   @Override
   public DataType getValueType() {
     if (!finalPhase) {
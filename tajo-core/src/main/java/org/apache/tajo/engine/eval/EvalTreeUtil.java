@@ -28,11 +28,13 @@ import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.engine.planner.ExprFinder;
 import org.apache.tajo.engine.planner.LogicalPlan;
 import org.apache.tajo.engine.planner.Target;
 import org.apache.tajo.exception.InternalException;
+import org.apache.tajo.storage.ScanFilter;
 import org.apache.tajo.util.TUtil;
 
 import java.util.*;
@@ -517,4 +519,180 @@ public class EvalTreeUtil {
   public static Datum evaluateImmediately(EvalNode evalNode) {
     return evalNode.eval(null, null);
   }
-}
\ No newline at end of file
+
+  /**
+   * Translates the conjunctive terms of a search condition, which compare a column with a constant, into a
+   * {@link ScanFilter} to be pushed down into a scanner. The other terms are ignored, so the resulting filter
+   * may be weaker than the search condition.
+   *
+   * @param schema The schema of a scanner
+   * @param qual A search condition
+   * @return A ScanFilter, or null if there is no term to be pushed down
+   */
+  public static ScanFilter toScanFilter(Schema schema, EvalNode qual) {
+    List<ScanFilter.Predicate> predicates = new ArrayList<ScanFilter.Predicate>();
+    for (EvalNode term : AlgebraicUtil.toConjunctiveNormalFormArray(qual)) {
+      addScanPredicates(schema, term, predicates);
+    }
+    return predicates.isEmpty() ? null : new ScanFilter(predicates);
+  }
+
+  private static void addScanPredicates(Schema schema, EvalNode term, List<ScanFilter.Predicate> predicates) {
+    switch (term.getType()) {
+    case IS_NULL: {
+      IsNullEval isNull = (IsNullEval) term;
+      int columnId = findScanColumnId(schema, isNull.getChild());
+      if (columnId >= 0) {
+        predicates.add(new ScanFilter.Predicate(columnId,
+            isNull.isNot() ? ScanFilter.Op.IS_NOT_NULL : ScanFilter.Op.IS_NULL, null));
+      }
+      break;
+    }
+
+    case BETWEEN: {
+      BetweenPredicateEval between = (BetweenPredicateEval) term;
+      if (between.isNot() || between.isSymmetric()) {
+        break;
+      }
+      int columnId = findScanColumnId(schema, between.getPredicand());
+      if (columnId >= 0 && isPushableConst(schema, columnId, between.getBegin())
+          && isPushableConst(schema, columnId, between.getEnd())) {
+        predicates.add(new ScanFilter.Predicate(columnId, ScanFilter.Op.GEQ,
+            ((ConstEval) between.getBegin()).getValue()));
+        predicates.add(new ScanFilter.Predicate(columnId, ScanFilter.Op.LEQ,
+            ((ConstEval) between.getEnd()).getValue()));
+      }
+      break;
+    }
+
+    case EQUAL:
+    case NOT_EQUAL:
+    case LTH:
+    case LEQ:
+    case GTH:
+    case GEQ: {
+      BinaryEval binary = (BinaryEval) term;
+      EvalNode field = binary.getLeftExpr();
+      EvalNode constant = binary.getRightExpr();
+      boolean commuted = false;
+      if (field.getType() == EvalType.CONST) {
+        field = binary.getRightExpr();
+        constant = binary.getLeftExpr();
+        commuted = true;
+      }
+
+      int columnId = findScanColumnId(schema, field);
+      if (columnId >= 0 && isPushableConst(schema, columnId, constant)) {
+        ScanFilter.Op op = ScanFilter.Op.valueOf(term.getType().name());
+        predicates.add(new ScanFilter.Predicate(columnId, commuted ? commuteScanOp(op) : op,
+            ((ConstEval) constant).getValue()));
+      }
+      break;
+    }
+
+    case IN: {
+      InEval in = (InEval) term;
+      int columnId = findScanColumnId(schema, in.getLeftExpr());
+      if (columnId < 0 || in.getRightExpr().getType() != EvalType.ROW_CONSTANT) {
+        break;
+      }
+      Datum [] values = ((RowConstantEval) in.getRightExpr()).getValues();
+      for (Datum value : values) {
+        if (!isPushableValue(schema, columnId, value)) {
+          return;
+        }
+      }
+      if (in.isNot()) {
+        // NOT IN is null for a null value, so it is equivalent to the conjunction of NOT_EQUALs.
+        for (Datum value : values) {
+          predicates.add(new ScanFilter.Predicate(columnId, ScanFilter.Op.NOT_EQUAL, value));
+        }
+      } else {
+        predicates.add(new ScanFilter.Predicate(columnId, values));
+      }
+      break;
+    }
+
+    case OR: {
+      // A disjunction can be pushed down only if every disjunct is translated into predicates on the same column.
+      List<ScanFilter.Predicate> disjuncts = new ArrayList<ScanFilter.Predicate>();
+      for (EvalNode disjunct : AlgebraicUtil.toDisjunctiveNormalFormArray(term)) {
+        List<ScanFilter.Predicate> conjuncts = new ArrayList<ScanFilter.Predicate>();
+        for (EvalNode conjunct : AlgebraicUtil.toConjunctiveNormalFormArray(disjunct)) {
+          addScanPredicates(schema, conjunct, conjuncts);
+        }
+        if (conjuncts.isEmpty()) {
+          return;
+        }
+        for (ScanFilter.Predicate conjunct : conjuncts) {
+          if (conjunct.getColumnId() != conjuncts.get(0).getColumnId()) {
+            return;
+          }
+        }
+        disjuncts.add(conjuncts.size() == 1 ? conjuncts.get(0) :
+            new ScanFilter.Predicate(ScanFilter.Op.AND, conjuncts));
+        if (disjuncts.get(disjuncts.size() - 1).getColumnId() != disjuncts.get(0).getColumnId()) {
+          return;
+        }
+      }
+      predicates.add(new ScanFilter.Predicate(ScanFilter.Op.OR, disjuncts));
+      break;
+    }
+
+    default:
+    }
+  }
+
+  private static int findScanColumnId(Schema schema, EvalNode node) {
+    if (node.getType() != EvalType.FIELD) {
+      return -1;
+    }
+    Column column = ((FieldEval) node).getColumnRef();
+    int columnId = schema.getColumnId(column.getQualifiedName());
+    if (columnId < 0) {
+      columnId = schema.getColumnIdByName(column.getSimpleName());
+    }
+    return columnId;
+  }
+
+  /**
+   * A constant can be pushed down only if the datum of a column can be directly compared with it.
+   */
+  private static boolean isPushableConst(Schema schema, int columnId, EvalNode node) {
+    return node.getType() == EvalType.CONST && isPushableValue(schema, columnId, ((ConstEval) node).getValue());
+  }
+
+  private static boolean isPushableValue(Schema schema, int columnId, Datum value) {
+    if (value.isNull()) {
+      return false;
+    }
+    Type columnType = schema.getColumn(columnId).getDataType().getType();
+    Type constType = value.type();
+    switch (columnType) {
+    case INT2:
+    case INT4:
+    case INT8:
+    case FLOAT4:
+    case FLOAT8:
+      return constType == Type.INT2 || constType == Type.INT4 || constType == Type.INT8 ||
+          constType == Type.FLOAT4 || constType == Type.FLOAT8;
+    case TEXT:
+    case DATE:
+    case TIME:
+    case TIMESTAMP:
+      return columnType == constType;
+    default:
+      return false;
+    }
+  }
+
+  private static ScanFilter.Op commuteScanOp(ScanFilter.Op op) {
+    switch (op) {
+    case LTH: return ScanFilter.Op.GTH;
+    case LEQ: return ScanFilter.Op.GEQ;
+    case GTH: return ScanFilter.Op.LTH;
+    case GEQ: return ScanFilter.Op.LEQ;
+    default: return op;
+    }
+  }
+}
@@ -25,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.classification.InterfaceStability;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.algebra.JoinType;
+import org.apache.tajo.catalog.CatalogService;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.eval.AlgebraicUtil;
@@ -57,6 +58,13 @@ public class LogicalOptimizer {
   private JoinOrderAlgorithm joinOrderAlgorithm = new GreedyHeuristicJoinOrderAlgorithm();
 
   public LogicalOptimizer(TajoConf systemConf) {
+    this(systemConf, null);
+  }
+
+  /**
+   * @param catalog The catalog which provides the partitions of partitioned tables. It can be NULL.
+   */
+  public LogicalOptimizer(TajoConf systemConf, CatalogService catalog) {
     rulesBeforeJoinOpt = new BasicQueryRewriteEngine();
     if (systemConf.getBoolVar(ConfVars.$TEST_FILTER_PUSHDOWN_ENABLED)) {
       rulesBeforeJoinOpt.addRewriteRule(new FilterPushDownRule());
@@ -64,7 +72,7 @@ public class LogicalOptimizer {
 
     rulesAfterToJoinOpt = new BasicQueryRewriteEngine();
     rulesAfterToJoinOpt.addRewriteRule(new ProjectionPushDownRule());
-    rulesAfterToJoinOpt.addRewriteRule(new PartitionedTableRewriter(systemConf));
+    rulesAfterToJoinOpt.addRewriteRule(new PartitionedTableRewriter(systemConf, catalog));
 
     // Currently, it is only used for some test cases to inject exception manually.
     String userDefinedRewriterClass = systemConf.get("tajo.plan.rewriter.classes");
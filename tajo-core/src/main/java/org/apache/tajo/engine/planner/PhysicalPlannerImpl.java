@@ -368,7 +368,10 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
           LOG.info("Join (" + plan.getPID() +") chooses [Sort Merge Join]");
           return createMergeInnerJoin(context, plan, leftExec, rightExec);
         case HYBRID_HASH_JOIN:
-
+          LOG.info("Join (" + plan.getPID() +") chooses [Hybrid Hash Join]");
+          // returns two PhysicalExec. smaller one is 0, and larger one is 1.
+          PhysicalExec [] ordered = switchJoinSidesIfNecessary(context, plan, leftExec, rightExec);
+          return new HybridHashJoinExec(context, plan, ordered[1], ordered[0]);
         default:
           LOG.error("Invalid Inner Join Algorithm Enforcer: " + algorithm.name());
           LOG.error("Choose a fallback inner join algorithm: " + JoinAlgorithm.MERGE_JOIN.name());
@@ -426,10 +429,12 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
     }
 
     if (inMemoryHashJoin) {
-      LOG.info("Join (" + plan.getPID() +") chooses [In-memory Hash Join]");
+      // The estimated volume can be wrong. Hybrid hash join works like in-memory hash join if the smaller side fits
+      // in memory, and it spills partitions to disk otherwise.
+      LOG.info("Join (" + plan.getPID() +") chooses [Hybrid Hash Join]");
       // returns two PhysicalExec. smaller one is 0, and larger one is 1.
       PhysicalExec [] orderedChilds = switchJoinSidesIfNecessary(context, plan, leftExec, rightExec);
-      return new HashJoinExec(context, plan, orderedChilds[1], orderedChilds[0]);
+      return new HybridHashJoinExec(context, plan, orderedChilds[1], orderedChilds[0]);
     } else {
       return createMergeInnerJoin(context, plan, leftExec, rightExec);
     }
@@ -1002,24 +1007,9 @@ public class PhysicalPlannerImpl implements PhysicalPlanner {
 
   private PhysicalExec createBestAggregationPlan(TaskAttemptContext context, GroupbyNode groupbyNode,
                                                  PhysicalExec subOp) throws IOException {
-    Column[] grpColumns = groupbyNode.getGroupingColumns();
-    if (grpColumns.length == 0) {
-      return createInMemoryHashAggregation(context, groupbyNode, subOp);
-    }
-
-    String [] outerLineage = PlannerUtil.getRelationLineage(groupbyNode.getChild());
-    long estimatedSize = estimateSizeRecursive(context, outerLineage);
-    final long threshold = context.getQueryContext().getLong(SessionVars.HASH_GROUPBY_SIZE_LIMIT);
-
-    // if the relation size is less than the threshold,
-    // the hash aggregation will be used.
-    LOG.info("Aggregation:estimatedSize=" + estimatedSize + ", threshold=" + threshold);
-    if (estimatedSize <= threshold) {
-      LOG.info("The planner chooses [Hash Aggregation]");
-      return createInMemoryHashAggregation(context, groupbyNode, subOp);
-    } else {
-      return createSortAggregation(context, null, groupbyNode, subOp);
-    }
+    // HashAggregateExec spills partial aggregation results to disk if its hash table exceeds
+    // HASH_GROUPBY_SIZE_LIMIT. So, the hash aggregation is always safe regardless of the input size.
+    return createInMemoryHashAggregation(context, groupbyNode, subOp);
   }
 
   public PhysicalExec createWindowAgg(TaskAttemptContext context,WindowAggNode windowAggNode, PhysicalExec subOp)
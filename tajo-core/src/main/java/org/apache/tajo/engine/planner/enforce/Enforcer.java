@@ -311,6 +311,8 @@ public class Enforcer implements ProtoObject<EnforcerProto> {
         sb.append("block_nested_loop");
       } else if (join.getAlgorithm() == JoinEnforce.JoinAlgorithm.IN_MEMORY_HASH_JOIN) {
         sb.append("in_memory_hash");
+      } else if (join.getAlgorithm() == JoinEnforce.JoinAlgorithm.HYBRID_HASH_JOIN) {
+        sb.append("hybrid_hash");
       }
       break;
     case OUTPUT_DISTINCT:
@@ -29,6 +29,7 @@ import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.engine.planner.logical.CreateTableNode;
 import org.apache.tajo.engine.planner.logical.InsertNode;
@@ -41,6 +42,9 @@ import org.apache.tajo.unit.StorageUnit;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class ColPartitionStoreExec extends UnaryPhysicalExec {
   private static Log LOG = LogFactory.getLog(ColPartitionStoreExec.class);
@@ -61,6 +65,9 @@ public abstract class ColPartitionStoreExec extends UnaryPhysicalExec {
   protected int writtenFileNum = 0;               // how many file are written so far?
   protected Path lastFileName;                    // latest written file name
 
+  // the volume of each written partition, which is reported to the catalog
+  private final Map<String, PartitionDesc> writtenPartitions = new HashMap<String, PartitionDesc>();
+
   public ColPartitionStoreExec(TaskAttemptContext context, StoreTableNode plan, PhysicalExec child) {
     super(context, plan.getInSchema(), plan.getOutSchema(), child);
     this.plan = plan;
@@ -128,6 +135,33 @@ public abstract class ColPartitionStoreExec extends UnaryPhysicalExec {
     aggregatedStats = new TableStats();
   }
 
+  /**
+   * Adds the stats of a closed appender to the volume of the partition which the appender has written.
+   */
+  protected void addPartitionStats(String partition, TableStats stats) {
+    PartitionDesc partitionDesc = writtenPartitions.get(partition);
+    if (partitionDesc == null) {
+      partitionDesc = new PartitionDesc();
+      partitionDesc.setName(partition);
+      partitionDesc.setPartitionValue(partition);
+      partitionDesc.setNumBytes(0);
+      partitionDesc.setNumRows(0);
+      writtenPartitions.put(partition, partitionDesc);
+    }
+
+    if (stats != null) {
+      partitionDesc.setNumBytes(partitionDesc.getNumBytes() + Math.max(0, stats.getNumBytes()));
+      partitionDesc.setNumRows(partitionDesc.getNumRows() + Math.max(0, stats.getNumRows()));
+    }
+  }
+
+  /**
+   * Reports all written partitions to the task context.
+   */
+  protected void setWrittenPartitions() {
+    context.setPartitions(new ArrayList<PartitionDesc>(writtenPartitions.values()));
+  }
+
   protected Path getDataFile(String partition) {
     return StorageUtil.concatPath(storeTablePath.getParent(), partition, storeTablePath.getName());
   }
@@ -163,6 +197,7 @@ public abstract class ColPartitionStoreExec extends UnaryPhysicalExec {
     appender = StorageManagerFactory.getStorageManager(context.getConf()).getAppender(meta, outSchema, actualFilePath);
 
     appender.enableStats();
+    PhysicalPlanUtil.enableZoneMapIfNecessary(context.getConf(), appender);
     appender.init();
   }
 }
@@ -81,8 +81,8 @@ public class ExternalSortExec extends SortExec {
   private final int allocatedCoreNum;
   /** If there are available multiple cores, it tries parallel merge. */
   private ExecutorService executorService;
-  /** used for in-memory sort of each chunk. */
-  private List<Tuple> inMemoryTable;
+  /** used for in-memory sort of each chunk. It keeps rows in off-heap pages if the schema allows it. */
+  private SortBuffer inMemoryTable;
   /** temporal dir */
   private final Path sortTmpDir;
   /** It enables round-robin disks allocation */
@@ -121,7 +121,6 @@ public class ExternalSortExec extends SortExec {
     this.sortBufferBytesNum = context.getQueryContext().getLong(SessionVars.EXTSORT_BUFFER_SIZE) * StorageUnit.MB;
     this.allocatedCoreNum = context.getConf().getIntVar(ConfVars.EXECUTOR_EXTERNAL_SORT_THREAD_NUM);
     this.executorService = Executors.newFixedThreadPool(this.allocatedCoreNum);
-    this.inMemoryTable = new ArrayList<Tuple>(100000);
 
     this.sortTmpDir = getExecutorTmpDir();
     localDirAllocator = new LocalDirAllocator(ConfVars.WORKER_TEMPORAL_DIR.varname);
@@ -164,22 +163,20 @@ public class ExternalSortExec extends SortExec {
   /**
    * Sort a tuple block and store them into a chunk file
    */
-  private Path sortAndStoreChunk(int chunkId, List<Tuple> tupleBlock)
+  private Path sortAndStoreChunk(int chunkId, SortBuffer tupleBlock)
       throws IOException {
     TableMeta meta = CatalogUtil.newTableMeta(StoreType.RAW);
     int rowNum = tupleBlock.size();
 
     long sortStart = System.currentTimeMillis();
-    Collections.sort(tupleBlock, getComparator());
+    tupleBlock.sort();
     long sortEnd = System.currentTimeMillis();
 
     long chunkWriteStart = System.currentTimeMillis();
     Path outputPath = getChunkPathForWrite(0, chunkId);
     final RawFileAppender appender = new RawFileAppender(context.getConf(), inSchema, meta, outputPath);
     appender.init();
-    for (Tuple t : tupleBlock) {
-      appender.addTuple(t);
-    }
+    tupleBlock.writeTo(appender);
     appender.close();
     tupleBlock.clear();
     long chunkWriteEnd = System.currentTimeMillis();
@@ -203,12 +200,22 @@ public class ExternalSortExec extends SortExec {
     long memoryConsumption = 0;
     List<Path> chunkPaths = TUtil.newList();
 
+    if (inMemoryTable == null) {
+      if (RawFile.RawTupleEncoder.isSupported(inSchema)) {
+        // a page should be much smaller than the sort buffer
+        int pageSize = (int) Math.min(OffHeapSortBuffer.DEFAULT_PAGE_SIZE,
+            Math.max(StorageUnit.KB * 64, sortBufferBytesNum / 16));
+        inMemoryTable = new OffHeapSortBuffer(inSchema, getSortSpecs(), getComparator(), pageSize);
+      } else {
+        inMemoryTable = new TupleListSortBuffer(getComparator());
+      }
+    }
+
     int chunkId = 0;
     long runStartTime = System.currentTimeMillis();
     while ((tuple = child.next()) != null) { // partition sort start
-      Tuple vtuple = new VTuple(tuple);
-      inMemoryTable.add(vtuple);
-      memoryConsumption += MemoryUtil.calculateMemorySize(vtuple);
+      inMemoryTable.add(tuple);
+      memoryConsumption = inMemoryTable.getMemoryConsumption();
 
       if (memoryConsumption > sortBufferBytesNum) {
         long runEndTime = System.currentTimeMillis();
@@ -248,7 +255,7 @@ public class ExternalSortExec extends SortExec {
           info(LOG, "Last Chunk #" + chunkId + " " + rowNum + " rows written (" + (end - start) + " msec)");
         }
       } else { // this case means that all data does not exceed a sort buffer
-        Collections.sort(inMemoryTable, getComparator());
+        inMemoryTable.sort();
       }
     }
 
@@ -538,7 +545,7 @@ public class ExternalSortExec extends SortExec {
   }
 
   private class MemTableScanner implements Scanner {
-    Iterator<Tuple> iterator;
+    int rowIdx;
 
     // for input stats
     float scannerProgress;
@@ -548,7 +555,7 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public void init() throws IOException {
-      iterator = inMemoryTable.iterator();
+      rowIdx = 0;
 
       totalRecords = inMemoryTable.size();
       scannerProgress = 0.0f;
@@ -563,9 +570,9 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public Tuple next() throws IOException {
-      if (iterator.hasNext()) {
+      if (inMemoryTable != null && rowIdx < inMemoryTable.size()) {
         numRecords++;
-        return iterator.next();
+        return inMemoryTable.get(rowIdx++);
       } else {
         return null;
       }
@@ -578,7 +585,7 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public void close() throws IOException {
-      iterator = null;
+      rowIdx = totalRecords;
       scannerProgress = 1.0f;
     }
 
@@ -612,7 +619,7 @@ public class ExternalSortExec extends SortExec {
 
     @Override
     public float getProgress() {
-      if (iterator != null && numRecords > 0) {
+      if (scannerProgress < 1.0f && numRecords > 0) {
         return (float)numRecords / (float)totalRecords;
 
       } else { // if an input is empty
@@ -785,7 +792,7 @@ public class ExternalSortExec extends SortExec {
     }
 
     if(inMemoryTable != null){
-      inMemoryTable.clear();
+      inMemoryTable.release();
       inMemoryTable = null;
     }
 
@@ -18,57 +18,133 @@
 
 package org.apache.tajo.engine.planner.physical;
 
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.LocalDirAllocator;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.function.FunctionContext;
 import org.apache.tajo.engine.planner.logical.GroupbyNode;
+import org.apache.tajo.engine.vector.ColumnBatch;
+import org.apache.tajo.storage.MemoryUtil;
+import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.FileUtil;
 import org.apache.tajo.worker.TaskAttemptContext;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import static org.apache.tajo.storage.RawFile.RawFileAppender;
+import static org.apache.tajo.storage.RawFile.RawFileScanner;
+
 /**
  * This is the hash-based GroupBy Operator.
+ *
+ * The hash table is bounded by {@link org.apache.tajo.SessionVars#HASH_GROUPBY_SIZE_LIMIT}. If the estimated memory
+ * consumption of the hash table exceeds the limit, the partial aggregation results of all groups are spilled to
+ * hash-partitioned RAW files, and the hash table is emptied. After the input is exhausted, each spilled partition is
+ * read back and merged through the partial result interface of aggregation functions. A partition which still
+ * exceeds the limit is recursively spilled with a different hash seed until {@link #MAX_SPILL_LEVEL}.
  */
 public class HashAggregateExec extends AggregationExec {
+  private static final Log LOG = LogFactory.getLog(HashAggregateExec.class);
+  /** The maximum level of recursive spilling. Beyond it, a partition is aggregated regardless of memory limit. */
+  static final int MAX_SPILL_LEVEL = 3;
+  /** The estimated bytes of a hash map entry and its context array, except for the key tuple */
+  private static final long ENTRY_OVERHEAD_BYTES = 64;
+  /** The estimated bytes of a function context */
+  private static final long FUNCTION_CONTEXT_BYTES = 48;
+
   private Tuple tuple = null;
   private Map<Tuple, FunctionContext[]> hashTable;
   private boolean computed = false;
   private Iterator<Entry<Tuple, FunctionContext []>> iterator = null;
 
+  private long memoryLimit;
+  private long memoryConsumption = 0;
+  private final int partitionNum;
+  /** (grouping keys, partial results of aggregation functions) */
+  private final Schema spillSchema;
+  private final TableMeta spillMeta;
+  private final Path spillTmpDir;
+  /** It enables round-robin disks allocation */
+  private final LocalDirAllocator localDirAllocator;
+  private final RawLocalFileSystem localFS;
+
+  /** the spill level of the current aggregation pass */
+  private int level = 0;
+  private RawFileAppender [] spillAppenders;
+  private SpilledPartition [] spilledPartitions;
+  /** spilled partitions which are not aggregated yet */
+  private LinkedList<SpilledPartition> pendingPartitions = new LinkedList<SpilledPartition>();
+  private final Tuple partialResult = new VTuple(1);
+  private int spillFileSeq = 0;
+  private long spilledBytes = 0;
+
   public HashAggregateExec(TaskAttemptContext ctx, GroupbyNode plan, PhysicalExec subOp) throws IOException {
     super(ctx, plan, subOp);
     hashTable = new HashMap<Tuple, FunctionContext []>(100000);
     this.tuple = new VTuple(plan.getOutSchema().size());
+
+    this.memoryLimit = ctx.getQueryContext().getLong(SessionVars.HASH_GROUPBY_SIZE_LIMIT);
+    this.partitionNum = Math.max(2, ctx.getConf().getIntVar(ConfVars.EXECUTOR_GROUPBY_SPILL_PARTITION_NUM));
+    this.spillSchema = new Schema();
+    for (int i = 0; i < groupingKeyNum; i++) {
+      spillSchema.addColumn("key_" + i, inSchema.getColumn(groupingKeyIds[i]).getDataType());
+    }
+    for (int i = 0; i < aggFunctionsNum; i++) {
+      spillSchema.addColumn("partial_" + i, aggFunctions[i].getPartialResultType());
+    }
+    this.spillMeta = CatalogUtil.newTableMeta(StoreType.RAW);
+    this.spillTmpDir = getExecutorTmpDir();
+    this.localDirAllocator = new LocalDirAllocator(ConfVars.WORKER_TEMPORAL_DIR.varname);
+    this.localFS = new RawLocalFileSystem();
   }
 
-  private void compute() throws IOException {
-    Tuple tuple;
-    Tuple keyTuple;
-    while((tuple = child.next()) != null && !context.isStopped()) {
-      keyTuple = new VTuple(groupingKeyIds.length);
-      // build one key tuple
-      for(int i = 0; i < groupingKeyIds.length; i++) {
-        keyTuple.put(i, tuple.get(groupingKeyIds[i]));
-      }
+  @VisibleForTesting
+  public void setMemoryLimit(long memoryLimit) {
+    this.memoryLimit = memoryLimit;
+  }
 
-      FunctionContext [] contexts = hashTable.get(keyTuple);
-      if(contexts != null) {
-        for(int i = 0; i < aggFunctions.length; i++) {
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
-        }
-      } else { // if the key occurs firstly
-        contexts = new FunctionContext[aggFunctionsNum];
-        for(int i = 0; i < aggFunctionsNum; i++) {
-          contexts[i] = aggFunctions[i].newContext();
-          aggFunctions[i].merge(contexts[i], inSchema, tuple);
+  @VisibleForTesting
+  public long getSpilledBytes() {
+    return spilledBytes;
+  }
+
+  private void compute() throws IOException {
+    if (child instanceof VectorizedExec && ((VectorizedExec) child).isVectorized()) {
+      // In the vectorized mode, rows are directly materialized from column batches.
+      Tuple tuple = new VTuple(inSchema.size());
+      ColumnBatch batch;
+      while ((batch = ((VectorizedExec) child).nextBatch()) != null && !context.isStopped()) {
+        int [] selected = batch.getSelected();
+        for (int i = 0; i < batch.getSelectedSize(); i++) {
+          batch.getTuple(selected[i], tuple);
+          aggregate(tuple);
         }
-        hashTable.put(keyTuple, contexts);
+      }
+    } else {
+      Tuple tuple;
+      while((tuple = child.next()) != null && !context.isStopped()) {
+        aggregate(tuple);
       }
     }
+    finishPass();
 
     // If HashAggregateExec received NullDatum and didn't has any grouping keys,
     // it should return primitive values for NullLDatum.
@@ -81,6 +157,155 @@ public class HashAggregateExec extends AggregationExec {
     }
   }
 
+  private void aggregate(Tuple tuple) throws IOException {
+    Tuple keyTuple = new VTuple(groupingKeyIds.length);
+    // build one key tuple
+    for(int i = 0; i < groupingKeyIds.length; i++) {
+      keyTuple.put(i, tuple.get(groupingKeyIds[i]));
+    }
+
+    FunctionContext [] contexts = hashTable.get(keyTuple);
+    if(contexts != null) {
+      for(int i = 0; i < aggFunctions.length; i++) {
+        aggFunctions[i].merge(contexts[i], inSchema, tuple);
+      }
+    } else { // if the key occurs firstly
+      contexts = new FunctionContext[aggFunctionsNum];
+      for(int i = 0; i < aggFunctionsNum; i++) {
+        contexts[i] = aggFunctions[i].newContext();
+        aggFunctions[i].merge(contexts[i], inSchema, tuple);
+      }
+      hashTable.put(keyTuple, contexts);
+      addMemoryConsumption(keyTuple);
+    }
+  }
+
+  /**
+   * Merges the partial results of a spilled partition into the empty hash table.
+   */
+  private void computeSpilledPartition(SpilledPartition partition) throws IOException {
+    info(LOG, "Aggregate the spilled level " + partition.level + " partition #" + partition.partitionId + " (" +
+        FileUtil.humanReadableByteCount(partition.bytes, false) + ")");
+
+    level = partition.level + 1;
+    FileFragment fragment = new FileFragment("", partition.path, 0, partition.bytes);
+    Scanner scanner = new RawFileScanner(context.getConf(), spillSchema, spillMeta, fragment);
+    scanner.init();
+    try {
+      Tuple tuple;
+      Tuple keyTuple;
+      while ((tuple = scanner.next()) != null && !context.isStopped()) {
+        keyTuple = new VTuple(groupingKeyNum);
+        for (int i = 0; i < groupingKeyNum; i++) {
+          keyTuple.put(i, tuple.get(i));
+        }
+
+        FunctionContext [] contexts = hashTable.get(keyTuple);
+        boolean firstKey = contexts == null;
+        if (firstKey) {
+          contexts = new FunctionContext[aggFunctionsNum];
+          for (int i = 0; i < aggFunctionsNum; i++) {
+            contexts[i] = aggFunctions[i].newContext();
+          }
+        }
+        for (int i = 0; i < aggFunctionsNum; i++) {
+          partialResult.put(0, tuple.get(groupingKeyNum + i));
+          aggFunctions[i].mergePartialResult(contexts[i], partialResult);
+        }
+        if (firstKey) {
+          hashTable.put(keyTuple, contexts);
+          addMemoryConsumption(keyTuple);
+        }
+      }
+    } finally {
+      scanner.close();
+      partition.delete();
+    }
+    finishPass();
+  }
+
+  private void addMemoryConsumption(Tuple keyTuple) throws IOException {
+    memoryConsumption += MemoryUtil.calculateMemorySize(keyTuple) + ENTRY_OVERHEAD_BYTES +
+        aggFunctionsNum * FUNCTION_CONTEXT_BYTES;
+
+    // Without grouping keys, there is only one group. So, it never needs to spill.
+    if (memoryConsumption > memoryLimit && groupingKeyNum > 0 && level < MAX_SPILL_LEVEL) {
+      spillHashTable();
+    }
+  }
+
+  /**
+   * Writes the partial results of all groups in the hash table to the partition files of the current level.
+   */
+  private void spillHashTable() throws IOException {
+    if (spillAppenders == null) {
+      spillAppenders = new RawFileAppender[partitionNum];
+      spilledPartitions = new SpilledPartition[partitionNum];
+    }
+
+    info(LOG, hashTable.size() + " groups (" + FileUtil.humanReadableByteCount(memoryConsumption, false) +
+        ") at level " + level + " are spilled because memory consumption exceeds " +
+        FileUtil.humanReadableByteCount(memoryLimit, false));
+
+    Tuple spillTuple = new VTuple(spillSchema.size());
+    for (Entry<Tuple, FunctionContext []> entry : hashTable.entrySet()) {
+      Tuple keyTuple = entry.getKey();
+      FunctionContext [] contexts = entry.getValue();
+
+      int partitionId = getPartitionId(keyTuple);
+      if (spillAppenders[partitionId] == null) {
+        spilledPartitions[partitionId] = new SpilledPartition(level, partitionId);
+        spillAppenders[partitionId] = new RawFileAppender(context.getConf(), spillSchema, spillMeta,
+            spilledPartitions[partitionId].path);
+        spillAppenders[partitionId].init();
+      }
+
+      for (int i = 0; i < groupingKeyNum; i++) {
+        spillTuple.put(i, keyTuple.get(i));
+      }
+      for (int i = 0; i < aggFunctionsNum; i++) {
+        spillTuple.put(groupingKeyNum + i, aggFunctions[i].getPartialResult(contexts[i]));
+      }
+      spillAppenders[partitionId].addTuple(spillTuple);
+    }
+
+    hashTable.clear();
+    memoryConsumption = 0;
+  }
+
+  /**
+   * If some groups are spilled in the current pass, the remain groups are also spilled, and the spilled partitions
+   * are enqueued. Otherwise, the hash table keeps the final groups of the current pass.
+   */
+  private void finishPass() throws IOException {
+    if (spillAppenders == null) {
+      return;
+    }
+
+    if (hashTable.size() > 0) {
+      spillHashTable();
+    }
+    for (int i = 0; i < partitionNum; i++) {
+      if (spillAppenders[i] != null) {
+        spillAppenders[i].close();
+        spilledPartitions[i].bytes = spillAppenders[i].getOffset();
+        spilledBytes += spilledPartitions[i].bytes;
+        pendingPartitions.add(spilledPartitions[i]);
+      }
+    }
+    spillAppenders = null;
+    spilledPartitions = null;
+  }
+
+  private int getPartitionId(Tuple keyTuple) {
+    // mix the hash with the level in order to re-distribute groups of the same partition in the next level
+    int hash = keyTuple.hashCode() ^ (level * 0x9E3779B9);
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    return (hash & Integer.MAX_VALUE) % partitionNum;
+  }
+
   @Override
   public Tuple next() throws IOException {
     if(!computed) {
@@ -89,37 +314,94 @@ public class HashAggregateExec extends AggregationExec {
       computed = true;
     }
 
+    while (!iterator.hasNext()) {
+      SpilledPartition partition = pendingPartitions.poll();
+      if (partition == null || context.isStopped()) {
+        return null;
+      }
+      hashTable.clear();
+      memoryConsumption = 0;
+      computeSpilledPartition(partition);
+      iterator = hashTable.entrySet().iterator();
+    }
+
     FunctionContext [] contexts;
 
-    if (iterator.hasNext()) {
-      Entry<Tuple, FunctionContext []> entry = iterator.next();
-      Tuple keyTuple = entry.getKey();
-      contexts =  entry.getValue();
+    Entry<Tuple, FunctionContext []> entry = iterator.next();
+    Tuple keyTuple = entry.getKey();
+    contexts =  entry.getValue();
 
-      int tupleIdx = 0;
-      for (; tupleIdx < groupingKeyNum; tupleIdx++) {
-        tuple.put(tupleIdx, keyTuple.get(tupleIdx));
-      }
-      for (int funcIdx = 0; funcIdx < aggFunctionsNum; funcIdx++, tupleIdx++) {
-        tuple.put(tupleIdx, aggFunctions[funcIdx].terminate(contexts[funcIdx]));
-      }
-
-      return tuple;
-    } else {
-      return null;
+    int tupleIdx = 0;
+    for (; tupleIdx < groupingKeyNum; tupleIdx++) {
+      tuple.put(tupleIdx, keyTuple.get(tupleIdx));
     }
+    for (int funcIdx = 0; funcIdx < aggFunctionsNum; funcIdx++, tupleIdx++) {
+      tuple.put(tupleIdx, aggFunctions[funcIdx].terminate(contexts[funcIdx]));
+    }
+
+    return tuple;
   }
 
   @Override
   public void rescan() throws IOException {
-    iterator = hashTable.entrySet().iterator();
+    if (spilledBytes == 0) {
+      iterator = hashTable.entrySet().iterator();
+    } else {
+      // the groups of spilled partitions are already consumed, so it should aggregate the input again.
+      cleanupSpills();
+      hashTable.clear();
+      memoryConsumption = 0;
+      level = 0;
+      spilledBytes = 0;
+      computed = false;
+      super.rescan();
+    }
+  }
+
+  private void cleanupSpills() throws IOException {
+    if (spillAppenders != null) {
+      for (int i = 0; i < partitionNum; i++) {
+        if (spillAppenders[i] != null) {
+          spillAppenders[i].close();
+          spilledPartitions[i].delete();
+        }
+      }
+      spillAppenders = null;
+      spilledPartitions = null;
+    }
+
+    for (SpilledPartition partition : pendingPartitions) {
+      partition.delete();
+    }
+    pendingPartitions.clear();
   }
 
   @Override
   public void close() throws IOException {
     super.close();
+    cleanupSpills();
     hashTable.clear();
     hashTable = null;
     iterator = null;
   }
+
+  private class SpilledPartition {
+    final int level;
+    final int partitionId;
+    final Path path;
+    long bytes;
+
+    SpilledPartition(int level, int partitionId) throws IOException {
+      this.level = level;
+      this.partitionId = partitionId;
+      this.path = localDirAllocator.getLocalPathForWrite(
+          spillTmpDir + "/groupby_" + level + "_" + partitionId + "_" + (spillFileSeq++), context.getConf());
+    }
+
+    void delete() throws IOException {
+      if (new File(localFS.makeQualified(path).toUri()).exists()) {
+        localFS.delete(path, false);
+      }
+    }
+  }
 }
@@ -91,11 +91,13 @@ public class HashBasedColPartitionStoreExec extends ColPartitionStoreExec {
       app.flush();
       app.close();
       statSet.add(app.getStats());
+      addPartitionStats(entry.getKey(), app.getStats());
     }
 
     // Collect and aggregated statistics data
     TableStats aggregated = StatisticsUtil.aggregateTableStat(statSet);
     context.setResultStats(aggregated);
+    setWrittenPartitions();
 
     return null;
   }
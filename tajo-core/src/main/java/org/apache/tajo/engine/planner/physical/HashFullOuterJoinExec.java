@@ -32,7 +32,8 @@ import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
-import java.util.*;
+import java.util.Iterator;
+import java.util.List;
 
 
 public class HashFullOuterJoinExec extends BinaryPhysicalExec {
@@ -46,10 +47,10 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
   protected boolean first = true;
   protected FrameTuple frameTuple;
   protected Tuple outTuple = null;
-  protected Map<Tuple, List<Tuple>> tupleSlots;
+  protected JoinHashTable hashTable;
   protected Iterator<Tuple> iterator = null;
+  protected int matchedEntryId = -1;
   protected Tuple leftTuple;
-  protected Tuple leftKeyTuple;
 
   protected int [] leftKeyList;
   protected int [] rightKeyList;
@@ -62,7 +63,7 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
 
   private int rightNumCols;
   private int leftNumCols;
-  private Map<Tuple, Boolean> matched;
+  private Iterator<Tuple> unmatchedIterator = null;
 
   public HashFullOuterJoinExec(TaskAttemptContext context, JoinNode plan, PhysicalExec outer,
                                PhysicalExec inner) {
@@ -70,12 +71,6 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
         plan.getOutSchema(), outer, inner);
     this.plan = plan;
     this.joinQual = plan.getJoinQual();
-    this.tupleSlots = new HashMap<Tuple, List<Tuple>>(10000);
-
-    // this hashmap mirrors the evolution of the tupleSlots, with the same keys. For each join key,
-    // we have a boolean flag, initially false (whether this join key had at least one match on the left operand)
-    this.matched = new HashMap<Tuple, Boolean>(10000);
-
     // HashJoin only can manage equi join key pairs.
     this.joinKeyPairs = PlannerUtil.getJoinKeyPairs(joinQual, outer.getSchema(), inner.getSchema(),
         false);
@@ -91,13 +86,16 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
       rightKeyList[i] = inner.getSchema().getColumnId(joinKeyPairs.get(i)[1].getQualifiedName());
     }
 
+    // For each join key, the hash table keeps a flag, initially false, which indicates whether this join key had
+    // at least one match on the left operand.
+    this.hashTable = new JoinHashTable(inner.getSchema(), rightKeyList, outer.getSchema(), leftKeyList);
+
     // for projection
     this.projector = new Projector(context, inSchema, outSchema, plan.getTargets());
 
     // for join
     frameTuple = new FrameTuple();
     outTuple = new VTuple(outSchema.size());
-    leftKeyTuple = new VTuple(leftKeyList.length);
 
     leftNumCols = outer.getSchema().size();
     rightNumCols = inner.getSchema().size();
@@ -108,32 +106,17 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
     joinQual = context.getPrecompiledEval(inSchema, joinQual);
   }
 
-  protected void getKeyLeftTuple(final Tuple outerTuple, Tuple keyTuple) {
-    for (int i = 0; i < leftKeyList.length; i++) {
-      keyTuple.put(i, outerTuple.get(leftKeyList[i]));
-    }
-  }
-
   public Tuple getNextUnmatchedRight() {
+    // the left operand is exhausted, so the matched flags of join keys are not changed anymore.
+    if (unmatchedIterator == null) {
+      unmatchedIterator = hashTable.getUnmatchedRows();
+    }
 
-    List<Tuple> newValue;
-    Tuple returnedTuple;
-    // get a keyTUple from the matched hashmap with a boolean false value
-    for(Tuple aKeyTuple : matched.keySet()) {
-      if(matched.get(aKeyTuple) == false) {
-        newValue = tupleSlots.get(aKeyTuple);
-        returnedTuple = newValue.remove(0);
-        tupleSlots.put(aKeyTuple, newValue);
-
-        // after taking the last element from the list in tupleSlots, set flag true in matched as well
-        if(newValue.isEmpty()){
-          matched.put(aKeyTuple, true);
-        }
-
-        return returnedTuple;
-      }
+    if (unmatchedIterator.hasNext()) {
+      return unmatchedIterator.next();
+    } else {
+      return null;
     }
-    return null;
   }
 
   public Tuple next() throws IOException {
@@ -149,7 +132,7 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
         // getting new outer
         leftTuple = leftChild.next(); // it comes from a disk
         if (leftTuple == null) { // if no more tuples in left tuples on disk, a join is completed.
-          // in this stage we can begin outputing tuples from the right operand (which were before in tupleSlots) null padded on the left side
+          // in this stage we can begin outputing tuples from the right operand (which were before in the hash table) null padded on the left side
           Tuple unmatchedRightTuple = getNextUnmatchedRight();
           if( unmatchedRightTuple == null) {
             finished = true;
@@ -165,10 +148,9 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
         }
 
         // getting corresponding right
-        getKeyLeftTuple(leftTuple, leftKeyTuple); // get a left key tuple
-        List<Tuple> rightTuples = tupleSlots.get(leftKeyTuple);
-        if (rightTuples != null) { // found right tuples on in-memory hash table.
-          iterator = rightTuples.iterator();
+        matchedEntryId = hashTable.lookup(leftTuple);
+        if (matchedEntryId >= 0) { // found right tuples on in-memory hash table.
+          iterator = hashTable.getRows(matchedEntryId);
           shouldGetLeftTuple = false;
         } else {
           //this left tuple doesn't have a match on the right.But full outer join => we should keep it anyway
@@ -189,8 +171,7 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
       if (joinQual.eval(inSchema, frameTuple).isTrue()) { // if both tuples are joinable
         projector.eval(frameTuple, outTuple);
         found = true;
-        getKeyLeftTuple(leftTuple, leftKeyTuple);
-        matched.put(leftKeyTuple, true);
+        hashTable.setMatched(matchedEntryId);
       }
 
       if (!iterator.hasNext()) { // no more right tuples for this hash key
@@ -206,23 +187,9 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
 
   protected void loadRightToHashTable() throws IOException {
     Tuple tuple;
-    Tuple keyTuple;
 
     while ((tuple = rightChild.next()) != null) {
-      keyTuple = new VTuple(joinKeyPairs.size());
-      for (int i = 0; i < rightKeyList.length; i++) {
-        keyTuple.put(i, tuple.get(rightKeyList[i]));
-      }
-
-      List<Tuple> newValue = tupleSlots.get(keyTuple);
-      if (newValue != null) {
-        newValue.add(tuple);
-      } else {
-        newValue = new ArrayList<Tuple>();
-        newValue.add(tuple);
-        tupleSlots.put(keyTuple, newValue);
-        matched.put(keyTuple,false);
-      }
+      hashTable.add(tuple);
     }
     first = false;
   }
@@ -231,22 +198,22 @@ public class HashFullOuterJoinExec extends BinaryPhysicalExec {
   public void rescan() throws IOException {
     super.rescan();
 
-    tupleSlots.clear();
+    hashTable.clear();
     first = true;
 
     finished = false;
     iterator = null;
+    unmatchedIterator = null;
+    matchedEntryId = -1;
     shouldGetLeftTuple = true;
   }
 
   @Override
   public void close() throws IOException {
     super.close();
-    tupleSlots.clear();
-    matched.clear();
-    tupleSlots = null;
-    matched = null;
+    hashTable = null;
     iterator = null;
+    unmatchedIterator = null;
     plan = null;
     joinQual = null;
   }
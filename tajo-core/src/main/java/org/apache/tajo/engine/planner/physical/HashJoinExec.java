@@ -31,7 +31,8 @@ import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
-import java.util.*;
+import java.util.Iterator;
+import java.util.List;
 
 public class HashJoinExec extends BinaryPhysicalExec {
   // from logical plan
@@ -44,10 +45,9 @@ public class HashJoinExec extends BinaryPhysicalExec {
   protected boolean first = true;
   protected FrameTuple frameTuple;
   protected Tuple outTuple = null;
-  protected Map<Tuple, List<Tuple>> tupleSlots;
+  protected JoinHashTable hashTable;
   protected Iterator<Tuple> iterator = null;
   protected Tuple leftTuple;
-  protected Tuple leftKeyTuple;
 
   protected int [] leftKeyList;
   protected int [] rightKeyList;
@@ -64,7 +64,6 @@ public class HashJoinExec extends BinaryPhysicalExec {
         leftExec, rightExec);
     this.plan = plan;
     this.joinQual = plan.getJoinQual();
-    this.tupleSlots = new HashMap<Tuple, List<Tuple>>(100000);
 
     // HashJoin only can manage equi join key pairs.
     this.joinKeyPairs = PlannerUtil.getJoinKeyPairs(joinQual, leftExec.getSchema(),
@@ -81,13 +80,14 @@ public class HashJoinExec extends BinaryPhysicalExec {
       rightKeyList[i] = rightExec.getSchema().getColumnId(joinKeyPairs.get(i)[1].getQualifiedName());
     }
 
+    this.hashTable = new JoinHashTable(rightExec.getSchema(), rightKeyList, leftExec.getSchema(), leftKeyList);
+
     // for projection
     this.projector = new Projector(context, inSchema, outSchema, plan.getTargets());
 
     // for join
     frameTuple = new FrameTuple();
     outTuple = new VTuple(outSchema.size());
-    leftKeyTuple = new VTuple(leftKeyList.length);
   }
 
   @Override
@@ -95,12 +95,6 @@ public class HashJoinExec extends BinaryPhysicalExec {
     joinQual = context.getPrecompiledEval(inSchema, joinQual);
   }
 
-  protected void getKeyLeftTuple(final Tuple outerTuple, Tuple keyTuple) {
-    for (int i = 0; i < leftKeyList.length; i++) {
-      keyTuple.put(i, outerTuple.get(leftKeyList[i]));
-    }
-  }
-
   long scanStartTime = 0;
   public Tuple next() throws IOException {
     if (first) {
@@ -121,10 +115,9 @@ public class HashJoinExec extends BinaryPhysicalExec {
         }
 
         // getting corresponding right
-        getKeyLeftTuple(leftTuple, leftKeyTuple); // get a left key tuple
-        List<Tuple> rightTuples = tupleSlots.get(leftKeyTuple);
-        if (rightTuples != null) { // found right tuples on in-memory hash table.
-          iterator = rightTuples.iterator();
+        int entryId = hashTable.lookup(leftTuple);
+        if (entryId >= 0) { // found right tuples on in-memory hash table.
+          iterator = hashTable.getRows(entryId);
           shouldGetLeftTuple = false;
         } else {
           shouldGetLeftTuple = true;
@@ -154,23 +147,9 @@ public class HashJoinExec extends BinaryPhysicalExec {
 
   protected void loadRightToHashTable() throws IOException {
     Tuple tuple;
-    Tuple keyTuple;
 
     while ((tuple = rightChild.next()) != null) {
-      keyTuple = new VTuple(joinKeyPairs.size());
-      for (int i = 0; i < rightKeyList.length; i++) {
-        keyTuple.put(i, tuple.get(rightKeyList[i]));
-      }
-
-      List<Tuple> newValue = tupleSlots.get(keyTuple);
-
-      if (newValue != null) {
-        newValue.add(tuple);
-      } else {
-        newValue = new ArrayList<Tuple>();
-        newValue.add(tuple);
-        tupleSlots.put(keyTuple, newValue);
-      }
+      hashTable.add(tuple);
     }
 
     first = false;
@@ -180,7 +159,7 @@ public class HashJoinExec extends BinaryPhysicalExec {
   public void rescan() throws IOException {
     super.rescan();
 
-    tupleSlots.clear();
+    hashTable.clear();
     first = true;
 
     finished = false;
@@ -191,10 +170,7 @@ public class HashJoinExec extends BinaryPhysicalExec {
   @Override
   public void close() throws IOException {
     super.close();
-    if (tupleSlots != null) {
-      tupleSlots.clear();
-      tupleSlots = null;
-    }
+    hashTable = null;
 
     iterator = null;
     plan = null;
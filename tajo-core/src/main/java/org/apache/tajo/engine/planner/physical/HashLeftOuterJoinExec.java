@@ -36,7 +36,8 @@ import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
-import java.util.*;
+import java.util.Iterator;
+import java.util.List;
 
 
 public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
@@ -51,10 +52,9 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
   protected boolean first = true;
   protected FrameTuple frameTuple;
   protected Tuple outTuple = null;
-  protected Map<Tuple, List<Tuple>> tupleSlots;
+  protected JoinHashTable hashTable;
   protected Iterator<Tuple> iterator = null;
   protected Tuple leftTuple;
-  protected Tuple leftKeyTuple;
 
   protected int [] leftKeyList;
   protected int [] rightKeyList;
@@ -91,8 +91,6 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
       this.joinFilter = null;
     }
 
-    this.tupleSlots = new HashMap<Tuple, List<Tuple>>(10000);
-
     // HashJoin only can manage equi join key pairs.
     this.joinKeyPairs = PlannerUtil.getJoinKeyPairs(joinQual, leftChild.getSchema(),
         rightChild.getSchema(), false);
@@ -108,13 +106,14 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
       rightKeyList[i] = rightChild.getSchema().getColumnId(joinKeyPairs.get(i)[1].getQualifiedName());
     }
 
+    this.hashTable = new JoinHashTable(rightChild.getSchema(), rightKeyList, leftChild.getSchema(), leftKeyList);
+
     // for projection
     this.projector = new Projector(context, inSchema, outSchema, plan.getTargets());
 
     // for join
     frameTuple = new FrameTuple();
     outTuple = new VTuple(outSchema.size());
-    leftKeyTuple = new VTuple(leftKeyList.length);
 
     rightNumCols = rightChild.getSchema().size();
   }
@@ -124,12 +123,6 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
     joinQual = context.getPrecompiledEval(inSchema, joinQual);
   }
 
-  protected void getKeyLeftTuple(final Tuple outerTuple, Tuple keyTuple) {
-    for (int i = 0; i < leftKeyList.length; i++) {
-      keyTuple.put(i, outerTuple.get(leftKeyList[i]));
-    }
-  }
-
   public Tuple next() throws IOException {
     if (first) {
       loadRightToHashTable();
@@ -149,10 +142,9 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
         }
 
         // getting corresponding right
-        getKeyLeftTuple(leftTuple, leftKeyTuple); // get a left key tuple
-        List<Tuple> rightTuples = tupleSlots.get(leftKeyTuple);
-        if (rightTuples != null) { // found right tuples on in-memory hash table.
-          iterator = rightTuples.iterator();
+        int entryId = hashTable.lookup(leftTuple);
+        if (entryId >= 0) { // found right tuples on in-memory hash table.
+          iterator = hashTable.getRows(entryId);
           shouldGetLeftTuple = false;
         } else {
           // this left tuple doesn't have a match on the right, and output a tuple with the nulls padded rightTuple
@@ -202,22 +194,9 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
 
   protected void loadRightToHashTable() throws IOException {
     Tuple tuple;
-    Tuple keyTuple;
 
     while ((tuple = rightChild.next()) != null) {
-      keyTuple = new VTuple(joinKeyPairs.size());
-      for (int i = 0; i < rightKeyList.length; i++) {
-        keyTuple.put(i, tuple.get(rightKeyList[i]));
-      }
-
-      List<Tuple> newValue = tupleSlots.get(keyTuple);
-      if (newValue != null) {
-        newValue.add(tuple);
-      } else {
-        newValue = new ArrayList<Tuple>();
-        newValue.add(tuple);
-        tupleSlots.put(keyTuple, newValue);
-      }
+      hashTable.add(tuple);
     }
     first = false;
   }
@@ -226,7 +205,7 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
   public void rescan() throws IOException {
     super.rescan();
 
-    tupleSlots.clear();
+    hashTable.clear();
     first = true;
 
     finished = false;
@@ -238,8 +217,7 @@ public class HashLeftOuterJoinExec extends BinaryPhysicalExec {
   @Override
   public void close() throws IOException {
     super.close();
-    tupleSlots.clear();
-    tupleSlots = null;
+    hashTable = null;
     iterator = null;
     plan = null;
     joinQual = null;
@@ -18,22 +18,26 @@
 
 package org.apache.tajo.engine.planner.physical;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.planner.logical.ShuffleFileWriteNode;
 import org.apache.tajo.storage.AbstractStorageManager;
 import org.apache.tajo.storage.HashShuffleAppender;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
+import org.apache.tajo.storage.RawFile;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +46,11 @@ import java.util.Map;
 /**
  * <code>HashShuffleFileWriteExec</code> is a physical executor to store intermediate data into a number of
  * file outputs associated with shuffle keys. The file outputs are stored on local disks.
+ *
+ * If the shuffle file format is RAW, each row is encoded straight into a byte buffer of its partition, and
+ * the encoded pages are passed to the appenders when the buffered bytes exceed
+ * <code>SHUFFLE_HASH_APPENDER_BUFFER_VOLUME</code>. Otherwise, rows are cloned and buffered up to
+ * <code>SHUFFLE_HASH_APPENDER_BUFFER_SIZE</code> rows.
  */
 public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   private static Log LOG = LogFactory.getLog(HashShuffleFileWriteExec.class);
@@ -55,6 +64,18 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
   private HashShuffleAppenderManager hashShuffleAppenderManager;
   private int numHashShuffleBufferTuples;
 
+  /** the initial size of a partition buffer */
+  private static final int INITIAL_PAGE_SIZE = 4 * 1024;
+  /** a partition buffer is passed to its appender when it cannot grow more */
+  private static final int MAX_PAGE_SIZE = 64 * 1024;
+
+  private RawFile.RawTupleEncoder encoder;
+  private PartitionBuffer [] partitionBuffers;
+  private long bufferedBytes = 0;
+  private long maxBufferedBytes;
+  /** the share of the buffer volume given to each partition buffer */
+  private int maxPageSize;
+
   public HashShuffleFileWriteExec(TaskAttemptContext context, final AbstractStorageManager sm,
                                   final ShuffleFileWriteNode plan, final PhysicalExec child) throws IOException {
     super(context, plan.getInSchema(), plan.getOutSchema(), child);
@@ -76,6 +97,13 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
     this.partitioner = new HashPartitioner(shuffleKeyIds, numShuffleOutputs);
     this.hashShuffleAppenderManager = context.getHashShuffleAppenderManager();
     this.numHashShuffleBufferTuples = context.getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_BUFFER_SIZE);
+    if (meta.getStoreType() == StoreType.RAW) {
+      this.encoder = new RawFile.RawTupleEncoder(outSchema);
+      this.partitionBuffers = new PartitionBuffer[numShuffleOutputs];
+      this.maxBufferedBytes =
+          context.getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_BUFFER_VOLUME) * 1024L * 1024L;
+      this.maxPageSize = getMaxPageSize(maxBufferedBytes, numShuffleOutputs);
+    }
   }
 
   @Override
@@ -104,39 +132,49 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
       int partId;
       int tupleCount = 0;
       long numRows = 0;
-      while ((tuple = child.next()) != null) {
-        tupleCount++;
-        numRows++;
-
-        partId = partitioner.getPartition(tuple);
-        List<Tuple> partitionTupleList = partitionTuples.get(partId);
-        if (partitionTupleList == null) {
-          partitionTupleList = new ArrayList<Tuple>(1000);
-          partitionTuples.put(partId, partitionTupleList);
-        }
-        try {
-          partitionTupleList.add(tuple.clone());
-        } catch (CloneNotSupportedException e) {
+      if (encoder != null) {
+        while ((tuple = child.next()) != null) {
+          numRows++;
+          addEncodedTuple(partitioner.getPartition(tuple), tuple);
         }
-        if (tupleCount >= numHashShuffleBufferTuples) {
-          for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
-            int appendPartId = entry.getKey();
-            HashShuffleAppender appender = getAppender(appendPartId);
-            int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
-            writtenBytes += appendedSize;
-            entry.getValue().clear();
+
+        // processing remained tuples
+        flushPartitionBuffers();
+      } else {
+        while ((tuple = child.next()) != null) {
+          tupleCount++;
+          numRows++;
+
+          partId = partitioner.getPartition(tuple);
+          List<Tuple> partitionTupleList = partitionTuples.get(partId);
+          if (partitionTupleList == null) {
+            partitionTupleList = new ArrayList<Tuple>(1000);
+            partitionTuples.put(partId, partitionTupleList);
+          }
+          try {
+            partitionTupleList.add(tuple.clone());
+          } catch (CloneNotSupportedException e) {
+          }
+          if (tupleCount >= numHashShuffleBufferTuples) {
+            for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
+              int appendPartId = entry.getKey();
+              HashShuffleAppender appender = getAppender(appendPartId);
+              int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
+              writtenBytes += appendedSize;
+              entry.getValue().clear();
+            }
+            tupleCount = 0;
           }
-          tupleCount = 0;
         }
-      }
 
-      // processing remained tuples
-      for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
-        int appendPartId = entry.getKey();
-        HashShuffleAppender appender = getAppender(appendPartId);
-        int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
-        writtenBytes += appendedSize;
-        entry.getValue().clear();
+        // processing remained tuples
+        for (Map.Entry<Integer, List<Tuple>> entry : partitionTuples.entrySet()) {
+          int appendPartId = entry.getKey();
+          HashShuffleAppender appender = getAppender(appendPartId);
+          int appendedSize = appender.addTuples(context.getTaskId(), entry.getValue());
+          writtenBytes += appendedSize;
+          entry.getValue().clear();
+        }
       }
 
       TableStats aggregated = (TableStats)child.getInputStats().clone();
@@ -153,6 +191,94 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
     }
   }
 
+  /**
+   * Returns the capacity up to which a partition buffer can grow. The capacities of all partition buffers
+   * are bounded by the buffer volume, but each buffer can hold at least INITIAL_PAGE_SIZE bytes.
+   */
+  @VisibleForTesting
+  static int getMaxPageSize(long maxBufferedBytes, int numPartitions) {
+    long share = maxBufferedBytes / Math.max(1, numPartitions);
+    return (int) Math.max(INITIAL_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, share));
+  }
+
+  /**
+   * Encodes a tuple into the buffer of its partition. A partition buffer grows up to its max page size, and then
+   * it is passed to the appender as a page. All buffers are flushed if the buffered bytes exceed the limit.
+   */
+  private void addEncodedTuple(int partId, Tuple tuple) throws IOException {
+    PartitionBuffer partitionBuffer = partitionBuffers[partId];
+    if (partitionBuffer == null) {
+      partitionBuffer = new PartitionBuffer(INITIAL_PAGE_SIZE);
+      partitionBuffers[partId] = partitionBuffer;
+    }
+
+    int encodedBytes;
+    while ((encodedBytes = encoder.encode(tuple, partitionBuffer.buffer)) < 0) {
+      if (partitionBuffer.rowNum > 0 && partitionBuffer.buffer.capacity() >= maxPageSize) {
+        flushPartitionBuffer(partId, partitionBuffer);
+      } else {
+        // a single row can be larger than the max page size
+        partitionBuffer.enlarge();
+      }
+    }
+    partitionBuffer.rowNum++;
+    bufferedBytes += encodedBytes;
+
+    if (bufferedBytes >= maxBufferedBytes) {
+      flushPartitionBuffers();
+    }
+  }
+
+  private void flushPartitionBuffers() throws IOException {
+    for (int partId = 0; partId < partitionBuffers.length; partId++) {
+      if (partitionBuffers[partId] != null && partitionBuffers[partId].rowNum > 0) {
+        flushPartitionBuffer(partId, partitionBuffers[partId]);
+      }
+    }
+  }
+
+  private void flushPartitionBuffer(int partId, PartitionBuffer partitionBuffer) throws IOException {
+    ByteBuffer buffer = partitionBuffer.buffer;
+    bufferedBytes -= buffer.position();
+
+    buffer.flip();
+    writtenBytes += getAppender(partId).addEncodedRows(context.getTaskId(), buffer, partitionBuffer.rowNum);
+    partitionBuffer.reset(maxPageSize);
+  }
+
+  /**
+   * Encoded rows of a partition which are not passed to the appender yet
+   */
+  @VisibleForTesting
+  static class PartitionBuffer {
+    ByteBuffer buffer;
+    int rowNum;
+
+    PartitionBuffer(int size) {
+      buffer = ByteBuffer.allocate(size);
+    }
+
+    void enlarge() {
+      ByteBuffer enlarged = ByteBuffer.allocate(buffer.capacity() * 2);
+      buffer.flip();
+      enlarged.put(buffer);
+      buffer = enlarged;
+    }
+
+    /**
+     * Empties the buffer. A buffer enlarged over maxPageSize by a large row is shrunk back to maxPageSize
+     * so that the memory of the partition buffers stays bounded after flushing.
+     */
+    void reset(int maxPageSize) {
+      if (buffer.capacity() > maxPageSize) {
+        buffer = ByteBuffer.allocate(maxPageSize);
+      } else {
+        buffer.clear();
+      }
+      rowNum = 0;
+    }
+  }
+
   @Override
   public void rescan() throws IOException {
     // nothing to do   
@@ -168,6 +294,7 @@ public final class HashShuffleFileWriteExec extends UnaryPhysicalExec {
 
     partitioner = null;
     plan = null;
+    partitionBuffers = null;
 
     progress = 1.0f;
   }
@@ -0,0 +1,444 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.LocalDirAllocator;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.planner.logical.JoinNode;
+import org.apache.tajo.storage.Scanner;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.unit.StorageUnit;
+import org.apache.tajo.util.FileUtil;
+import org.apache.tajo.worker.TaskAttemptContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import static org.apache.tajo.storage.RawFile.RawFileAppender;
+import static org.apache.tajo.storage.RawFile.RawFileScanner;
+
+/**
+ * HybridHashJoinExec is an inner hash join which does not fail even if the build side (the right child) exceeds
+ * the memory budget given by {@link org.apache.tajo.SessionVars#HASH_JOIN_MEMORY_SIZE}.
+ *
+ * <ul>
+ *   <li>Both inputs are divided into a number of partitions by the hash values of join keys.</li>
+ *   <li>While loading the build side, partitions are kept in memory. If memory consumption exceeds the budget,
+ *   the largest resident partition is spilled to a RAW file in the worker temporal directory, and the following
+ *   build tuples of the partition are also written to the file.</li>
+ *   <li>Probe tuples of resident partitions are joined immediately, and probe tuples of spilled partitions are
+ *   written to RAW files.</li>
+ *   <li>After the probe side is exhausted, each pair of spilled partitions is joined in the same way with a
+ *   different hash seed. So, a skewed partition is recursively re-partitioned until
+ *   {@link #MAX_RECURSION_LEVEL}.</li>
+ * </ul>
+ *
+ * If the build side fits in memory, it works exactly like {@link HashJoinExec} without any disk I/O.
+ */
+public class HybridHashJoinExec extends HashJoinExec {
+  private static final Log LOG = LogFactory.getLog(HybridHashJoinExec.class);
+  /** The maximum level of recursive partitioning. Beyond it, a partition is loaded regardless of memory budget. */
+  static final int MAX_RECURSION_LEVEL = 3;
+  /** Memory consumption is checked at every this number of build tuples */
+  private static final int MEMORY_CHECK_INTERVAL = 1024;
+
+  private final int partitionNum;
+  private long memoryLimit;
+  private final TableMeta spillMeta;
+  private final Path spillTmpDir;
+  /** It enables round-robin disks allocation */
+  private final LocalDirAllocator localDirAllocator;
+  private final RawLocalFileSystem localFS;
+
+  ///////////////////////////////////////////////////
+  // states of the current partitioning pass
+  ///////////////////////////////////////////////////
+  private int level = 0;
+  private JoinHashTable [] tables;
+  private boolean [] spilled;
+  private RawFileAppender [] buildSpills;
+  private RawFileAppender [] probeSpills;
+  private SpilledPartition [] spilledPartitions;
+  private Scanner probeScanner;
+  /** the spilled partition which is being joined */
+  private SpilledPartition loadedPartition;
+  private int currentPartition = -1;
+
+  /** spilled partitions which are not joined yet */
+  private LinkedList<SpilledPartition> pendingPartitions = new LinkedList<SpilledPartition>();
+  private int spillFileSeq = 0;
+  private long spilledBytes = 0;
+
+  public HybridHashJoinExec(TaskAttemptContext context, JoinNode plan, PhysicalExec leftExec,
+                            PhysicalExec rightExec) {
+    super(context, plan, leftExec, rightExec);
+
+    this.partitionNum = Math.max(2, context.getConf().getIntVar(ConfVars.EXECUTOR_HYBRID_HASH_JOIN_PARTITION_NUM));
+    this.memoryLimit = context.getQueryContext().getLong(SessionVars.HASH_JOIN_MEMORY_SIZE) * StorageUnit.MB;
+    this.spillMeta = CatalogUtil.newTableMeta(StoreType.RAW);
+    this.spillTmpDir = getExecutorTmpDir();
+    this.localDirAllocator = new LocalDirAllocator(ConfVars.WORKER_TEMPORAL_DIR.varname);
+    this.localFS = new RawLocalFileSystem();
+  }
+
+  @VisibleForTesting
+  public void setMemoryLimit(long memoryLimit) {
+    this.memoryLimit = memoryLimit;
+  }
+
+  @VisibleForTesting
+  public long getSpilledBytes() {
+    return spilledBytes;
+  }
+
+  private JoinHashTable newHashTable() {
+    return new JoinHashTable(rightChild.getSchema(), rightKeyList, leftChild.getSchema(), leftKeyList);
+  }
+
+  private void initPass(int level) {
+    this.level = level;
+    tables = new JoinHashTable[partitionNum];
+    for (int i = 0; i < partitionNum; i++) {
+      tables[i] = newHashTable();
+    }
+    spilled = new boolean[partitionNum];
+    buildSpills = new RawFileAppender[partitionNum];
+    probeSpills = new RawFileAppender[partitionNum];
+    spilledPartitions = new SpilledPartition[partitionNum];
+  }
+
+  /**
+   * Each level uses different bits of a key hash, so tuples of a partition are distributed at the next level.
+   */
+  private int getPartition(long hash) {
+    long h = hash ^ (0x9E3779B97F4A7C15L * (level + 1));
+    h ^= h >>> 29;
+    h *= 0xBF58476D1CE4E5B9L;
+    h ^= h >>> 32;
+    return (int) ((h & Long.MAX_VALUE) % partitionNum);
+  }
+
+  @Override
+  protected void loadRightToHashTable() throws IOException {
+    initPass(0);
+
+    Tuple tuple;
+    int count = 0;
+    while ((tuple = rightChild.next()) != null) {
+      addBuildTuple(tuple, ++count);
+    }
+    finishBuildPhase();
+
+    first = false;
+  }
+
+  private void addBuildTuple(Tuple tuple, int count) throws IOException {
+    long hash = tables[0].getBuildKeyHash(tuple);
+    int partition = getPartition(hash);
+
+    if (spilled[partition]) {
+      buildSpills[partition].addTuple(tuple);
+    } else {
+      tables[partition].add(tuple, hash);
+
+      // Beyond the maximum recursion level, re-partitioning does not help anymore. (e.g., too many same keys)
+      if (level < MAX_RECURSION_LEVEL && count % MEMORY_CHECK_INTERVAL == 0 && getMemorySize() > memoryLimit) {
+        spillLargestPartition();
+      }
+    }
+  }
+
+  private long getMemorySize() {
+    long size = 0;
+    for (int i = 0; i < partitionNum; i++) {
+      if (!spilled[i]) {
+        size += tables[i].getMemorySize();
+      }
+    }
+    return size;
+  }
+
+  private void spillLargestPartition() throws IOException {
+    int victim = -1;
+    long victimSize = 0;
+    for (int i = 0; i < partitionNum; i++) {
+      if (!spilled[i] && tables[i].getRowNum() > 0 && tables[i].getMemorySize() > victimSize) {
+        victim = i;
+        victimSize = tables[i].getMemorySize();
+      }
+    }
+
+    if (victim < 0) {
+      return;
+    }
+
+    SpilledPartition partition = new SpilledPartition(level, victim);
+    spilledPartitions[victim] = partition;
+    buildSpills[victim] = createSpillAppender(rightChild.getSchema(), partition.buildPath);
+    probeSpills[victim] = createSpillAppender(leftChild.getSchema(), partition.probePath);
+
+    Iterator<Tuple> rows = tables[victim].getAllRows();
+    while (rows.hasNext()) {
+      buildSpills[victim].addTuple(rows.next());
+    }
+    tables[victim].clear();
+    spilled[victim] = true;
+
+    info(LOG, "Level " + level + " partition #" + victim + " (" +
+        FileUtil.humanReadableByteCount(victimSize, false) + ") is spilled because memory consumption exceeds " +
+        FileUtil.humanReadableByteCount(memoryLimit, false));
+  }
+
+  private RawFileAppender createSpillAppender(Schema schema, Path path) throws IOException {
+    RawFileAppender appender = new RawFileAppender(context.getConf(), schema, spillMeta, path);
+    appender.init();
+    return appender;
+  }
+
+  private void finishBuildPhase() throws IOException {
+    for (int i = 0; i < partitionNum; i++) {
+      if (buildSpills[i] != null) {
+        buildSpills[i].close();
+        spilledPartitions[i].buildBytes = buildSpills[i].getOffset();
+        spilledBytes += spilledPartitions[i].buildBytes;
+        buildSpills[i] = null;
+      }
+    }
+  }
+
+  private void finishProbePhase() throws IOException {
+    for (int i = 0; i < partitionNum; i++) {
+      if (probeSpills[i] != null) {
+        probeSpills[i].close();
+        spilledPartitions[i].probeBytes = probeSpills[i].getOffset();
+        spilledBytes += spilledPartitions[i].probeBytes;
+        probeSpills[i] = null;
+
+        // In inner join, a partition without any probe tuple cannot produce any result.
+        if (spilledPartitions[i].probeBytes > 0) {
+          pendingPartitions.add(spilledPartitions[i]);
+        } else {
+          spilledPartitions[i].delete();
+        }
+      }
+    }
+  }
+
+  /**
+   * Loads the next pending partition. It returns false if there is no more spilled partition.
+   */
+  private boolean loadNextSpilledPartition() throws IOException {
+    closeLoadedPartition();
+
+    SpilledPartition partition = pendingPartitions.poll();
+    if (partition == null) {
+      return false;
+    }
+
+    info(LOG, "Join the spilled level " + partition.level + " partition #" + partition.partitionId + " (build: " +
+        FileUtil.humanReadableByteCount(partition.buildBytes, false) + ", probe: " +
+        FileUtil.humanReadableByteCount(partition.probeBytes, false) + ")");
+
+    initPass(partition.level + 1);
+
+    Scanner buildScanner = openSpillScanner(rightChild.getSchema(), partition.buildPath, partition.buildBytes);
+    try {
+      Tuple tuple;
+      int count = 0;
+      while ((tuple = buildScanner.next()) != null) {
+        addBuildTuple(tuple, ++count);
+      }
+    } finally {
+      buildScanner.close();
+    }
+    finishBuildPhase();
+
+    probeScanner = openSpillScanner(leftChild.getSchema(), partition.probePath, partition.probeBytes);
+    loadedPartition = partition;
+    return true;
+  }
+
+  private void closeLoadedPartition() throws IOException {
+    if (probeScanner != null) {
+      probeScanner.close();
+      probeScanner = null;
+    }
+
+    if (loadedPartition != null) {
+      loadedPartition.delete();
+      loadedPartition = null;
+    }
+  }
+
+  private Scanner openSpillScanner(Schema schema, Path path, long length) throws IOException {
+    FileFragment fragment = new FileFragment("", path, 0, length);
+    Scanner scanner = new RawFileScanner(context.getConf(), schema, spillMeta, fragment);
+    scanner.init();
+    return scanner;
+  }
+
+  private Tuple nextProbeTuple() throws IOException {
+    if (probeScanner != null) {
+      return probeScanner.next();
+    } else {
+      return leftChild.next();
+    }
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    if (first) {
+      loadRightToHashTable();
+    }
+
+    Tuple rightTuple;
+    boolean found = false;
+
+    while(!finished) {
+      if (shouldGetLeftTuple) { // initially, it is true.
+        // getting new outer
+        leftTuple = nextProbeTuple();
+        if (leftTuple == null) { // if no more probe tuples, the current pass is completed.
+          finishProbePhase();
+          if (!loadNextSpilledPartition()) {
+            finished = true;
+            return null;
+          }
+          continue;
+        }
+
+        long hash = tables[0].getProbeKeyHash(leftTuple);
+        currentPartition = getPartition(hash);
+        if (spilled[currentPartition]) {
+          probeSpills[currentPartition].addTuple(leftTuple);
+          continue;
+        }
+
+        // getting corresponding right
+        int entryId = tables[currentPartition].lookup(leftTuple, hash);
+        if (entryId >= 0) { // found right tuples on in-memory hash table.
+          iterator = tables[currentPartition].getRows(entryId);
+          shouldGetLeftTuple = false;
+        } else {
+          shouldGetLeftTuple = true;
+          continue;
+        }
+      }
+
+      // getting a next right tuple on in-memory hash table.
+      rightTuple = iterator.next();
+      frameTuple.set(leftTuple, rightTuple); // evaluate a join condition on both tuples
+      if (joinQual.eval(inSchema, frameTuple).isTrue()) { // if both tuples are joinable
+        projector.eval(frameTuple, outTuple);
+        found = true;
+      }
+
+      if (!iterator.hasNext()) { // no more right tuples for this hash key
+        shouldGetLeftTuple = true;
+      }
+
+      if (found) {
+        break;
+      }
+    }
+
+    return new VTuple(outTuple);
+  }
+
+  private void cleanupSpills() throws IOException {
+    closeLoadedPartition();
+
+    if (buildSpills != null) {
+      for (int i = 0; i < partitionNum; i++) {
+        if (buildSpills[i] != null) {
+          buildSpills[i].close();
+        }
+        if (probeSpills[i] != null) {
+          probeSpills[i].close();
+        }
+        if (spilledPartitions[i] != null) {
+          spilledPartitions[i].delete();
+        }
+      }
+    }
+
+    for (SpilledPartition partition : pendingPartitions) {
+      partition.delete();
+    }
+    pendingPartitions.clear();
+  }
+
+  @Override
+  public void rescan() throws IOException {
+    cleanupSpills();
+    tables = null;
+    super.rescan();
+  }
+
+  @Override
+  public void close() throws IOException {
+    cleanupSpills();
+    tables = null;
+    super.close();
+  }
+
+  private class SpilledPartition {
+    final int level;
+    final int partitionId;
+    final Path buildPath;
+    final Path probePath;
+    long buildBytes;
+    long probeBytes;
+
+    SpilledPartition(int level, int partitionId) throws IOException {
+      this.level = level;
+      this.partitionId = partitionId;
+      int seq = spillFileSeq++;
+      this.buildPath = localDirAllocator.getLocalPathForWrite(
+          spillTmpDir + "/build_" + level + "_" + partitionId + "_" + seq, context.getConf());
+      this.probePath = localDirAllocator.getLocalPathForWrite(
+          spillTmpDir + "/probe_" + level + "_" + partitionId + "_" + seq, context.getConf());
+    }
+
+    void delete() throws IOException {
+      deleteIfExists(buildPath);
+      deleteIfExists(probePath);
+    }
+
+    private void deleteIfExists(Path path) throws IOException {
+      if (new File(localFS.makeQualified(path).toUri()).exists()) {
+        localFS.delete(path, false);
+      }
+    }
+  }
+}
@@ -0,0 +1,664 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.storage.MemoryUtil;
+import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreDecoder;
+import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
+import org.apache.tajo.storage.Tuple;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * JoinHashTable is an in-memory hash table for the build side of hash joins.
+ *
+ * Unlike <code>HashMap&lt;Tuple, List&lt;Tuple&gt;&gt;</code>, it does not allocate a key tuple and a list for
+ * each distinct key. Distinct keys are kept in an open-addressing table together with their precomputed 64-bit
+ * hash values. Key columns of INT2/INT4/INT8, FLOAT4/FLOAT8 and TEXT types are stored in primitive arrays, and
+ * other key types are stored as datums. Rows with the same key are chained through an int array, and the rows
+ * themselves are serialized into a compact byte arena if all columns can be encoded by
+ * {@link org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder}.
+ *
+ * Two keys are regarded as the same if all key values are equal, and two NULL values are regarded as equal.
+ * A join operator must still evaluate its join condition against each row in a bucket.
+ */
+public class JoinHashTable {
+  /** the initial number of slots */
+  private static final int INITIAL_CAPACITY = 1024;
+  /** the default size of each row arena page */
+  private static final int PAGE_SIZE = 1024 * 1024;
+  /** a hash value for NULL key values */
+  private static final long NULL_HASH = 0x9E3779B97F4A7C15L;
+
+  private enum KeyKind {
+    INTEGRAL, // INT2, INT4, INT8
+    FLOATING, // FLOAT4, FLOAT8
+    TEXT,
+    DATUM     // all other types, compared by Datum::equals()
+  }
+
+  private final int [] buildKeyIds;
+  private final int [] probeKeyIds;
+  private final KeyKind [] keyKinds;
+
+  // open addressing slots. Each slot has (entry id + 1), and 0 means an empty slot.
+  private int [] slots;
+  private int mask;
+
+  // distinct keys (entries)
+  private int entryNum = 0;
+  private long [] entryHashes;
+  private long [] entryNullFlags;
+  private int [] entryFirstRows;
+  private int [] entryLastRows;
+  private boolean [] entryMatched;
+  private long [][] primitiveKeys;
+  private Object [][] objectKeys;
+
+  // rows
+  private int rowNum = 0;
+  private int [] rowNexts;
+
+  // row arena used when all columns are encodable
+  private final RowStoreEncoder encoder;
+  private final RowStoreDecoder decoder;
+  private long [] rowRefs;
+  private byte [][] pages;
+  private int pageNum = 0;
+  private int pagePos = 0;
+  private long arenaBytes = 0;
+
+  // row objects used when some columns are not encodable
+  private Tuple [] rowTuples;
+
+  // the estimated bytes of variable-length objects, such as arena pages, text keys, and row objects
+  private long variableBytes = 0;
+
+  public JoinHashTable(Schema buildSchema, int [] buildKeyIds, Schema probeSchema, int [] probeKeyIds) {
+    this.buildKeyIds = buildKeyIds;
+    this.probeKeyIds = probeKeyIds;
+
+    keyKinds = new KeyKind[buildKeyIds.length];
+    for (int i = 0; i < buildKeyIds.length; i++) {
+      if (buildKeyIds.length > Long.SIZE) {
+        // null flags of each entry are kept in a long value.
+        keyKinds[i] = KeyKind.DATUM;
+      } else {
+        keyKinds[i] = getKeyKind(buildSchema.getColumn(buildKeyIds[i]).getDataType().getType(),
+            probeSchema.getColumn(probeKeyIds[i]).getDataType().getType());
+      }
+    }
+
+    if (isEncodable(buildSchema)) {
+      encoder = RowStoreUtil.createEncoder(buildSchema);
+      decoder = RowStoreUtil.createDecoder(buildSchema);
+    } else {
+      encoder = null;
+      decoder = null;
+    }
+
+    init();
+  }
+
+  private void init() {
+    slots = new int[INITIAL_CAPACITY];
+    mask = INITIAL_CAPACITY - 1;
+
+    entryNum = 0;
+    entryHashes = new long[INITIAL_CAPACITY];
+    entryNullFlags = new long[INITIAL_CAPACITY];
+    entryFirstRows = new int[INITIAL_CAPACITY];
+    entryLastRows = new int[INITIAL_CAPACITY];
+    entryMatched = new boolean[INITIAL_CAPACITY];
+    primitiveKeys = new long[keyKinds.length][];
+    objectKeys = new Object[keyKinds.length][];
+    for (int i = 0; i < keyKinds.length; i++) {
+      if (keyKinds[i] == KeyKind.INTEGRAL || keyKinds[i] == KeyKind.FLOATING) {
+        primitiveKeys[i] = new long[INITIAL_CAPACITY];
+      } else {
+        objectKeys[i] = new Object[INITIAL_CAPACITY];
+      }
+    }
+
+    rowNum = 0;
+    variableBytes = 0;
+    rowNexts = new int[INITIAL_CAPACITY];
+    if (encoder != null) {
+      rowRefs = new long[INITIAL_CAPACITY];
+      pages = new byte[16][];
+      pageNum = 0;
+      pagePos = 0;
+      arenaBytes = 0;
+    } else {
+      rowTuples = new Tuple[INITIAL_CAPACITY];
+    }
+  }
+
+  private static KeyKind getKeyKind(Type buildType, Type probeType) {
+    if (isIntegral(buildType) && isIntegral(probeType)) {
+      return KeyKind.INTEGRAL;
+    } else if (isFloating(buildType) && isFloating(probeType)) {
+      return KeyKind.FLOATING;
+    } else if (buildType == Type.TEXT && probeType == Type.TEXT) {
+      return KeyKind.TEXT;
+    } else {
+      return KeyKind.DATUM;
+    }
+  }
+
+  private static boolean isIntegral(Type type) {
+    return type == Type.INT2 || type == Type.INT4 || type == Type.INT8;
+  }
+
+  private static boolean isFloating(Type type) {
+    return type == Type.FLOAT4 || type == Type.FLOAT8;
+  }
+
+  private static boolean isEncodable(Schema schema) {
+    for (Column column : schema.getColumns()) {
+      switch (column.getDataType().getType()) {
+      case INT2:
+      case INT4:
+      case INT8:
+      case FLOAT4:
+      case FLOAT8:
+      case TEXT:
+      case BLOB:
+      case DATE:
+      case TIME:
+      case TIMESTAMP:
+        break;
+      default:
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds a build-side tuple into this hash table.
+   */
+  public void add(Tuple tuple) {
+    add(tuple, getBuildKeyHash(tuple));
+  }
+
+  /**
+   * Adds a build-side tuple into this hash table with its key hash computed by {@link #getBuildKeyHash(Tuple)}.
+   */
+  public void add(Tuple tuple, long hash) {
+    int entryId = find(tuple, buildKeyIds, hash);
+    if (entryId < 0) {
+      entryId = addEntry(tuple, hash);
+    }
+
+    int rowId = addRow(tuple);
+    if (entryFirstRows[entryId] < 0) {
+      entryFirstRows[entryId] = rowId;
+    } else {
+      rowNexts[entryLastRows[entryId]] = rowId;
+    }
+    entryLastRows[entryId] = rowId;
+  }
+
+  /**
+   * Finds the entry whose key is equal to the key of a given probe-side tuple.
+   *
+   * @return The entry id if found. Otherwise, -1.
+   */
+  public int lookup(Tuple probeTuple) {
+    return lookup(probeTuple, getProbeKeyHash(probeTuple));
+  }
+
+  /**
+   * Finds the entry with the key hash of a probe-side tuple computed by {@link #getProbeKeyHash(Tuple)}.
+   */
+  public int lookup(Tuple probeTuple, long hash) {
+    return find(probeTuple, probeKeyIds, hash);
+  }
+
+  /**
+   * Returns a 64-bit hash value of the join key of a build-side tuple. A build-side tuple and a probe-side tuple
+   * have the same hash value if their join keys are equal.
+   */
+  public long getBuildKeyHash(Tuple tuple) {
+    return hash(tuple, buildKeyIds);
+  }
+
+  /**
+   * Returns a 64-bit hash value of the join key of a probe-side tuple.
+   */
+  public long getProbeKeyHash(Tuple tuple) {
+    return hash(tuple, probeKeyIds);
+  }
+
+  /**
+   * Returns an iterator of all rows belonging to a given entry.
+   */
+  public Iterator<Tuple> getRows(int entryId) {
+    return new RowIterator(entryFirstRows[entryId]);
+  }
+
+  public void setMatched(int entryId) {
+    entryMatched[entryId] = true;
+  }
+
+  /**
+   * Returns an iterator of all rows of the entries which have not been matched by
+   * {@link #setMatched(int)} yet.
+   */
+  public Iterator<Tuple> getUnmatchedRows() {
+    return new EntryRowIterator(true);
+  }
+
+  /**
+   * Returns an iterator of all rows in this hash table.
+   */
+  public Iterator<Tuple> getAllRows() {
+    return new EntryRowIterator(false);
+  }
+
+  /**
+   * @return The number of distinct keys
+   */
+  public int size() {
+    return entryNum;
+  }
+
+  /**
+   * @return The number of rows
+   */
+  public int getRowNum() {
+    return rowNum;
+  }
+
+  /**
+   * @return The approximate bytes of rows kept in the row arena
+   */
+  public long getArenaBytes() {
+    return arenaBytes;
+  }
+
+  /**
+   * @return The estimated memory bytes occupied by this hash table
+   */
+  public long getMemorySize() {
+    int keyBytes = 0;
+    for (int i = 0; i < keyKinds.length; i++) {
+      keyBytes += primitiveKeys[i] != null ? 8 : 4;
+    }
+    int entryBytes = 8 + 8 + 4 + 4 + 1 + keyBytes;
+    int rowBytes = 4 + (encoder != null ? 8 : 4);
+
+    return (long) slots.length * 4 + (long) entryHashes.length * entryBytes + (long) rowNexts.length * rowBytes +
+        variableBytes;
+  }
+
+  public void clear() {
+    init();
+  }
+
+  private int find(Tuple tuple, int [] keyIds, long hash) {
+    int pos = (int) hash & mask;
+    int slot;
+    while ((slot = slots[pos]) != 0) {
+      int entryId = slot - 1;
+      if (entryHashes[entryId] == hash && keyEquals(entryId, tuple, keyIds)) {
+        return entryId;
+      }
+      pos = (pos + 1) & mask;
+    }
+    return -1;
+  }
+
+  private boolean keyEquals(int entryId, Tuple tuple, int [] keyIds) {
+    long nullFlags = entryNullFlags[entryId];
+
+    for (int i = 0; i < keyIds.length; i++) {
+      Datum datum = tuple.get(keyIds[i]);
+      boolean isNull = datum == null || datum.isNull();
+
+      if (keyKinds[i] == KeyKind.DATUM) {
+        Datum stored = (Datum) objectKeys[i][entryId];
+        boolean storedNull = stored == null || stored.isNull();
+        if (isNull || storedNull) {
+          if (isNull != storedNull) {
+            return false;
+          }
+        } else if (!datum.equals(stored)) {
+          return false;
+        }
+        continue;
+      }
+
+      boolean storedNull = (nullFlags & (1L << i)) != 0;
+      if (isNull || storedNull) {
+        if (isNull != storedNull) {
+          return false;
+        }
+        continue;
+      }
+
+      switch (keyKinds[i]) {
+      case INTEGRAL:
+        if (primitiveKeys[i][entryId] != datum.asInt8()) {
+          return false;
+        }
+        break;
+      case FLOATING:
+        if (primitiveKeys[i][entryId] != floatingBits(datum)) {
+          return false;
+        }
+        break;
+      case TEXT:
+        if (!Arrays.equals((byte []) objectKeys[i][entryId], datum.asByteArray())) {
+          return false;
+        }
+        break;
+      default:
+        throw new IllegalStateException("Unknown key kind: " + keyKinds[i]);
+      }
+    }
+
+    return true;
+  }
+
+  private long hash(Tuple tuple, int [] keyIds) {
+    long hash = 0;
+    for (int i = 0; i < keyIds.length; i++) {
+      Datum datum = tuple.get(keyIds[i]);
+      long h;
+      if (datum == null || datum.isNull()) {
+        h = NULL_HASH;
+      } else {
+        switch (keyKinds[i]) {
+        case INTEGRAL:
+          h = mix(datum.asInt8());
+          break;
+        case FLOATING:
+          h = mix(floatingBits(datum));
+          break;
+        case TEXT:
+          h = hashBytes(datum.asByteArray());
+          break;
+        default:
+          h = mix(datum.hashCode());
+        }
+      }
+      hash = hash * 31 + h;
+    }
+    return mix(hash);
+  }
+
+  private int addEntry(Tuple tuple, long hash) {
+    if (entryNum == entryHashes.length) {
+      growEntries();
+    }
+
+    int entryId = entryNum++;
+    entryHashes[entryId] = hash;
+    entryFirstRows[entryId] = -1;
+    entryLastRows[entryId] = -1;
+    entryMatched[entryId] = false;
+
+    long nullFlags = 0;
+    for (int i = 0; i < buildKeyIds.length; i++) {
+      Datum datum = tuple.get(buildKeyIds[i]);
+      boolean isNull = datum == null || datum.isNull();
+
+      switch (keyKinds[i]) {
+      case INTEGRAL:
+        if (isNull) {
+          nullFlags |= 1L << i;
+        } else {
+          primitiveKeys[i][entryId] = datum.asInt8();
+        }
+        break;
+      case FLOATING:
+        if (isNull) {
+          nullFlags |= 1L << i;
+        } else {
+          primitiveKeys[i][entryId] = floatingBits(datum);
+        }
+        break;
+      case TEXT:
+        if (isNull) {
+          nullFlags |= 1L << i;
+        } else {
+          byte [] bytes = datum.asByteArray();
+          objectKeys[i][entryId] = bytes;
+          variableBytes += bytes.length + 16;
+        }
+        break;
+      default:
+        objectKeys[i][entryId] = datum;
+      }
+    }
+    entryNullFlags[entryId] = nullFlags;
+
+    // keep the load factor less than 0.5
+    if (entryNum * 2 > slots.length) {
+      rehash(slots.length * 2);
+    } else {
+      insertSlot(entryId);
+    }
+
+    return entryId;
+  }
+
+  private void insertSlot(int entryId) {
+    int pos = (int) entryHashes[entryId] & mask;
+    while (slots[pos] != 0) {
+      pos = (pos + 1) & mask;
+    }
+    slots[pos] = entryId + 1;
+  }
+
+  private void rehash(int capacity) {
+    slots = new int[capacity];
+    mask = capacity - 1;
+    for (int i = 0; i < entryNum; i++) {
+      insertSlot(i);
+    }
+  }
+
+  private void growEntries() {
+    int capacity = entryHashes.length * 2;
+    entryHashes = Arrays.copyOf(entryHashes, capacity);
+    entryNullFlags = Arrays.copyOf(entryNullFlags, capacity);
+    entryFirstRows = Arrays.copyOf(entryFirstRows, capacity);
+    entryLastRows = Arrays.copyOf(entryLastRows, capacity);
+    entryMatched = Arrays.copyOf(entryMatched, capacity);
+    for (int i = 0; i < keyKinds.length; i++) {
+      if (primitiveKeys[i] != null) {
+        primitiveKeys[i] = Arrays.copyOf(primitiveKeys[i], capacity);
+      } else {
+        objectKeys[i] = Arrays.copyOf(objectKeys[i], capacity);
+      }
+    }
+  }
+
+  private int addRow(Tuple tuple) {
+    if (rowNum == rowNexts.length) {
+      int capacity = rowNexts.length * 2;
+      rowNexts = Arrays.copyOf(rowNexts, capacity);
+      if (encoder != null) {
+        rowRefs = Arrays.copyOf(rowRefs, capacity);
+      } else {
+        rowTuples = Arrays.copyOf(rowTuples, capacity);
+      }
+    }
+
+    int rowId = rowNum++;
+    rowNexts[rowId] = -1;
+    if (encoder != null) {
+      rowRefs[rowId] = writeToArena(encoder.toBytes(tuple));
+    } else {
+      rowTuples[rowId] = tuple;
+      variableBytes += MemoryUtil.calculateMemorySize(tuple);
+    }
+    return rowId;
+  }
+
+  /**
+   * Writes a serialized row with its length into the current page, and returns the reference of the row.
+   * The upper 32 bits of a reference are a page index, and the lower 32 bits are an offset in the page.
+   */
+  private long writeToArena(byte [] bytes) {
+    int required = bytes.length + 4;
+    if (pageNum == 0 || pagePos + required > pages[pageNum - 1].length) {
+      if (pageNum == pages.length) {
+        pages = Arrays.copyOf(pages, pages.length * 2);
+      }
+      pages[pageNum++] = new byte[Math.max(PAGE_SIZE, required)];
+      pagePos = 0;
+      variableBytes += pages[pageNum - 1].length;
+    }
+
+    byte [] page = pages[pageNum - 1];
+    int offset = pagePos;
+    page[offset] = (byte) (bytes.length >>> 24);
+    page[offset + 1] = (byte) (bytes.length >>> 16);
+    page[offset + 2] = (byte) (bytes.length >>> 8);
+    page[offset + 3] = (byte) bytes.length;
+    System.arraycopy(bytes, 0, page, offset + 4, bytes.length);
+    pagePos += required;
+    arenaBytes += required;
+
+    return ((long) (pageNum - 1) << 32) | offset;
+  }
+
+  private Tuple getRow(int rowId) {
+    if (encoder == null) {
+      return rowTuples[rowId];
+    }
+
+    long ref = rowRefs[rowId];
+    byte [] page = pages[(int) (ref >>> 32)];
+    int offset = (int) ref;
+    int length = ((page[offset] & 0xFF) << 24) | ((page[offset + 1] & 0xFF) << 16) |
+        ((page[offset + 2] & 0xFF) << 8) | (page[offset + 3] & 0xFF);
+    return decoder.toTuple(page, offset + 4, length);
+  }
+
+  private static long floatingBits(Datum datum) {
+    double val = datum.asFloat8();
+    if (val == 0.0d) { // -0.0 and 0.0 are equal.
+      val = 0.0d;
+    }
+    return Double.doubleToLongBits(val);
+  }
+
+  private static long hashBytes(byte [] bytes) {
+    long h = 0xCBF29CE484222325L; // FNV-1a 64-bit
+    for (byte b : bytes) {
+      h ^= b;
+      h *= 0x100000001B3L;
+    }
+    return mix(h);
+  }
+
+  /**
+   * The finalization step of MurmurHash3 (64-bit)
+   */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private class RowIterator implements Iterator<Tuple> {
+    private int next;
+
+    RowIterator(int first) {
+      this.next = first;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public Tuple next() {
+      if (next < 0) {
+        throw new NoSuchElementException();
+      }
+      Tuple row = getRow(next);
+      next = rowNexts[next];
+      return row;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private class EntryRowIterator implements Iterator<Tuple> {
+    private final boolean onlyUnmatched;
+    private int entryId = -1;
+    private int next = -1;
+
+    EntryRowIterator(boolean onlyUnmatched) {
+      this.onlyUnmatched = onlyUnmatched;
+      advance();
+    }
+
+    private void advance() {
+      if (next >= 0) {
+        next = rowNexts[next];
+      }
+      while (next < 0 && ++entryId < entryNum) {
+        if (!onlyUnmatched || !entryMatched[entryId]) {
+          next = entryFirstRows[entryId];
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next >= 0;
+    }
+
+    @Override
+    public Tuple next() {
+      if (next < 0) {
+        throw new NoSuchElementException();
+      }
+      Tuple row = getRow(next);
+      advance();
+      return row;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
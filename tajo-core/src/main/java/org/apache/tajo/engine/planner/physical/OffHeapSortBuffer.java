@@ -0,0 +1,364 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.storage.RawFile;
+import org.apache.tajo.storage.StorageUtil;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A sort buffer which keeps rows in off-heap pages instead of Java objects.
+ *
+ * Each row is encoded in the RAW record format, and it is referred by a pointer and a fixed-width
+ * normalized prefix of the first sort key. The order of prefixes agrees with the order of the first sort key,
+ * so the sort compares prefixes first. Only if prefixes are tied, it decodes both rows and compares them
+ * with the given comparator.
+ */
+public class OffHeapSortBuffer implements SortBuffer {
+  public static final int DEFAULT_PAGE_SIZE = 1024 * 1024;
+  private static final int INITIAL_ROW_CAPACITY = 1024;
+  /** ranges shorter than it are sorted by insertion sort */
+  private static final int INSERTION_SORT_THRESHOLD = 16;
+
+  private final Schema schema;
+  private final Comparator<Tuple> comparator;
+  private final RawFile.RawTupleEncoder encoder;
+  private final RawFile.RawTupleDecoder decoder;
+  private final int pageSize;
+
+  // the first sort key, from which prefixes are computed
+  private final int keyId;
+  private final Type keyType;
+  private final boolean asc;
+  private final boolean nullFirst;
+  /** if true, the same prefixes mean that two rows are equivalent in the sort order */
+  private final boolean prefixDecisive;
+
+  private final List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+  /** views of pages, which are used for reading rows */
+  private final List<ByteBuffer> pageViews = new ArrayList<ByteBuffer>();
+  private int currentPageId = -1;
+  private long usedPageBytes = 0;
+
+  private long [] prefixes = new long[INITIAL_ROW_CAPACITY];
+  /** (page id << 32) | offset in page */
+  private long [] pointers = new long[INITIAL_ROW_CAPACITY];
+  private int rowNum = 0;
+
+  // tuples reused for comparisons
+  private final Tuple left;
+  private final Tuple right;
+
+  public OffHeapSortBuffer(Schema schema, SortSpec [] sortSpecs, Comparator<Tuple> comparator, int pageSize) {
+    this.schema = schema;
+    this.comparator = comparator;
+    this.encoder = new RawFile.RawTupleEncoder(schema);
+    this.decoder = new RawFile.RawTupleDecoder(schema);
+    this.pageSize = pageSize;
+
+    SortSpec firstKey = sortSpecs[0];
+    if (firstKey.getSortKey().hasQualifier()) {
+      keyId = schema.getColumnId(firstKey.getSortKey().getQualifiedName());
+    } else {
+      keyId = schema.getColumnIdByName(firstKey.getSortKey().getSimpleName());
+    }
+    keyType = schema.getColumn(keyId).getDataType().getType();
+    asc = firstKey.isAscending();
+    nullFirst = firstKey.isNullFirst();
+    prefixDecisive = sortSpecs.length == 1 && (keyType == Type.INT2 || keyType == Type.INT4 || keyType == Type.DATE);
+
+    left = new VTuple(schema.size());
+    right = new VTuple(schema.size());
+  }
+
+  @Override
+  public void add(Tuple tuple) throws IOException {
+    if (currentPageId < 0) {
+      nextPage(pageSize);
+    }
+
+    ByteBuffer page = pages.get(currentPageId);
+    int offset = page.position();
+    while (encoder.encode(tuple, page) < 0) {
+      // a row larger than the page size is stored in a larger page
+      nextPage(page.position() == 0 ? page.capacity() * 2 : pageSize);
+      page = pages.get(currentPageId);
+      offset = 0;
+    }
+
+    if (rowNum == prefixes.length) {
+      prefixes = Arrays.copyOf(prefixes, rowNum * 2);
+      pointers = Arrays.copyOf(pointers, rowNum * 2);
+    }
+    prefixes[rowNum] = computePrefix(tuple);
+    pointers[rowNum] = ((long) currentPageId << 32) | offset;
+    rowNum++;
+  }
+
+  private void nextPage(int minSize) {
+    currentPageId++;
+    int size = Math.max(pageSize, minSize);
+    if (currentPageId < pages.size()) {
+      // reuse the page allocated for a previous run if it is large enough
+      if (pages.get(currentPageId).capacity() >= size) {
+        pages.get(currentPageId).clear();
+      } else {
+        StorageUtil.closeBuffer(pages.get(currentPageId));
+        ByteBuffer page = ByteBuffer.allocateDirect(size);
+        pages.set(currentPageId, page);
+        pageViews.set(currentPageId, page.duplicate());
+      }
+    } else {
+      ByteBuffer page = ByteBuffer.allocateDirect(size);
+      pages.add(page);
+      pageViews.add(page.duplicate());
+    }
+    usedPageBytes += pages.get(currentPageId).capacity();
+  }
+
+  /**
+   * Computes a normalized prefix of the first sort key. If a key is smaller than another key in the sort order,
+   * its prefix is smaller than or equal to the prefix of the other key.
+   */
+  private long computePrefix(Tuple tuple) {
+    // NullDatum is greater than any other values unless nulls come first.
+    if (tuple.isNull(keyId)) {
+      return nullFirst ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+
+    long prefix;
+    switch (keyType) {
+    case INT2:
+      prefix = tuple.getInt2(keyId);
+      break;
+    case INT4:
+    case DATE:
+      prefix = tuple.getInt4(keyId);
+      break;
+    case INT8:
+    case TIME:
+    case TIMESTAMP:
+      prefix = tuple.getInt8(keyId);
+      break;
+    case FLOAT4:
+      prefix = normalizeDouble(tuple.getFloat4(keyId));
+      break;
+    case FLOAT8:
+      prefix = normalizeDouble(tuple.getFloat8(keyId));
+      break;
+    case CHAR:
+    case TEXT:
+      prefix = normalizeBytes(tuple.getBytes(keyId));
+      break;
+    default:
+      // all rows are compared by the comparator
+      return 0;
+    }
+
+    return asc ? prefix : ~prefix;
+  }
+
+  private static long normalizeDouble(double value) {
+    if (value == 0.0d) {
+      value = 0.0d; // -0.0 is equal to 0.0
+    }
+    long bits = Double.doubleToLongBits(value);
+    return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+  }
+
+  /**
+   * The first 8 bytes in the unsigned lexicographical order, which are shifted to the range of signed long
+   */
+  private static long normalizeBytes(byte [] bytes) {
+    long prefix = 0;
+    for (int i = 0; i < 8; i++) {
+      prefix <<= 8;
+      if (i < bytes.length) {
+        prefix |= bytes[i] & 0xFF;
+      }
+    }
+    return prefix ^ Long.MIN_VALUE;
+  }
+
+  @Override
+  public void sort() throws IOException {
+    quickSort(0, rowNum);
+  }
+
+  private void quickSort(int from, int to) throws IOException {
+    while (to - from > INSERTION_SORT_THRESHOLD) {
+      int mid = (from + to) >>> 1;
+      // the median of three
+      if (compare(mid, from) < 0) {
+        swap(mid, from);
+      }
+      if (compare(to - 1, from) < 0) {
+        swap(to - 1, from);
+      }
+      if (compare(to - 1, mid) < 0) {
+        swap(to - 1, mid);
+      }
+
+      long pivotPrefix = prefixes[mid];
+      long pivotPointer = pointers[mid];
+      int i = from;
+      int j = to - 1;
+      while (i <= j) {
+        while (compare(prefixes[i], pointers[i], pivotPrefix, pivotPointer) < 0) {
+          i++;
+        }
+        while (compare(prefixes[j], pointers[j], pivotPrefix, pivotPointer) > 0) {
+          j--;
+        }
+        if (i <= j) {
+          swap(i, j);
+          i++;
+          j--;
+        }
+      }
+
+      // recurse into the smaller range in order to bound the stack depth
+      if (j + 1 - from < to - i) {
+        quickSort(from, j + 1);
+        from = i;
+      } else {
+        quickSort(i, to);
+        to = j + 1;
+      }
+    }
+    insertionSort(from, to);
+  }
+
+  private void insertionSort(int from, int to) throws IOException {
+    for (int i = from + 1; i < to; i++) {
+      long prefix = prefixes[i];
+      long pointer = pointers[i];
+      int j = i - 1;
+      while (j >= from && compare(prefixes[j], pointers[j], prefix, pointer) > 0) {
+        prefixes[j + 1] = prefixes[j];
+        pointers[j + 1] = pointers[j];
+        j--;
+      }
+      prefixes[j + 1] = prefix;
+      pointers[j + 1] = pointer;
+    }
+  }
+
+  private int compare(int i, int j) throws IOException {
+    return compare(prefixes[i], pointers[i], prefixes[j], pointers[j]);
+  }
+
+  private int compare(long prefix1, long pointer1, long prefix2, long pointer2) throws IOException {
+    if (prefix1 != prefix2) {
+      return prefix1 < prefix2 ? -1 : 1;
+    } else if (prefixDecisive || pointer1 == pointer2) {
+      return 0;
+    }
+
+    readRow(pointer1, left);
+    readRow(pointer2, right);
+    return comparator.compare(left, right);
+  }
+
+  private void swap(int i, int j) {
+    long tmp = prefixes[i];
+    prefixes[i] = prefixes[j];
+    prefixes[j] = tmp;
+
+    tmp = pointers[i];
+    pointers[i] = pointers[j];
+    pointers[j] = tmp;
+  }
+
+  private ByteBuffer seek(long pointer) {
+    ByteBuffer view = pageViews.get((int) (pointer >>> 32));
+    int offset = (int) pointer;
+    view.limit(offset + RawFile.RawTupleDecoder.getRecordSize(view, offset));
+    view.position(offset);
+    return view;
+  }
+
+  private void readRow(long pointer, Tuple tuple) throws IOException {
+    decoder.decode(seek(pointer), tuple);
+  }
+
+  @Override
+  public Tuple get(int i) throws IOException {
+    Tuple tuple = new VTuple(schema.size());
+    readRow(pointers[i], tuple);
+    return tuple;
+  }
+
+  /**
+   * Writes all rows in the sorted order without decoding them.
+   */
+  @Override
+  public void writeTo(RawFile.RawFileAppender appender) throws IOException {
+    for (int i = 0; i < rowNum; i++) {
+      appender.addEncodedRows(seek(pointers[i]), 1);
+    }
+  }
+
+  @Override
+  public int size() {
+    return rowNum;
+  }
+
+  /**
+   * @return the bytes of pages used by rows and the bytes of prefix and pointer arrays
+   */
+  @Override
+  public long getMemoryConsumption() {
+    return usedPageBytes + (prefixes.length * 16L);
+  }
+
+  /**
+   * Removes all rows. Allocated pages are kept to be reused.
+   */
+  @Override
+  public void clear() {
+    rowNum = 0;
+    currentPageId = -1;
+    usedPageBytes = 0;
+  }
+
+  /**
+   * Releases all off-heap pages.
+   */
+  @Override
+  public void release() {
+    clear();
+    for (ByteBuffer page : pages) {
+      StorageUtil.closeBuffer(page);
+    }
+    pages.clear();
+    pageViews.clear();
+  }
+}
@@ -20,11 +20,15 @@ package org.apache.tajo.engine.planner.physical;
 
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.PhysicalPlanningException;
 import org.apache.tajo.engine.planner.logical.NodeType;
 import org.apache.tajo.engine.planner.logical.PersistentStoreNode;
 import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.storage.Appender;
+import org.apache.tajo.storage.FileAppender;
 import org.apache.tajo.storage.StorageConstants;
+import org.apache.tajo.unit.StorageUnit;
 
 import java.util.Stack;
 
@@ -100,4 +104,17 @@ public class PhysicalPlanUtil {
       }
     }
   }
+
+  /**
+   * Enable writing zone maps for a file appender if zone maps are enabled. It should be called before init().
+   *
+   * @param conf TajoConf
+   * @param appender Appender
+   */
+  public static void enableZoneMapIfNecessary(TajoConf conf, Appender appender) {
+    if (conf.getBoolVar(TajoConf.ConfVars.STORAGE_ZONEMAP_ENABLED) && appender instanceof FileAppender) {
+      long blockSize = (long) conf.getIntVar(TajoConf.ConfVars.STORAGE_ZONEMAP_BLOCK_SIZE) * StorageUnit.MB;
+      ((FileAppender) appender).enableZoneMap(blockSize);
+    }
+  }
 }
@@ -21,20 +21,29 @@
  */
 package org.apache.tajo.engine.planner.physical;
 
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.planner.Projector;
 import org.apache.tajo.engine.planner.logical.Projectable;
+import org.apache.tajo.engine.vector.ColumnBatch;
+import org.apache.tajo.engine.vector.VectorizedProjector;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
 
-public class ProjectionExec extends UnaryPhysicalExec {
+public class ProjectionExec extends UnaryPhysicalExec implements VectorizedExec {
   private Projectable plan;
 
   // for projection
   private Tuple outTuple;
   private Projector projector;
+
+  // for the vectorized execution mode
+  private VectorizedProjector vectorizedProjector;
+  private ColumnBatch currentBatch;
+  private int currentRow;
   
   public ProjectionExec(TaskAttemptContext context, Projectable plan,
       PhysicalExec child) {
@@ -42,15 +51,49 @@ public class ProjectionExec extends UnaryPhysicalExec {
     this.plan = plan;
   }
 
+  @Override
   public void init() throws IOException {
     super.init();
 
     this.outTuple = new VTuple(outSchema.size());
     this.projector = new Projector(context, inSchema, outSchema, this.plan.getTargets());
+
+    // The child decides whether it is vectorized in its init(), which is called by super.init().
+    if (context.getQueryContext().getBool(SessionVars.VECTORIZED_EXECUTION) &&
+        child instanceof VectorizedExec && ((VectorizedExec) child).isVectorized()) {
+      int capacity = context.getConf().getIntVar(ConfVars.EXECUTOR_VECTORIZED_BATCH_SIZE);
+      this.vectorizedProjector = new VectorizedProjector(inSchema, outSchema, plan.getTargets(), capacity);
+    }
+  }
+
+  @Override
+  public boolean isVectorized() {
+    return vectorizedProjector != null;
+  }
+
+  @Override
+  public ColumnBatch nextBatch() throws IOException {
+    ColumnBatch batch = ((VectorizedExec) child).nextBatch();
+    if (batch == null) {
+      return null;
+    }
+    return vectorizedProjector.eval(batch);
   }
 
   @Override
   public Tuple next() throws IOException {
+    if (vectorizedProjector != null) {
+      while (currentBatch == null || currentRow == currentBatch.getSelectedSize()) {
+        currentBatch = nextBatch();
+        currentRow = 0;
+        if (currentBatch == null) {
+          return null;
+        }
+      }
+      currentBatch.getTuple(currentBatch.getSelected()[currentRow++], outTuple);
+      return outTuple;
+    }
+
     Tuple tuple = child.next();
 
     if (tuple ==  null) {
@@ -61,6 +104,12 @@ public class ProjectionExec extends UnaryPhysicalExec {
     return outTuple;
   }
 
+  @Override
+  public void rescan() throws IOException {
+    super.rescan();
+    currentBatch = null;
+  }
+
   @Override
   public void close() throws IOException{
     super.close();
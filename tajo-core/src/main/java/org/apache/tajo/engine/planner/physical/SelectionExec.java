@@ -20,20 +20,44 @@ package org.apache.tajo.engine.planner.physical;
 
 import org.apache.tajo.engine.codegen.CompilationError;
 import org.apache.tajo.engine.eval.EvalNode;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.engine.planner.logical.SelectionNode;
+import org.apache.tajo.engine.vector.ColumnBatch;
+import org.apache.tajo.engine.vector.VectorExpr;
+import org.apache.tajo.engine.vector.VectorExprCompiler;
 import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
 
-public class SelectionExec extends UnaryPhysicalExec  {
+public class SelectionExec extends UnaryPhysicalExec implements VectorizedExec {
   private EvalNode qual;
 
+  // for the vectorized execution mode
+  private final EvalNode rowQual;
+  private VectorExpr vectorizedQual;
+  private ColumnBatch currentBatch;
+  private int currentRow;
+
   public SelectionExec(TaskAttemptContext context,
                        SelectionNode plan,
                        PhysicalExec child) {
     super(context, plan.getInSchema(), plan.getOutSchema(), child);
     this.qual = plan.getQual();
+    this.rowQual = plan.getQual();
+  }
+
+  @Override
+  public void init() throws IOException {
+    super.init();
+
+    if (context.getQueryContext().getBool(SessionVars.VECTORIZED_EXECUTION) &&
+        child instanceof VectorizedExec && ((VectorizedExec) child).isVectorized()) {
+      int capacity = context.getConf().getIntVar(ConfVars.EXECUTOR_VECTORIZED_BATCH_SIZE);
+      vectorizedQual = VectorExprCompiler.compile(inSchema, rowQual, capacity);
+    }
   }
 
   @Override
@@ -41,8 +65,39 @@ public class SelectionExec extends UnaryPhysicalExec  {
     qual = context.getPrecompiledEval(inSchema, qual);
   }
 
+  @Override
+  public boolean isVectorized() {
+    return vectorizedQual != null;
+  }
+
+  @Override
+  public ColumnBatch nextBatch() throws IOException {
+    ColumnBatch batch;
+    while ((batch = ((VectorizedExec) child).nextBatch()) != null) {
+      batch.filter(vectorizedQual.eval(batch));
+      if (batch.getSelectedSize() > 0) {
+        return batch;
+      }
+    }
+    return null;
+  }
+
   @Override
   public Tuple next() throws IOException {
+    if (vectorizedQual != null) {
+      while (currentBatch == null || currentRow == currentBatch.getSelectedSize()) {
+        currentBatch = nextBatch();
+        currentRow = 0;
+        if (currentBatch == null) {
+          return null;
+        }
+      }
+      // a new tuple for each row because the row path also returns tuples of the child as they are.
+      Tuple outTuple = new VTuple(outSchema.size());
+      currentBatch.getTuple(currentBatch.getSelected()[currentRow++], outTuple);
+      return outTuple;
+    }
+
     Tuple tuple;
     while ((tuple = child.next()) != null) {
       if (qual.eval(inSchema, tuple).isTrue()) {
@@ -52,4 +107,10 @@ public class SelectionExec extends UnaryPhysicalExec  {
 
     return null;
   }
+
+  @Override
+  public void rescan() throws IOException {
+    super.rescan();
+    currentBatch = null;
+  }
 }
@@ -19,14 +19,18 @@
 package org.apache.tajo.engine.planner.physical;
 
 import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
 import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.datum.Datum;
 import org.apache.tajo.engine.codegen.CompilationError;
+import org.apache.tajo.engine.codegen.ExecutorPreCompiler;
+import org.apache.tajo.engine.codegen.FusedPipeline;
 import org.apache.tajo.engine.eval.ConstEval;
 import org.apache.tajo.engine.eval.EvalNode;
 import org.apache.tajo.engine.eval.EvalTreeUtil;
@@ -38,9 +42,16 @@ import org.apache.tajo.engine.utils.SchemaUtil;
 import org.apache.tajo.engine.utils.TupleCache;
 import org.apache.tajo.engine.utils.TupleCacheKey;
 import org.apache.tajo.engine.utils.TupleUtil;
+import org.apache.tajo.engine.vector.ColumnBatch;
+import org.apache.tajo.engine.vector.VectorExpr;
+import org.apache.tajo.engine.vector.VectorExprCompiler;
+import org.apache.tajo.engine.vector.VectorizedProjector;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.util.TUtil;
+import org.apache.tajo.worker.FetchedFragmentQueue;
+import org.apache.tajo.worker.FetchedFragmentScanner;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
@@ -50,7 +61,7 @@ import java.util.List;
 import java.util.Set;
 
 
-public class SeqScanExec extends PhysicalExec {
+public class SeqScanExec extends PhysicalExec implements VectorizedExec {
   private ScanNode plan;
 
   private Scanner scanner = null;
@@ -59,14 +70,28 @@ public class SeqScanExec extends PhysicalExec {
 
   private CatalogProtos.FragmentProto [] fragments;
 
+  /** If not null, this scan reads fragments as soon as they are fetched. */
+  private FetchedFragmentQueue fetchedFragmentQueue;
+
   private Projector projector;
 
+  // a search condition and targets compiled into one class
+  private FusedPipeline pipeline;
+
   private TableStats inputStats;
 
   private TupleCacheKey cacheKey;
 
   private boolean cacheRead = false;
 
+  // for the vectorized execution mode
+  private boolean vectorized = false;
+  private ColumnBatch inBatch;
+  private VectorExpr vectorizedQual;
+  private VectorizedProjector vectorizedProjector;
+  private ColumnBatch currentBatch;
+  private int currentRow;
+
   public SeqScanExec(TaskAttemptContext context, AbstractStorageManager sm, ScanNode plan,
                      CatalogProtos.FragmentProto [] fragments) throws IOException {
     super(context, plan.getInSchema(), plan.getOutSchema());
@@ -74,6 +99,7 @@ public class SeqScanExec extends PhysicalExec {
     this.plan = plan;
     this.qual = plan.getQual();
     this.fragments = fragments;
+    this.fetchedFragmentQueue = context.getFetchedFragmentQueue(plan.getCanonicalName());
 
     if (plan.isBroadcastTable()) {
       String pathNameKey = "";
@@ -199,19 +225,90 @@ public class SeqScanExec extends PhysicalExec {
       initScanner(projected);
     }
 
+    // The broadcast cache keeps tuples, so it is always read in the row-at-a-time way.
+    if (scanner != null && cacheKey == null && context.getQueryContext().getBool(SessionVars.VECTORIZED_EXECUTION)) {
+      initVectorizedMode();
+    }
+
     super.init();
   }
 
+  private void initVectorizedMode() {
+    int capacity = context.getConf().getIntVar(ConfVars.EXECUTOR_VECTORIZED_BATCH_SIZE);
+
+    // only the columns which are referred by the qual or targets are filled in column batches.
+    Set<Column> columnSet = new HashSet<Column>();
+    if (plan.hasQual()) {
+      columnSet.addAll(EvalTreeUtil.findUniqueColumns(plan.getQual()));
+    }
+    if (plan.hasTargets()) {
+      for (Target t : plan.getTargets()) {
+        columnSet.addAll(EvalTreeUtil.findUniqueColumns(t.getEvalTree()));
+      }
+    } else {
+      columnSet.addAll(outSchema.getColumns());
+    }
+    List<Integer> columnIds = new ArrayList<Integer>();
+    for (int i = 0; i < inSchema.size(); i++) {
+      if (columnSet.contains(inSchema.getColumn(i))) {
+        columnIds.add(i);
+      }
+    }
+
+    inBatch = new ColumnBatch(inSchema, capacity, TUtil.toArray(columnIds));
+    if (plan.hasQual()) {
+      vectorizedQual = VectorExprCompiler.compile(inSchema, plan.getQual(), capacity);
+    }
+    vectorizedProjector = new VectorizedProjector(inSchema, outSchema, plan.getTargets(), capacity);
+    vectorized = true;
+  }
+
+  @Override
+  public boolean isVectorized() {
+    return vectorized;
+  }
+
+  @Override
+  public ColumnBatch nextBatch() throws IOException {
+    if (fragments == null && fetchedFragmentQueue == null) {
+      return null;
+    }
+
+    while (true) {
+      inBatch.reset();
+      Tuple tuple;
+      while (!inBatch.isFull() && (tuple = scanner.next()) != null) {
+        inBatch.addTuple(tuple);
+      }
+      if (inBatch.size() == 0) {
+        return null;
+      }
+
+      if (vectorizedQual != null) {
+        inBatch.filter(vectorizedQual.eval(inBatch));
+        if (inBatch.getSelectedSize() == 0) {
+          continue;
+        }
+      }
+      return vectorizedProjector.eval(inBatch);
+    }
+  }
+
   @Override
   protected void compile() throws CompilationError {
     if (plan.hasQual()) {
       qual = context.getPrecompiledEval(inSchema, qual);
     }
+    pipeline = context.getPrecompiledPipeline(inSchema, plan.hasQual() ? plan.getQual() : null,
+        ExecutorPreCompiler.getTargetEvals(plan));
   }
 
   private void initScanner(Schema projected) throws IOException {
     this.projector = new Projector(context, inSchema, outSchema, plan.getTargets());
-    if (fragments != null) {
+    if (fetchedFragmentQueue != null) {
+      this.scanner = new FetchedFragmentScanner(context.getConf(), plan.getPhysicalSchema(),
+          plan.getTableDesc().getMeta(), projected, fetchedFragmentQueue);
+    } else if (fragments != null) {
       if (fragments.length > 1) {
         this.scanner = new MergeScanner(context.getConf(), plan.getPhysicalSchema(), plan.getTableDesc().getMeta(),
             FragmentConvertor.<FileFragment>convert(context.getConf(), plan.getTableDesc().getMeta().getStoreType(),
@@ -222,10 +319,29 @@ public class SeqScanExec extends PhysicalExec {
             context.getConf()).getScanner(plan.getTableDesc().getMeta(), plan.getPhysicalSchema(), fragments[0],
             projected);
       }
+    }
+
+    if (scanner != null) {
+      pushDownSearchCondition();
       scanner.init();
     }
   }
 
+  /**
+   * Hands the simple terms of the search condition over to a selectable scanner, so that the scanner can skip
+   * unqualified rows or blocks before decoding them. The search condition is still evaluated in this executor
+   * because the scanner may not filter out all unqualified rows.
+   */
+  private void pushDownSearchCondition() {
+    if (!plan.hasQual() || !scanner.isSelectable()) {
+      return;
+    }
+    ScanFilter filter = EvalTreeUtil.toScanFilter(plan.getPhysicalSchema(), plan.getQual());
+    if (filter != null) {
+      scanner.setSearchCondition(filter);
+    }
+  }
+
   private void openCacheScanner() throws IOException {
     Scanner cacheScanner = TupleCache.getInstance().openCacheScanner(cacheKey, plan.getPhysicalSchema());
     if (cacheScanner != null) {
@@ -257,13 +373,36 @@ public class SeqScanExec extends PhysicalExec {
 
   @Override
   public Tuple next() throws IOException {
-    if (fragments == null) {
+    if (fragments == null && fetchedFragmentQueue == null) {
       return null;
     }
 
+    if (vectorized) {
+      while (currentBatch == null || currentRow == currentBatch.getSelectedSize()) {
+        currentBatch = nextBatch();
+        currentRow = 0;
+        if (currentBatch == null) {
+          return null;
+        }
+      }
+      Tuple outTuple = new VTuple(outColumnNum);
+      currentBatch.getTuple(currentBatch.getSelected()[currentRow++], outTuple);
+      return outTuple;
+    }
+
     Tuple tuple;
     Tuple outTuple = new VTuple(outColumnNum);
 
+    if (pipeline != null && !cacheRead) {
+      while ((tuple = scanner.next()) != null) {
+        if (pipeline.process(inSchema, tuple, outTuple)) {
+          outTuple.setOffset(tuple.getOffset());
+          return outTuple;
+        }
+      }
+      return null;
+    }
+
     if (!plan.hasQual()) {
       if ((tuple = scanner.next()) != null) {
         if (cacheRead) {
@@ -292,6 +431,7 @@ public class SeqScanExec extends PhysicalExec {
   @Override
   public void rescan() throws IOException {
     scanner.reset();
+    currentBatch = null;
   }
 
   @Override
@@ -311,6 +451,7 @@ public class SeqScanExec extends PhysicalExec {
     plan = null;
     qual = null;
     projector = null;
+    pipeline = null;
   }
 
   public String getTableName() {
@@ -38,6 +38,7 @@ import java.io.IOException;
 public class SortBasedColPartitionStoreExec extends ColPartitionStoreExec {
   private Tuple currentKey;
   private Tuple prevKey;
+  private String currentPartition;
 
   public SortBasedColPartitionStoreExec(TaskAttemptContext context, StoreTableNode plan, PhysicalExec child)
       throws IOException {
@@ -78,14 +79,17 @@ public class SortBasedColPartitionStoreExec extends ColPartitionStoreExec {
       fillKeyTuple(tuple, currentKey);
 
       if (prevKey == null) {
-        appender = getNextPartitionAppender(getSubdirectory(currentKey));
+        currentPartition = getSubdirectory(currentKey);
+        appender = getNextPartitionAppender(currentPartition);
         prevKey = new VTuple(currentKey);
       } else {
         if (!prevKey.equals(currentKey)) {
           appender.close();
           StatisticsUtil.aggregateTableStat(aggregatedStats, appender.getStats());
+          addPartitionStats(currentPartition, appender.getStats());
 
-          appender = getNextPartitionAppender(getSubdirectory(currentKey));
+          currentPartition = getSubdirectory(currentKey);
+          appender = getNextPartitionAppender(currentPartition);
           prevKey = new VTuple(currentKey);
 
           // reset all states for file rotating
@@ -99,6 +103,7 @@ public class SortBasedColPartitionStoreExec extends ColPartitionStoreExec {
         appender.close();
         writtenFileNum++;
         StatisticsUtil.aggregateTableStat(aggregatedStats, appender.getStats());
+        addPartitionStats(currentPartition, appender.getStats());
 
         openAppender(writtenFileNum);
       }
@@ -114,7 +119,9 @@ public class SortBasedColPartitionStoreExec extends ColPartitionStoreExec {
 
       // Collect statistics data
       StatisticsUtil.aggregateTableStat(aggregatedStats, appender.getStats());
+      addPartitionStats(currentPartition, appender.getStats());
       context.setResultStats(aggregatedStats);
+      setWrittenPartitions();
     }
   }
 
@@ -0,0 +1,61 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.storage.RawFile;
+import org.apache.tajo.storage.Tuple;
+
+import java.io.IOException;
+
+/**
+ * A buffer which keeps rows of a sort run in memory.
+ */
+public interface SortBuffer {
+
+  void add(Tuple tuple) throws IOException;
+
+  void sort() throws IOException;
+
+  /**
+   * @return the i'th row in the sorted order
+   */
+  Tuple get(int i) throws IOException;
+
+  /**
+   * Writes all rows in the sorted order into a chunk file.
+   */
+  void writeTo(RawFile.RawFileAppender appender) throws IOException;
+
+  int size();
+
+  /**
+   * @return the approximate bytes used by buffered rows
+   */
+  long getMemoryConsumption();
+
+  /**
+   * Removes all rows.
+   */
+  void clear();
+
+  /**
+   * Releases all resources held by this buffer.
+   */
+  void release();
+}
@@ -96,6 +96,7 @@ public class StoreTableExec extends UnaryPhysicalExec {
     }
 
     appender.enableStats();
+    PhysicalPlanUtil.enableZoneMapIfNecessary(context.getConf(), appender);
     appender.init();
 
     if (suffixId > 0) {
@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.storage.MemoryUtil;
+import org.apache.tajo.storage.RawFile;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A sort buffer which keeps rows as on-heap tuples. It is used for schemas which cannot be encoded
+ * in the RAW record format, so {@link OffHeapSortBuffer} cannot keep them.
+ */
+public class TupleListSortBuffer implements SortBuffer {
+  private final Comparator<Tuple> comparator;
+  private final List<Tuple> tuples = new ArrayList<Tuple>(100000);
+  private long memoryConsumption = 0;
+
+  public TupleListSortBuffer(Comparator<Tuple> comparator) {
+    this.comparator = comparator;
+  }
+
+  @Override
+  public void add(Tuple tuple) throws IOException {
+    Tuple vtuple = new VTuple(tuple);
+    tuples.add(vtuple);
+    memoryConsumption += MemoryUtil.calculateMemorySize(vtuple);
+  }
+
+  @Override
+  public void sort() throws IOException {
+    Collections.sort(tuples, comparator);
+  }
+
+  @Override
+  public Tuple get(int i) throws IOException {
+    return tuples.get(i);
+  }
+
+  @Override
+  public void writeTo(RawFile.RawFileAppender appender) throws IOException {
+    for (Tuple t : tuples) {
+      appender.addTuple(t);
+    }
+  }
+
+  @Override
+  public int size() {
+    return tuples.size();
+  }
+
+  @Override
+  public long getMemoryConsumption() {
+    return memoryConsumption;
+  }
+
+  @Override
+  public void clear() {
+    tuples.clear();
+    memoryConsumption = 0;
+  }
+
+  @Override
+  public void release() {
+    clear();
+  }
+}
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.engine.vector.ColumnBatch;
+
+import java.io.IOException;
+
+/**
+ * A physical executor which is able to produce column batches in the vectorized execution mode
+ * (see {@link org.apache.tajo.SessionVars#VECTORIZED_EXECUTION}). Even in the vectorized mode,
+ * {@link PhysicalExec#next()} is still available for parent executors which only consume tuples.
+ * A parent should use only one of them.
+ */
+public interface VectorizedExec {
+
+  /**
+   * @return True if {@link #nextBatch()} is available. It is decided during {@link PhysicalExec#init()}.
+   */
+  boolean isVectorized();
+
+  /**
+   * Returns the next batch whose selected rows are the output of this executor, or null if there is no more row.
+   * A returned batch is valid until the next call.
+   */
+  ColumnBatch nextBatch() throws IOException;
+}
@@ -23,9 +23,8 @@ import com.google.common.collect.Sets;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.*;
-import org.apache.tajo.catalog.Column;
-import org.apache.tajo.catalog.Schema;
-import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.partition.PartitionMethodDesc;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.eval.*;
@@ -49,9 +48,19 @@ public class PartitionedTableRewriter implements RewriteRule {
   private final Rewriter rewriter = new Rewriter();
 
   private final TajoConf systemConf;
+  private final CatalogService catalog;
 
   public PartitionedTableRewriter(TajoConf conf) {
+    this(conf, null);
+  }
+
+  /**
+   * @param catalog The catalog which provides registered partitions. If it is NULL, partitions are always found by
+   *                listing table directories.
+   */
+  public PartitionedTableRewriter(TajoConf conf, CatalogService catalog) {
     systemConf = conf;
+    this.catalog = catalog;
   }
 
   @Override
@@ -117,11 +126,10 @@ public class PartitionedTableRewriter implements RewriteRule {
    * @return
    * @throws IOException
    */
-  private Path [] findFilteredPaths(Schema partitionColumns, EvalNode [] conjunctiveForms, Path tablePath)
+  private Path [] findFilteredPaths(Schema partitionColumns, EvalNode [] conjunctiveForms, Path tablePath,
+                                    List<PartitionDesc> registeredPartitions)
       throws IOException {
 
-    FileSystem fs = tablePath.getFileSystem(systemConf);
-
     PathFilter [] filters;
     if (conjunctiveForms == null) {
       filters = buildAllAcceptingPathFilters(partitionColumns);
@@ -129,6 +137,23 @@ public class PartitionedTableRewriter implements RewriteRule {
       filters = buildPathFiltersForAllLevels(partitionColumns, conjunctiveForms);
     }
 
+    if (registeredPartitions != null) {
+      // The filter of the last level contains the conditions of all levels.
+      PathFilter filter = filters[filters.length - 1];
+      List<Path> filteredPaths = Lists.newArrayList();
+      for (PartitionDesc partition : registeredPartitions) {
+        Path partitionPath = new Path(tablePath, partition.getName());
+        if (filter.accept(partitionPath)) {
+          filteredPaths.add(partitionPath);
+        }
+      }
+
+      LOG.info("Filtered registered partitions: " + filteredPaths.size() + " of " + registeredPartitions.size());
+      return filteredPaths.toArray(new Path[filteredPaths.size()]);
+    }
+
+    FileSystem fs = tablePath.getFileSystem(systemConf);
+
     // loop from one to the number of partition columns
     Path [] filteredPaths = toPathArray(fs.listStatus(tablePath, filters[0]));
 
@@ -220,7 +245,29 @@ public class PartitionedTableRewriter implements RewriteRule {
     return paths;
   }
 
-  private Path [] findFilteredPartitionPaths(ScanNode scanNode) throws IOException {
+  /**
+   * @return The partitions registered in the catalog, or NULL if the catalog does not have all partitions of the table
+   */
+  private List<PartitionDesc> getRegisteredPartitions(TableDesc table) {
+    if (catalog == null || !systemConf.getBoolVar(TajoConf.ConfVars.CATALOG_PARTITION_INDEX_ENABLED) ||
+        !table.getMeta().containsOption(CatalogConstants.PARTITIONS_REGISTERED)) {
+      return null;
+    }
+
+    String [] splitted = CatalogUtil.splitFQTableName(table.getName());
+    List<PartitionDesc> partitions = catalog.getPartitions(splitted[0], splitted[1]);
+    if (partitions == null) {
+      LOG.warn("Cannot get the partitions of " + table.getName() + " from the catalog. " +
+          "The table directory will be listed instead.");
+    } else if (partitions.isEmpty()) {
+      // A table can be seen before the query creating it registers its partitions. Listing an empty table is cheap.
+      return null;
+    }
+    return partitions;
+  }
+
+  private Path [] findFilteredPartitionPaths(ScanNode scanNode, List<PartitionDesc> registeredPartitions)
+      throws IOException {
     TableDesc table = scanNode.getTableDesc();
     PartitionMethodDesc partitionDesc = scanNode.getTableDesc().getPartitionMethod();
 
@@ -260,9 +307,10 @@ public class PartitionedTableRewriter implements RewriteRule {
 
     if (indexablePredicateSet.size() > 0) { // There are at least one indexable predicates
       return findFilteredPaths(paritionValuesSchema,
-          indexablePredicateSet.toArray(new EvalNode[indexablePredicateSet.size()]), table.getPath());
+          indexablePredicateSet.toArray(new EvalNode[indexablePredicateSet.size()]), table.getPath(),
+          registeredPartitions);
     } else { // otherwise, we will get all partition paths.
-      return findFilteredPaths(paritionValuesSchema, null, table.getPath());
+      return findFilteredPaths(paritionValuesSchema, null, table.getPath(), registeredPartitions);
     }
   }
 
@@ -329,6 +377,28 @@ public class PartitionedTableRewriter implements RewriteRule {
     }
   }
 
+  /**
+   * It updates the table volume with the volumes of the chosen partitions registered in the catalog. If any chosen
+   * partition does not have its volume, it falls back to {@link #updateTableStat(PartitionedTableScanNode)}.
+   */
+  private void updateTableStat(PartitionedTableScanNode scanNode, List<PartitionDesc> registeredPartitions)
+      throws PlanningException {
+    Set<Path> inputPaths = Sets.newHashSet(scanNode.getInputPaths());
+    Path tablePath = scanNode.getTableDesc().getPath();
+    long totalVolume = 0;
+
+    for (PartitionDesc partition : registeredPartitions) {
+      if (inputPaths.contains(new Path(tablePath, partition.getName()))) {
+        if (partition.getNumBytes() < 0) {
+          updateTableStat(scanNode);
+          return;
+        }
+        totalVolume += partition.getNumBytes();
+      }
+    }
+    scanNode.getTableDesc().getStats().setNumBytes(totalVolume);
+  }
+
   private final class Rewriter extends BasicLogicalPlanVisitor<Object, Object> {
     @Override
     public Object visitScan(Object object, LogicalPlan plan, LogicalPlan.QueryBlock block, ScanNode scanNode,
@@ -340,11 +410,16 @@ public class PartitionedTableRewriter implements RewriteRule {
       }
 
       try {
-        Path [] filteredPaths = findFilteredPartitionPaths(scanNode);
+        List<PartitionDesc> registeredPartitions = getRegisteredPartitions(table);
+        Path [] filteredPaths = findFilteredPartitionPaths(scanNode, registeredPartitions);
         plan.addHistory("PartitionTableRewriter chooses " + filteredPaths.length + " of partitions");
         PartitionedTableScanNode rewrittenScanNode = plan.createNode(PartitionedTableScanNode.class);
         rewrittenScanNode.init(scanNode, filteredPaths);
-        updateTableStat(rewrittenScanNode);
+        if (registeredPartitions != null) {
+          updateTableStat(rewrittenScanNode, registeredPartitions);
+        } else {
+          updateTableStat(rewrittenScanNode);
+        }
 
         // if it is topmost node, set it as the rootnode of this block.
         if (stack.empty() || block.getRoot().equals(scanNode)) {
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.eval.EvalType;
+
+/**
+ * It evaluates +, -, *, / and % on numeric vectors. The result type must be the same as what
+ * {@link org.apache.tajo.datum.Datum} arithmetic returns for the operand types. If a divisor is zero, the operation
+ * is delegated to {@link org.apache.tajo.datum.Datum} in order to keep the divide-by-zero behavior.
+ */
+public class ArithmeticVectorExpr extends VectorExpr {
+  private final EvalType op;
+  private final VectorExpr left;
+  private final VectorExpr right;
+  private final ColumnVector result;
+
+  public ArithmeticVectorExpr(EvalType op, DataType dataType, VectorExpr left, VectorExpr right, int capacity) {
+    super(dataType);
+    this.op = op;
+    this.left = left;
+    this.right = right;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector lhs = left.eval(batch);
+    ColumnVector rhs = right.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+
+    Type type = dataType.getType();
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      if (lhs.nulls[row] || rhs.nulls[row]) {
+        result.nulls[row] = true;
+        continue;
+      }
+
+      result.nulls[row] = false;
+      switch (type) {
+      case INT4:
+      case INT8:
+        evalLong(row, lhs, rhs, type == Type.INT4);
+        break;
+      case FLOAT4:
+        evalFloat(row, lhs, rhs);
+        break;
+      default:
+        evalDouble(row, lhs, rhs);
+      }
+    }
+    return result;
+  }
+
+  private void evalLong(int row, ColumnVector lhs, ColumnVector rhs, boolean int4) {
+    long l = lhs.getLong(row);
+    long r = rhs.getLong(row);
+    long value;
+    switch (op) {
+    case PLUS:
+      value = l + r;
+      break;
+    case MINUS:
+      value = l - r;
+      break;
+    case MULTIPLY:
+      value = l * r;
+      break;
+    case DIVIDE:
+      if (r == 0) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l / r;
+      break;
+    default:
+      if (r == 0) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l % r;
+    }
+    // 32-bit operations should overflow in the same way as int arithmetic.
+    result.longs[row] = int4 ? (int) value : value;
+  }
+
+  private void evalFloat(int row, ColumnVector lhs, ColumnVector rhs) {
+    float l = lhs.getFloat(row);
+    float r = rhs.getFloat(row);
+    float value;
+    switch (op) {
+    case PLUS:
+      value = l + r;
+      break;
+    case MINUS:
+      value = l - r;
+      break;
+    case MULTIPLY:
+      value = l * r;
+      break;
+    case DIVIDE:
+      if (r == 0.0f) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l / r;
+      break;
+    default:
+      if (r == 0.0f) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l % r;
+    }
+    result.doubles[row] = value;
+  }
+
+  private void evalDouble(int row, ColumnVector lhs, ColumnVector rhs) {
+    double l = lhs.getDouble(row);
+    double r = rhs.getDouble(row);
+    double value;
+    switch (op) {
+    case PLUS:
+      value = l + r;
+      break;
+    case MINUS:
+      value = l - r;
+      break;
+    case MULTIPLY:
+      value = l * r;
+      break;
+    case DIVIDE:
+      if (r == 0.0d) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l / r;
+      break;
+    default:
+      if (r == 0.0d) {
+        evalDivideByZero(row, lhs, rhs);
+        return;
+      }
+      value = l % r;
+    }
+    result.doubles[row] = value;
+  }
+
+  /**
+   * Datum returns NULL or throws an ArithmeticException according to the session configuration.
+   */
+  private void evalDivideByZero(int row, ColumnVector lhs, ColumnVector rhs) {
+    if (op == EvalType.DIVIDE) {
+      result.set(row, lhs.get(row).divide(rhs.get(row)));
+    } else {
+      result.set(row, lhs.get(row).modular(rhs.get(row)));
+    }
+  }
+
+  public String toString() {
+    return left + " " + op.getOperatorName() + " " + right;
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+
+/**
+ * A cast between numeric types. Values are converted in the same way as Java primitive casts, which
+ * {@link org.apache.tajo.datum.Datum} also uses.
+ */
+public class CastVectorExpr extends VectorExpr {
+  private final VectorExpr child;
+  private final boolean fromIntegral;
+  private final ColumnVector result;
+
+  public CastVectorExpr(DataType dataType, VectorExpr child, int capacity) {
+    super(dataType);
+    this.child = child;
+    this.fromIntegral = ColumnVector.getKind(child.getDataType().getType()) == ColumnVector.Kind.LONG;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector vector = child.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+    Type type = dataType.getType();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      result.nulls[row] = vector.nulls[row];
+      if (vector.nulls[row]) {
+        continue;
+      }
+
+      switch (type) {
+      case INT4:
+        result.longs[row] = fromIntegral ? (int) vector.getLong(row) : (int) vector.getDouble(row);
+        break;
+      case INT8:
+        result.longs[row] = fromIntegral ? vector.getLong(row) : (long) vector.getDouble(row);
+        break;
+      case FLOAT4:
+        result.doubles[row] = fromIntegral ? (float) vector.getLong(row) : (float) vector.getDouble(row);
+        break;
+      default:
+        result.doubles[row] = fromIntegral ? (double) vector.getLong(row) : vector.getDouble(row);
+      }
+    }
+    return result;
+  }
+
+  public String toString() {
+    return "CAST (" + child + " AS " + dataType.getType() + ")";
+  }
+}
@@ -0,0 +1,153 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.storage.Tuple;
+
+/**
+ * ColumnBatch is a set of rows which are kept in column vectors. Physical executors in the vectorized mode exchange
+ * column batches instead of tuples.
+ *
+ * A batch has a selection vector which is the list of valid row ids. A filter just shrinks the selection vector
+ * instead of copying the values, and vector expressions only evaluate the selected rows.
+ * Vectors of a batch are reused for the next batch, so a consumer must not keep the vectors.
+ */
+public class ColumnBatch {
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  private final Schema schema;
+  private final int capacity;
+  private final ColumnVector [] columns;
+  private final long [] offsets;
+  private int size = 0;
+
+  private final int [] selected;
+  private int selectedSize = 0;
+
+  /**
+   * Creates an empty batch. Vectors should be given by {@link #setColumn(int, ColumnVector)}.
+   */
+  public ColumnBatch(Schema schema, int capacity) {
+    this.schema = schema;
+    this.capacity = capacity;
+    this.columns = new ColumnVector[schema.size()];
+    this.offsets = new long[capacity];
+    this.selected = new int[capacity];
+  }
+
+  /**
+   * Creates a batch which allocates vectors only for the given columns.
+   */
+  public ColumnBatch(Schema schema, int capacity, int [] columnIds) {
+    this(schema, capacity);
+    for (int columnId : columnIds) {
+      columns[columnId] = new ColumnVector(schema.getColumn(columnId).getDataType(), capacity);
+    }
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isFull() {
+    return size == capacity;
+  }
+
+  public ColumnVector getColumn(int columnId) {
+    return columns[columnId];
+  }
+
+  public void setColumn(int columnId, ColumnVector vector) {
+    columns[columnId] = vector;
+  }
+
+  public int [] getSelected() {
+    return selected;
+  }
+
+  public int getSelectedSize() {
+    return selectedSize;
+  }
+
+  public void reset() {
+    size = 0;
+    selectedSize = 0;
+  }
+
+  /**
+   * Appends the values of a tuple. Only the allocated columns are filled, and all appended rows are selected.
+   */
+  public void addTuple(Tuple tuple) {
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] != null) {
+        columns[i].set(size, tuple.get(i));
+      }
+    }
+    offsets[size] = tuple.getOffset();
+    selected[selectedSize++] = size;
+    size++;
+  }
+
+  /**
+   * Keeps only the selected rows on which the predicate is true.
+   */
+  public void filter(ColumnVector predicate) {
+    int newSize = 0;
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      if (predicate.isTrue(row)) {
+        selected[newSize++] = row;
+      }
+    }
+    selectedSize = newSize;
+  }
+
+  /**
+   * Shares the rows of another batch. It is used when the vectors of this batch are computed from the given batch.
+   */
+  public void setRows(ColumnBatch source) {
+    this.size = source.size;
+    this.selectedSize = source.selectedSize;
+    System.arraycopy(source.selected, 0, selected, 0, selectedSize);
+    System.arraycopy(source.offsets, 0, offsets, 0, size);
+  }
+
+  /**
+   * Materializes a row into the given tuple.
+   *
+   * @param row A row id, not an index of the selection vector
+   */
+  public void getTuple(int row, Tuple tuple) {
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i] != null) {
+        tuple.put(i, columns[i].get(row));
+      }
+    }
+    tuple.setOffset(offsets[row]);
+  }
+}
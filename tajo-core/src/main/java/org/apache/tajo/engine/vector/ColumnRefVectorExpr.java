@@ -0,0 +1,39 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+
+public class ColumnRefVectorExpr extends VectorExpr {
+  private final int columnId;
+
+  public ColumnRefVectorExpr(DataType dataType, int columnId) {
+    super(dataType);
+    this.columnId = columnId;
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    return batch.getColumn(columnId);
+  }
+
+  public String toString() {
+    return "column#" + columnId;
+  }
+}
@@ -0,0 +1,183 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+
+/**
+ * A column of values in a {@link ColumnBatch}. Integral and boolean values are kept in a long array, and
+ * floating-point values are kept in a double array. The other types are kept as {@link Datum} objects.
+ * Each value has a null flag.
+ */
+public class ColumnVector {
+  public enum Kind {
+    LONG,
+    DOUBLE,
+    DATUM
+  }
+
+  private final DataType dataType;
+  private final Type type;
+  private final Kind kind;
+
+  final long [] longs;
+  final double [] doubles;
+  final Datum [] datums;
+  final boolean [] nulls;
+
+  public ColumnVector(DataType dataType, int capacity) {
+    this(dataType, getKind(dataType.getType()), capacity);
+  }
+
+  ColumnVector(DataType dataType, Kind kind, int capacity) {
+    this.dataType = dataType;
+    this.type = dataType.getType();
+    this.kind = kind;
+    this.longs = kind == Kind.LONG ? new long[capacity] : null;
+    this.doubles = kind == Kind.DOUBLE ? new double[capacity] : null;
+    this.datums = kind == Kind.DATUM ? new Datum[capacity] : null;
+    this.nulls = new boolean[capacity];
+  }
+
+  public static Kind getKind(Type type) {
+    switch (type) {
+    case BOOLEAN:
+    case INT2:
+    case INT4:
+    case INT8:
+      return Kind.LONG;
+    case FLOAT4:
+    case FLOAT8:
+      return Kind.DOUBLE;
+    default:
+      return Kind.DATUM;
+    }
+  }
+
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public Kind getKind() {
+    return kind;
+  }
+
+  public boolean isNull(int row) {
+    return nulls[row];
+  }
+
+  public void setNull(int row) {
+    nulls[row] = true;
+  }
+
+  public long getLong(int row) {
+    switch (kind) {
+    case LONG:
+      return longs[row];
+    case DOUBLE:
+      return (long) doubles[row];
+    default:
+      return datums[row].asInt8();
+    }
+  }
+
+  public double getDouble(int row) {
+    switch (kind) {
+    case LONG:
+      return longs[row];
+    case DOUBLE:
+      return doubles[row];
+    default:
+      return datums[row].asFloat8();
+    }
+  }
+
+  public float getFloat(int row) {
+    switch (kind) {
+    case LONG:
+      return (float) longs[row];
+    case DOUBLE:
+      return (float) doubles[row];
+    default:
+      return datums[row].asFloat4();
+    }
+  }
+
+  /**
+   * @return True if the value is not null and true.
+   */
+  public boolean isTrue(int row) {
+    if (nulls[row]) {
+      return false;
+    }
+    return kind == Kind.DATUM ? datums[row].isTrue() : getLong(row) != 0;
+  }
+
+  public void set(int row, Datum datum) {
+    if (datum == null || datum.isNull()) {
+      nulls[row] = true;
+      return;
+    }
+
+    nulls[row] = false;
+    switch (kind) {
+    case LONG:
+      longs[row] = type == Type.BOOLEAN ? (datum.asBool() ? 1 : 0) : datum.asInt8();
+      break;
+    case DOUBLE:
+      doubles[row] = datum.asFloat8();
+      break;
+    default:
+      datums[row] = datum;
+    }
+  }
+
+  public Datum get(int row) {
+    if (nulls[row]) {
+      return NullDatum.get();
+    } else if (kind == Kind.DATUM) {
+      return datums[row];
+    }
+
+    switch (type) {
+    case BOOLEAN:
+      return DatumFactory.createBool(longs[row] != 0);
+    case INT2:
+      return DatumFactory.createInt2((short) longs[row]);
+    case INT4:
+      return DatumFactory.createInt4((int) longs[row]);
+    case INT8:
+      return DatumFactory.createInt8(longs[row]);
+    case FLOAT4:
+      return DatumFactory.createFloat4((float) doubles[row]);
+    case FLOAT8:
+      return DatumFactory.createFloat8(doubles[row]);
+    default:
+      throw new IllegalStateException("Unexpected type of a primitive vector: " + type);
+    }
+  }
+}
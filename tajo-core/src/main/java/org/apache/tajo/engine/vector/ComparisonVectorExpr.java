@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.eval.EvalType;
+
+/**
+ * It compares numeric vectors. Operands are compared in the type to which Java promotes them, as
+ * {@link org.apache.tajo.datum.Datum#compareTo(org.apache.tajo.datum.Datum)} does.
+ */
+public class ComparisonVectorExpr extends VectorExpr {
+  public enum CompareType {
+    LONG,
+    FLOAT,
+    DOUBLE
+  }
+
+  private final EvalType op;
+  private final CompareType compareType;
+  private final VectorExpr left;
+  private final VectorExpr right;
+  private final ColumnVector result;
+
+  public ComparisonVectorExpr(EvalType op, CompareType compareType, VectorExpr left, VectorExpr right,
+                              int capacity) {
+    super(CatalogUtil.newSimpleDataType(Type.BOOLEAN));
+    this.op = op;
+    this.compareType = compareType;
+    this.left = left;
+    this.right = right;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector lhs = left.eval(batch);
+    ColumnVector rhs = right.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      if (lhs.nulls[row] || rhs.nulls[row]) {
+        result.nulls[row] = true;
+        continue;
+      }
+
+      int cmp;
+      switch (compareType) {
+      case LONG:
+        cmp = compare(lhs.getLong(row), rhs.getLong(row));
+        break;
+      case FLOAT:
+        cmp = compare(lhs.getFloat(row), rhs.getFloat(row));
+        break;
+      default:
+        cmp = compare(lhs.getDouble(row), rhs.getDouble(row));
+      }
+
+      result.nulls[row] = false;
+      result.longs[row] = matches(cmp) ? 1 : 0;
+    }
+    return result;
+  }
+
+  private static int compare(long l, long r) {
+    return l < r ? -1 : (l > r ? 1 : 0);
+  }
+
+  /**
+   * Returns 2 if the equality does not hold even though neither is less nor greater (i.e., NaN).
+   */
+  private static int compare(double l, double r) {
+    if (l < r) {
+      return -1;
+    } else if (l > r) {
+      return 1;
+    } else {
+      return l == r ? 0 : 2;
+    }
+  }
+
+  private boolean matches(int cmp) {
+    switch (op) {
+    case EQUAL:
+      return cmp == 0;
+    case NOT_EQUAL:
+      return cmp == -1 || cmp == 1;
+    case LTH:
+      return cmp == -1;
+    case LEQ:
+      return cmp != 1;
+    case GTH:
+      return cmp == 1;
+    default:
+      return cmp != -1;
+    }
+  }
+
+  public String toString() {
+    return left + " " + op.getOperatorName() + " " + right;
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.eval.EvalType;
+
+/**
+ * AND and OR on boolean vectors with three-valued logic.
+ */
+public class LogicalVectorExpr extends VectorExpr {
+  private final boolean and;
+  private final VectorExpr left;
+  private final VectorExpr right;
+  private final ColumnVector result;
+
+  public LogicalVectorExpr(EvalType op, VectorExpr left, VectorExpr right, int capacity) {
+    super(CatalogUtil.newSimpleDataType(Type.BOOLEAN));
+    this.and = op == EvalType.AND;
+    this.left = left;
+    this.right = right;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector lhs = left.eval(batch);
+    ColumnVector rhs = right.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      boolean lNull = lhs.nulls[row];
+      boolean rNull = rhs.nulls[row];
+      boolean l = !lNull && lhs.getLong(row) != 0;
+      boolean r = !rNull && rhs.getLong(row) != 0;
+
+      if (and) {
+        // false dominates unknown
+        if ((!lNull && !l) || (!rNull && !r)) {
+          result.nulls[row] = false;
+          result.longs[row] = 0;
+        } else {
+          result.nulls[row] = lNull || rNull;
+          result.longs[row] = 1;
+        }
+      } else {
+        // true dominates unknown
+        if (l || r) {
+          result.nulls[row] = false;
+          result.longs[row] = 1;
+        } else {
+          result.nulls[row] = lNull || rNull;
+          result.longs[row] = 0;
+        }
+      }
+    }
+    return result;
+  }
+
+  public String toString() {
+    return left + (and ? " AND " : " OR ") + right;
+  }
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.common.TajoDataTypes.Type;
+
+public class NotVectorExpr extends VectorExpr {
+  private final VectorExpr child;
+  private final ColumnVector result;
+
+  public NotVectorExpr(VectorExpr child, int capacity) {
+    super(CatalogUtil.newSimpleDataType(Type.BOOLEAN));
+    this.child = child;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector vector = child.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      result.nulls[row] = vector.nulls[row];
+      if (!vector.nulls[row]) {
+        result.longs[row] = vector.getLong(row) != 0 ? 0 : 1;
+      }
+    }
+    return result;
+  }
+
+  public String toString() {
+    return "NOT " + child;
+  }
+}
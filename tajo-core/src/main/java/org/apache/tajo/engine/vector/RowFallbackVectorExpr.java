@@ -0,0 +1,65 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.engine.eval.EvalNode;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+
+/**
+ * It evaluates an expression which does not have any vectorized implementation. Each selected row is materialized
+ * into a tuple, and the expression is evaluated in the row-at-a-time way.
+ */
+public class RowFallbackVectorExpr extends VectorExpr {
+  private final Schema schema;
+  private final EvalNode eval;
+  private final int [] columnIds;
+  private final Tuple tuple;
+  private final ColumnVector result;
+
+  public RowFallbackVectorExpr(Schema schema, EvalNode eval, int [] columnIds, int capacity) {
+    super(eval.getValueType());
+    this.schema = schema;
+    this.eval = eval;
+    this.columnIds = columnIds;
+    this.tuple = new VTuple(schema.size());
+    // Evaluation results are kept as they are because a Datum type may be different from the declared type.
+    this.result = new ColumnVector(dataType, ColumnVector.Kind.DATUM, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      for (int columnId : columnIds) {
+        tuple.put(columnId, batch.getColumn(columnId).get(row));
+      }
+      result.set(row, eval.eval(schema, tuple));
+    }
+    return result;
+  }
+
+  public String toString() {
+    return "ROW(" + eval + ")";
+  }
+}
@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+
+/**
+ * The negation of a numeric vector.
+ */
+public class SignedVectorExpr extends VectorExpr {
+  private final VectorExpr child;
+  private final ColumnVector result;
+
+  public SignedVectorExpr(DataType dataType, VectorExpr child, int capacity) {
+    super(dataType);
+    this.child = child;
+    this.result = new ColumnVector(dataType, capacity);
+  }
+
+  @Override
+  public ColumnVector eval(ColumnBatch batch) {
+    ColumnVector vector = child.eval(batch);
+    int [] selected = batch.getSelected();
+    int selectedSize = batch.getSelectedSize();
+    Type type = dataType.getType();
+
+    for (int j = 0; j < selectedSize; j++) {
+      int row = selected[j];
+      result.nulls[row] = vector.nulls[row];
+      if (vector.nulls[row]) {
+        continue;
+      }
+
+      switch (type) {
+      case INT4:
+        result.longs[row] = -((int) vector.getLong(row));
+        break;
+      case INT8:
+        result.longs[row] = -vector.getLong(row);
+        break;
+      case FLOAT4:
+        result.doubles[row] = -vector.getFloat(row);
+        break;
+      default:
+        result.doubles[row] = -vector.getDouble(row);
+      }
+    }
+    return result;
+  }
+
+  public String toString() {
+    return "-" + child;
+  }
+}
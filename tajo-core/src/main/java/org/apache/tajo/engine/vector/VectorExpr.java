@@ -0,0 +1,44 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.common.TajoDataTypes.DataType;
+
+/**
+ * VectorExpr is the vectorized counterpart of {@link org.apache.tajo.engine.eval.EvalNode}.
+ * It evaluates an expression for all selected rows of a {@link ColumnBatch} at a time.
+ *
+ * @see VectorExprCompiler
+ */
+public abstract class VectorExpr {
+  protected final DataType dataType;
+
+  public VectorExpr(DataType dataType) {
+    this.dataType = dataType;
+  }
+
+  public DataType getDataType() {
+    return dataType;
+  }
+
+  /**
+   * Evaluates the expression for the selected rows of a batch. The returned vector is valid until the next call.
+   */
+  public abstract ColumnVector eval(ColumnBatch batch);
+}
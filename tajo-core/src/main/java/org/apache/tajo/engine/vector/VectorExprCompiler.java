@@ -0,0 +1,199 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.engine.eval.*;
+
+import java.util.Set;
+
+/**
+ * VectorExprCompiler translates an eval tree into a tree of {@link VectorExpr}.
+ *
+ * Column references, constants, arithmetic and comparisons on numeric types, logical operators, IS NULL, sign and
+ * numeric casts have vectorized implementations. Any other sub-tree is wrapped by {@link RowFallbackVectorExpr},
+ * so every eval tree can be compiled.
+ */
+public class VectorExprCompiler {
+
+  public static VectorExpr compile(Schema schema, EvalNode eval, int capacity) {
+    switch (eval.getType()) {
+    case FIELD:
+      FieldEval field = (FieldEval) eval;
+      return new ColumnRefVectorExpr(field.getValueType(), getColumnId(schema, field.getColumnRef()));
+
+    case CONST:
+      return new ConstVectorExpr(eval.getValueType(), ((ConstEval) eval).getValue(), capacity);
+
+    case PLUS:
+    case MINUS:
+    case MULTIPLY:
+    case DIVIDE:
+    case MODULAR: {
+      BinaryEval binary = (BinaryEval) eval;
+      Type resultType = getArithmeticType(binary.getLeftExpr().getValueType().getType(),
+          binary.getRightExpr().getValueType().getType());
+      if (resultType != null && resultType == binary.getValueType().getType()) {
+        return new ArithmeticVectorExpr(eval.getType(), binary.getValueType(),
+            compile(schema, binary.getLeftExpr(), capacity), compile(schema, binary.getRightExpr(), capacity),
+            capacity);
+      }
+      break;
+    }
+
+    case EQUAL:
+    case NOT_EQUAL:
+    case LTH:
+    case LEQ:
+    case GTH:
+    case GEQ: {
+      BinaryEval binary = (BinaryEval) eval;
+      ComparisonVectorExpr.CompareType compareType = getCompareType(
+          binary.getLeftExpr().getValueType().getType(), binary.getRightExpr().getValueType().getType());
+      if (compareType != null) {
+        return new ComparisonVectorExpr(eval.getType(), compareType,
+            compile(schema, binary.getLeftExpr(), capacity), compile(schema, binary.getRightExpr(), capacity),
+            capacity);
+      }
+      break;
+    }
+
+    case AND:
+    case OR: {
+      BinaryEval binary = (BinaryEval) eval;
+      if (isBoolean(binary.getLeftExpr()) && isBoolean(binary.getRightExpr())) {
+        return new LogicalVectorExpr(eval.getType(),
+            compile(schema, binary.getLeftExpr(), capacity), compile(schema, binary.getRightExpr(), capacity),
+            capacity);
+      }
+      break;
+    }
+
+    case NOT: {
+      NotEval not = (NotEval) eval;
+      if (isBoolean(not.getChild())) {
+        return new NotVectorExpr(compile(schema, not.getChild(), capacity), capacity);
+      }
+      break;
+    }
+
+    case IS_NULL: {
+      IsNullEval isNull = (IsNullEval) eval;
+      return new IsNullVectorExpr(isNull.isNot(), compile(schema, isNull.getChild(), capacity), capacity);
+    }
+
+    case SIGNED: {
+      SignedEval signed = (SignedEval) eval;
+      Type childType = signed.getChild().getValueType().getType();
+      if (isArithmeticType(childType) && childType == signed.getValueType().getType()) {
+        VectorExpr child = compile(schema, signed.getChild(), capacity);
+        return signed.isNegative() ? new SignedVectorExpr(signed.getValueType(), child, capacity) : child;
+      }
+      break;
+    }
+
+    case CAST: {
+      CastEval cast = (CastEval) eval;
+      Type sourceType = cast.getOperand().getValueType().getType();
+      if ((sourceType == Type.INT2 || isArithmeticType(sourceType)) &&
+          isArithmeticType(cast.getValueType().getType())) {
+        return new CastVectorExpr(cast.getValueType(), compile(schema, cast.getOperand(), capacity), capacity);
+      }
+      break;
+    }
+
+    default:
+    }
+
+    return new RowFallbackVectorExpr(schema, eval, getColumnIds(schema, EvalTreeUtil.findUniqueColumns(eval)),
+        capacity);
+  }
+
+  public static int getColumnId(Schema schema, Column column) {
+    int columnId;
+    if (column.hasQualifier()) {
+      columnId = schema.getColumnId(column.getQualifiedName());
+    } else {
+      columnId = schema.getColumnIdByName(column.getSimpleName());
+    }
+    if (columnId == -1) {
+      throw new IllegalStateException("No Such Column Reference: " + column + ", schema: " + schema);
+    }
+    return columnId;
+  }
+
+  public static int [] getColumnIds(Schema schema, Set<Column> columns) {
+    int [] columnIds = new int[columns.size()];
+    int i = 0;
+    for (Column column : columns) {
+      columnIds[i++] = getColumnId(schema, column);
+    }
+    return columnIds;
+  }
+
+  private static boolean isBoolean(EvalNode eval) {
+    return eval.getValueType().getType() == Type.BOOLEAN;
+  }
+
+  private static boolean isArithmeticType(Type type) {
+    return type == Type.INT4 || type == Type.INT8 || type == Type.FLOAT4 || type == Type.FLOAT8;
+  }
+
+  /**
+   * Returns the type of the datum which {@link org.apache.tajo.datum.Datum} arithmetic returns,
+   * or null if the combination is not vectorized.
+   */
+  static Type getArithmeticType(Type left, Type right) {
+    if (!isArithmeticType(left) || !isArithmeticType(right)) {
+      return null;
+    }
+
+    if (left == Type.FLOAT8 || right == Type.FLOAT8) {
+      return Type.FLOAT8;
+    } else if (left == Type.FLOAT4 || right == Type.FLOAT4) {
+      // INT8 op FLOAT4 is computed in float, but its result is FLOAT8.
+      return left == Type.INT8 ? null : Type.FLOAT4;
+    } else if (left == Type.INT8 || right == Type.INT8) {
+      return Type.INT8;
+    } else {
+      return Type.INT4;
+    }
+  }
+
+  /**
+   * Returns the type in which Java compares two numeric values, or null if they are not numeric.
+   */
+  static ComparisonVectorExpr.CompareType getCompareType(Type left, Type right) {
+    boolean leftNumeric = left == Type.INT2 || isArithmeticType(left);
+    boolean rightNumeric = right == Type.INT2 || isArithmeticType(right);
+    if (!leftNumeric || !rightNumeric) {
+      return null;
+    }
+
+    if (left == Type.FLOAT8 || right == Type.FLOAT8) {
+      return ComparisonVectorExpr.CompareType.DOUBLE;
+    } else if (left == Type.FLOAT4 || right == Type.FLOAT4) {
+      return ComparisonVectorExpr.CompareType.FLOAT;
+    } else {
+      return ComparisonVectorExpr.CompareType.LONG;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.engine.planner.PlannerUtil;
+import org.apache.tajo.engine.planner.Target;
+
+/**
+ * The vectorized counterpart of {@link org.apache.tajo.engine.planner.Projector}.
+ */
+public class VectorizedProjector {
+  private final VectorExpr [] exprs;
+  private final ColumnBatch outBatch;
+
+  public VectorizedProjector(Schema inSchema, Schema outSchema, Target [] targets, int capacity) {
+    if (targets == null) {
+      targets = PlannerUtil.schemaToTargets(outSchema);
+    }
+
+    exprs = new VectorExpr[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      exprs[i] = VectorExprCompiler.compile(inSchema, targets[i].getEvalTree(), capacity);
+    }
+    outBatch = new ColumnBatch(outSchema, capacity);
+  }
+
+  /**
+   * Evaluates targets for the selected rows of the input batch. The returned batch is reused for the next call.
+   */
+  public ColumnBatch eval(ColumnBatch in) {
+    for (int i = 0; i < exprs.length; i++) {
+      outBatch.setColumn(i, exprs[i].eval(in));
+    }
+    outBatch.setRows(in);
+    return outBatch;
+  }
+}
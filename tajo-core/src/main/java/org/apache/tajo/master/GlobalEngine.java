@@ -62,6 +62,7 @@ import org.apache.tajo.master.querymaster.QueryMasterTask;
 import org.apache.tajo.master.session.Session;
 import org.apache.tajo.storage.*;
 import org.apache.tajo.util.CommonTestingUtil;
+import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.worker.TaskAttemptContext;
 
 import java.io.IOException;
@@ -101,7 +102,7 @@ public class GlobalEngine extends AbstractService {
       analyzer = new SQLAnalyzer();
       preVerifier = new PreLogicalPlanVerifier(context.getCatalog());
       planner = new LogicalPlanner(context.getCatalog());
-      optimizer = new LogicalOptimizer(context.getConf());
+      optimizer = new LogicalOptimizer(context.getConf(), context.getCatalog());
       annotatedPlanVerifier = new LogicalPlanVerifier(context.getConf(), context.getCatalog());
 
       hookManager = new DistributedQueryHookManager();
@@ -756,6 +757,12 @@ public class GlobalEngine extends AbstractService {
     TableStats stats = new TableStats();
     stats.setNumBytes(totalSize);
 
+    // A new managed table has no partition yet, and all partitions will be registered by the queries writing them.
+    if (!isExternal && partitionDesc != null && partitionDesc.getPartitionType() == CatalogProtos.PartitionType.COLUMN &&
+        totalSize == 0 && context.getConf().getBoolVar(TajoConf.ConfVars.CATALOG_PARTITION_INDEX_ENABLED)) {
+      meta.putOption(CatalogConstants.PARTITIONS_REGISTERED, KeyValueSet.TRUE_STR);
+    }
+
     if (isExternal) { // if it is an external table, there is no way to know the exact row number without processing.
       stats.setNumRows(TajoClient.UNKNOWN_ROW_NUMBER);
     }
@@ -31,6 +31,8 @@ import org.apache.tajo.engine.planner.logical.ScanNode;
 import org.apache.tajo.engine.planner.physical.SeqScanExec;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.master.session.Session;
+import org.apache.tajo.storage.ColumnarStoreUtil;
+import org.apache.tajo.storage.ColumnarStoreUtil.ColumnarStoreEncoder;
 import org.apache.tajo.storage.RowStoreUtil;
 import org.apache.tajo.storage.RowStoreUtil.RowStoreEncoder;
 import org.apache.tajo.storage.StorageManagerFactory;
@@ -122,44 +124,61 @@ public class NonForwardQueryResultScanner {
 
   public List<ByteString> getNextRows(int fetchRowNum) throws IOException {
     List<ByteString> rows = new ArrayList<ByteString>();
-    if (scanExec == null) {
-      return rows;
+    Tuple tuple;
+    while ((tuple = nextTuple(rows.size(), fetchRowNum)) != null) {
+      rows.add(ByteString.copyFrom((rowEncoder.toBytes(tuple))));
     }
-    int rowCount = 0;
 
-    while (true) {
-      Tuple tuple = scanExec.next();
-      if (tuple == null) {
-        scanExec.close();
-        scanExec = null;
+    return rows;
+  }
 
-        initSeqScanExec();
-        if (scanExec != null) {
-          tuple = scanExec.next();
-        }
-        if (tuple == null) {
-          if (scanExec != null ) {
-            scanExec.close();
-            scanExec = null;
-          }
+  /**
+   * Encodes the next rows into a single column-major block.
+   */
+  public ColumnarStoreEncoder getNextColumnarBlock(int fetchRowNum) throws IOException {
+    ColumnarStoreEncoder encoder = ColumnarStoreUtil.createEncoder(tableDesc.getLogicalSchema());
+    Tuple tuple;
+    while ((tuple = nextTuple(encoder.getRowNum(), fetchRowNum)) != null) {
+      encoder.add(tuple);
+    }
 
-          break;
-        }
-      }
-      rows.add(ByteString.copyFrom((rowEncoder.toBytes(tuple))));
-      rowCount++;
-      currentNumRows++;
-      if (rowCount >= fetchRowNum) {
-        break;
+    return encoder;
+  }
+
+  /**
+   * @param rowCount The number of rows already fetched by the current request
+   * @return The next row, or null if the current request is filled up or no more rows remain
+   */
+  private Tuple nextTuple(int rowCount, int fetchRowNum) throws IOException {
+    if (scanExec == null || rowCount >= fetchRowNum) {
+      return null;
+    }
+
+    Tuple tuple = scanExec.next();
+    if (tuple == null) {
+      scanExec.close();
+      scanExec = null;
+
+      initSeqScanExec();
+      if (scanExec != null) {
+        tuple = scanExec.next();
       }
+      if (tuple == null) {
+        if (scanExec != null ) {
+          scanExec.close();
+          scanExec = null;
+        }
 
-      if (currentNumRows >= maxRow) {
-        scanExec.close();
-        scanExec = null;
-        break;
+        return null;
       }
     }
 
-    return rows;
+    currentNumRows++;
+    if (currentNumRows >= maxRow) {
+      scanExec.close();
+      scanExec = null;
+    }
+
+    return tuple;
   }
 }
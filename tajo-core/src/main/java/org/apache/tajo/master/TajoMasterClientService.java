@@ -26,6 +26,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.service.AbstractService;
 import org.apache.tajo.*;
@@ -54,6 +55,8 @@ import org.apache.tajo.rpc.BlockingRpcServer;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.BoolProto;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.StringProto;
+import org.apache.tajo.storage.ColumnarStoreUtil;
+import org.apache.tajo.storage.ColumnarStoreUtil.ColumnarStoreEncoder;
 import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.NetUtils;
 import org.apache.tajo.util.ProtoUtil;
@@ -69,6 +72,8 @@ import static org.apache.tajo.rpc.protocolrecords.PrimitiveProtos.KeyValueSetPro
 
 public class TajoMasterClientService extends AbstractService {
   private final static Log LOG = LogFactory.getLog(TajoMasterClientService.class);
+  /** the maximum number of codec names cached for result sets */
+  private final static int MAX_RESULT_CODECS = 16;
   private final MasterContext context;
   private final TajoConf conf;
   private final CatalogService catalog;
@@ -126,6 +131,16 @@ public class TajoMasterClientService extends AbstractService {
   // TajoMasterClientProtocolService
   /////////////////////////////////////////////////////////////////////////////
   public class TajoMasterClientProtocolServiceHandler implements TajoMasterClientProtocolService.BlockingInterface {
+    // codecs requested for result sets. A null value means that the codec is not available in this server.
+    // Clients can send any codec name, so only the recently requested ones are kept.
+    private final Map<String, CompressionCodec> resultCodecs = Collections.synchronizedMap(
+        new LinkedHashMap<String, CompressionCodec>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, CompressionCodec> eldest) {
+            return size() > MAX_RESULT_CODECS;
+          }
+        });
+
     @Override
     public CreateSessionResponse createSession(RpcController controller, CreateSessionRequest request)
         throws ServiceException {
@@ -503,16 +518,29 @@ public class TajoMasterClientService extends AbstractService {
           throw new ServiceException("No NonForwardQueryResultScanner for " + queryId);
         }
 
-        List<ByteString> rows = queryResultScanner.getNextRows(request.getFetchRowNum());
         SerializedResultSet.Builder resultSetBuilder = SerializedResultSet.newBuilder();
         resultSetBuilder.setSchema(queryResultScanner.getTableDesc().getLogicalSchema().getProto());
-        resultSetBuilder.addAllSerializedTuples(rows);
+
+        // A schema which cannot be encoded in the columnar format is sent in the row format,
+        // and the client decodes a response according to its format.
+        int rowNum;
+        if (request.getFormat() == ResultSetFormat.COLUMNAR &&
+            ColumnarStoreUtil.isSupported(queryResultScanner.getTableDesc().getLogicalSchema())) {
+          ColumnarStoreEncoder encoder = queryResultScanner.getNextColumnarBlock(request.getFetchRowNum());
+          rowNum = encoder.getRowNum();
+          setColumnarBlock(resultSetBuilder, encoder, request.hasCompressionCodec() ?
+              request.getCompressionCodec() : null);
+        } else {
+          List<ByteString> rows = queryResultScanner.getNextRows(request.getFetchRowNum());
+          rowNum = rows.size();
+          resultSetBuilder.addAllSerializedTuples(rows);
+        }
 
         builder.setResultSet(resultSetBuilder.build());
         builder.setResultCode(ResultCode.OK);
 
         LOG.info("Send result to client for " +
-            request.getSessionId().getId() + "," + queryId + ", " + rows.size() + " rows");
+            request.getSessionId().getId() + "," + queryId + ", " + rowNum + " rows");
 
       } catch (Throwable t) {
         LOG.error(t.getMessage(), t);
@@ -524,6 +552,44 @@ public class TajoMasterClientService extends AbstractService {
       return builder.build();
     }
 
+    /**
+     * Sets a columnar block to the result set. The block is compressed only if the codec requested by the client
+     * is available in this server and it actually reduces the size. Otherwise, the block is sent uncompressed.
+     */
+    private void setColumnarBlock(SerializedResultSet.Builder resultSetBuilder, ColumnarStoreEncoder encoder,
+                                  String codecName) throws IOException {
+      byte[] block = encoder.toBytes();
+      resultSetBuilder.setFormat(ResultSetFormat.COLUMNAR);
+      resultSetBuilder.setRowNum(encoder.getRowNum());
+
+      CompressionCodec codec = getResultCodec(codecName);
+      if (codec != null) {
+        byte[] compressed = ColumnarStoreUtil.compress(codec, block);
+        if (compressed.length < block.length) {
+          block = compressed;
+          resultSetBuilder.setCompressionCodec(codecName);
+        }
+      }
+      resultSetBuilder.setColumnarBlock(ByteString.copyFrom(block));
+      resultSetBuilder.setBytesNum(block.length);
+    }
+
+    private CompressionCodec getResultCodec(String codecName) {
+      if (codecName == null) {
+        return null;
+      }
+
+      CompressionCodec codec = resultCodecs.get(codecName);
+      if (codec == null && !resultCodecs.containsKey(codecName)) {
+        codec = ColumnarStoreUtil.getCodec(conf, codecName);
+        if (codec == null) {
+          LOG.warn("Compression codec '" + codecName + "' is not available. Result sets will be sent uncompressed.");
+        }
+        resultCodecs.put(codecName, codec);
+      }
+      return codec;
+    }
+
     @Override
     public BoolProto closeNonForwardQuery(RpcController controller, QueryIdRequest request) throws ServiceException {
       try {
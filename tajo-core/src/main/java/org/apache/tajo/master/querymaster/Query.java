@@ -18,6 +18,7 @@
 
 package org.apache.tajo.master.querymaster;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.commons.logging.Log;
@@ -34,9 +35,15 @@ import org.apache.tajo.QueryId;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.TajoConstants;
 import org.apache.tajo.TajoProtos.QueryState;
+import org.apache.tajo.catalog.AlterTableDesc;
+import org.apache.tajo.catalog.AlterTableType;
+import org.apache.tajo.catalog.CatalogConstants;
 import org.apache.tajo.catalog.CatalogService;
+import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.partition.PartitionDesc;
+import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.global.DataChannel;
@@ -51,6 +58,8 @@ import org.apache.tajo.master.event.*;
 import org.apache.tajo.storage.AbstractStorageManager;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.storage.StorageUtil;
+import org.apache.tajo.storage.ZoneMap;
+import org.apache.tajo.util.KeyValueSet;
 import org.apache.tajo.util.TUtil;
 
 import java.io.IOException;
@@ -509,6 +518,9 @@ public class Query implements EventHandler<QueryEvent> {
               } else {
                 int maxSeq = StorageUtil.getMaxFileSequence(fs, finalOutputDir, false) + 1;
                 for(FileStatus eachFile: fs.listStatus(stagingResultDir)) {
+                  if (ZoneMap.isZoneMapPath(eachFile.getPath())) {
+                    continue; // moved together with its data file
+                  }
                   moveResultFromStageToFinal(fs, stagingResultDir, eachFile, finalOutputDir, fmt, maxSeq++);
                 }
               }
@@ -656,6 +668,9 @@ public class Query implements EventHandler<QueryEvent> {
           }
           int maxSeq = StorageUtil.getMaxFileSequence(fs, finalSubPath, false);
           for (FileStatus eachFile : fs.listStatus(fileStatus.getPath())) {
+            if (ZoneMap.isZoneMapPath(eachFile.getPath())) {
+              continue; // moved together with its data file
+            }
             moveResultFromStageToFinal(fs, stagingResultDir, eachFile, finalOutputPath, nf, ++maxSeq);
           }
         } else {
@@ -676,6 +691,11 @@ public class Query implements EventHandler<QueryEvent> {
           if (success) {
             LOG.info("Moving staging file[" + fileStatus.getPath() + "] + " +
                 "to final output[" + finalSubPath + "]");
+            // the zone map of a data file follows the new name of the data file
+            Path zoneMapPath = ZoneMap.getZoneMapPath(fileStatus.getPath());
+            if (fs.exists(zoneMapPath) && !fs.rename(zoneMapPath, ZoneMap.getZoneMapPath(finalSubPath))) {
+              LOG.error("Can't move zone map[" + zoneMapPath + "] to final output[" + finalSubPath + "]");
+            }
           } else {
             LOG.error("Can't move staging file[" + fileStatus.getPath() + "] + " +
                 "to final output[" + finalSubPath + "]");
@@ -728,6 +748,26 @@ public class Query implements EventHandler<QueryEvent> {
       }
     }
 
+    /**
+     * It registers all partitions of a table to the catalog. If the catalog fails to register them, the table is
+     * recreated without {@link CatalogConstants#PARTITIONS_REGISTERED} so that its partitions are found by listing
+     * the table directory.
+     */
+    private void registerPartitions(CatalogService catalog, TableDesc table, Collection<PartitionDesc> partitions) {
+      for (PartitionDesc partition : partitions) {
+        partition.setPath(new Path(table.getPath(), partition.getName()).toString());
+      }
+
+      String [] splitted = CatalogUtil.splitFQTableName(table.getName());
+      if (!catalog.addPartitions(splitted[0], splitted[1], partitions)) {
+        LOG.warn("Cannot register the partitions of " + table.getName() + " to the catalog. " +
+            "Its partitions will be found by listing the table directory.");
+        table.getMeta().getOptions().remove(CatalogConstants.PARTITIONS_REGISTERED);
+        catalog.dropTable(table.getName());
+        catalog.createTable(table);
+      }
+    }
+
     private class MaterializedResultHook implements QueryHook {
 
       @Override
@@ -795,11 +835,23 @@ public class Query implements EventHandler<QueryEvent> {
           tableDescTobeCreated.setPartitionMethod(createTableNode.getPartitionMethod());
         }
 
+        // The partitions of a new managed table are written only by this query, so the catalog can have all of them.
+        boolean registerPartitions = createTableNode.hasPartition() && !createTableNode.isExternal() &&
+            createTableNode.getPartitionMethod().getPartitionType() == CatalogProtos.PartitionType.COLUMN &&
+            query.systemConf.getBoolVar(TajoConf.ConfVars.CATALOG_PARTITION_INDEX_ENABLED);
+        if (registerPartitions) {
+          meta.putOption(CatalogConstants.PARTITIONS_REGISTERED, KeyValueSet.TRUE_STR);
+        }
+
         stats.setNumBytes(getTableVolume(query.systemConf, finalOutputDir));
         tableDescTobeCreated.setStats(stats);
         query.setResultDesc(tableDescTobeCreated);
 
         catalog.createTable(tableDescTobeCreated);
+
+        if (registerPartitions) {
+          registerPartitions(catalog, tableDescTobeCreated, lastStage.getWrittenPartitions());
+        }
       }
     }
 
@@ -837,13 +889,89 @@ public class Query implements EventHandler<QueryEvent> {
         stats.setNumBytes(volume);
         finalTable.setStats(stats);
 
-        if (insertNode.hasTargetTable()) {
+        if (insertNode.hasTargetTable() && finalTable.getMeta().containsOption(CatalogConstants.PARTITIONS_REGISTERED)) {
+          // Dropping and recreating the table would drop the registered partitions of the table, which other queries
+          // may be reading or writing. Only the written partitions are updated in place.
+          Collection<PartitionDesc> partitions = mergePartitions(catalog, finalTable,
+              lastStage.getWrittenPartitions(), queryContext.isOutputOverwrite());
+          if (partitions == null) {
+            finalTable.getMeta().getOptions().remove(CatalogConstants.PARTITIONS_REGISTERED);
+            catalog.dropTable(insertNode.getTableName());
+            catalog.createTable(finalTable);
+          } else {
+            registerPartitions(catalog, finalTable, partitions);
+          }
+
+          // The stats are updated in place unless the table has been recreated with them.
+          if (finalTable.getMeta().containsOption(CatalogConstants.PARTITIONS_REGISTERED)) {
+            updateStats(catalog, finalTable, stats);
+          }
+        } else if (insertNode.hasTargetTable()) {
           catalog.dropTable(insertNode.getTableName());
           catalog.createTable(finalTable);
         }
 
         query.setResultDesc(finalTable);
       }
+
+      /**
+       * It updates the stats of a table with registered partitions without dropping the partitions. The number of
+       * rows is the sum of the registered partitions, so INSERT INTO accumulates the rows of the table.
+       */
+      private void updateStats(CatalogService catalog, TableDesc table, TableStats stats) {
+        String [] splitted = CatalogUtil.splitFQTableName(table.getName());
+        List<PartitionDesc> registered = catalog.getPartitions(splitted[0], splitted[1]);
+        if (registered != null) {
+          long numRows = 0;
+          for (PartitionDesc partition : registered) {
+            numRows += Math.max(0, partition.getNumRows());
+          }
+          stats.setNumRows(numRows);
+        }
+
+        AlterTableDesc alterTableDesc = new AlterTableDesc();
+        alterTableDesc.setAlterTableType(AlterTableType.UPDATE_STATS);
+        alterTableDesc.setTableName(table.getName());
+        alterTableDesc.setStats(stats);
+        if (!catalog.alterTable(alterTableDesc)) {
+          LOG.warn("Cannot update the stats of " + table.getName() + " in the catalog.");
+        }
+      }
+
+      /**
+       * It merges the partitions written by this query with the partitions registered in the catalog. A partition
+       * rewritten by INSERT OVERWRITE replaces the registered one, and INSERT INTO adds its volume to the registered
+       * one.
+       *
+       * @return The written partitions with merged volumes, or NULL if the catalog cannot provide the registered
+       * partitions
+       */
+      private Collection<PartitionDesc> mergePartitions(CatalogService catalog, TableDesc table,
+                                                        Collection<PartitionDesc> written, boolean overwrite) {
+        String [] splitted = CatalogUtil.splitFQTableName(table.getName());
+        List<PartitionDesc> registered = catalog.getPartitions(splitted[0], splitted[1]);
+        if (registered == null) {
+          return null;
+        }
+
+        Map<String, PartitionDesc> registeredMap = Maps.newHashMap();
+        for (PartitionDesc partition : registered) {
+          registeredMap.put(partition.getName(), partition);
+        }
+
+        List<PartitionDesc> merged = Lists.newArrayList();
+        for (PartitionDesc partition : written) {
+          PartitionDesc old = registeredMap.get(partition.getName());
+          if (old != null && !overwrite) {
+            old.setNumBytes(Math.max(0, old.getNumBytes()) + partition.getNumBytes());
+            old.setNumRows(Math.max(0, old.getNumRows()) + partition.getNumRows());
+            merged.add(old);
+          } else {
+            merged.add(partition);
+          }
+        }
+        return merged;
+      }
     }
   }
 
@@ -69,6 +69,7 @@ public class QueryUnitAttempt implements EventHandler<TaskAttemptEvent> {
   private float progress;
   private CatalogProtos.TableStatsProto inputStats;
   private CatalogProtos.TableStatsProto resultStats;
+  private List<CatalogProtos.PartitionDescProto> writtenPartitions = new ArrayList<CatalogProtos.PartitionDescProto>();
 
   protected static final StateMachineFactory
       <QueryUnitAttempt, TaskAttemptState, TaskAttemptEventType, TaskAttemptEvent>
@@ -253,6 +254,13 @@ public class QueryUnitAttempt implements EventHandler<TaskAttemptEvent> {
     return new TableStats(resultStats);
   }
 
+  /**
+   * @return The partitions of a column-partitioned table which this attempt has written
+   */
+  public List<CatalogProtos.PartitionDescProto> getWrittenPartitions() {
+    return writtenPartitions;
+  }
+
   private void fillTaskStatistics(TaskCompletionReport report) {
     this.progress = 1.0f;
 
@@ -277,6 +285,7 @@ public class QueryUnitAttempt implements EventHandler<TaskAttemptEvent> {
       this.resultStats = report.getResultStats();
       this.getQueryUnit().setStats(new TableStats(resultStats));
     }
+    this.writtenPartitions = report.getPartitionsList();
   }
 
   private static class TaskAttemptScheduleTransition implements
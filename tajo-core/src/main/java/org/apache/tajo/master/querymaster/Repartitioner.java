@@ -33,6 +33,7 @@ import org.apache.tajo.catalog.statistics.StatisticsUtil;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.eval.EvalTreeUtil;
 import org.apache.tajo.engine.planner.*;
 import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
@@ -49,7 +50,9 @@ import org.apache.tajo.master.TaskSchedulerContext;
 import org.apache.tajo.master.querymaster.QueryUnit.IntermediateEntry;
 import org.apache.tajo.storage.AbstractStorageManager;
 import org.apache.tajo.storage.RowStoreUtil;
+import org.apache.tajo.storage.ScanFilter;
 import org.apache.tajo.storage.TupleRange;
+import org.apache.tajo.storage.ZoneMap;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.util.Pair;
 import org.apache.tajo.unit.StorageUnit;
@@ -286,12 +289,101 @@ public class Repartitioner {
         scheduleSymmetricRepartitionJoin(masterContext, schedulerContext, subQuery,
             intermediateScans, intermediateScanStats, intermediateFragments, broadcastScans, broadcastFragments);
       }
-    } else {
+    } else if (!scheduleBroadcastJoinOfIntermediates(schedulerContext, subQuery, scans, stats, fragments)) {
       LOG.info("[Distributed Join Strategy] : Symmetric Repartition Join");
       scheduleSymmetricRepartitionJoin(masterContext, schedulerContext, subQuery, scans, stats, fragments, null, null);
     }
   }
 
+  /**
+   * The global plan decides join strategies with estimated volumes, but the actual volumes of intermediate data
+   * are known when a join block is scheduled. If one side of a join between two intermediate data turns out to be
+   * smaller than the broadcast threshold, every task fetches the whole of the smaller side, and the larger side is
+   * evenly split across the tasks regardless of its hash partitions. So, the number of tasks is decided by the
+   * actual volume of the larger side, and a skewed partition does not make a straggler.
+   *
+   * @return true if the join is scheduled. Otherwise, false.
+   */
+  private static boolean scheduleBroadcastJoinOfIntermediates(TaskSchedulerContext schedulerContext,
+                                                              SubQuery subQuery,
+                                                              ScanNode[] scans,
+                                                              long[] stats,
+                                                              FileFragment[] fragments) {
+    if (!subQuery.getMasterPlan().getContext().getBool(SessionVars.JOIN_RUNTIME_BROADCAST_ENABLED)) {
+      return false;
+    }
+    long broadcastThreshold = subQuery.getMasterPlan().getContext().getLong(SessionVars.BROADCAST_TABLE_SIZE_LIMIT);
+    long splitVolume = StorageUnit.MB *
+        subQuery.getMasterPlan().getContext().getInt(SessionVars.JOIN_TASK_INPUT_SIZE);
+    long pageSize = StorageUnit.MB *
+        subQuery.getContext().getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME);
+    if (pageSize >= splitVolume) {
+      return false;
+    }
+
+    // The larger one of splittable sides is split if the other side is small enough.
+    List<ExecutionBlockId> splittableSides = getSplittableJoinSides(subQuery, scans);
+    int splitIdx = -1;
+    for (int i = 0; i < splittableSides.size(); i++) {
+      int idx = TajoIdUtils.createExecutionBlockId(scans[0].getTableName()).equals(splittableSides.get(i)) ? 0 : 1;
+      if (stats[1 - idx] < broadcastThreshold && (splitIdx == -1 || stats[idx] > stats[splitIdx])) {
+        splitIdx = idx;
+      }
+    }
+    if (splitIdx == -1) {
+      return false;
+    }
+    int broadcastIdx = 1 - splitIdx;
+
+    ExecutionBlockId splitEbId = TajoIdUtils.createExecutionBlockId(scans[splitIdx].getTableName());
+    ExecutionBlockId broadcastEbId = TajoIdUtils.createExecutionBlockId(scans[broadcastIdx].getTableName());
+    List<IntermediateEntry> splitEntries = getIntermediateEntries(subQuery, splitEbId);
+    List<IntermediateEntry> broadcastEntries = getIntermediateEntries(subQuery, broadcastEbId);
+    if (splitEntries.isEmpty() || !hasPages(splitEntries)) {
+      return false;
+    }
+
+    List<List<FetchImpl>> splitFetches = splitOrMergeIntermediates(splitEbId, splitEntries, splitVolume, pageSize);
+    if (splitFetches == null || splitFetches.isEmpty()) {
+      return false;
+    }
+
+    LOG.info(String.format("[Distributed Join Strategy] : Broadcast Join with intermediate data, " +
+        "broadcast_block=%s, broadcast_volume=%d, split_block=%s, split_volume=%d",
+        broadcastEbId, stats[broadcastIdx], splitEbId, stats[splitIdx]));
+
+    SubQuery.scheduleFragment(subQuery, fragments[0], Lists.newArrayList(fragments[1]));
+
+    Map<Integer, List<IntermediateEntry>> broadcastPartitions = hashByKey(broadcastEntries);
+    for (List<FetchImpl> eachSplit : splitFetches) {
+      List<FetchImpl> broadcastFetches = new ArrayList<FetchImpl>();
+      for (Entry<Integer, List<IntermediateEntry>> eachPartition : broadcastPartitions.entrySet()) {
+        broadcastFetches.addAll(mergeShuffleRequest(eachPartition.getKey(), HASH_SHUFFLE, eachPartition.getValue()));
+      }
+
+      Map<String, List<FetchImpl>> fetches = new HashMap<String, List<FetchImpl>>();
+      fetches.put(splitEbId.toString(), eachSplit);
+      fetches.put(broadcastEbId.toString(), broadcastFetches);
+      SubQuery.scheduleFetches(subQuery, fetches);
+    }
+
+    schedulerContext.setTaskSize((int) (stats[splitIdx] / splitFetches.size() + stats[broadcastIdx]));
+    schedulerContext.setEstimatedTaskNum(splitFetches.size());
+    return true;
+  }
+
+  private static List<IntermediateEntry> getIntermediateEntries(SubQuery subQuery, ExecutionBlockId ebId) {
+    List<IntermediateEntry> entries = new ArrayList<IntermediateEntry>();
+    SubQuery childSubQuery = subQuery.getContext().getSubQuery(ebId);
+    if (childSubQuery != null && childSubQuery.getHashShuffleIntermediateEntries() != null) {
+      for (IntermediateEntry eachEntry : childSubQuery.getHashShuffleIntermediateEntries()) {
+        eachEntry.setEbId(ebId);
+        entries.add(eachEntry);
+      }
+    }
+    return entries;
+  }
+
   /**
    * Scheduling in tech case of Symmetric Repartition Join
    * @param masterContext
@@ -418,16 +510,198 @@ public class Repartitioner {
     }
     SubQuery.scheduleFragment(subQuery, fragments[0], rightFragments);
 
+    // A skewed partition is split into multiple tasks instead of being assigned to a single task.
+    Map<Integer, ExecutionBlockId> skewSplitSides = broadcastFragments == null ?
+        findSkewSplitSides(subQuery, scans, hashEntries) : new HashMap<Integer, ExecutionBlockId>();
+    long splitVolume = StorageUnit.MB * desireJoinTaskVolumn;
+    long pageSize = StorageUnit.MB * masterContext.getConf().getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME);
+    int maxSplitNum = subQuery.getMasterPlan().getContext().getInt(SessionVars.JOIN_SKEW_MAX_SPLIT_NUM);
+
     // Assign partitions to tasks in a round robin manner.
     for (Entry<Integer, Map<ExecutionBlockId, List<IntermediateEntry>>> entry
         : hashEntries.entrySet()) {
-      addJoinShuffle(subQuery, entry.getKey(), entry.getValue());
+      ExecutionBlockId splitEbId = skewSplitSides.get(entry.getKey());
+      if (splitEbId != null && maxSplitNum > 1) {
+        long volume = getTotalVolume(entry.getValue().get(splitEbId));
+        int splitNum = (int) Math.min(maxSplitNum, Math.ceil((double) volume / splitVolume));
+        joinTaskNum += addSkewedJoinShuffle(subQuery, entry.getKey(), entry.getValue(), splitEbId,
+            Math.max((long) Math.ceil((double) volume / splitNum), pageSize), pageSize) - 1;
+      } else {
+        addJoinShuffle(subQuery, entry.getKey(), entry.getValue());
+      }
     }
 
     schedulerContext.setTaskSize((int) Math.ceil((double) bothFetchSize / joinTaskNum));
     schedulerContext.setEstimatedTaskNum(joinTaskNum);
   }
 
+  /**
+   * Returns the sides of a join between two intermediate data which can be split across multiple tasks, while
+   * the other side is fetched as a whole by each of the tasks. The side whose unmatched rows are preserved or
+   * filtered (e.g., the left side of a left outer join) can be split, but the other side cannot be.
+   *
+   * @return the execution block ids of splittable sides. It is empty if neither side can be split.
+   */
+  private static List<ExecutionBlockId> getSplittableJoinSides(SubQuery subQuery, ScanNode[] scans) {
+    List<ExecutionBlockId> splittableSides = new ArrayList<ExecutionBlockId>();
+
+    ExecutionBlock execBlock = subQuery.getBlock();
+    if (scans.length != 2 || !execBlock.getUnionScanMap().isEmpty()) {
+      return splittableSides;
+    }
+    for (ScanNode eachScan : scans) {
+      if (subQuery.getContext().getTableDescMap().get(eachScan.getCanonicalName()) != null) {
+        return splittableSides; // only intermediate data can be split
+      }
+    }
+
+    JoinNode joinNode = PlannerUtil.findTopNode(execBlock.getPlan(), NodeType.JOIN);
+    if (joinNode == null) {
+      return splittableSides;
+    }
+    ScanNode leftScan = PlannerUtil.findTopNode(joinNode.getLeftChild(), NodeType.SCAN);
+    ScanNode rightScan = PlannerUtil.findTopNode(joinNode.getRightChild(), NodeType.SCAN);
+    if (leftScan == null || rightScan == null) {
+      return splittableSides;
+    }
+
+    if (isLeftSplittable(joinNode.getJoinType())) {
+      splittableSides.add(TajoIdUtils.createExecutionBlockId(leftScan.getTableName()));
+    }
+    if (isRightSplittable(joinNode.getJoinType())) {
+      splittableSides.add(TajoIdUtils.createExecutionBlockId(rightScan.getTableName()));
+    }
+    return splittableSides;
+  }
+
+  /**
+   * @return true if the left side of a join can be split while the right side is fetched by every split.
+   */
+  @VisibleForTesting
+  public static boolean isLeftSplittable(JoinType joinType) {
+    switch (joinType) {
+      case CROSS:
+      case INNER:
+      case LEFT_OUTER:
+      case LEFT_SEMI:
+      case LEFT_ANTI:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * @return true if the right side of a join can be split while the left side is fetched by every split.
+   */
+  @VisibleForTesting
+  public static boolean isRightSplittable(JoinType joinType) {
+    switch (joinType) {
+      case CROSS:
+      case INNER:
+      case RIGHT_OUTER:
+      case RIGHT_SEMI:
+      case RIGHT_ANTI:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Finds the skewed partitions of a symmetric repartition join and the side to be split for each of them.
+   * Each task of a split partition fetches a page range of the split side and the whole partition of the other
+   * side.
+   *
+   * @return key: partition id, value: the execution block id of the side to be split
+   */
+  private static Map<Integer, ExecutionBlockId> findSkewSplitSides(SubQuery subQuery, ScanNode[] scans,
+      Map<Integer, Map<ExecutionBlockId, List<IntermediateEntry>>> hashEntries) {
+    Map<Integer, ExecutionBlockId> splitSides = new HashMap<Integer, ExecutionBlockId>();
+
+    if (!subQuery.getMasterPlan().getContext().getBool(SessionVars.JOIN_SKEW_SPLIT_ENABLED)) {
+      return splitSides;
+    }
+    List<ExecutionBlockId> splittableSides = getSplittableJoinSides(subQuery, scans);
+
+    float skewFactor = subQuery.getMasterPlan().getContext().getFloat(SessionVars.JOIN_SKEW_FACTOR);
+    long minVolume = StorageUnit.MB * subQuery.getMasterPlan().getContext().getInt(SessionVars.JOIN_TASK_INPUT_SIZE);
+    Map<Integer, Long> splitVolumes = new HashMap<Integer, Long>();
+    for (ExecutionBlockId eachSide : splittableSides) {
+      Map<Integer, Long> partitionVolumes = new HashMap<Integer, Long>();
+      for (Entry<Integer, Map<ExecutionBlockId, List<IntermediateEntry>>> entry : hashEntries.entrySet()) {
+        List<IntermediateEntry> entries = entry.getValue().get(eachSide);
+        if (entries != null && !entries.isEmpty()) {
+          partitionVolumes.put(entry.getKey(), getTotalVolume(entries));
+        }
+      }
+
+      for (Integer partId : findSkewedPartitions(partitionVolumes, skewFactor, minVolume)) {
+        if (!hasPages(hashEntries.get(partId).get(eachSide))) {
+          continue;
+        }
+        // In the case of inner join, the larger side is split.
+        Long volume = partitionVolumes.get(partId);
+        if (!splitVolumes.containsKey(partId) || splitVolumes.get(partId) < volume) {
+          splitSides.put(partId, eachSide);
+          splitVolumes.put(partId, volume);
+        }
+      }
+    }
+
+    if (!splitSides.isEmpty()) {
+      LOG.info(subQuery.getId() + ", skewed join partitions to be split: " + splitSides);
+    }
+    return splitSides;
+  }
+
+  /**
+   * Finds the partitions whose volumes are larger than both <code>skewFactor</code> times the median volume
+   * and <code>minVolume</code>.
+   *
+   * @param partitionVolumes key: partition id, value: the volume of the partition
+   * @param skewFactor the ratio of a skewed partition's volume to the median volume
+   * @param minVolume the minimum volume of a skewed partition
+   * @return the ids of skewed partitions
+   */
+  @VisibleForTesting
+  public static Set<Integer> findSkewedPartitions(Map<Integer, Long> partitionVolumes, float skewFactor,
+                                                  long minVolume) {
+    Set<Integer> skewedPartitions = new HashSet<Integer>();
+    if (partitionVolumes.size() < 2) {
+      return skewedPartitions;
+    }
+
+    List<Long> volumes = new ArrayList<Long>(partitionVolumes.values());
+    Collections.sort(volumes);
+    long median = volumes.get(volumes.size() / 2);
+
+    for (Entry<Integer, Long> entry : partitionVolumes.entrySet()) {
+      long volume = entry.getValue();
+      if (volume > minVolume && volume > median * skewFactor) {
+        skewedPartitions.add(entry.getKey());
+      }
+    }
+    return skewedPartitions;
+  }
+
+  private static long getTotalVolume(List<IntermediateEntry> entries) {
+    long volume = 0;
+    for (IntermediateEntry eachEntry : entries) {
+      volume += eachEntry.getVolume();
+    }
+    return volume;
+  }
+
+  private static boolean hasPages(List<IntermediateEntry> entries) {
+    for (IntermediateEntry eachEntry : entries) {
+      if (eachEntry.getPages() == null || eachEntry.getPages().isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * merge intermediate entry by ebid, pullhost
    * @param hashEntries
@@ -489,6 +763,34 @@ public class Repartitioner {
     return fragments;
   }
 
+  /**
+   * It removes the fragments which cannot satisfy the search condition of a scan according to zone maps.
+   * At least one fragment remains in order to run a task for the scan.
+   */
+  public static Collection<FileFragment> pruneFragmentsByZoneMap(TajoConf conf, ScanNode scan,
+                                                                 Collection<FileFragment> fragments)
+      throws IOException {
+    if (!conf.getBoolVar(ConfVars.STORAGE_ZONEMAP_ENABLED) || !scan.hasQual() || fragments == null
+        || fragments.size() <= 1) {
+      return fragments;
+    }
+
+    ScanFilter filter = EvalTreeUtil.toScanFilter(scan.getPhysicalSchema(), scan.getQual());
+    if (filter == null) {
+      return fragments;
+    }
+
+    List<FileFragment> remains = ZoneMap.pruneFragments(conf, scan.getPhysicalSchema(), filter, fragments);
+    if (remains.isEmpty()) {
+      remains.add(fragments.iterator().next());
+    }
+    if (remains.size() < fragments.size()) {
+      LOG.info(scan.getCanonicalName() + ", " + (fragments.size() - remains.size()) + " of " + fragments.size()
+          + " fragments are pruned by zone maps");
+    }
+    return remains;
+  }
+
   private static void scheduleLeafTasksWithBroadcastTable(TaskSchedulerContext schedulerContext, SubQuery subQuery,
                                                           int baseScanId, FileFragment[] fragments) throws IOException {
     ExecutionBlock execBlock = subQuery.getBlock();
@@ -530,7 +832,7 @@ public class Repartitioner {
 
       if (scanFragments != null) {
         if (i == baseScanId) {
-          baseFragments = scanFragments;
+          baseFragments = pruneFragmentsByZoneMap(subQuery.getContext().getConf(), scan, scanFragments);
         } else {
           if (scan.getType() == NodeType.PARTITIONS_SCAN) {
             PartitionedTableScanNode partitionScan = (PartitionedTableScanNode)scan;
@@ -569,6 +871,40 @@ public class Repartitioner {
     SubQuery.scheduleFetches(subQuery, fetches);
   }
 
+  /**
+   * Splits the given side of a skewed partition into page ranges of about <code>splitVolume</code> bytes, and
+   * assigns each of them to a task which also fetches the whole partition of the other side.
+   *
+   * @return the number of scheduled tasks
+   */
+  private static int addSkewedJoinShuffle(SubQuery subQuery, int partitionId,
+                                          Map<ExecutionBlockId, List<IntermediateEntry>> grouppedPartitions,
+                                          ExecutionBlockId splitEbId, long splitVolume, long pageSize) {
+    List<List<FetchImpl>> splitFetches = splitOrMergeIntermediates(splitEbId, grouppedPartitions.get(splitEbId),
+        splitVolume, pageSize);
+    if (splitFetches == null || splitFetches.size() < 2) {
+      addJoinShuffle(subQuery, partitionId, grouppedPartitions);
+      return 1;
+    }
+
+    for (List<FetchImpl> eachSplit : splitFetches) {
+      Map<String, List<FetchImpl>> fetches = new HashMap<String, List<FetchImpl>>();
+      for (ExecutionBlock execBlock : subQuery.getMasterPlan().getChilds(subQuery.getId())) {
+        if (execBlock.getId().equals(splitEbId)) {
+          fetches.put(splitEbId.toString(), eachSplit);
+        } else if (grouppedPartitions.containsKey(execBlock.getId())) {
+          // the other side is replicated to all tasks of this partition
+          Collection<FetchImpl> requests = mergeShuffleRequest(partitionId, HASH_SHUFFLE,
+              grouppedPartitions.get(execBlock.getId()));
+          fetches.put(execBlock.getId().toString(), Lists.newArrayList(requests));
+        }
+      }
+      SubQuery.scheduleFetches(subQuery, fetches);
+    }
+    LOG.info(subQuery.getId() + "'s " + partitionId + " partition is split into " + splitFetches.size() + " tasks.");
+    return splitFetches.size();
+  }
+
   /**
    * This method merges the partition request associated with the pullserver's address.
    * It reduces the number of TCP connections.
@@ -37,6 +37,7 @@ import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.statistics.ColumnStats;
 import org.apache.tajo.catalog.statistics.StatisticsUtil;
@@ -448,6 +449,32 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
     return inputStatistics;
   }
 
+  /**
+   * It merges the partitions written by all succeeded tasks by their names.
+   *
+   * @return The partitions of a column-partitioned table which this subquery has written
+   */
+  public Collection<PartitionDesc> getWrittenPartitions() {
+    Map<String, PartitionDesc> partitions = new HashMap<String, PartitionDesc>();
+    for (QueryUnit unit : getQueryUnits()) {
+      QueryUnitAttempt attempt = unit.getSuccessfulAttempt();
+      if (attempt == null) {
+        continue;
+      }
+
+      for (CatalogProtos.PartitionDescProto proto : attempt.getWrittenPartitions()) {
+        PartitionDesc partition = partitions.get(proto.getPartitionName());
+        if (partition == null) {
+          partitions.put(proto.getPartitionName(), new PartitionDesc(proto));
+        } else {
+          partition.setNumBytes(partition.getNumBytes() + proto.getNumBytes());
+          partition.setNumRows(partition.getNumRows() + proto.getNumRows());
+        }
+      }
+    }
+    return partitions.values();
+  }
+
   public List<String> getDiagnostics() {
     readLock.lock();
     try {
@@ -971,6 +998,7 @@ public class SubQuery implements EventHandler<SubQueryEvent> {
         Path inputPath = table.getPath();
         fragments = subQuery.getStorageManager().getSplits(scan.getCanonicalName(), meta, table.getSchema(), inputPath);
       }
+      fragments = Repartitioner.pruneFragmentsByZoneMap(subQuery.context.getConf(), scan, fragments);
 
       SubQuery.scheduleFragments(subQuery, fragments);
       if (subQuery.getTaskScheduler() instanceof DefaultTaskScheduler) {
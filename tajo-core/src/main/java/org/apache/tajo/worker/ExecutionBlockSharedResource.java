@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.SessionVars;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.engine.codegen.ExecutorPreCompiler;
+import org.apache.tajo.engine.codegen.FusedPipeline;
 import org.apache.tajo.engine.codegen.TajoClassLoader;
 import org.apache.tajo.engine.eval.EvalNode;
 import org.apache.tajo.engine.json.CoreGsonHelper;
@@ -32,6 +33,7 @@ import org.apache.tajo.engine.planner.logical.LogicalNode;
 import org.apache.tajo.engine.query.QueryContext;
 import org.apache.tajo.util.Pair;
 
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ExecutionBlockSharedResource {
@@ -108,6 +110,29 @@ public class ExecutionBlockSharedResource {
     }
   }
 
+  /**
+   * @return A fused pipeline for a scan, or null if it cannot be compiled.
+   */
+  public FusedPipeline getPreCompiledPipeline(Schema schema, EvalNode qual, EvalNode [] targets) {
+    if (codeGenEnabled) {
+
+      Pair<Schema, List<EvalNode>> key = ExecutorPreCompiler.getPipelineKey(schema, qual, targets);
+      if (compilationContext.getPrecompiledPipelines().containsKey(key)) {
+        return compilationContext.getPrecompiledPipelines().get(key);
+      } else {
+        try {
+          LOG.warn("A pipeline does not exist. Immediately compile it: " + key.getSecond());
+          return compilationContext.getCompiler().compilePipeline(schema, qual, targets);
+        } catch (Throwable t) {
+          LOG.warn(t);
+          return null;
+        }
+      }
+    } else {
+      throw new IllegalStateException("CodeGen is disabled");
+    }
+  }
+
   public void release() {
     compilationContext = null;
 
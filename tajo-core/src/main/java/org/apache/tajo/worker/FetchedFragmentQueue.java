@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.worker;
+
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.util.LinkedList;
+
+/**
+ * Fragments of a fetched input table, which are handed over to a scan as soon as each fetch is finished.
+ * It allows a task to consume fetched data while the other fetches are still in progress.
+ */
+public class FetchedFragmentQueue {
+  private final String tableName;
+  private final LinkedList<FileFragment> fragments = new LinkedList<FileFragment>();
+  private int remainFetchNum;
+  private boolean failed = false;
+
+  public FetchedFragmentQueue(String tableName, int fetchNum) {
+    this.tableName = tableName;
+    this.remainFetchNum = fetchNum;
+  }
+
+  public String getTableName() {
+    return tableName;
+  }
+
+  public synchronized void addFragment(FileFragment fragment) {
+    fragments.add(fragment);
+    notifyAll();
+  }
+
+  public synchronized void fetchFinished() {
+    remainFetchNum--;
+    notifyAll();
+  }
+
+  public synchronized void fetchFailed() {
+    failed = true;
+    notifyAll();
+  }
+
+  /**
+   * Waits until a fragment is fetched.
+   *
+   * @return a fetched fragment, or null if all fetches are finished and all fragments are taken.
+   * @throws IOException if any fetch of this table failed, or if the current thread is interrupted
+   */
+  public synchronized FileFragment take() throws IOException {
+    while (fragments.isEmpty() && remainFetchNum > 0 && !failed) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        throw new IOException("Interrupted while waiting for fetched data of " + tableName, e);
+      }
+    }
+
+    if (failed) {
+      throw new IOException("Failed to fetch the data of " + tableName);
+    }
+    return fragments.poll();
+  }
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.worker;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.storage.Scanner;
+import org.apache.tajo.storage.StorageManagerFactory;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scanner which reads the fragments of a {@link FetchedFragmentQueue} one by one. It blocks until the next
+ * fragment is fetched. Fragments which have been read are kept in order to support reset().
+ */
+public class FetchedFragmentScanner implements Scanner {
+  private final TajoConf conf;
+  private final Schema schema;
+  private final TableMeta meta;
+  private Schema target;
+  private Object searchCondition;
+  private final FetchedFragmentQueue queue;
+
+  private final List<FileFragment> fetchedFragments = new ArrayList<FileFragment>();
+  private int nextFragmentIdx;
+  private Scanner currentScanner;
+  private boolean allFetched = false;
+  private float progress;
+  private TableStats tableStats;
+
+  public FetchedFragmentScanner(TajoConf conf, Schema schema, TableMeta meta, Schema target,
+                                FetchedFragmentQueue queue) {
+    this.conf = conf;
+    this.schema = schema;
+    this.meta = meta;
+    this.target = target;
+    this.queue = queue;
+  }
+
+  @Override
+  public void init() throws IOException {
+    nextFragmentIdx = 0;
+    progress = 0.0f;
+
+    tableStats = new TableStats();
+    for (Column eachColumn : schema.getColumns()) {
+      tableStats.addColumnStat(new ColumnStats(eachColumn));
+    }
+  }
+
+  @Override
+  public Tuple next() throws IOException {
+    while (true) {
+      if (currentScanner != null) {
+        Tuple tuple = currentScanner.next();
+        if (tuple != null) {
+          return tuple;
+        }
+        closeCurrentScanner();
+      }
+
+      FileFragment fragment = nextFragment();
+      if (fragment == null) {
+        progress = 1.0f;
+        return null;
+      }
+      currentScanner = StorageManagerFactory.getStorageManager(conf).getScanner(meta, schema, fragment, target);
+      if (searchCondition != null && currentScanner.isSelectable()) {
+        currentScanner.setSearchCondition(searchCondition);
+      }
+      currentScanner.init();
+    }
+  }
+
+  private FileFragment nextFragment() throws IOException {
+    if (nextFragmentIdx == fetchedFragments.size()) {
+      if (allFetched) {
+        return null;
+      }
+
+      FileFragment fetched = queue.take();
+      if (fetched == null) {
+        allFetched = true;
+        return null;
+      }
+      fetchedFragments.add(fetched);
+      tableStats.setNumBytes(tableStats.getNumBytes() + fetched.getEndKey());
+      tableStats.setNumBlocks(fetchedFragments.size());
+    }
+    return fetchedFragments.get(nextFragmentIdx++);
+  }
+
+  private void closeCurrentScanner() throws IOException {
+    currentScanner.close();
+    TableStats scannerTableStats = currentScanner.getInputStats();
+    if (scannerTableStats != null) {
+      tableStats.setReadBytes(tableStats.getReadBytes() + scannerTableStats.getReadBytes());
+      tableStats.setNumRows(tableStats.getNumRows() + scannerTableStats.getNumRows());
+    }
+    currentScanner = null;
+  }
+
+  @Override
+  public void reset() throws IOException {
+    if (currentScanner != null) {
+      currentScanner.close();
+      currentScanner = null;
+    }
+    nextFragmentIdx = 0;
+    progress = 0.0f;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (currentScanner != null) {
+      closeCurrentScanner();
+    }
+    progress = 1.0f;
+  }
+
+  @Override
+  public boolean isProjectable() {
+    return false;
+  }
+
+  @Override
+  public void setTarget(Column[] targets) {
+    this.target = new Schema(targets);
+  }
+
+  @Override
+  public boolean isSelectable() {
+    return true;
+  }
+
+  /**
+   * The search condition is passed to the scanner of each fetched fragment if the scanner is selectable.
+   */
+  @Override
+  public void setSearchCondition(Object expr) {
+    this.searchCondition = expr;
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return false;
+  }
+
+  @Override
+  public Schema getSchema() {
+    return schema;
+  }
+
+  @Override
+  public float getProgress() {
+    return progress;
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    return tableStats;
+  }
+}
@@ -118,6 +118,10 @@ public class Fetcher {
     return messageReceiveCount;
   }
 
+  public FileChunk getFileChunk() {
+    return fileChunk;
+  }
+
   public FileChunk get() throws IOException {
     if (useLocalFile) {
       LOG.info("Get pseudo fetch from local host");
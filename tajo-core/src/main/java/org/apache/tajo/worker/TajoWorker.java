@@ -43,10 +43,14 @@ import org.apache.tajo.pullserver.TajoPullServerService;
 import org.apache.tajo.rpc.RpcChannelFactory;
 import org.apache.tajo.rpc.RpcConnectionPool;
 import org.apache.tajo.rpc.protocolrecords.PrimitiveProtos;
+import org.apache.tajo.storage.AbstractStorageManager;
 import org.apache.tajo.storage.HashShuffleAppenderManager;
+import org.apache.tajo.storage.StorageManagerFactory;
+import org.apache.tajo.storage.v2.StorageManagerV2;
 import org.apache.tajo.util.*;
 import org.apache.tajo.util.metrics.TajoSystemMetrics;
 import org.apache.tajo.webapp.StaticHttpServer;
+import org.apache.tajo.worker.metrics.DiskScanMetricsGaugeSet;
 
 import java.io.*;
 import java.lang.management.ManagementFactory;
@@ -280,6 +284,17 @@ public class TajoWorker extends CompositeService {
         }
       }
     });
+
+    if (systemConf.getBoolVar(ConfVars.STORAGE_MANAGER_VERSION_2)) {
+      try {
+        AbstractStorageManager storageManager = StorageManagerFactory.getStorageManager(systemConf);
+        if (storageManager instanceof StorageManagerV2) {
+          workerSystemMetrics.register("disk", new DiskScanMetricsGaugeSet((StorageManagerV2) storageManager));
+        }
+      } catch (IOException e) {
+        LOG.warn("Cannot register the metrics of disk schedulers: " + e.getMessage());
+      }
+    }
   }
 
   private int initWebServer() {
@@ -157,7 +157,11 @@ public class TajoWorkerManagerService extends CompositeService
   @Override
   public void cleanup(RpcController controller, TajoIdProtos.QueryIdProto request,
                       RpcCallback<PrimitiveProtos.BoolProto> done) {
-    workerContext.cleanup(new QueryId(request).toString());
+    String queryId = new QueryId(request).toString();
+    if (workerContext.getPullService() != null) {
+      workerContext.getPullService().invalidateIndexCache(queryId);
+    }
+    workerContext.cleanup(queryId);
     done.run(TajoWorker.TRUE_PROTO);
   }
 
@@ -166,9 +170,14 @@ public class TajoWorkerManagerService extends CompositeService
                                      TajoWorkerProtocol.ExecutionBlockListProto ebIds,
                                      RpcCallback<PrimitiveProtos.BoolProto> done) {
     for (TajoIdProtos.ExecutionBlockIdProto executionBlockIdProto : ebIds.getExecutionBlockIdList()) {
-      String inputDir = ExecutionBlockContext.getBaseInputDir(new ExecutionBlockId(executionBlockIdProto)).toString();
+      ExecutionBlockId ebId = new ExecutionBlockId(executionBlockIdProto);
+      if (workerContext.getPullService() != null) {
+        workerContext.getPullService().invalidateIndexCache(ebId.getQueryId().toString(),
+            String.valueOf(ebId.getId()));
+      }
+      String inputDir = ExecutionBlockContext.getBaseInputDir(ebId).toString();
       workerContext.cleanup(inputDir);
-      String outputDir = ExecutionBlockContext.getBaseOutputDir(new ExecutionBlockId(executionBlockIdProto)).toString();
+      String outputDir = ExecutionBlockContext.getBaseOutputDir(ebId).toString();
       workerContext.cleanup(outputDir);
     }
     done.run(TajoWorker.TRUE_PROTO);
@@ -37,6 +37,7 @@ import org.apache.tajo.TajoProtos.TaskAttemptState;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
@@ -75,6 +76,8 @@ import static org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
 public class Task {
   private static final Log LOG = LogFactory.getLog(Task.class);
   private static final float FETCHER_PROGRESS = 0.5f;
+  // a batched request longer than this may cause HTTP Status Code - 414 Request-URI Too Long.
+  private static final int HTTP_REQUEST_MAXIMUM_LENGTH = 1900;
 
   private final TajoConf systemConf;
   private final QueryContext queryContext;
@@ -92,6 +95,8 @@ public class Task {
   private boolean interQuery;
   private boolean killed = false;
   private boolean aborted = false;
+  /** If true, a scan consumes fetched data while the other fetches are still in progress. */
+  private boolean streamingFetch = false;
   private Path inputTableBaseDir;
 
   private long startTime;
@@ -256,6 +261,49 @@ public class Task {
 
   public void localize(QueryUnitRequest request) throws IOException {
     fetcherRunners = getFetchRunners(context, request.getFetches());
+
+    if (fetcherRunners.size() > 0 && systemConf.getBoolVar(TajoConf.ConfVars.SHUFFLE_FETCHER_STREAMING_ENABLED)
+        && canStreamFetchedData()) {
+      Map<String, Integer> fetchNums = Maps.newHashMap();
+      for (Fetcher fetcher : fetcherRunners) {
+        String name = fetcher.getFileChunk().getEbId();
+        fetchNums.put(name, fetchNums.containsKey(name) ? fetchNums.get(name) + 1 : 1);
+      }
+
+      Set<String> broadcastTableNames = getBroadcastTableNames();
+      for (String inputTable : context.getInputTables()) {
+        if (broadcastTableNames.contains(inputTable)) {
+          continue;
+        }
+        int fetchNum = fetchNums.containsKey(inputTable) ? fetchNums.get(inputTable) : 0;
+        context.addFetchedFragmentQueue(new FetchedFragmentQueue(inputTable, fetchNum));
+      }
+      streamingFetch = true;
+    }
+  }
+
+  /**
+   * A scan can read fetched data before all fetches are finished only if the plan does not need the whole
+   * input in advance. A join algorithm is chosen according to the input volume, and a sort directly above
+   * a scan or a sorted input is built from all fragments. So, such plans still wait for the fetch phase.
+   */
+  private boolean canStreamFetchedData() {
+    if (PlannerUtil.findTopNode(plan, NodeType.JOIN) != null || PlannerUtil.findTopNode(plan, NodeType.SORT) != null) {
+      return false;
+    }
+    List<EnforceProperty> sortedInputs = context.getEnforcer().getEnforceProperties(EnforceType.SORTED_INPUT);
+    return sortedInputs == null || sortedInputs.isEmpty();
+  }
+
+  private Set<String> getBroadcastTableNames() {
+    Set<String> broadcastTableNames = new HashSet<String>();
+    List<EnforceProperty> broadcasts = context.getEnforcer().getEnforceProperties(EnforceType.BROADCAST);
+    if (broadcasts != null) {
+      for (EnforceProperty eachBroadcast : broadcasts) {
+        broadcastTableNames.add(eachBroadcast.getBroadcast().getTableName());
+      }
+    }
+    return broadcastTableNames;
   }
 
   public QueryUnitAttemptId getId() {
@@ -375,6 +423,12 @@ public class Task {
       builder.setResultStats(new TableStats().getProto());
     }
 
+    if (context.getPartitions() != null) {
+      for (PartitionDesc partition : context.getPartitions()) {
+        builder.addPartitions(partition.getProto());
+      }
+    }
+
     Iterator<Entry<Integer, String>> it = context.getShuffleFileOutputs();
     if (it.hasNext()) {
       do {
@@ -405,13 +459,7 @@ public class Task {
     Collection<String> inputs = Lists.newArrayList(context.getInputTables());
 
     // Get all broadcasted tables
-    Set<String> broadcastTableNames = new HashSet<String>();
-    List<EnforceProperty> broadcasts = context.getEnforcer().getEnforceProperties(EnforceType.BROADCAST);
-    if (broadcasts != null) {
-      for (EnforceProperty eachBroadcast : broadcasts) {
-        broadcastTableNames.add(eachBroadcast.getBroadcast().getTableName());
-      }
-    }
+    Set<String> broadcastTableNames = getBroadcastTableNames();
 
     // localize the fetched data and skip the broadcast table
     for (String inputTable: inputs) {
@@ -430,7 +478,9 @@ public class Task {
     try {
       context.setState(TaskAttemptState.TA_RUNNING);
 
-      if (context.hasFetchPhase()) {
+      if (streamingFetch) {
+        LOG.info(context.getTaskId() + " starts to consume fetched data while fetching");
+      } else if (context.hasFetchPhase()) {
         // If the fetch is still in progress, the query unit must wait for
         // complete.
         waitForFetch();
@@ -445,6 +495,11 @@ public class Task {
 
       while(!killed && !aborted && executor.next() != null) {
       }
+
+      if (streamingFetch && !killed && !aborted) {
+        // all fetches must be finished before the task is reported as succeeded.
+        context.getFetchLatch().await();
+      }
     } catch (Throwable e) {
       error = e ;
       LOG.error(e.getMessage(), e);
@@ -648,6 +703,7 @@ public class Task {
           localChunks.add(fetched);
           LOG.info("Add a new FileChunk to local chunk list");
               }
+              addFetchedFragment(fetched);
               break;
             }
           } catch (Throwable e) {
@@ -656,9 +712,16 @@ public class Task {
           retryNum++;
         }
       } finally {
+        FetchedFragmentQueue queue = ctx.getFetchedFragmentQueue(fetcher.getFileChunk().getEbId());
         if(fetcher.getState() == TajoProtos.FetcherState.FETCH_FINISHED){
+          if (queue != null) {
+            queue.fetchFinished();
+          }
           fetcherFinished(ctx);
         } else {
+          if (queue != null) {
+            queue.fetchFailed();
+          }
           if (retryNum == maxRetryNum) {
             LOG.error("ERROR: the maximum retry (" + retryNum + ") on the fetch exceeded (" + fetcher.getURI() + ")");
           }
@@ -667,6 +730,22 @@ public class Task {
         }
       }
     }
+
+    private void addFetchedFragment(FileChunk fetched) {
+      FetchedFragmentQueue queue = ctx.getFetchedFragmentQueue(fetched.getEbId());
+      if (queue == null) {
+        return;
+      }
+      if (fetched.fromRemote()) {
+        File file = fetched.getFile();
+        if (file.length() > 0) {
+          queue.addFragment(new FileFragment(fetched.getEbId(), new Path(file.toURI()), 0l, file.length()));
+        }
+      } else if (fetched.length() > 0) {
+        queue.addFragment(new FileFragment(fetched.getEbId(), new Path(fetched.getFile().toURI()),
+            fetched.startOffset(), fetched.length()));
+      }
+    }
   }
 
   @VisibleForTesting
@@ -709,6 +788,8 @@ public class Task {
       File defaultStoreFile;
       FileChunk storeChunk = null;
       List<Fetcher> runnerList = Lists.newArrayList();
+      // URIs to be fetched from remote hosts for each fetch name
+      Map<String, List<URI>> remoteURIs = Maps.newLinkedHashMap();
 
       for (FetchImpl f : fetches) {
         storeDir = new File(inputDir.toString(), f.getName());
@@ -717,11 +798,11 @@ public class Task {
         }
 
         for (URI uri : f.getURIs()) {
-          defaultStoreFile = new File(storeDir, "in_" + i);
           InetAddress address = InetAddress.getByName(uri.getHost());
 
           if (NetUtils.isLocalAddress(address)) {
             boolean hasError = false;
+            storeChunk = null;
             try {
               LOG.info("Try to get local file chunk at local host");
               storeChunk = getLocalStoredFileChunk(uri, systemConf);
@@ -738,18 +819,32 @@ public class Task {
             if (storeChunk != null && storeChunk.getFile() != null && storeChunk.startOffset() > -1
                 && hasError == false) {
               storeChunk.setFromRemote(false);
-            } else {
-              storeChunk = new FileChunk(defaultStoreFile, 0, -1);
-              storeChunk.setFromRemote(true);
+              storeChunk.setEbId(f.getName());
+              Fetcher fetcher = new Fetcher(systemConf, uri, storeChunk, channelFactory, timer);
+              LOG.info("Create a new Fetcher with storeChunk:" + storeChunk.toString());
+              runnerList.add(fetcher);
+              continue;
             }
-          } else {
-            storeChunk = new FileChunk(defaultStoreFile, 0, -1);
-            storeChunk.setFromRemote(true);
           }
 
+          if (!remoteURIs.containsKey(f.getName())) {
+            remoteURIs.put(f.getName(), new ArrayList<URI>());
+          }
+          remoteURIs.get(f.getName()).add(uri);
+        }
+      }
+
+      // Hash shuffle requests to the same pull server are batched into fewer requests.
+      int maxPartitionNum = systemConf.getIntVar(TajoConf.ConfVars.SHUFFLE_FETCHER_BATCH_MAX_PARTITION_NUM);
+      for (Entry<String, List<URI>> entry : remoteURIs.entrySet()) {
+        storeDir = new File(inputDir.toString(), entry.getKey());
+        for (URI uri : batchFetchURIs(entry.getValue(), maxPartitionNum)) {
           // If we decide that intermediate data should be really fetched from a remote host, storeChunk
           // represents a complete file. Otherwise, storeChunk may represent a complete file or only a part of it
-          storeChunk.setEbId(f.getName());
+          defaultStoreFile = new File(storeDir, "in_" + i);
+          storeChunk = new FileChunk(defaultStoreFile, 0, -1);
+          storeChunk.setFromRemote(true);
+          storeChunk.setEbId(entry.getKey());
           Fetcher fetcher = new Fetcher(systemConf, uri, storeChunk, channelFactory, timer);
           LOG.info("Create a new Fetcher with storeChunk:" + storeChunk.toString());
           runnerList.add(fetcher);
@@ -763,6 +858,87 @@ public class Task {
     }
   }
 
+  /**
+   * Merges hash shuffle URIs to the same pull server and execution block into batched URIs. A batched URI
+   * lists partition ids and their offset ranges in comma separated values
+   * (e.g., <code>p=1,5&amp;offset=0,-1&amp;length=10,-1</code>), and the pull server streams all of them
+   * in one response. The concatenated partitions are still a valid
+   * intermediate data because shuffle files do not have any file header. Other URIs are returned as they are.
+   *
+   * @param uris Fetch URIs
+   * @param maxPartitionNum The maximum number of partitions in a batched URI
+   * @return Batched URIs
+   */
+  @VisibleForTesting
+  public static List<URI> batchFetchURIs(List<URI> uris, int maxPartitionNum) {
+    List<URI> batched = Lists.newArrayList();
+    Map<String, List<Map<String, List<String>>>> groups = Maps.newLinkedHashMap();
+
+    for (URI uri : uris) {
+      Map<String, List<String>> params = new QueryStringDecoder(uri).getParameters();
+      String type = params.containsKey("type") ? params.get("type").get(0) : null;
+      if (maxPartitionNum <= 1 || !("h".equals(type) || "s".equals(type))
+          || !params.containsKey("qid") || !params.containsKey("sid") || !params.containsKey("p")) {
+        batched.add(uri);
+        continue;
+      }
+
+      String prefix = (uri.getScheme() == null ? "http" : uri.getScheme()) + "://" + uri.getRawAuthority() + "/?" +
+          "qid=" + params.get("qid").get(0) + "&sid=" + params.get("sid").get(0) + "&type=" + type;
+      if (!groups.containsKey(prefix)) {
+        groups.put(prefix, new ArrayList<Map<String, List<String>>>());
+      }
+      groups.get(prefix).add(params);
+    }
+
+    for (Entry<String, List<Map<String, List<String>>>> group : groups.entrySet()) {
+      String prefix = group.getKey();
+      StringBuilder partIds = new StringBuilder();
+      StringBuilder offsets = new StringBuilder();
+      StringBuilder lengths = new StringBuilder();
+      boolean hasRange = false;
+      int partNum = 0;
+
+      for (Map<String, List<String>> params : group.getValue()) {
+        String offset = params.containsKey("offset") ? params.get("offset").get(0) : "-1";
+        String length = params.containsKey("length") ? params.get("length").get(0) : "-1";
+
+        if (partNum > 0 && (partNum == maxPartitionNum || prefix.length() + partIds.length() + offsets.length()
+            + lengths.length() > HTTP_REQUEST_MAXIMUM_LENGTH)) {
+          batched.add(createBatchedURI(prefix, partIds, offsets, lengths, hasRange));
+          partIds.setLength(0);
+          offsets.setLength(0);
+          lengths.setLength(0);
+          hasRange = false;
+          partNum = 0;
+        }
+
+        if (partNum > 0) {
+          partIds.append(",");
+          offsets.append(",");
+          lengths.append(",");
+        }
+        partIds.append(params.get("p").get(0));
+        offsets.append(offset);
+        lengths.append(length);
+        hasRange |= params.containsKey("offset");
+        partNum++;
+      }
+      batched.add(createBatchedURI(prefix, partIds, offsets, lengths, hasRange));
+    }
+
+    return batched;
+  }
+
+  private static URI createBatchedURI(String prefix, StringBuilder partIds, StringBuilder offsets,
+                                      StringBuilder lengths, boolean hasRange) {
+    StringBuilder sb = new StringBuilder(prefix).append("&p=").append(partIds);
+    if (hasRange) {
+      sb.append("&offset=").append(offsets).append("&length=").append(lengths);
+    }
+    return URI.create(sb.toString());
+  }
+
   private FileChunk getLocalStoredFileChunk(URI fetchURI, TajoConf conf) throws IOException {
     // Parse the URI
     LOG.info("getLocalStoredFileChunk starts");
@@ -27,8 +27,10 @@ import org.apache.hadoop.fs.Path;
 import org.apache.tajo.QueryUnitAttemptId;
 import org.apache.tajo.TajoProtos.TaskAttemptState;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.engine.codegen.FusedPipeline;
 import org.apache.tajo.engine.eval.EvalNode;
 import org.apache.tajo.engine.planner.enforce.Enforcer;
 import org.apache.tajo.engine.planner.global.DataChannel;
@@ -59,10 +61,14 @@ public class TaskAttemptContext {
 
   private TaskAttemptState state;
   private TableStats resultStats;
+  /** partitions written by a column partitioned store */
+  private Collection<PartitionDesc> partitions;
   private QueryUnitAttemptId queryId;
   private final Path workDir;
   private boolean needFetch = false;
   private CountDownLatch doneFetchPhaseSignal;
+  /** input tables which are consumed while they are being fetched */
+  private final Map<String, FetchedFragmentQueue> fetchedFragmentQueues = Maps.newHashMap();
   private float progress = 0.0f;
   private float fetcherProgress = 0.0f;
   private AtomicBoolean progressChanged = new AtomicBoolean(false);
@@ -178,6 +184,18 @@ public class TaskAttemptContext {
     }
   }
 
+  /**
+   * @return A fused pipeline for a scan, or null if it is not available.
+   */
+  public FusedPipeline getPrecompiledPipeline(Schema schema, EvalNode qual, EvalNode [] targets) {
+    if (sharedResource != null) {
+      return sharedResource.getPreCompiledPipeline(schema, qual, targets);
+    } else {
+      LOG.debug("Shared resource is not initialized. It is NORMAL in unit tests");
+      return null;
+    }
+  }
+
   public boolean hasResultStats() {
     return resultStats != null;
   }
@@ -190,6 +208,14 @@ public class TaskAttemptContext {
     return this.resultStats;
   }
 
+  public void setPartitions(Collection<PartitionDesc> partitions) {
+    this.partitions = partitions;
+  }
+
+  public Collection<PartitionDesc> getPartitions() {
+    return partitions;
+  }
+
   public boolean isStopped() {
     return this.stopped;
   }
@@ -231,6 +257,18 @@ public class TaskAttemptContext {
   public CountDownLatch getFetchLatch() {
     return doneFetchPhaseSignal;
   }
+
+  public void addFetchedFragmentQueue(FetchedFragmentQueue queue) {
+    fetchedFragmentQueues.put(queue.getTableName(), queue);
+  }
+
+  /**
+   * @return the queue of fetched fragments if the given table is consumed while it is being fetched.
+   * Otherwise, null.
+   */
+  public FetchedFragmentQueue getFetchedFragmentQueue(String tableId) {
+    return fetchedFragmentQueues.get(tableId);
+  }
   
   public void addShuffleFileOutput(int partId, String fileName) {
     shuffleFileOutputs.put(partId, fileName);
@@ -0,0 +1,76 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.worker.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import org.apache.tajo.storage.v2.DiskFileScanScheduler;
+import org.apache.tajo.storage.v2.StorageManagerV2;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The queue depth and the throughput of each local disk scheduled by {@link StorageManagerV2}.
+ * The throughputs are bytes per second during the last report interval of the disk scheduler.
+ */
+public class DiskScanMetricsGaugeSet implements MetricSet {
+  StorageManagerV2 storageManager;
+  public DiskScanMetricsGaugeSet(StorageManagerV2 storageManager) {
+    this.storageManager = storageManager;
+  }
+
+  @Override
+  public Map<String, Metric> getMetrics() {
+    Map<String, Metric> metricsMap = new HashMap<String, Metric>();
+    for (final DiskFileScanScheduler eachScheduler : storageManager.getDiskFileScanSchedulers()) {
+      String prefix = eachScheduler.getDiskName() + ".";
+      metricsMap.put(prefix + "queueDepth", new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return eachScheduler.getQueueDepth();
+        }
+      });
+
+      metricsMap.put(prefix + "runningScans", new Gauge<Integer>() {
+        @Override
+        public Integer getValue() {
+          return eachScheduler.getNumOfRunningScanners();
+        }
+      });
+
+      metricsMap.put(prefix + "diskReadBytesPerSec", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return eachScheduler.getDiskScanThroughput();
+        }
+      });
+
+      metricsMap.put(prefix + "fetchBytesPerSec", new Gauge<Long>() {
+        @Override
+        public Long getValue() {
+          return eachScheduler.getFetchThroughput();
+        }
+      });
+    }
+
+    return metricsMap;
+  }
+}
@@ -34,6 +34,7 @@ import org.apache.tajo.catalog.TableDesc;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.ipc.ClientProtos;
+import org.apache.tajo.jdbc.FetchResultSet;
 import org.apache.tajo.jdbc.TajoResultSet;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.storage.StorageUtil;
@@ -674,6 +675,35 @@ public class TestTajoClient {
     }
   }
 
+  @Test
+  public void testFetchResultSetWithPrefetch() throws Exception {
+    Map<String, String> variables = new HashMap<String, String>();
+    // one row per request, so the rows are fetched by many requests.
+    variables.put(SessionVars.FETCH_ROWNUM.keyname(), "1");
+    variables.put(SessionVars.FETCH_PREFETCH_ENABLED.keyname(), "true");
+    client.updateSessionVariables(variables);
+
+    try {
+      ResultSet res = client.executeQueryAndGetResult("select * from lineitem");
+      assertTrue(res instanceof FetchResultSet);
+      int count = 0;
+      while (res.next()) {
+        assertTrue(res.getInt(1) > 0);
+        count++;
+      }
+      res.close();
+      assertEquals(5, count);
+
+      // a result set closed before its end
+      res = client.executeQueryAndGetResult("select * from lineitem");
+      assertTrue(res.next());
+      res.close();
+    } finally {
+      client.unsetSessionVariables(Lists.newArrayList(SessionVars.FETCH_ROWNUM.keyname(),
+          SessionVars.FETCH_PREFETCH_ENABLED.keyname()));
+    }
+  }
+
   @Test
   public void testSetCvsNull() throws Exception {
     String sql =
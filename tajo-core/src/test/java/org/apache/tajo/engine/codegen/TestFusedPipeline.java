@@ -0,0 +1,139 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.codegen;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.eval.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestFusedPipeline {
+  private TajoClassLoader classLoader;
+  private EvalCodeGenerator codegen;
+  private Schema schema;
+
+  @Before
+  public void setUp() {
+    classLoader = new TajoClassLoader();
+    codegen = new EvalCodeGenerator(classLoader);
+
+    schema = new Schema();
+    schema.addColumn("i4", Type.INT4);
+    schema.addColumn("i8", Type.INT8);
+    schema.addColumn("f8", Type.FLOAT8);
+    schema.addColumn("t", Type.TEXT);
+  }
+
+  @After
+  public void tearDown() throws Throwable {
+    classLoader.clean();
+  }
+
+  private List<Tuple> createTuples(int num) {
+    Random rnd = new Random(1234);
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    for (int i = 0; i < num; i++) {
+      Tuple tuple = new VTuple(4);
+      tuple.put(0, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createInt4(rnd.nextInt(21) - 10));
+      tuple.put(1, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createInt8(rnd.nextInt(5) - 2));
+      tuple.put(2, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createFloat8(rnd.nextDouble() * 4 - 2));
+      tuple.put(3, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createText("text_" + rnd.nextInt(5)));
+      tuples.add(tuple);
+    }
+    return tuples;
+  }
+
+  private FieldEval field(String name) {
+    return new FieldEval(schema.getColumn(name));
+  }
+
+  private void assertPipeline(EvalNode qual, EvalNode [] targets) {
+    FusedPipeline pipeline = codegen.compilePipeline(schema, qual, targets);
+
+    EvalNode compiledQual = qual != null ? codegen.compile(schema, qual) : null;
+    EvalNode [] compiledTargets = new EvalNode[targets.length];
+    for (int i = 0; i < targets.length; i++) {
+      compiledTargets[i] = codegen.compile(schema, targets[i]);
+    }
+
+    int selected = 0;
+    for (Tuple tuple : createTuples(1000)) {
+      Tuple out = new VTuple(targets.length);
+      boolean expected = compiledQual == null || compiledQual.eval(schema, tuple).isTrue();
+      assertEquals(expected, pipeline.process(schema, tuple, out));
+
+      if (expected) {
+        selected++;
+        for (int i = 0; i < targets.length; i++) {
+          assertEquals(compiledTargets[i].eval(schema, tuple), out.get(i));
+        }
+      }
+    }
+
+    if (qual == null) {
+      assertEquals(1000, selected);
+    } else {
+      assertTrue(selected > 0 && selected < 1000);
+    }
+  }
+
+  @Test
+  public void testProjectionOnly() {
+    assertPipeline(null, new EvalNode[] {
+        field("t"),
+        new BinaryEval(EvalType.PLUS, field("i4"), field("i4")),
+        new BinaryEval(EvalType.MULTIPLY, field("f8"), new ConstEval(DatumFactory.createFloat8(2.0d)))
+    });
+  }
+
+  @Test
+  public void testFilterAndProjection() {
+    EvalNode qual = new BinaryEval(EvalType.AND,
+        new BinaryEval(EvalType.GTH, field("i4"), new ConstEval(DatumFactory.createInt4(0))),
+        new IsNullEval(true, field("t")));
+
+    assertPipeline(qual, new EvalNode[] {
+        field("i8"),
+        new BinaryEval(EvalType.MINUS, field("i8"), new ConstEval(DatumFactory.createInt8(3))),
+        new BinaryEval(EvalType.GTH, field("f8"), new ConstEval(DatumFactory.createFloat8(0.0d)))
+    });
+  }
+
+  @Test
+  public void testUnknownQual() {
+    // null comparison results must be filtered out like false
+    EvalNode qual = new BinaryEval(EvalType.OR,
+        new BinaryEval(EvalType.LTH, field("f8"), new ConstEval(DatumFactory.createFloat8(0.0d))),
+        new BinaryEval(EvalType.EQUAL, field("i8"), new ConstEval(DatumFactory.createInt8(1))));
+
+    assertPipeline(qual, new EvalNode[] {field("t"), field("f8")});
+  }
+}
@@ -113,7 +113,8 @@ public class TestExternalSortExec {
   }
 
   String[] QUERIES = {
-      "select managerId, empId from employee order by managerId, empId"
+      "select managerId, empId from employee order by managerId, empId",
+      "select empId * interval '1 second' as iv, managerId from employee order by iv, managerId"
   };
 
   @Test
@@ -182,4 +183,45 @@ public class TestExternalSortExec {
     exec.close();
     System.out.println("Sort Time: " + (end - start) + " msc");
   }
+
+  @Test
+  public final void testSortIntervalColumn() throws IOException, PlanningException {
+    FileFragment[] frags = StorageManager.splitNG(conf, "default.employee", employee.getMeta(), employee.getPath(),
+        Integer.MAX_VALUE);
+    Path workDir = new Path(testDir, TestExternalSortExec.class.getName());
+    TaskAttemptContext ctx = new TaskAttemptContext(new QueryContext(conf),
+        LocalTajoTestingUtility.newQueryUnitAttemptId(), new FileFragment[] { frags[0] }, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse(QUERIES[1]);
+    LogicalPlan plan = planner.createPlan(LocalTajoTestingUtility.createDummyContext(conf), expr);
+    LogicalNode rootNode = plan.getRootBlock().getRoot();
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf, sm);
+    PhysicalExec exec = phyPlanner.createPlan(ctx, rootNode);
+
+    ProjectionExec proj = (ProjectionExec) exec;
+    if (!(proj.getChild() instanceof ExternalSortExec)) {
+      UnaryPhysicalExec sortExec = proj.getChild();
+      ExternalSortExec extSort = new ExternalSortExec(ctx, sm,
+          ((MemSortExec)sortExec).getPlan(), sortExec.getChild());
+      proj.setChild(extSort);
+    }
+
+    // INTERVAL cannot be encoded in the RAW format, so rows are sorted in the on-heap sort buffer.
+    Tuple tuple;
+    Tuple preVal = null;
+    int cnt = 0;
+    exec.init();
+    while ((tuple = exec.next()) != null) {
+      if (preVal != null) {
+        int cmp = preVal.get(0).compareTo(tuple.get(0));
+        assertTrue("prev: " + preVal + ", but cur: " + tuple,
+            cmp < 0 || (cmp == 0 && preVal.getInt4(1) <= tuple.getInt4(1)));
+      }
+      preVal = new VTuple(tuple);
+      cnt++;
+    }
+    assertEquals(numTuple, cnt);
+    exec.close();
+  }
 }
@@ -0,0 +1,205 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.LocalTajoTestingUtility;
+import org.apache.tajo.SessionVars;
+import org.apache.tajo.TajoConstants;
+import org.apache.tajo.TajoTestingCluster;
+import org.apache.tajo.algebra.Expr;
+import org.apache.tajo.catalog.*;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.engine.parser.SQLAnalyzer;
+import org.apache.tajo.engine.planner.*;
+import org.apache.tajo.engine.planner.enforce.Enforcer;
+import org.apache.tajo.engine.planner.logical.GroupbyNode;
+import org.apache.tajo.engine.planner.logical.LogicalNode;
+import org.apache.tajo.engine.planner.logical.NodeType;
+import org.apache.tajo.engine.query.QueryContext;
+import org.apache.tajo.storage.*;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.apache.tajo.worker.TaskAttemptContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.apache.tajo.TajoConstants.DEFAULT_TABLESPACE_NAME;
+import static org.junit.Assert.*;
+
+public class TestHashAggregateExec {
+  private TajoConf conf;
+  private final String TEST_PATH = "target/test-data/TestHashAggregateExec";
+  private TajoTestingCluster util;
+  private CatalogService catalog;
+  private SQLAnalyzer analyzer;
+  private LogicalPlanner planner;
+  private AbstractStorageManager sm;
+  private Path testDir;
+  private QueryContext defaultContext;
+
+  private TableDesc employee;
+
+  private final int EMPLOYEE_NUM = 10000;
+  private final int GROUP_NUM = 2000;
+
+  @Before
+  public void setUp() throws Exception {
+    util = new TajoTestingCluster();
+    util.initTestDir();
+    catalog = util.startCatalogCluster().getCatalog();
+    testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    catalog.createTablespace(DEFAULT_TABLESPACE_NAME, testDir.toUri().toString());
+    catalog.createDatabase(TajoConstants.DEFAULT_DATABASE_NAME, DEFAULT_TABLESPACE_NAME);
+    conf = util.getConfiguration();
+    sm = StorageManagerFactory.getStorageManager(conf, testDir);
+
+    Schema employeeSchema = new Schema();
+    employeeSchema.addColumn("managerid", Type.INT4);
+    employeeSchema.addColumn("empid", Type.INT4);
+    employeeSchema.addColumn("memid", Type.INT4);
+    employeeSchema.addColumn("deptname", Type.TEXT);
+
+    TableMeta employeeMeta = CatalogUtil.newTableMeta(StoreType.CSV);
+    Path employeePath = new Path(testDir, "employee.csv");
+    Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(employeeMeta, employeeSchema,
+        employeePath);
+    appender.init();
+    Tuple tuple = new VTuple(employeeSchema.size());
+    for (int i = 0; i < EMPLOYEE_NUM; i++) {
+      tuple.put(new Datum[] { DatumFactory.createInt4(i),
+          DatumFactory.createInt4(i % GROUP_NUM), DatumFactory.createInt4(10 + i),
+          DatumFactory.createText("dept_" + (i % GROUP_NUM)) });
+      appender.addTuple(tuple);
+    }
+
+    appender.flush();
+    appender.close();
+    employee = CatalogUtil.newTableDesc("default.employee", employeeSchema, employeeMeta, employeePath);
+    catalog.createTable(employee);
+    analyzer = new SQLAnalyzer();
+    planner = new LogicalPlanner(catalog);
+    defaultContext = LocalTajoTestingUtility.createDummyContext(conf);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    util.shutdownCatalogCluster();
+  }
+
+  String[] QUERIES = {
+      "select deptname, count(*), sum(empid), avg(memid), max(managerid) from employee group by deptname",
+      "select deptname, count(*), sum(empid), avg(memid), max(managerid) from employee " +
+          "where empid + 1 > 0 and deptname is not null group by deptname"
+  };
+
+  private PhysicalExec createPlan(String testName) throws IOException, PlanningException {
+    return createPlan(testName, QUERIES[0], new QueryContext(conf));
+  }
+
+  private PhysicalExec createPlan(String testName, String query, QueryContext queryContext)
+      throws IOException, PlanningException {
+    Expr expr = analyzer.parse(query);
+    LogicalNode plan = planner.createPlan(defaultContext, expr).getRootBlock().getRoot();
+
+    GroupbyNode groupbyNode = PlannerUtil.findTopNode(plan, NodeType.GROUP_BY);
+    Enforcer enforcer = new Enforcer();
+    enforcer.enforceHashAggregation(groupbyNode.getPID());
+
+    FileFragment[] frags = StorageManager.splitNG(conf, "default.employee", employee.getMeta(),
+        employee.getPath(), Integer.MAX_VALUE);
+
+    Path workDir = CommonTestingUtil.getTestDir("target/test-data/" + testName);
+    TaskAttemptContext ctx = new TaskAttemptContext(queryContext,
+        LocalTajoTestingUtility.newQueryUnitAttemptId(), frags, workDir);
+    ctx.setEnforcer(enforcer);
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf, sm);
+    return phyPlanner.createPlan(ctx, plan);
+  }
+
+  private void assertAggregationResult(PhysicalExec exec) throws IOException {
+    Tuple tuple;
+    int count = 0;
+    boolean [] found = new boolean[GROUP_NUM];
+    int rowsPerGroup = EMPLOYEE_NUM / GROUP_NUM;
+    while ((tuple = exec.next()) != null) {
+      count++;
+      int group = Integer.parseInt(tuple.get(0).asChars().substring("dept_".length()));
+      assertFalse(found[group]);
+      found[group] = true;
+      assertEquals(rowsPerGroup, tuple.get(1).asInt8());
+      assertEquals(rowsPerGroup * group, tuple.get(2).asInt8());
+      assertEquals(10 + group + GROUP_NUM * (rowsPerGroup - 1) / 2.0d, tuple.get(3).asFloat8(), 0.0001d);
+      assertEquals(group + GROUP_NUM * (rowsPerGroup - 1), tuple.get(4).asInt4());
+    }
+    assertEquals(GROUP_NUM, count);
+  }
+
+  @Test
+  public final void testInMemory() throws IOException, PlanningException {
+    PhysicalExec exec = createPlan("testHashAggregateInMemory");
+    HashAggregateExec aggExec = PhysicalPlanUtil.findExecutor(exec, HashAggregateExec.class);
+    assertNotNull(aggExec);
+
+    exec.init();
+    assertAggregationResult(exec);
+    assertEquals(0, aggExec.getSpilledBytes());
+    exec.close();
+  }
+
+  @Test
+  public final void testSpill() throws IOException, PlanningException {
+    PhysicalExec exec = createPlan("testHashAggregateSpill");
+    HashAggregateExec aggExec = PhysicalPlanUtil.findExecutor(exec, HashAggregateExec.class);
+    // it forces the hash table to be spilled several times, and spilled partitions to be recursively spilled.
+    aggExec.setMemoryLimit(16 * 1024);
+
+    exec.init();
+    assertAggregationResult(exec);
+    assertTrue(aggExec.getSpilledBytes() > 0);
+
+    // the input should be aggregated again because spilled partitions are already consumed.
+    exec.rescan();
+    assertAggregationResult(exec);
+    exec.close();
+  }
+
+  @Test
+  public final void testVectorized() throws IOException, PlanningException {
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setBool(SessionVars.VECTORIZED_EXECUTION, true);
+    PhysicalExec exec = createPlan("testHashAggregateVectorized", QUERIES[1], queryContext);
+    HashAggregateExec aggExec = PhysicalPlanUtil.findExecutor(exec, HashAggregateExec.class);
+    assertNotNull(aggExec);
+
+    exec.init();
+    SeqScanExec scanExec = PhysicalPlanUtil.findExecutor(exec, SeqScanExec.class);
+    assertTrue(scanExec.isVectorized());
+    assertAggregationResult(exec);
+    exec.close();
+  }
+}
@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.engine.planner.physical.HashShuffleFileWriteExec.PartitionBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestHashShuffleFileWriteExec {
+
+  @Test
+  public final void testMaxPageSize() {
+    long volume = 1024 * 1024;
+    // the share of each partition is bounded by the volume
+    assertEquals(64 * 1024, HashShuffleFileWriteExec.getMaxPageSize(volume, 1));
+    assertEquals(16 * 1024, HashShuffleFileWriteExec.getMaxPageSize(volume, 64));
+    assertEquals(4 * 1024, HashShuffleFileWriteExec.getMaxPageSize(volume, 1000));
+
+    // the capacities of all partition buffers never exceed the volume unless the minimum page is reached
+    for (int numPartitions = 1; numPartitions <= 256; numPartitions++) {
+      assertTrue((long) HashShuffleFileWriteExec.getMaxPageSize(volume, numPartitions) * numPartitions <= volume);
+    }
+  }
+
+  @Test
+  public final void testResetPartitionBuffer() {
+    int maxPageSize = 16 * 1024;
+    PartitionBuffer partitionBuffer = new PartitionBuffer(4 * 1024);
+
+    // a large row enlarges the buffer over its share
+    while (partitionBuffer.buffer.capacity() < 4 * maxPageSize) {
+      partitionBuffer.enlarge();
+    }
+    partitionBuffer.buffer.put(new byte[3 * maxPageSize]);
+    partitionBuffer.rowNum = 1;
+
+    // the enlarged buffer is shrunk back to the share after flushing
+    partitionBuffer.reset(maxPageSize);
+    assertEquals(maxPageSize, partitionBuffer.buffer.capacity());
+    assertEquals(0, partitionBuffer.buffer.position());
+    assertEquals(0, partitionBuffer.rowNum);
+
+    // a buffer within its share is reused as it is
+    partitionBuffer.buffer.put(new byte[1024]);
+    partitionBuffer.rowNum = 10;
+    partitionBuffer.reset(maxPageSize);
+    assertEquals(maxPageSize, partitionBuffer.buffer.capacity());
+    assertEquals(0, partitionBuffer.buffer.position());
+    assertEquals(maxPageSize, partitionBuffer.buffer.limit());
+    assertEquals(0, partitionBuffer.rowNum);
+  }
+}
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class TestJoinHashTable {
+
+  private static Tuple createTuple(Datum... datums) {
+    Tuple tuple = new VTuple(datums.length);
+    tuple.put(datums);
+    return tuple;
+  }
+
+  @Test
+  public final void testPrimitiveKeys() {
+    Schema build = new Schema();
+    build.addColumn("id", Type.INT4);
+    build.addColumn("name", Type.TEXT);
+    build.addColumn("score", Type.FLOAT8);
+
+    Schema probe = new Schema();
+    probe.addColumn("pid", Type.INT8);
+    probe.addColumn("pname", Type.TEXT);
+
+    JoinHashTable table = new JoinHashTable(build, new int[] {0, 1}, probe, new int[] {0, 1});
+
+    // more rows than the initial capacity in order to test rehashing
+    for (int i = 0; i < 10000; i++) {
+      for (int j = 0; j < 3; j++) {
+        table.add(createTuple(DatumFactory.createInt4(i), DatumFactory.createText("name_" + i),
+            DatumFactory.createFloat8(j)));
+      }
+    }
+    assertEquals(10000, table.size());
+    assertEquals(30000, table.getRowNum());
+    assertTrue(table.getArenaBytes() > 0);
+
+    for (int i = 0; i < 10000; i++) {
+      int entryId = table.lookup(createTuple(DatumFactory.createInt8(i), DatumFactory.createText("name_" + i)));
+      assertTrue(entryId >= 0);
+
+      Iterator<Tuple> rows = table.getRows(entryId);
+      int j = 0;
+      while (rows.hasNext()) {
+        Tuple row = rows.next();
+        assertEquals(i, row.get(0).asInt4());
+        assertEquals("name_" + i, row.get(1).asChars());
+        assertEquals((double) j, row.get(2).asFloat8(), 0.0d);
+        j++;
+      }
+      assertEquals(3, j);
+    }
+
+    assertEquals(-1, table.lookup(createTuple(DatumFactory.createInt8(1), DatumFactory.createText("name_2"))));
+    assertEquals(-1, table.lookup(createTuple(DatumFactory.createInt8(10001),
+        DatumFactory.createText("name_10001"))));
+
+    table.clear();
+    assertEquals(0, table.size());
+    assertEquals(-1, table.lookup(createTuple(DatumFactory.createInt8(1), DatumFactory.createText("name_1"))));
+  }
+
+  @Test
+  public final void testNullKeysAndUnmatchedRows() {
+    Schema build = new Schema();
+    build.addColumn("id", Type.FLOAT8);
+    build.addColumn("flag", Type.BOOLEAN);
+
+    Schema probe = new Schema();
+    probe.addColumn("pid", Type.FLOAT4);
+
+    JoinHashTable table = new JoinHashTable(build, new int[] {0}, probe, new int[] {0});
+    table.add(createTuple(DatumFactory.createFloat8(1.0d), DatumFactory.createBool(true)));
+    table.add(createTuple(DatumFactory.createFloat8(2.0d), DatumFactory.createBool(true)));
+    table.add(createTuple(NullDatum.get(), DatumFactory.createBool(false)));
+    table.add(createTuple(DatumFactory.createFloat8(-0.0d), DatumFactory.createBool(true)));
+
+    assertEquals(4, table.size());
+    int nullEntry = table.lookup(createTuple(NullDatum.get()));
+    assertTrue(nullEntry >= 0);
+    assertFalse(table.getRows(nullEntry).next().get(1).asBool());
+    assertTrue(table.lookup(createTuple(DatumFactory.createFloat4(0.0f))) >= 0);
+
+    table.setMatched(table.lookup(createTuple(DatumFactory.createFloat4(1.0f))));
+    table.setMatched(nullEntry);
+
+    int unmatched = 0;
+    Iterator<Tuple> it = table.getUnmatchedRows();
+    while (it.hasNext()) {
+      double val = it.next().get(0).asFloat8();
+      assertTrue(val == 2.0d || val == 0.0d);
+      unmatched++;
+    }
+    assertEquals(2, unmatched);
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.planner.physical;
+
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.TupleComparator;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestOffHeapSortBuffer {
+  private static final int ROW_NUM = 20000;
+
+  private static Schema createSchema() {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+    schema.addColumn("score", Type.FLOAT8);
+    schema.addColumn("ts", Type.INT8);
+    return schema;
+  }
+
+  private static Tuple createTuple(Datum... datums) {
+    Tuple tuple = new VTuple(datums.length);
+    tuple.put(datums);
+    return tuple;
+  }
+
+  private static List<Tuple> createRandomTuples(long seed) {
+    Random rnd = new Random(seed);
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    for (int i = 0; i < ROW_NUM; i++) {
+      tuples.add(createTuple(
+          DatumFactory.createInt4(rnd.nextInt(100)),
+          // many names share the same first 8 bytes
+          rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createText("prefix__" + rnd.nextInt(1000)),
+          DatumFactory.createFloat8(rnd.nextInt(20) - 10.0d),
+          DatumFactory.createInt8(rnd.nextLong())));
+    }
+    return tuples;
+  }
+
+  private static void assertSorted(Schema schema, SortSpec [] sortSpecs, List<Tuple> tuples, int pageSize)
+      throws Exception {
+    TupleComparator comparator = new TupleComparator(schema, sortSpecs);
+    OffHeapSortBuffer buffer = new OffHeapSortBuffer(schema, sortSpecs, comparator, pageSize);
+
+    // the second round reuses the pages of the first round
+    for (int round = 0; round < 2; round++) {
+      for (Tuple tuple : tuples) {
+        buffer.add(tuple);
+      }
+      buffer.sort();
+
+      List<Tuple> expected = new ArrayList<Tuple>(tuples);
+      Collections.sort(expected, comparator);
+
+      assertEquals(expected.size(), buffer.size());
+      for (int i = 0; i < expected.size(); i++) {
+        assertEquals("row " + i, 0, comparator.compare(expected.get(i), buffer.get(i)));
+      }
+      buffer.clear();
+    }
+    buffer.release();
+  }
+
+  @Test
+  public final void testSortByPrefixes() throws Exception {
+    Schema schema = createSchema();
+    List<Tuple> tuples = createRandomTuples(1);
+
+    assertSorted(schema, new SortSpec[] {new SortSpec(new Column("id", Type.INT4))}, tuples, 64 * 1024);
+    assertSorted(schema, new SortSpec[] {
+        new SortSpec(new Column("ts", Type.INT8), false, false)}, tuples, 64 * 1024);
+    assertSorted(schema, new SortSpec[] {
+        new SortSpec(new Column("score", Type.FLOAT8), false, true),
+        new SortSpec(new Column("id", Type.INT4))}, tuples, 64 * 1024);
+  }
+
+  @Test
+  public final void testSortWithPrefixTies() throws Exception {
+    Schema schema = createSchema();
+    List<Tuple> tuples = createRandomTuples(2);
+
+    assertSorted(schema, new SortSpec[] {
+        new SortSpec(new Column("name", Type.TEXT), true, false),
+        new SortSpec(new Column("id", Type.INT4), false, false)}, tuples, 64 * 1024);
+    assertSorted(schema, new SortSpec[] {
+        new SortSpec(new Column("name", Type.TEXT), false, true),
+        new SortSpec(new Column("score", Type.FLOAT8)),
+        new SortSpec(new Column("ts", Type.INT8))}, tuples, 64 * 1024);
+  }
+
+  @Test
+  public final void testRowsLargerThanPage() throws Exception {
+    Schema schema = createSchema();
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1024; i++) {
+      sb.append("large_row");
+    }
+
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    for (int i = 0; i < 100; i++) {
+      tuples.add(createTuple(DatumFactory.createInt4(100 - i), DatumFactory.createText(sb.toString() + i),
+          DatumFactory.createFloat8(i), DatumFactory.createInt8(i)));
+    }
+    assertSorted(schema, new SortSpec[] {new SortSpec(new Column("id", Type.INT4))}, tuples, 4 * 1024);
+  }
+}
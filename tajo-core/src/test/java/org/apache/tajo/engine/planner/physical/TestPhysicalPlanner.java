@@ -237,6 +237,7 @@ public class TestPhysicalPlanner {
       "select sum(score), max(score), min(score) from score", // 14
       "select deptname, sum(score), max(score), min(score) from score group by deptname", // 15
       "select name from employee where empid >= 0", // 16
+      "select empid + 1 as id, deptname from employee where empid >= 10", // 17
   };
 
   @Test
@@ -299,6 +300,41 @@ public class TestPhysicalPlanner {
     assertEquals(100, i);
   }
 
+  @Test
+  public final void testVectorizedProjection() throws IOException, PlanningException {
+    FileFragment[] frags = StorageManager.splitNG(conf, "default.employee", employee.getMeta(),
+        employee.getPath(), Integer.MAX_VALUE);
+    Path workDir = CommonTestingUtil.getTestDir("target/test-data/testVectorizedProjection");
+    QueryContext queryContext = new QueryContext(conf);
+    queryContext.setBool(SessionVars.VECTORIZED_EXECUTION, true);
+    TaskAttemptContext ctx = new TaskAttemptContext(queryContext,
+        LocalTajoTestingUtility.newQueryUnitAttemptId(masterPlan),
+        new FileFragment[] { frags[0] }, workDir);
+    ctx.setEnforcer(new Enforcer());
+    Expr expr = analyzer.parse(QUERIES[17]);
+    LogicalPlan plan = planner.createPlan(defaultContext, expr);
+    LogicalNode rootNode = plan.getRootBlock().getRoot();
+
+    PhysicalPlanner phyPlanner = new PhysicalPlannerImpl(conf,sm);
+    PhysicalExec exec = phyPlanner.createPlan(ctx, rootNode);
+    ProjectionExec projectionExec = PhysicalPlanUtil.findExecutor(exec, ProjectionExec.class);
+    assertNotNull(projectionExec);
+
+    exec.init();
+    // the vectorization of the child is decided during init(), and then the projection follows it.
+    assertTrue(projectionExec.isVectorized());
+
+    Tuple tuple;
+    int i = 0;
+    while ((tuple = exec.next()) != null) {
+      int id = tuple.get(0).asInt4();
+      assertEquals("dept_" + (id - 1), tuple.get(1).asChars());
+      i++;
+    }
+    exec.close();
+    assertEquals(90, i);
+  }
+
   @Test
   public final void testGroupByPlan() throws IOException, PlanningException {
     FileFragment[] frags = StorageManager.splitNG(conf, "default.score", score.getMeta(), score.getPath(),
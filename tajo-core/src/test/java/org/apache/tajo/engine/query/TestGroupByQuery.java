@@ -91,6 +91,24 @@ public class TestGroupByQuery extends QueryTestCaseBase {
     cleanupQuery(res);
   }
 
+  @Test
+  public final void testGroupByWithStreamingFetch() throws Exception {
+    // the scans of the grouping stages read fetched data before all fetches are finished
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.SHUFFLE_FETCHER_STREAMING_ENABLED.varname, "true");
+    try {
+      ResultSet res = executeFile("testGroupBy2.sql");
+      assertResultSet(res, "testGroupBy2.result");
+      cleanupQuery(res);
+
+      res = executeFile("testDistinctAggregation1.sql");
+      assertResultSet(res, "testDistinctAggregation1.result");
+      cleanupQuery(res);
+    } finally {
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.SHUFFLE_FETCHER_STREAMING_ENABLED.varname,
+          ConfVars.SHUFFLE_FETCHER_STREAMING_ENABLED.defaultVal);
+    }
+  }
+
   @Test
   public final void testGroupBy3() throws Exception {
     // select l_orderkey as gkey from lineitem group by gkey order by gkey;
@@ -29,6 +29,8 @@ import org.apache.tajo.QueryTestCaseBase;
 import org.apache.tajo.catalog.CatalogService;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.storage.ZoneMap;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
@@ -112,6 +114,44 @@ public class TestInsertQuery extends QueryTestCaseBase {
     executeString("DROP TABLE table1 PURGE");
   }
 
+  @Test
+  public final void testInsertIntoWithZoneMap() throws Exception {
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.STORAGE_ZONEMAP_ENABLED.varname, "true");
+    try {
+      ResultSet res = executeString("create table table1 (col1 int4, col2 int4, col3 float8)");
+      res.close();
+      res = executeFile("testInsertOverwrite.sql");
+      res.close();
+      res = executeFile("testInsertInto.sql");
+      res.close();
+
+      // each data file keeps its zone map after it is renamed with a new sequence number
+      TableDesc desc = catalog.getTableDesc(getCurrentDatabase(), "table1");
+      FileSystem fs = desc.getPath().getFileSystem(conf);
+      int dataFileNum = 0;
+      for (FileStatus eachFile : fs.listStatus(desc.getPath())) {
+        Path path = eachFile.getPath();
+        if (path.getName().startsWith(".")) {
+          assertTrue(path.toString(), ZoneMap.isZoneMapPath(path));
+        } else {
+          assertTrue(path.toString(), fs.exists(ZoneMap.getZoneMapPath(path)));
+          assertNotNull(ZoneMap.read(fs, eachFile));
+          dataFileNum++;
+        }
+      }
+      assertEquals(2, dataFileNum);
+
+      res = executeString("select count(*) from table1 where col3 > 40.0");
+      assertTrue(res.next());
+      assertEquals(4, res.getLong(1));
+      res.close();
+    } finally {
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.STORAGE_ZONEMAP_ENABLED.varname,
+          ConfVars.STORAGE_ZONEMAP_ENABLED.defaultVal);
+      executeString("DROP TABLE table1 PURGE");
+    }
+  }
+
   @Test
   public final void testInsertIntoLocation() throws Exception {
     FileSystem fs = null;
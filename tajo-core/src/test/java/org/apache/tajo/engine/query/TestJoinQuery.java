@@ -18,6 +18,7 @@
 
 package org.apache.tajo.engine.query;
 
+import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.IntegrationTest;
 import org.apache.tajo.QueryTestCaseBase;
 import org.apache.tajo.TajoConstants;
@@ -25,8 +26,19 @@ import org.apache.tajo.TajoTestingCluster;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes.Type;
 import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.engine.planner.PlannerUtil;
+import org.apache.tajo.engine.planner.logical.JoinNode;
+import org.apache.tajo.engine.planner.logical.NodeType;
+import org.apache.tajo.engine.planner.logical.ScanNode;
+import org.apache.tajo.ipc.TajoWorkerProtocol.ShuffleType;
+import org.apache.tajo.master.querymaster.QueryMasterTask;
+import org.apache.tajo.master.querymaster.QueryUnit;
+import org.apache.tajo.master.querymaster.SubQuery;
 import org.apache.tajo.storage.StorageConstants;
 import org.apache.tajo.util.KeyValueSet;
+import org.apache.tajo.util.TajoIdUtils;
+import org.apache.tajo.worker.FetchImpl;
+import org.apache.tajo.worker.TajoWorker;
 import org.junit.AfterClass;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
@@ -35,19 +47,18 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 @Category(IntegrationTest.class)
 @RunWith(Parameterized.class)
 public class TestJoinQuery extends QueryTestCaseBase {
+  private final String joinOption;
 
   public TestJoinQuery(String joinOption) {
     super(TajoConstants.DEFAULT_DATABASE_NAME);
+    this.joinOption = joinOption;
 
     testingCluster.setAllTajoDaemonConfValue(ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname,
         ConfVars.$TEST_BROADCAST_JOIN_ENABLED.defaultVal);
@@ -1135,4 +1146,190 @@ public class TestJoinQuery extends QueryTestCaseBase {
     assertResultSet(res);
     cleanupQuery(res);
   }
+
+  @Test
+  public final void testRuntimeBroadcastJoinOfIntermediates() throws Exception {
+    // Both sides are intermediate data much smaller than the broadcast threshold.
+    String [] joinTypes = {"inner", "left outer", "right outer", "full outer"};
+    boolean symmetricOnly = joinOption.indexOf("NoBroadcast") >= 0;
+
+    try {
+      for (String eachJoinType : joinTypes) {
+        String query =
+            "select a.l_orderkey, a.cnt, b.o_orderkey, b.o_custkey " +
+            "from (select l_orderkey, count(*) as cnt from lineitem where l_orderkey < 3 group by l_orderkey) a " +
+            eachJoinType + " join " +
+            "(select o_orderkey, o_custkey from orders where o_orderkey > 1 group by o_orderkey, o_custkey) b " +
+            "on a.l_orderkey = b.o_orderkey " +
+            "order by a.l_orderkey, b.o_orderkey";
+
+        testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED.varname,
+            "false");
+        ResultSet res = executeString(query);
+        String expected = resultSetToString(res);
+        cleanupQuery(res);
+
+        SubQuery joinSubQuery = getLastJoinSubQuery();
+        assertTrue(eachJoinType, getScatteredBlocks(joinSubQuery).isEmpty());
+
+        testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED.varname,
+            "true");
+        res = executeString(query);
+        assertEquals(eachJoinType, expected, resultSetToString(res));
+        cleanupQuery(res);
+
+        joinSubQuery = getLastJoinSubQuery();
+        Set<ExecutionBlockId> scatteredBlocks = getScatteredBlocks(joinSubQuery);
+        if (symmetricOnly || eachJoinType.equals("full outer")) {
+          assertTrue(eachJoinType, scatteredBlocks.isEmpty());
+          continue;
+        }
+
+        // Only one side is split, and the other side is fetched as a whole by every task.
+        assertEquals(eachJoinType, 1, scatteredBlocks.size());
+        JoinNode joinNode = PlannerUtil.findTopNode(joinSubQuery.getBlock().getPlan(), NodeType.JOIN);
+        ScanNode leftScan = PlannerUtil.findTopNode(joinNode.getLeftChild(), NodeType.SCAN);
+        ScanNode rightScan = PlannerUtil.findTopNode(joinNode.getRightChild(), NodeType.SCAN);
+        if (eachJoinType.equals("left outer")) {
+          assertTrue(scatteredBlocks.contains(TajoIdUtils.createExecutionBlockId(leftScan.getTableName())));
+        } else if (eachJoinType.equals("right outer")) {
+          assertTrue(scatteredBlocks.contains(TajoIdUtils.createExecutionBlockId(rightScan.getTableName())));
+        }
+      }
+    } finally {
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED.varname,
+          ConfVars.$DIST_QUERY_JOIN_RUNTIME_BROADCAST_ENABLED.defaultVal);
+    }
+  }
+
+  @Test
+  public final void testSkewedJoinSplit() throws Exception {
+    KeyValueSet tableOptions = new KeyValueSet();
+    tableOptions.set(StorageConstants.CSVFILE_DELIMITER, StorageConstants.DEFAULT_FIELD_DELIMITER);
+    tableOptions.set(StorageConstants.CSVFILE_NULL, "\\\\N");
+
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+
+    // 90% of rows of skewed_large have id 0.
+    List<String> data = new ArrayList<String>();
+    int bytes = 0;
+    for (int i = 0; i < 1000000; i++) {
+      String row = (i % 10 == 0 ? i : 0) + "|" + i + "name012345678901234567890123456789012345678901234567890";
+      bytes += row.getBytes().length;
+      data.add(row);
+      if (bytes > 6 * 1024 * 1024) {
+        break;
+      }
+    }
+    TajoTestingCluster.createTable("skewed_large", schema, tableOptions, data.toArray(new String[]{}));
+
+    data.clear();
+    for (int i = 0; i < 4000; i++) {
+      data.add((i * 5) + "|" + i + "name");
+    }
+    TajoTestingCluster.createTable("skewed_small", schema, tableOptions, data.toArray(new String[]{}));
+
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname, "false");
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_BROADCAST_JOIN_THRESHOLD.varname, "-1");
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_PARTITION_VOLUME.varname, "1");
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_TASK_VOLUME.varname, "1");
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_SKEW_FACTOR.varname, "2.0");
+    testingCluster.setAllTajoDaemonConfValue(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME.varname, "1");
+
+    String [] joinTypes = {"inner", "left outer", "full outer"};
+    try {
+      for (String eachJoinType : joinTypes) {
+        String query =
+            "select count(*), count(a.id), count(b.id), sum(a.id), sum(b.id) " +
+            "from skewed_large a " + eachJoinType + " join skewed_small b on a.id = b.id";
+
+        testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED.varname, "false");
+        ResultSet res = executeString(query);
+        String expected = resultSetToString(res);
+        cleanupQuery(res);
+        assertTrue(eachJoinType, getScatteredBlocks(getLastJoinSubQuery()).isEmpty());
+
+        testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED.varname, "true");
+        res = executeString(query);
+        assertEquals(eachJoinType, expected, resultSetToString(res));
+        cleanupQuery(res);
+
+        SubQuery joinSubQuery = getLastJoinSubQuery();
+        Set<ExecutionBlockId> scatteredBlocks = getScatteredBlocks(joinSubQuery);
+        if (eachJoinType.equals("full outer")) {
+          // Neither side of a full outer join can be split.
+          assertTrue(scatteredBlocks.isEmpty());
+          continue;
+        }
+
+        // The skewed partition of skewed_large, which is the left side, is split into multiple tasks.
+        JoinNode joinNode = PlannerUtil.findTopNode(joinSubQuery.getBlock().getPlan(), NodeType.JOIN);
+        ScanNode leftScan = PlannerUtil.findTopNode(joinNode.getLeftChild(), NodeType.SCAN);
+        assertEquals(eachJoinType, 1, scatteredBlocks.size());
+        assertTrue(eachJoinType,
+            scatteredBlocks.contains(TajoIdUtils.createExecutionBlockId(leftScan.getTableName())));
+      }
+    } finally {
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$TEST_BROADCAST_JOIN_ENABLED.varname,
+          ConfVars.$TEST_BROADCAST_JOIN_ENABLED.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_BROADCAST_JOIN_THRESHOLD.varname,
+          ConfVars.$DIST_QUERY_BROADCAST_JOIN_THRESHOLD.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_PARTITION_VOLUME.varname,
+          ConfVars.$DIST_QUERY_JOIN_PARTITION_VOLUME.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_TASK_VOLUME.varname,
+          ConfVars.$DIST_QUERY_JOIN_TASK_VOLUME.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_SKEW_FACTOR.varname,
+          ConfVars.$DIST_QUERY_JOIN_SKEW_FACTOR.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.$DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED.varname,
+          ConfVars.$DIST_QUERY_JOIN_SKEW_SPLIT_ENABLED.defaultVal);
+      testingCluster.setAllTajoDaemonConfValue(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME.varname,
+          ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME.defaultVal);
+      executeString("DROP TABLE skewed_large PURGE").close();
+      executeString("DROP TABLE skewed_small PURGE").close();
+    }
+  }
+
+  private static SubQuery getLastJoinSubQuery() {
+    List<QueryMasterTask> qmTasks = new ArrayList<QueryMasterTask>();
+    for (TajoWorker worker : testingCluster.getTajoWorkers()) {
+      qmTasks.addAll(worker.getWorkerContext().getQueryMaster().getFinishedQueryMasterTasks());
+    }
+    assertFalse(qmTasks.isEmpty());
+
+    Collections.sort(qmTasks, new Comparator<QueryMasterTask>() {
+      @Override
+      public int compare(QueryMasterTask o1, QueryMasterTask o2) {
+        long l1 = o1.getQuerySubmitTime();
+        long l2 = o2.getQuerySubmitTime();
+        return l1 < l2 ? - 1 : (l1 > l2 ? 1 : 0);
+      }
+    });
+
+    for (SubQuery eachSubQuery : qmTasks.get(qmTasks.size() - 1).getQuery().getSubQueries()) {
+      if (PlannerUtil.findTopNode(eachSubQuery.getBlock().getPlan(), NodeType.JOIN) != null) {
+        return eachSubQuery;
+      }
+    }
+    fail("There is no join block in the last query");
+    return null;
+  }
+
+  /**
+   * Returns the child blocks whose intermediate data are fetched by ranges of pages, i.e., the split sides.
+   */
+  private static Set<ExecutionBlockId> getScatteredBlocks(SubQuery subQuery) {
+    Set<ExecutionBlockId> scatteredBlocks = new HashSet<ExecutionBlockId>();
+    for (QueryUnit eachQueryUnit : subQuery.getQueryUnits()) {
+      for (Set<FetchImpl> eachFetches : eachQueryUnit.getFetches()) {
+        for (FetchImpl eachFetch : eachFetches) {
+          if (eachFetch.getType() == ShuffleType.SCATTERED_HASH_SHUFFLE) {
+            scatteredBlocks.add(eachFetch.getExecutionBlockId());
+          }
+        }
+      }
+    }
+    return scatteredBlocks;
+  }
 }
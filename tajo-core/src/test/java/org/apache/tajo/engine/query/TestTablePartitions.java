@@ -26,10 +26,12 @@ import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.io.compress.DeflateCodec;
 import org.apache.tajo.*;
+import org.apache.tajo.catalog.CatalogConstants;
 import org.apache.tajo.catalog.CatalogService;
 import org.apache.tajo.catalog.CatalogUtil;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableDesc;
+import org.apache.tajo.catalog.partition.PartitionDesc;
 import org.apache.tajo.common.TajoDataTypes;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.engine.planner.global.DataChannel;
@@ -202,6 +204,90 @@ public class TestTablePartitions extends QueryTestCaseBase {
     res.close();
   }
 
+  @Test
+  public final void testInsertIntoRegisteredPartitions() throws Exception {
+    String tableName = CatalogUtil.normalizeIdentifier("testInsertIntoRegisteredPartitions");
+    ResultSet res = executeString(
+        "create table " + tableName + " (col1 int4, col2 int4) partition by column(key float8) ");
+    res.close();
+    if (testingCluster.isHCatalogStoreRunning()) {
+      return;
+    }
+    assertTrue(catalog.getTableDesc(DEFAULT_DATABASE_NAME, tableName).getMeta()
+        .containsOption(CatalogConstants.PARTITIONS_REGISTERED));
+
+    executeString("insert overwrite into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity < 40").close();
+    assertEquals(3, catalog.getPartitions(DEFAULT_DATABASE_NAME, tableName).size());
+
+    // INSERT INTO keeps the registered partitions, and adds the written ones.
+    executeString("insert into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity > 40").close();
+    executeString("insert into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity = 38").close();
+    Map<String, PartitionDesc> partitions = getRegisteredPartitions(tableName);
+    assertEquals(5, partitions.size());
+    assertEquals(2, partitions.get("key=38.0").getNumRows());
+    assertTrue(catalog.getTableDesc(DEFAULT_DATABASE_NAME, tableName).getMeta()
+        .containsOption(CatalogConstants.PARTITIONS_REGISTERED));
+
+    res = executeString("select count(*) from " + tableName + " where key = 38.0 or key = 45.0");
+    assertTrue(res.next());
+    assertEquals(3, res.getLong(1));
+    res.close();
+
+    // INSERT OVERWRITE replaces only the written partitions.
+    executeString("insert overwrite into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity = 38").close();
+    partitions = getRegisteredPartitions(tableName);
+    assertEquals(5, partitions.size());
+    assertEquals(1, partitions.get("key=38.0").getNumRows());
+
+    res = executeString("select count(*) from " + tableName + " where key > 30.0");
+    assertTrue(res.next());
+    assertEquals(4, res.getLong(1));
+    res.close();
+
+    executeString("DROP TABLE " + tableName + " PURGE").close();
+  }
+
+  @Test
+  public final void testStatsOfRegisteredPartitions() throws Exception {
+    String tableName = CatalogUtil.normalizeIdentifier("testStatsOfRegisteredPartitions");
+    ResultSet res = executeString(
+        "create table " + tableName + " (col1 int4, col2 int4) partition by column(key float8) ");
+    res.close();
+    if (testingCluster.isHCatalogStoreRunning()) {
+      return;
+    }
+
+    // The stats are updated in place, so the registered partitions are kept.
+    executeString("insert into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity < 40").close();
+    TableDesc desc = catalog.getTableDesc(DEFAULT_DATABASE_NAME, tableName);
+    assertEquals(3, catalog.getPartitions(DEFAULT_DATABASE_NAME, tableName).size());
+    assertEquals(3, desc.getStats().getNumRows().longValue());
+    assertEquals(Query.getTableVolume(conf, desc.getPath()), desc.getStats().getNumBytes().longValue());
+
+    executeString("insert into " + tableName
+        + " select l_orderkey, l_partkey, l_quantity from lineitem where l_quantity > 40").close();
+    desc = catalog.getTableDesc(DEFAULT_DATABASE_NAME, tableName);
+    assertEquals(5, catalog.getPartitions(DEFAULT_DATABASE_NAME, tableName).size());
+    assertEquals(5, desc.getStats().getNumRows().longValue());
+    assertEquals(Query.getTableVolume(conf, desc.getPath()), desc.getStats().getNumBytes().longValue());
+    assertTrue(desc.getStats().getNumBytes() > 0);
+
+    executeString("DROP TABLE " + tableName + " PURGE").close();
+  }
+
+  private Map<String, PartitionDesc> getRegisteredPartitions(String tableName) {
+    Map<String, PartitionDesc> partitions = Maps.newHashMap();
+    for (PartitionDesc partition : catalog.getPartitions(DEFAULT_DATABASE_NAME, tableName)) {
+      partitions.put(partition.getName(), partition);
+    }
+    return partitions;
+  }
+
   private void assertPartitionDirectories(TableDesc desc) throws IOException {
     FileSystem fs = FileSystem.get(conf);
     Path path = desc.getPath();
@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.engine.vector;
+
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.engine.eval.*;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestVectorExprCompiler {
+  private static final int CAPACITY = 64;
+
+  private static Schema createSchema() {
+    Schema schema = new Schema();
+    schema.addColumn("i4", Type.INT4);
+    schema.addColumn("i8", Type.INT8);
+    schema.addColumn("f4", Type.FLOAT4);
+    schema.addColumn("f8", Type.FLOAT8);
+    schema.addColumn("t", Type.TEXT);
+    schema.addColumn("b", Type.BOOLEAN);
+    return schema;
+  }
+
+  private static List<Tuple> createTuples(int num) {
+    Random rnd = new Random(1234);
+    List<Tuple> tuples = new ArrayList<Tuple>();
+    for (int i = 0; i < num; i++) {
+      Tuple tuple = new VTuple(6);
+      tuple.put(0, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createInt4(rnd.nextInt(21) - 10));
+      tuple.put(1, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createInt8(rnd.nextInt(5) - 2));
+      tuple.put(2, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createFloat4(rnd.nextInt(7) - 3.5f));
+      tuple.put(3, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createFloat8(rnd.nextDouble() * 4 - 2));
+      tuple.put(4, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createText("text_" + rnd.nextInt(5)));
+      tuple.put(5, rnd.nextInt(10) == 0 ? NullDatum.get() : DatumFactory.createBool(rnd.nextBoolean()));
+      tuples.add(tuple);
+    }
+    return tuples;
+  }
+
+  private static FieldEval field(Schema schema, String name) {
+    return new FieldEval(schema.getColumn(name));
+  }
+
+  private static void assertSameResults(Schema schema, EvalNode eval, Class<? extends VectorExpr> expected) {
+    VectorExpr vectorExpr = VectorExprCompiler.compile(schema, eval, CAPACITY);
+    assertEquals(expected, vectorExpr.getClass());
+
+    ColumnBatch batch = new ColumnBatch(schema, CAPACITY, new int[] {0, 1, 2, 3, 4, 5});
+    // evaluate only even rows in order to test the selection vector
+    ColumnVector evenRows = new ColumnVector(CatalogUtil.newSimpleDataType(Type.BOOLEAN), CAPACITY);
+    for (int i = 0; i < CAPACITY; i++) {
+      evenRows.set(i, DatumFactory.createBool(i % 2 == 0));
+    }
+
+    List<Tuple> tuples = createTuples(CAPACITY * 4);
+    for (int i = 0; i < tuples.size(); i += CAPACITY) {
+      batch.reset();
+      for (int j = i; j < i + CAPACITY; j++) {
+        batch.addTuple(tuples.get(j));
+      }
+      batch.filter(evenRows);
+      assertEquals(CAPACITY / 2, batch.getSelectedSize());
+      ColumnVector result = vectorExpr.eval(batch);
+
+      for (int j = 0; j < batch.getSelectedSize(); j++) {
+        int row = batch.getSelected()[j];
+        Datum expectedDatum = eval.eval(schema, tuples.get(i + row));
+        Datum actual = result.get(row);
+        assertEquals(eval + " at row " + (i + row), expectedDatum.type(), actual.type());
+        if (!expectedDatum.isNull()) {
+          assertEquals(eval + " at row " + (i + row), expectedDatum, actual);
+        }
+      }
+    }
+  }
+
+  @Test
+  public final void testArithmetic() {
+    Schema schema = createSchema();
+    EvalType [] ops = {EvalType.PLUS, EvalType.MINUS, EvalType.MULTIPLY, EvalType.DIVIDE, EvalType.MODULAR};
+    for (EvalType op : ops) {
+      assertSameResults(schema, new BinaryEval(op, field(schema, "i4"), field(schema, "i4")),
+          ArithmeticVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "i4"), field(schema, "i8")),
+          ArithmeticVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "f4"), field(schema, "i4")),
+          ArithmeticVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "f4"), field(schema, "i8")),
+          ArithmeticVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "i8"), field(schema, "f8")),
+          ArithmeticVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "f8"),
+          new ConstEval(DatumFactory.createInt4(3))), ArithmeticVectorExpr.class);
+    }
+
+    assertSameResults(schema, new CastEval(field(schema, "f8"), CatalogUtil.newSimpleDataType(Type.INT8)),
+        CastVectorExpr.class);
+  }
+
+  @Test
+  public final void testPredicates() {
+    Schema schema = createSchema();
+    EvalType [] ops = {EvalType.EQUAL, EvalType.NOT_EQUAL, EvalType.LTH, EvalType.LEQ, EvalType.GTH, EvalType.GEQ};
+    for (EvalType op : ops) {
+      assertSameResults(schema, new BinaryEval(op, field(schema, "i4"), field(schema, "i8")),
+          ComparisonVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "f4"), field(schema, "i4")),
+          ComparisonVectorExpr.class);
+      assertSameResults(schema, new BinaryEval(op, field(schema, "f8"), field(schema, "f4")),
+          ComparisonVectorExpr.class);
+    }
+
+    EvalNode i4Positive = new BinaryEval(EvalType.GTH, field(schema, "i4"), new ConstEval(DatumFactory.createInt4(0)));
+    assertSameResults(schema, new BinaryEval(EvalType.AND, i4Positive, field(schema, "b")), LogicalVectorExpr.class);
+    assertSameResults(schema, new BinaryEval(EvalType.OR, i4Positive, field(schema, "b")), LogicalVectorExpr.class);
+    assertSameResults(schema, new NotEval(field(schema, "b")), NotVectorExpr.class);
+    assertSameResults(schema, new IsNullEval(false, field(schema, "t")), IsNullVectorExpr.class);
+    assertSameResults(schema, new IsNullEval(true, field(schema, "f4")), IsNullVectorExpr.class);
+  }
+
+  @Test
+  public final void testRowFallback() {
+    Schema schema = createSchema();
+    EvalNode textEquals = new BinaryEval(EvalType.EQUAL, field(schema, "t"),
+        new ConstEval(DatumFactory.createText("text_1")));
+    assertSameResults(schema, textEquals, RowFallbackVectorExpr.class);
+    // a vectorized operator on top of a fallback expression
+    assertSameResults(schema, new BinaryEval(EvalType.AND, textEquals, field(schema, "b")),
+        LogicalVectorExpr.class);
+    // INT8 + FLOAT4 results in FLOAT8 although its declared type is FLOAT4.
+    assertSameResults(schema, new BinaryEval(EvalType.PLUS, field(schema, "i8"), field(schema, "f4")),
+        RowFallbackVectorExpr.class);
+  }
+}
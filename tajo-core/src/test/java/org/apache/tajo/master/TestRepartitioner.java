@@ -24,6 +24,7 @@ import org.apache.tajo.ExecutionBlockId;
 import org.apache.tajo.LocalTajoTestingUtility;
 import org.apache.tajo.QueryId;
 import org.apache.tajo.TestTajoIds;
+import org.apache.tajo.algebra.JoinType;
 import org.apache.tajo.ipc.TajoWorkerProtocol;
 import org.apache.tajo.master.querymaster.QueryUnit;
 import org.apache.tajo.master.querymaster.QueryUnit.IntermediateEntry;
@@ -40,6 +41,7 @@ import java.util.*;
 import static junit.framework.Assert.assertEquals;
 import static org.apache.tajo.ipc.TajoWorkerProtocol.ShuffleType;
 import static org.apache.tajo.master.querymaster.Repartitioner.FetchGroupMeta;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -488,6 +490,54 @@ public class TestRepartitioner {
     assertNotEquals(expected, fetch2);
   }
 
+  @Test
+  public void testFindSkewedPartitions() {
+    Map<Integer, Long> partitionVolumes = new HashMap<Integer, Long>();
+    for (int i = 0; i < 10; i++) {
+      partitionVolumes.put(i, 100L + i);
+    }
+    assertTrue(Repartitioner.findSkewedPartitions(partitionVolumes, 4.0f, 0).isEmpty());
+
+    partitionVolumes.put(3, 5000L);
+    partitionVolumes.put(7, 450L);
+    assertEquals(Sets.newHashSet(3, 7), Repartitioner.findSkewedPartitions(partitionVolumes, 4.0f, 0));
+
+    // a skewed partition should be larger than the minimum volume
+    assertEquals(Sets.newHashSet(3), Repartitioner.findSkewedPartitions(partitionVolumes, 4.0f, 1000));
+
+    // a single partition cannot be skewed
+    Map<Integer, Long> singlePartition = new HashMap<Integer, Long>();
+    singlePartition.put(0, 5000L);
+    assertTrue(Repartitioner.findSkewedPartitions(singlePartition, 4.0f, 0).isEmpty());
+  }
+
+  @Test
+  public void testSplittableJoinSides() {
+    // the side whose unmatched rows are preserved or filtered can be split.
+    assertTrue(Repartitioner.isLeftSplittable(JoinType.INNER));
+    assertTrue(Repartitioner.isRightSplittable(JoinType.INNER));
+    assertTrue(Repartitioner.isLeftSplittable(JoinType.CROSS));
+    assertTrue(Repartitioner.isRightSplittable(JoinType.CROSS));
+
+    assertTrue(Repartitioner.isLeftSplittable(JoinType.LEFT_OUTER));
+    assertFalse(Repartitioner.isRightSplittable(JoinType.LEFT_OUTER));
+    assertTrue(Repartitioner.isLeftSplittable(JoinType.LEFT_SEMI));
+    assertFalse(Repartitioner.isRightSplittable(JoinType.LEFT_SEMI));
+    assertTrue(Repartitioner.isLeftSplittable(JoinType.LEFT_ANTI));
+    assertFalse(Repartitioner.isRightSplittable(JoinType.LEFT_ANTI));
+
+    assertFalse(Repartitioner.isLeftSplittable(JoinType.RIGHT_OUTER));
+    assertTrue(Repartitioner.isRightSplittable(JoinType.RIGHT_OUTER));
+    assertFalse(Repartitioner.isLeftSplittable(JoinType.RIGHT_SEMI));
+    assertTrue(Repartitioner.isRightSplittable(JoinType.RIGHT_SEMI));
+    assertFalse(Repartitioner.isLeftSplittable(JoinType.RIGHT_ANTI));
+    assertTrue(Repartitioner.isRightSplittable(JoinType.RIGHT_ANTI));
+
+    // both sides of a full outer join are preserved, so neither side is split or broadcasted.
+    assertFalse(Repartitioner.isLeftSplittable(JoinType.FULL_OUTER));
+    assertFalse(Repartitioner.isRightSplittable(JoinType.FULL_OUTER));
+  }
+
   private static void assertFetchImpl(FetchImpl [] expected, Map<String, List<FetchImpl>>[] result) {
     Set<FetchImpl> expectedURLs = Sets.newHashSet();
 
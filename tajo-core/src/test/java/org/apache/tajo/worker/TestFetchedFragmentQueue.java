@@ -0,0 +1,89 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.worker;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TestFetchedFragmentQueue {
+
+  @Test
+  public void testTakeWhileFetching() throws Exception {
+    final int fetchNum = 10;
+    final FetchedFragmentQueue queue = new FetchedFragmentQueue("t1", fetchNum);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> consumer = executor.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          int taken = 0;
+          while (queue.take() != null) {
+            taken++;
+          }
+          return taken;
+        }
+      });
+
+      for (int i = 0; i < fetchNum; i++) {
+        // an empty fetch does not add any fragment
+        if (i % 3 != 0) {
+          queue.addFragment(new FileFragment("t1", new Path("file:///tmp/in_" + i), 0, 10));
+        }
+        queue.fetchFinished();
+        Thread.sleep(10);
+      }
+
+      assertEquals(6, consumer.get().intValue());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFetchFailure() throws Exception {
+    FetchedFragmentQueue queue = new FetchedFragmentQueue("t1", 2);
+    queue.addFragment(new FileFragment("t1", new Path("file:///tmp/in_0"), 0, 10));
+    queue.fetchFinished();
+    assertNotNull(queue.take());
+
+    queue.fetchFailed();
+    try {
+      queue.take();
+      fail("A failed fetch must be reported to the scanner");
+    } catch (IOException e) {
+      assertTrue(e.getMessage().contains("t1"));
+    }
+  }
+
+  @Test
+  public void testNoFetch() throws Exception {
+    FetchedFragmentQueue queue = new FetchedFragmentQueue("t1", 0);
+    assertNull(queue.take());
+  }
+}
@@ -39,6 +39,8 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -114,6 +116,58 @@ public class TestFetcher {
     assertEquals(TajoProtos.FetcherState.FETCH_FINISHED, fetcher.getState());
   }
 
+  @Test
+  public void testBatchedGet() throws IOException {
+    Random rnd = new Random();
+    QueryId queryId = QueryIdFactory.NULL_QUERY_ID;
+    String sid = "1";
+    FileSystem fs = FileSystem.getLocal(conf);
+
+    List<URI> uris = new ArrayList<URI>();
+    long expectedLen = 0;
+    for (int partId = 1; partId <= 3; partId++) {
+      int partParentId = HashShuffleAppenderManager.getPartParentId(partId, conf);
+      String dataPath = conf.getVar(ConfVars.WORKER_TEMPORAL_DIR) +
+          queryId.toString() + "/output/" + sid + "/hash-shuffle/" + partParentId + "/" + partId;
+
+      FSDataOutputStream stream = fs.create(new Path(dataPath), true);
+      for (int i = 0; i < 100; i++) {
+        String data = "" + rnd.nextInt();
+        stream.write(data.getBytes());
+      }
+      stream.close();
+
+      long fileLen = fs.getFileStatus(new Path(dataPath)).getLen();
+      String params;
+      if (partId == 2) { // only a part of the second partition
+        params = String.format("qid=%s&sid=%s&p=%s&type=%s&offset=%d&length=%d", queryId, sid, partId, "h", 10, 20);
+        expectedLen += 20;
+      } else {
+        params = String.format("qid=%s&sid=%s&p=%s&type=%s", queryId, sid, partId, "h");
+        expectedLen += fileLen;
+      }
+      uris.add(URI.create("http://127.0.0.1:" + pullServerService.getPort() + "/?" + params));
+    }
+    // a partition which does not exist is skipped
+    uris.add(URI.create("http://127.0.0.1:" + pullServerService.getPort() + "/?" +
+        String.format("qid=%s&sid=%s&p=%s&type=%s", queryId, sid, 100, "h")));
+
+    assertEquals(4, Task.batchFetchURIs(uris, 1).size());
+    assertEquals(2, Task.batchFetchURIs(uris, 2).size());
+
+    List<URI> batched = Task.batchFetchURIs(uris, 64);
+    assertEquals(1, batched.size());
+
+    FileChunk storeChunk = new FileChunk(new File(OUTPUT_DIR + "batched"), 0, 0);
+    storeChunk.setFromRemote(true);
+    final Fetcher fetcher = new Fetcher(conf, batched.get(0), storeChunk, channelFactory, timer);
+    FileChunk chunk = fetcher.get();
+    assertNotNull(chunk);
+
+    assertEquals(TajoProtos.FetcherState.FETCH_FINISHED, fetcher.getState());
+    assertEquals(expectedLen, fs.getFileStatus(new Path(OUTPUT_DIR, "batched")).getLen());
+  }
+
   @Test
   public void testAdjustFetchProcess() {
     assertEquals(0.0f, Task.adjustFetchProcess(0, 0), 0);
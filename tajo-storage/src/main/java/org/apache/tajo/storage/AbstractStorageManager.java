@@ -33,14 +33,18 @@ import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.Fragment;
 import org.apache.tajo.storage.fragment.FragmentConvertor;
+import org.apache.tajo.storage.parquet.TajoParquetReader;
 import org.apache.tajo.util.Bytes;
 import org.apache.tajo.util.FileUtil;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.metadata.BlockMetaData;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.tajo.catalog.proto.CatalogProtos.FragmentProto;
 
@@ -53,6 +57,10 @@ public abstract class AbstractStorageManager {
   protected final boolean blocksMetadataEnabled;
   private static final HdfsVolumeId zeroVolumeId = new HdfsVolumeId(Bytes.toBytes(0));
 
+  /** file listings and block locations of input paths. It is NULL if the cache is disabled. */
+  private final FileListingCache listingCache;
+  private static ExecutorService splitPool;
+
   /**
    * Cache of scanner handlers for each storage type.
    */
@@ -84,6 +92,9 @@ public abstract class AbstractStorageManager {
         DFSConfigKeys.DFS_HDFS_BLOCKS_METADATA_ENABLED_DEFAULT);
     if (!this.blocksMetadataEnabled)
       LOG.warn("does not support block metadata. ('dfs.datanode.hdfs-blocks-metadata.enabled')");
+
+    int listingCacheSize = conf.getIntVar(TajoConf.ConfVars.STORAGE_SPLIT_LISTING_CACHE_MAX_ENTRIES);
+    this.listingCache = listingCacheSize > 0 ? new FileListingCache(listingCacheSize) : null;
   }
 
   public Scanner getFileScanner(TableMeta meta, Schema schema, Path path)
@@ -475,6 +486,78 @@ public abstract class AbstractStorageManager {
     return new FileFragment(fragmentId, file, start, length, hosts);
   }
 
+  /**
+   * Makes the splits of a Parquet file which are aligned to row groups. Consecutive row groups are packed into a
+   * split up to the split size, and the split is assigned to the hosts which store most of its bytes.
+   */
+  protected List<FileFragment> makeRowGroupSplits(String fragmentId, FileSystem fs, FileStatus file,
+                                                  BlockLocation[] blkLocations) throws IOException {
+    Path path = file.getPath();
+    List<FileFragment> splits = Lists.newArrayList();
+
+    List<BlockMetaData> rowGroups;
+    try {
+      rowGroups = ParquetFileReader.readFooter(fs.getConf(), file).getBlocks();
+    } catch (IOException e) {
+      LOG.warn("Cannot read the footer of " + path + ", so it is not split: " + e.getMessage());
+      splits.add(makeNonSplit(fragmentId, path, 0, file.getLen(), blkLocations));
+      return splits;
+    }
+    if (rowGroups.isEmpty()) {
+      splits.add(makeNonSplit(fragmentId, path, 0, file.getLen(), blkLocations));
+      return splits;
+    }
+
+    long splitSize = Math.max(Math.max(getMinSplitSize(), 1), file.getBlockSize());
+    long splitStart = -1;
+    long splitEnd = -1;
+    for (BlockMetaData rowGroup : rowGroups) {
+      long start = TajoParquetReader.getStartingPos(rowGroup);
+      long end = TajoParquetReader.getEndingPos(rowGroup);
+      if (splitStart >= 0 && end - splitStart > splitSize) {
+        splits.add(makeSplit(fragmentId, path, splitStart, splitEnd - splitStart,
+            getMostLocalHosts(blkLocations, splitStart, splitEnd)));
+        splitStart = -1;
+      }
+      if (splitStart < 0) {
+        splitStart = start;
+      }
+      splitEnd = Math.max(splitEnd, end);
+    }
+    splits.add(makeSplit(fragmentId, path, splitStart, splitEnd - splitStart,
+        getMostLocalHosts(blkLocations, splitStart, splitEnd)));
+    return splits;
+  }
+
+  /**
+   * Gets the hosts which store most bytes of the range [start, end) of a file.
+   */
+  private String[] getMostLocalHosts(BlockLocation[] blkLocations, long start, long end) throws IOException {
+    final Map<String, Long> hostsBytesMap = new HashMap<String, Long>();
+    for (BlockLocation blockLocation : blkLocations) {
+      long overlap = Math.min(end, blockLocation.getOffset() + blockLocation.getLength()) -
+          Math.max(start, blockLocation.getOffset());
+      if (overlap <= 0) {
+        continue;
+      }
+      for (String host : blockLocation.getHosts()) {
+        Long bytes = hostsBytesMap.get(host);
+        hostsBytesMap.put(host, bytes == null ? overlap : bytes + overlap);
+      }
+    }
+
+    List<String> hosts = new ArrayList<String>(hostsBytesMap.keySet());
+    Collections.sort(hosts, new Comparator<String>() {
+      @Override
+      public int compare(String h1, String h2) {
+        return hostsBytesMap.get(h2).compareTo(hostsBytesMap.get(h1));
+      }
+    });
+
+    int hostNum = blkLocations.length > 0 ? Math.min(blkLocations[0].getHosts().length, hosts.size()) : 0;
+    return hosts.subList(0, hostNum).toArray(new String[hostNum]);
+  }
+
   /**
    * Get the minimum split size
    *
@@ -524,95 +607,237 @@ public abstract class AbstractStorageManager {
     return volumeMap;
   }
   /**
-   * Generate the list of files and make them into FileSplits.
+   * The splits of an input path. The splits which need volume ids are kept apart with their block locations.
+   */
+  private static class InputSplits {
+    final List<FileFragment> splits = Lists.newArrayList();
+    final List<FileFragment> volumeSplits = Lists.newArrayList();
+    final List<BlockLocation> blockLocations = Lists.newArrayList();
+  }
+
+  /**
+   * Generate the list of files and make them into FileSplits. If there are more than one input paths, the splits
+   * of the paths are generated in parallel by at most tajo.storage.split.thread-num threads.
    *
    * @throws IOException
    */
-  public List<FileFragment> getSplits(String tableName, TableMeta meta, Schema schema, Path... inputs)
+  public List<FileFragment> getSplits(final String tableName, final TableMeta meta, final Schema schema,
+                                      Path... inputs)
       throws IOException {
     // generate splits'
 
+    List<InputSplits> inputSplitsList = Lists.newArrayList();
+    if (inputs.length > 1) {
+      List<Future<InputSplits>> futures = Lists.newArrayList();
+      for (final Path p : inputs) {
+        futures.add(getSplitPool().submit(new Callable<InputSplits>() {
+          @Override
+          public InputSplits call() throws IOException {
+            return getSplits(tableName, meta, schema, p);
+          }
+        }));
+      }
+
+      try {
+        for (Future<InputSplits> future : futures) {
+          inputSplitsList.add(future.get());
+        }
+      } catch (InterruptedException e) {
+        for (Future<InputSplits> future : futures) {
+          future.cancel(true);
+        }
+        throw new IOException(e);
+      } catch (ExecutionException e) {
+        for (Future<InputSplits> future : futures) {
+          future.cancel(true);
+        }
+        if (e.getCause() instanceof IOException) {
+          throw (IOException) e.getCause();
+        }
+        throw new IOException(e.getCause());
+      }
+    } else {
+      for (Path p : inputs) {
+        inputSplitsList.add(getSplits(tableName, meta, schema, p));
+      }
+    }
+
     List<FileFragment> splits = Lists.newArrayList();
     List<FileFragment> volumeSplits = Lists.newArrayList();
     List<BlockLocation> blockLocations = Lists.newArrayList();
+    for (InputSplits inputSplits : inputSplitsList) {
+      splits.addAll(inputSplits.splits);
+      volumeSplits.addAll(inputSplits.volumeSplits);
+      blockLocations.addAll(inputSplits.blockLocations);
+    }
 
-    for (Path p : inputs) {
-      FileSystem fs = p.getFileSystem(conf);
-      ArrayList<FileStatus> files = Lists.newArrayList();
-      if (fs.isFile(p)) {
-        files.addAll(Lists.newArrayList(fs.getFileStatus(p)));
+    // Combine original fileFragments with new VolumeId information
+    setVolumeMeta(volumeSplits, blockLocations);
+    splits.addAll(volumeSplits);
+    LOG.info("Total # of splits: " + splits.size());
+    return splits;
+  }
+
+  private InputSplits getSplits(String tableName, TableMeta meta, Schema schema, Path p) throws IOException {
+    InputSplits result = new InputSplits();
+    FileSystem fs = p.getFileSystem(conf);
+
+    FileStatus status = null;
+    try {
+      status = fs.getFileStatus(p);
+    } catch (FileNotFoundException e) {
+      // it may be a glob pattern.
+    }
+
+    // other file systems, such as the local file system or S3, do not keep precise modification times of directories
+    boolean cacheable = listingCache != null && fs instanceof DistributedFileSystem;
+    if (status != null && (status.isDirectory() || cacheable)) {
+      // the block locations of the files in a directory are fetched together with the listing
+      List<LocatedFileStatus> files;
+      if (status.isDirectory()) {
+        if (cacheable) {
+          files = listingCache.listLocatedStatus(fs, status, hiddenFileFilter);
+        } else {
+          files = listLocatedStatus(fs, status.getPath(), hiddenFileFilter);
+        }
+      } else {
+        files = Lists.newArrayList(listingCache.getLocatedStatus(fs, status));
+      }
+
+      for (LocatedFileStatus file : files) {
+        BlockLocation[] blkLocations = null;
+        if (file.getLen() > 0) {
+          blkLocations = file.getBlockLocations();
+          if (blkLocations == null) { // a file system may not give the locations of a non-regular file
+            blkLocations = fs.getFileBlockLocations(file, 0, file.getLen());
+          }
+        }
+        makeSplits(tableName, meta, schema, fs, file, blkLocations, result);
+      }
+    } else {
+      List<FileStatus> files;
+      if (status != null && status.isFile()) {
+        files = Lists.newArrayList(status);
       } else {
-        files.addAll(listStatus(p));
+        files = listStatus(p);
       }
 
-      int previousSplitSize = splits.size();
       for (FileStatus file : files) {
-        Path path = file.getPath();
-        long length = file.getLen();
-        if (length > 0) {
-          // Get locations of blocks of file
-          BlockLocation[] blkLocations = fs.getFileBlockLocations(file, 0, length);
-          boolean splittable = isSplittable(meta, schema, path, file);
-          if (blocksMetadataEnabled && fs instanceof DistributedFileSystem) {
-
-            if (splittable) {
-              for (BlockLocation blockLocation : blkLocations) {
-                volumeSplits.add(makeSplit(tableName, path, blockLocation));
-              }
-              blockLocations.addAll(Arrays.asList(blkLocations));
-
-            } else { // Non splittable
-              long blockSize = blkLocations[0].getLength();
-              if (blockSize >= length) {
-                blockLocations.addAll(Arrays.asList(blkLocations));
-                for (BlockLocation blockLocation : blkLocations) {
-                  volumeSplits.add(makeSplit(tableName, path, blockLocation));
-                }
-              } else {
-                splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
-              }
-            }
+        BlockLocation[] blkLocations = file.getLen() > 0 ? fs.getFileBlockLocations(file, 0, file.getLen()) : null;
+        makeSplits(tableName, meta, schema, fs, file, blkLocations, result);
+      }
+    }
 
-          } else {
-            if (splittable) {
-
-              long minSize = Math.max(getMinSplitSize(), 1);
-
-              long blockSize = file.getBlockSize(); // s3n rest api contained block size but blockLocations is one
-              long splitSize = Math.max(minSize, blockSize);
-              long bytesRemaining = length;
-
-              // for s3
-              while (((double) bytesRemaining) / splitSize > SPLIT_SLOP) {
-                int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
-                splits.add(makeSplit(tableName, path, length - bytesRemaining, splitSize,
-                    blkLocations[blkIndex].getHosts()));
-                bytesRemaining -= splitSize;
-              }
-              if (bytesRemaining > 0) {
-                int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
-                splits.add(makeSplit(tableName, path, length - bytesRemaining, bytesRemaining,
-                    blkLocations[blkIndex].getHosts()));
-              }
-            } else { // Non splittable
-              splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
+    if(LOG.isDebugEnabled()){
+      LOG.debug("# of splits per partition: " + (result.splits.size() + result.volumeSplits.size()));
+    }
+    return result;
+  }
+
+  /**
+   * Lists the files in a directory with their block locations.
+   *
+   * @param fs The file system of the directory
+   * @param dir The path of the directory
+   * @param filter The filter for files
+   * @return The files accepted by the filter
+   */
+  static List<LocatedFileStatus> listLocatedStatus(FileSystem fs, Path dir, PathFilter filter) throws IOException {
+    List<LocatedFileStatus> files = new ArrayList<LocatedFileStatus>();
+    RemoteIterator<LocatedFileStatus> it = fs.listLocatedStatus(dir);
+    while (it.hasNext()) {
+      LocatedFileStatus file = it.next();
+      if (filter.accept(file.getPath())) {
+        files.add(file);
+      }
+    }
+    return files;
+  }
+
+  private void makeSplits(String tableName, TableMeta meta, Schema schema, FileSystem fs, FileStatus file,
+                          BlockLocation[] blkLocations, InputSplits result) throws IOException {
+    List<FileFragment> splits = result.splits;
+    List<FileFragment> volumeSplits = result.volumeSplits;
+    List<BlockLocation> blockLocations = result.blockLocations;
+
+    Path path = file.getPath();
+    long length = file.getLen();
+    if (length > 0) {
+      boolean splittable = isSplittable(meta, schema, path, file);
+      if (splittable && meta.getStoreType() == CatalogProtos.StoreType.PARQUET) {
+        splits.addAll(makeRowGroupSplits(tableName, fs, file, blkLocations));
+
+      } else if (blocksMetadataEnabled && fs instanceof DistributedFileSystem) {
+
+        if (splittable) {
+          for (BlockLocation blockLocation : blkLocations) {
+            volumeSplits.add(makeSplit(tableName, path, blockLocation));
+          }
+          blockLocations.addAll(Arrays.asList(blkLocations));
+
+        } else { // Non splittable
+          long blockSize = blkLocations[0].getLength();
+          if (blockSize >= length) {
+            blockLocations.addAll(Arrays.asList(blkLocations));
+            for (BlockLocation blockLocation : blkLocations) {
+              volumeSplits.add(makeSplit(tableName, path, blockLocation));
             }
+          } else {
+            splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
           }
-        } else {
-          //for zero length files
-          splits.add(makeSplit(tableName, path, 0, length));
+        }
+
+      } else {
+        if (splittable) {
+
+          long minSize = Math.max(getMinSplitSize(), 1);
+
+          long blockSize = file.getBlockSize(); // s3n rest api contained block size but blockLocations is one
+          long splitSize = Math.max(minSize, blockSize);
+          long bytesRemaining = length;
+
+          // for s3
+          while (((double) bytesRemaining) / splitSize > SPLIT_SLOP) {
+            int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
+            splits.add(makeSplit(tableName, path, length - bytesRemaining, splitSize,
+                blkLocations[blkIndex].getHosts()));
+            bytesRemaining -= splitSize;
+          }
+          if (bytesRemaining > 0) {
+            int blkIndex = getBlockIndex(blkLocations, length - bytesRemaining);
+            splits.add(makeSplit(tableName, path, length - bytesRemaining, bytesRemaining,
+                blkLocations[blkIndex].getHosts()));
+          }
+        } else { // Non splittable
+          splits.add(makeNonSplit(tableName, path, 0, length, blkLocations));
         }
       }
-      if(LOG.isDebugEnabled()){
-        LOG.debug("# of splits per partition: " + (splits.size() - previousSplitSize));
-      }
+    } else {
+      //for zero length files
+      splits.add(makeSplit(tableName, path, 0, length));
     }
+  }
 
-    // Combine original fileFragments with new VolumeId information
-    setVolumeMeta(volumeSplits, blockLocations);
-    splits.addAll(volumeSplits);
-    LOG.info("Total # of splits: " + splits.size());
-    return splits;
+  /**
+   * @return The pool which generates the splits of input paths in parallel. It is shared by all storage managers.
+   */
+  private ExecutorService getSplitPool() {
+    synchronized (AbstractStorageManager.class) {
+      if (splitPool == null) {
+        int threadNum = Math.max(1, conf.getIntVar(TajoConf.ConfVars.STORAGE_SPLIT_THREAD_NUM));
+        splitPool = Executors.newFixedThreadPool(threadNum, new ThreadFactory() {
+          private final AtomicInteger seq = new AtomicInteger();
+
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "SplitGenerator-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+      }
+      return splitPool;
+    }
   }
 
   private void setVolumeMeta(List<FileFragment> splits, final List<BlockLocation> blockLocations)
@@ -126,6 +126,8 @@ public class CSVFile {
         fos = fs.create(compressedPath);
         deflateFilter = codec.createOutputStream(fos, compressor);
         outputStream = new DataOutputStream(deflateFilter);
+        // a compressed file is not splittable, so its zone map is useless.
+        zoneMapWriter = null;
 
       } else {
         if (fs.exists(path)) {
@@ -181,6 +183,7 @@ public class CSVFile {
       if(bufferedBytes > BUFFER_SIZE){
         flushBuffer();
       }
+      addZoneMapRow(tuple);
       // Statistical section
       if (enabledStats) {
         stats.incrementRow();
@@ -230,6 +233,7 @@ public class CSVFile {
           compressor = null;
         }
       }
+      writeZoneMap();
     }
 
     @Override
@@ -294,6 +298,8 @@ public class CSVFile {
     private ArrayList<Integer> startOffsets;
     private NonSyncByteArrayOutputStream buffer;
     private SerializerDeserializer serde;
+    // for lazy tokenization, it is reused across rows.
+    private TextLineTuple lineTuple;
 
     @Override
     public void init() throws IOException {
@@ -306,7 +312,13 @@ public class CSVFile {
       if(fs == null) {
         fs = FileScanner.getFileSystem((TajoConf)conf, fragment.getPath());
       }
-      if(fis == null) fis = fs.open(fragment.getPath());
+      if(fis == null) {
+        fis = fs.open(fragment.getPath());
+        if (isReadAheadEnabled()) {
+          // a line at the end of this fragment can be read beyond the end of the fragment.
+          fis = readAheadIfEnabled(fis, fragment.getStartKey(), fs.getFileStatus(fragment.getPath()).getLen());
+        }
+      }
 
       recordCount = 0;
       pos = startOffset = fragment.getStartKey();
@@ -340,10 +352,8 @@ public class CSVFile {
         targets = schema.toArray();
       }
 
-      targetColumnIndexes = new int[targets.length];
-      for (int i = 0; i < targets.length; i++) {
-        targetColumnIndexes[i] = schema.getColumnId(targets[i].getQualifiedName());
-      }
+      // the columns referred by the search condition are also split from each line
+      targetColumnIndexes = getReadColumnIds();
 
       try {
         String serdeClass = this.meta.getOption(StorageConstants.CSVFILE_SERDE,
@@ -356,6 +366,9 @@ public class CSVFile {
 
       super.init();
       Arrays.sort(targetColumnIndexes);
+      if (((TajoConf) conf).getBoolVar(TajoConf.ConfVars.CSVFILE_LAZY_TOKENIZE_ENABLED)) {
+        lineTuple = new TextLineTuple(schema, nullChars, serde);
+      }
       if (LOG.isDebugEnabled()) {
         LOG.debug("CSVScanner open:" + fragment.getPath() + "," + startOffset + "," + end +
             "," + fs.getFileStatus(fragment.getPath()).getLen());
@@ -452,27 +465,39 @@ public class CSVFile {
     @Override
     public Tuple next() throws IOException {
       try {
-        if (currentIdx == validIdx) {
-          if (eof) {
-            return null;
-          } else {
+        // If a search condition is given, LazyTuple deserializes only the fields referred by the condition
+        // until a row satisfies it.
+        Tuple tuple;
+        do {
+          if (currentIdx == validIdx) {
+            if (eof) {
+              return null;
+            }
             page();
-
-            if(currentIdx == validIdx){
+            if (currentIdx == validIdx) {
               return null;
             }
           }
-        }
 
-        long offset = -1;
-        if(!isCompress()){
-          offset = fileOffsets.get(currentIdx);
-        }
+          long offset = -1;
+          if(!isCompress()){
+            offset = fileOffsets.get(currentIdx);
+          }
 
-        byte[][] cells = BytesUtils.splitPreserveAllTokens(buffer.getData(), startOffsets.get(currentIdx),
-            rowLengthList.get(currentIdx), delimiter, targetColumnIndexes);
-        currentIdx++;
-        return new LazyTuple(schema, cells, offset, nullChars, serde);
+          if (lineTuple != null) {
+            lineTuple.reset(buffer.getData(), offset);
+            tokenize(buffer.getData(), startOffsets.get(currentIdx), rowLengthList.get(currentIdx), lineTuple);
+            currentIdx++;
+            tuple = lineTuple;
+          } else {
+            byte[][] cells = BytesUtils.splitPreserveAllTokens(buffer.getData(), startOffsets.get(currentIdx),
+                rowLengthList.get(currentIdx), delimiter, targetColumnIndexes);
+            currentIdx++;
+            tuple = new LazyTuple(schema, cells, offset, nullChars, serde);
+          }
+        } while (filter != null && !filter.isMatched(tuple));
+
+        return tuple;
       } catch (Throwable t) {
         LOG.error("Tuple list length: " + (fileOffsets != null ? fileOffsets.size() : 0), t);
         LOG.error("Tuple list current index: " + currentIdx, t);
@@ -480,6 +505,32 @@ public class CSVFile {
       }
     }
 
+    /**
+     * Finds the ranges of the target fields in a line without copying them. It stops at the last target field.
+     * A target field beyond the end of the line is set to a null datum.
+     */
+    private void tokenize(byte[] bytes, int start, int length, TextLineTuple tuple) {
+      int end = start + length;
+      int fieldId = 0;
+      int fieldStart = start;
+      int targetIdx = 0;
+
+      for (int i = start; i <= end && targetIdx < targetColumnIndexes.length; i++) {
+        if (i == end || bytes[i] == delimiter) {
+          if (targetColumnIndexes[targetIdx] == fieldId) {
+            tuple.setField(fieldId, fieldStart, i);
+            targetIdx++;
+          }
+          fieldId++;
+          fieldStart = i + 1;
+        }
+      }
+
+      for (; targetIdx < targetColumnIndexes.length; targetIdx++) {
+        tuple.put(targetColumnIndexes[targetIdx], NullDatum.get());
+      }
+    }
+
     private boolean isCompress() {
       return codec != null;
     }
@@ -524,11 +575,7 @@ public class CSVFile {
 
     @Override
     public boolean isSelectable() {
-      return false;
-    }
-
-    @Override
-    public void setSearchCondition(Object expr) {
+      return true;
     }
 
     @Override
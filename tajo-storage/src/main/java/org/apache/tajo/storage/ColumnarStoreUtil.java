@@ -0,0 +1,471 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.CompressionInputStream;
+import org.apache.hadoop.io.compress.CompressionOutputStream;
+import org.apache.hadoop.io.compress.Compressor;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.IntervalDatum;
+import org.apache.tajo.storage.compress.CodecPool;
+import org.apache.tajo.storage.exception.UnknownDataTypeException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-major block format for transferring many rows at once.
+ *
+ * A block consists of the number of rows followed by one section per column. Each section starts with
+ * a null bitmap flag (and the bitmap itself if the column contains nulls) and an encoding flag.
+ * Non-null values are then written back-to-back in the same binary layout as {@link RowStoreUtil}.
+ * TEXT columns with a low cardinality are dictionary-encoded.
+ */
+public class ColumnarStoreUtil {
+  private static final byte PLAIN_ENCODING = 0;
+  private static final byte DICTIONARY_ENCODING = 1;
+
+  /** the maximum number of distinct values of a dictionary */
+  private static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  public static ColumnarStoreEncoder createEncoder(Schema schema) {
+    return new ColumnarStoreEncoder(schema);
+  }
+
+  public static ColumnarStoreDecoder createDecoder(Schema schema) {
+    return new ColumnarStoreDecoder(schema);
+  }
+
+  /**
+   * @return true if all columns of the schema can be encoded in this format. INET6 is not supported yet.
+   */
+  public static boolean isSupported(Schema schema) {
+    for (Column column : schema.getColumns()) {
+      switch (column.getDataType().getType()) {
+        case NULL_TYPE:
+        case BOOLEAN:
+        case BIT:
+        case CHAR:
+        case INT2:
+        case INT4:
+        case INT8:
+        case FLOAT4:
+        case FLOAT8:
+        case TEXT:
+        case BLOB:
+        case DATE:
+        case TIME:
+        case TIMESTAMP:
+        case INTERVAL:
+        case INET4:
+          break;
+        default:
+          return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds a compression codec by its name (e.g., deflate, gzip, lz4 or snappy) or class name.
+   *
+   * @return A codec if it is available in this JVM. Otherwise, null.
+   */
+  public static CompressionCodec getCodec(Configuration conf, String codecName) {
+    if (codecName == null || codecName.isEmpty()) {
+      return null;
+    }
+
+    CompressionCodecFactory factory = new CompressionCodecFactory(conf);
+    CompressionCodec codec = factory.getCodecByName(codecName);
+    if (codec == null) {
+      return null;
+    }
+
+    // some codecs (e.g., lz4 and snappy) are not usable without the native hadoop library.
+    try {
+      Compressor compressor = CodecPool.getCompressor(codec);
+      if (compressor != null) {
+        CodecPool.returnCompressor(compressor);
+      }
+      return codec;
+    } catch (Throwable t) {
+      return null;
+    }
+  }
+
+  public static byte[] compress(CompressionCodec codec, byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+    Compressor compressor = CodecPool.getCompressor(codec);
+    try {
+      // builtin gzip does not have a compressor
+      CompressionOutputStream cout = compressor != null ?
+          codec.createOutputStream(out, compressor) : codec.createOutputStream(out);
+      cout.write(bytes);
+      cout.finish();
+      cout.close();
+    } finally {
+      if (compressor != null) {
+        CodecPool.returnCompressor(compressor);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  public static byte[] decompress(CompressionCodec codec, byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+    Decompressor decompressor = CodecPool.getDecompressor(codec);
+    try {
+      ByteArrayInputStream in = new ByteArrayInputStream(bytes);
+      CompressionInputStream cin = decompressor != null ?
+          codec.createInputStream(in, decompressor) : codec.createInputStream(in);
+      byte[] buf = new byte[64 * 1024];
+      int read;
+      while ((read = cin.read(buf)) > 0) {
+        out.write(buf, 0, read);
+      }
+      cin.close();
+    } finally {
+      if (decompressor != null) {
+        CodecPool.returnDecompressor(decompressor);
+      }
+    }
+    return out.toByteArray();
+  }
+
+  public static class ColumnarStoreEncoder {
+    private final Schema schema;
+    private final ColumnWriter[] writers;
+    private int rowNum = 0;
+
+    private ColumnarStoreEncoder(Schema schema) {
+      this.schema = schema;
+      this.writers = new ColumnWriter[schema.size()];
+      for (int i = 0; i < schema.size(); i++) {
+        writers[i] = new ColumnWriter(schema.getColumn(i));
+      }
+    }
+
+    public void add(Tuple tuple) throws IOException {
+      for (int i = 0; i < writers.length; i++) {
+        writers[i].write(rowNum, tuple.isNull(i) ? null : tuple.get(i));
+      }
+      rowNum++;
+    }
+
+    public int getRowNum() {
+      return rowNum;
+    }
+
+    /**
+     * @return the number of bytes written so far, which is an upper bound of the encoded block size.
+     */
+    public int getEstimatedSize() {
+      int size = 4;
+      for (ColumnWriter writer : writers) {
+        size += writer.getEstimatedSize();
+      }
+      return size;
+    }
+
+    public byte[] toBytes() throws IOException {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream(getEstimatedSize());
+      DataOutputStream out = new DataOutputStream(bytes);
+      out.writeInt(rowNum);
+      for (ColumnWriter writer : writers) {
+        writer.writeTo(out, rowNum);
+      }
+      out.flush();
+      return bytes.toByteArray();
+    }
+
+    public void reset() {
+      for (int i = 0; i < writers.length; i++) {
+        writers[i] = new ColumnWriter(schema.getColumn(i));
+      }
+      rowNum = 0;
+    }
+
+    public Schema getSchema() {
+      return schema;
+    }
+  }
+
+  private static class ColumnWriter {
+    private final Column column;
+    private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(values);
+    private byte[] nullFlags = new byte[16];
+    private boolean hasNull = false;
+
+    // dictionary for TEXT columns. It is given up once the number of distinct values exceeds the limit.
+    private Map<ByteBuffer, Integer> dictionary;
+    private List<byte[]> dictValues;
+    private int[] codes;
+    private int nonNullNum = 0;
+
+    ColumnWriter(Column column) {
+      this.column = column;
+      if (column.getDataType().getType() == TajoDataTypes.Type.TEXT) {
+        dictionary = new HashMap<ByteBuffer, Integer>();
+        dictValues = new ArrayList<byte[]>();
+        codes = new int[64];
+      }
+    }
+
+    void write(int rowIdx, Datum datum) throws IOException {
+      TajoDataTypes.Type type = column.getDataType().getType();
+      if (datum == null || type == TajoDataTypes.Type.NULL_TYPE) {
+        setNull(rowIdx);
+        return;
+      }
+
+      switch (type) {
+        case BOOLEAN:
+        case BIT:
+        case CHAR: out.writeByte(datum.asByte()); break;
+        case INT2: out.writeShort(datum.asInt2()); break;
+        case INT4:
+        case DATE: out.writeInt(datum.asInt4()); break;
+        case INT8:
+        case TIME:
+        case TIMESTAMP: out.writeLong(datum.asInt8()); break;
+        case INTERVAL:
+          IntervalDatum interval = (IntervalDatum) datum;
+          out.writeInt(interval.getMonths());
+          out.writeLong(interval.getMilliSeconds());
+          break;
+        case FLOAT4: out.writeFloat(datum.asFloat4()); break;
+        case FLOAT8: out.writeDouble(datum.asFloat8()); break;
+        case TEXT:
+          byte[] text = datum.asByteArray();
+          out.writeInt(text.length);
+          out.write(text);
+          addToDictionary(text);
+          break;
+        case BLOB:
+          byte[] bytes = datum.asByteArray();
+          out.writeInt(bytes.length);
+          out.write(bytes);
+          break;
+        case INET4: out.write(datum.asByteArray()); break;
+        default:
+          throw new RuntimeException(new UnknownDataTypeException(type.name()));
+      }
+      nonNullNum++;
+    }
+
+    private void setNull(int rowIdx) {
+      if (nullFlags.length <= (rowIdx >> 3)) {
+        nullFlags = Arrays.copyOf(nullFlags, Math.max(nullFlags.length * 2, (rowIdx >> 3) + 1));
+      }
+      nullFlags[rowIdx >> 3] |= (1 << (rowIdx & 7));
+      hasNull = true;
+    }
+
+    private void addToDictionary(byte[] text) {
+      if (dictionary == null) {
+        return;
+      }
+
+      ByteBuffer key = ByteBuffer.wrap(text);
+      Integer code = dictionary.get(key);
+      if (code == null) {
+        if (dictValues.size() >= MAX_DICTIONARY_SIZE) {
+          dictionary = null;
+          dictValues = null;
+          codes = null;
+          return;
+        }
+        code = dictValues.size();
+        dictionary.put(key, code);
+        dictValues.add(text);
+      }
+
+      if (codes.length <= nonNullNum) {
+        codes = Arrays.copyOf(codes, codes.length * 2);
+      }
+      codes[nonNullNum] = code;
+    }
+
+    int getEstimatedSize() {
+      return 2 + (hasNull ? nullFlags.length : 0) + values.size();
+    }
+
+    /**
+     * A dictionary is used only if its distinct values are at most a quarter of the values.
+     */
+    private boolean useDictionary() {
+      return dictValues != null && nonNullNum > 0 && dictValues.size() <= nonNullNum / 4;
+    }
+
+    void writeTo(DataOutputStream dest, int rowNum) throws IOException {
+      out.flush();
+
+      if (hasNull) {
+        dest.writeByte(1);
+        byte[] flags = Arrays.copyOf(nullFlags, (rowNum + 7) >> 3);
+        dest.write(flags);
+      } else {
+        dest.writeByte(0);
+      }
+
+      if (useDictionary()) {
+        dest.writeByte(DICTIONARY_ENCODING);
+        dest.writeInt(dictValues.size());
+        for (byte[] value : dictValues) {
+          dest.writeInt(value.length);
+          dest.write(value);
+        }
+        boolean byteCode = dictValues.size() <= 256;
+        for (int i = 0; i < nonNullNum; i++) {
+          if (byteCode) {
+            dest.writeByte(codes[i]);
+          } else {
+            dest.writeShort(codes[i]);
+          }
+        }
+      } else {
+        dest.writeByte(PLAIN_ENCODING);
+        values.writeTo(dest);
+      }
+    }
+  }
+
+  public static class ColumnarStoreDecoder {
+    private final Schema schema;
+
+    private ColumnarStoreDecoder(Schema schema) {
+      this.schema = schema;
+    }
+
+    public Tuple[] toTuples(byte[] bytes) {
+      return toTuples(bytes, 0, bytes.length);
+    }
+
+    public Tuple[] toTuples(byte[] bytes, int offset, int length) {
+      ByteBuffer bb = ByteBuffer.wrap(bytes, offset, length);
+      int rowNum = bb.getInt();
+
+      Tuple[] tuples = new Tuple[rowNum];
+      for (int i = 0; i < rowNum; i++) {
+        tuples[i] = new VTuple(schema.size());
+      }
+
+      for (int columnIdx = 0; columnIdx < schema.size(); columnIdx++) {
+        byte[] nullFlags = null;
+        if (bb.get() != 0) {
+          nullFlags = new byte[(rowNum + 7) >> 3];
+          bb.get(nullFlags);
+        }
+
+        TajoDataTypes.DataType type = schema.getColumn(columnIdx).getDataType();
+        if (bb.get() == DICTIONARY_ENCODING) {
+          readDictionaryColumn(bb, tuples, columnIdx, nullFlags);
+        } else {
+          for (int rowIdx = 0; rowIdx < rowNum; rowIdx++) {
+            if (isNull(nullFlags, rowIdx) || type.getType() == TajoDataTypes.Type.NULL_TYPE) {
+              tuples[rowIdx].put(columnIdx, DatumFactory.createNullDatum());
+            } else {
+              tuples[rowIdx].put(columnIdx, readDatum(bb, type));
+            }
+          }
+        }
+      }
+      return tuples;
+    }
+
+    private static boolean isNull(byte[] nullFlags, int rowIdx) {
+      return nullFlags != null && (nullFlags[rowIdx >> 3] & (1 << (rowIdx & 7))) != 0;
+    }
+
+    private static void readDictionaryColumn(ByteBuffer bb, Tuple[] tuples, int columnIdx, byte[] nullFlags) {
+      Datum[] dictionary = new Datum[bb.getInt()];
+      for (int i = 0; i < dictionary.length; i++) {
+        byte[] value = new byte[bb.getInt()];
+        bb.get(value);
+        dictionary[i] = DatumFactory.createText(value);
+      }
+
+      boolean byteCode = dictionary.length <= 256;
+      for (int rowIdx = 0; rowIdx < tuples.length; rowIdx++) {
+        if (isNull(nullFlags, rowIdx)) {
+          tuples[rowIdx].put(columnIdx, DatumFactory.createNullDatum());
+        } else {
+          int code = byteCode ? (bb.get() & 0xFF) : (bb.getShort() & 0xFFFF);
+          tuples[rowIdx].put(columnIdx, dictionary[code]);
+        }
+      }
+    }
+
+    private static Datum readDatum(ByteBuffer bb, TajoDataTypes.DataType type) {
+      switch (type.getType()) {
+        case BOOLEAN: return DatumFactory.createBool(bb.get());
+        case BIT: return DatumFactory.createBit(bb.get());
+        case CHAR: return DatumFactory.createChar(bb.get());
+        case INT2: return DatumFactory.createInt2(bb.getShort());
+        case INT4:
+        case DATE: return DatumFactory.createFromInt4(type, bb.getInt());
+        case INT8:
+        case TIME:
+        case TIMESTAMP: return DatumFactory.createFromInt8(type, bb.getLong());
+        case INTERVAL:
+          int month = bb.getInt();
+          long milliseconds = bb.getLong();
+          return new IntervalDatum(month, milliseconds);
+        case FLOAT4: return DatumFactory.createFloat4(bb.getFloat());
+        case FLOAT8: return DatumFactory.createFloat8(bb.getDouble());
+        case TEXT:
+          byte[] text = new byte[bb.getInt()];
+          bb.get(text);
+          return DatumFactory.createText(text);
+        case BLOB:
+          byte[] bytes = new byte[bb.getInt()];
+          bb.get(bytes);
+          return DatumFactory.createBlob(bytes);
+        case INET4:
+          byte[] ipv4 = new byte[4];
+          bb.get(ipv4);
+          return DatumFactory.createInet4(ipv4);
+        default:
+          throw new RuntimeException(new UnknownDataTypeException(type.getType().name()));
+      }
+    }
+
+    public Schema getSchema() {
+      return schema;
+    }
+  }
+}
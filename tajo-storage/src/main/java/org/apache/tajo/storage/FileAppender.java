@@ -19,6 +19,7 @@
 package org.apache.tajo.storage;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
@@ -34,7 +35,8 @@ public abstract class FileAppender implements Appender {
   protected final Path path;
 
   protected boolean enabledStats;
-  
+  protected ZoneMapWriter zoneMapWriter;
+
   public FileAppender(Configuration conf, Schema schema, TableMeta meta, Path path) {
     this.conf = conf;
     this.meta = meta;
@@ -57,6 +59,36 @@ public abstract class FileAppender implements Appender {
     this.enabledStats = true;
   }
 
+  /**
+   * Enables writing the zone map of the data file. An appender which does not support zone maps ignores it.
+   *
+   * @param blockSize The approximate number of bytes covered by a block of the zone map
+   */
+  public void enableZoneMap(long blockSize) {
+    if (inited) {
+      throw new IllegalStateException("Should enable this option before init()");
+    }
+
+    this.zoneMapWriter = new ZoneMapWriter(schema, blockSize);
+  }
+
+  protected void addZoneMapRow(Tuple tuple) throws IOException {
+    if (zoneMapWriter != null) {
+      zoneMapWriter.addRow(tuple, getOffset());
+    }
+  }
+
+  /**
+   * It should be called after the data file is closed.
+   */
+  protected void writeZoneMap() throws IOException {
+    if (zoneMapWriter != null) {
+      FileSystem fs = path.getFileSystem(conf);
+      zoneMapWriter.write(fs, path, fs.getFileStatus(path).getLen());
+      zoneMapWriter = null;
+    }
+  }
+
   public long getEstimatedOutputSize() throws IOException {
     return getOffset();
   }
@@ -0,0 +1,116 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of file listings and block locations which are used to generate splits. A directory entry is
+ * valid while the modification time of the directory is unchanged, which covers files added, removed or renamed
+ * in the directory. A file entry is valid while the modification time and the length of the file are unchanged.
+ * Block locations may become stale after a re-replication, which only affects the locality of splits.
+ *
+ * It relies on modification times in milliseconds, so it should be used only for HDFS.
+ */
+class FileListingCache {
+  private final Map<Path, Entry> entries;
+
+  private static class Entry {
+    final long modificationTime;
+    final long length;
+    final List<LocatedFileStatus> files;
+
+    Entry(FileStatus status, List<LocatedFileStatus> files) {
+      this.modificationTime = status.getModificationTime();
+      this.length = status.getLen();
+      this.files = files;
+    }
+
+    boolean isValid(FileStatus status) {
+      return modificationTime == status.getModificationTime() && length == status.getLen();
+    }
+  }
+
+  FileListingCache(final int maxEntries) {
+    this.entries = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Lists the files in a directory with their block locations. The block locations of a directory are fetched
+   * together with the listing, so it does not need a block location lookup for each file.
+   *
+   * @param fs The file system of the directory
+   * @param dir The status of the directory
+   * @param filter The filter for files
+   * @return The files accepted by the filter
+   */
+  List<LocatedFileStatus> listLocatedStatus(FileSystem fs, FileStatus dir, PathFilter filter) throws IOException {
+    Entry entry = get(dir);
+    if (entry == null) {
+      entry = new Entry(dir, AbstractStorageManager.listLocatedStatus(fs, dir.getPath(), filter));
+      put(dir.getPath(), entry);
+    }
+    return entry.files;
+  }
+
+  /**
+   * Gets a file with its block locations.
+   *
+   * @param fs The file system of the file
+   * @param file The status of the file
+   */
+  LocatedFileStatus getLocatedStatus(FileSystem fs, FileStatus file) throws IOException {
+    Entry entry = get(file);
+    if (entry == null) {
+      List<LocatedFileStatus> files = new ArrayList<LocatedFileStatus>(1);
+      files.add(new LocatedFileStatus(file, fs.getFileBlockLocations(file, 0, file.getLen())));
+      entry = new Entry(file, files);
+      put(file.getPath(), entry);
+    }
+    return entry.files.get(0);
+  }
+
+  private synchronized Entry get(FileStatus status) {
+    Entry entry = entries.get(status.getPath());
+    if (entry != null && !entry.isValid(status)) {
+      entries.remove(status.getPath());
+      return null;
+    }
+    return entry;
+  }
+
+  private synchronized void put(Path path, Entry entry) {
+    entries.put(path, entry);
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.tajo.storage;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.tajo.catalog.Column;
@@ -29,9 +30,11 @@ import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.ColumnStats;
 import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
 import org.apache.tajo.storage.fragment.FileFragment;
 
 import java.io.IOException;
+import java.util.TreeSet;
 
 public abstract class FileScanner implements Scanner {
   private static final Log LOG = LogFactory.getLog(FileScanner.class);
@@ -45,6 +48,9 @@ public abstract class FileScanner implements Scanner {
 
   protected Column [] targets;
 
+  /** a search condition pushed down by setSearchCondition(). It is null if there is no pushed condition. */
+  protected ScanFilter filter;
+
   protected float progress;
 
   protected TableStats tableStats;
@@ -92,6 +98,56 @@ public abstract class FileScanner implements Scanner {
     if (inited) {
       throw new IllegalStateException("Should be called before init()");
     }
+    if (isSelectable() && expr instanceof ScanFilter) {
+      this.filter = (ScanFilter) expr;
+    }
+  }
+
+  /**
+   * @return the ids of the target columns and the columns referred by the search condition in ascending order.
+   */
+  protected int [] getReadColumnIds() {
+    Column [] readColumns = targets == null ? schema.toArray() : targets;
+    TreeSet<Integer> ids = new TreeSet<Integer>();
+    for (Column column : readColumns) {
+      ids.add(schema.getColumnId(column.getQualifiedName()));
+    }
+    if (filter != null) {
+      for (int id : filter.getColumnIds()) {
+        ids.add(id);
+      }
+    }
+
+    int [] columnIds = new int[ids.size()];
+    int i = 0;
+    for (Integer id : ids) {
+      columnIds[i++] = id;
+    }
+    return columnIds;
+  }
+
+  protected boolean isReadAheadEnabled() {
+    return TajoConf.getBoolVar(conf, ConfVars.STORAGE_READ_AHEAD_ENABLED);
+  }
+
+  /**
+   * Wraps the input stream of this fragment with {@link ReadAheadInputStream} if read-ahead is enabled.
+   *
+   * @param in The input stream of the file of this fragment
+   * @param start The offset from which the file is read ahead
+   * @param end The end offset up to which the file is read ahead
+   * @return the read-ahead stream, or the given stream if read-ahead is disabled.
+   */
+  protected FSDataInputStream readAheadIfEnabled(FSDataInputStream in, long start, long end) throws IOException {
+    if (!isReadAheadEnabled()) {
+      return in;
+    }
+    return new FSDataInputStream(new ReadAheadInputStream(in, start, end, getReadAheadBufferSize(),
+        ReadAheadIOPool.getPool(conf, fragment)));
+  }
+
+  protected int getReadAheadBufferSize() {
+    return TajoConf.getIntVar(conf, ConfVars.STORAGE_READ_AHEAD_BUFFER_SIZE) * 1024;
   }
 
   public static FileSystem getFileSystem(TajoConf tajoConf, Path path) throws IOException {
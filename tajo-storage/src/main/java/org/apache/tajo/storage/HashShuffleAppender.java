@@ -26,6 +26,7 @@ import org.apache.tajo.catalog.statistics.TableStats;
 import org.apache.tajo.util.Pair;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -35,7 +36,23 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class HashShuffleAppender implements Appender {
   private static Log LOG = LogFactory.getLog(HashShuffleAppender.class);
 
+  private static final int ENCODE_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Off-heap buffers into which each thread encodes its tuples before they are appended to a shuffle file.
+   * A buffer is shared by all partitions because it is drained before addTuples() returns.
+   */
+  private static final ThreadLocal<ByteBuffer> encodeBuffers = new ThreadLocal<ByteBuffer>() {
+    @Override
+    protected ByteBuffer initialValue() {
+      return ByteBuffer.allocateDirect(ENCODE_BUFFER_SIZE);
+    }
+  };
+
   private FileAppender appender;
+
+  // If the file format is RAW, tuples are encoded by tasks without holding the lock of the appender.
+  private RawFile.RawTupleEncoder encoder;
   private AtomicBoolean closed = new AtomicBoolean(false);
   private int partId;
 
@@ -68,6 +85,9 @@ public class HashShuffleAppender implements Appender {
 
   @Override
   public void init() throws IOException {
+    if (appender instanceof RawFile.RawFileAppender) {
+      encoder = ((RawFile.RawFileAppender) appender).getEncoder();
+    }
     currentPage = new Pair(0L, 0);
     taskTupleIndexes = new HashMap<QueryUnitAttemptId, List<Pair<Long, Pair<Integer, Integer>>>>();
     rowNumInPage = 0;
@@ -75,6 +95,8 @@ public class HashShuffleAppender implements Appender {
 
   /**
    * Write multiple tuples. Each tuple is written by a FileAppender which is responsible specified partition.
+   * If the appender supports pre-encoded rows, tuples are encoded into a buffer of the calling thread and
+   * only the encoded bytes are appended while holding the lock of the appender.
    * After writing if a current page exceeds pageSize, pageOffset will be added.
    * @param taskId
    * @param tuples
@@ -82,37 +104,110 @@ public class HashShuffleAppender implements Appender {
    * @throws IOException
    */
   public int addTuples(QueryUnitAttemptId taskId, List<Tuple> tuples) throws IOException {
+    if (encoder == null) {
+      synchronized(appender) {
+        if (closed.get()) {
+          return 0;
+        }
+        long currentPos = appender.getOffset();
+
+        for (Tuple eachTuple: tuples) {
+          appender.addTuple(eachTuple);
+        }
+        return addTupleIndex(taskId, currentPos, tuples.size());
+      }
+    }
+
+    ByteBuffer buffer = encodeBuffers.get();
+    buffer.clear();
+
+    int writtenBytes = 0;
+    int rowNum = 0;
+    for (Tuple eachTuple: tuples) {
+      while (encoder.encode(eachTuple, buffer) < 0) {
+        if (rowNum > 0) {
+          // hand over the filled buffer, and reuse it for the remaining tuples
+          buffer.flip();
+          writtenBytes += addEncodedRows(taskId, buffer, rowNum);
+          buffer.clear();
+          rowNum = 0;
+        } else {
+          buffer = enlargeEncodeBuffer(buffer);
+        }
+      }
+      rowNum++;
+    }
+
+    if (rowNum > 0) {
+      buffer.flip();
+      writtenBytes += addEncodedRows(taskId, buffer, rowNum);
+      buffer.clear();
+    }
+    return writtenBytes;
+  }
+
+  /**
+   * Write rows which were already encoded by the encoder of a RAW file appender.
+   * @param taskId
+   * @param rows encoded rows from the position to the limit of the buffer
+   * @param rowNum the number of encoded rows
+   * @return written bytes
+   * @throws IOException
+   */
+  public int addEncodedRows(QueryUnitAttemptId taskId, ByteBuffer rows, int rowNum) throws IOException {
+    if (encoder == null) {
+      throw new IOException("Appender does not support encoded rows: " + appender.getClass().getSimpleName());
+    }
     synchronized(appender) {
       if (closed.get()) {
         return 0;
       }
       long currentPos = appender.getOffset();
+      ((RawFile.RawFileAppender) appender).addEncodedRows(rows, rowNum);
+      return addTupleIndex(taskId, currentPos, rowNum);
+    }
+  }
 
-      for (Tuple eachTuple: tuples) {
-        appender.addTuple(eachTuple);
-      }
-      long posAfterWritten = appender.getOffset();
+  /**
+   * @return the encoder of rows for {@link #addEncodedRows}, or null if the file format does not support it.
+   */
+  public RawFile.RawTupleEncoder getEncoder() {
+    return encoder;
+  }
 
-      int writtenBytes = (int)(posAfterWritten - currentPos);
+  private static ByteBuffer enlargeEncodeBuffer(ByteBuffer buffer) {
+    ByteBuffer enlarged = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+    StorageUtil.closeBuffer(buffer);
+    encodeBuffers.set(enlarged);
+    return enlarged;
+  }
 
-      int nextRowNum = rowNumInPage + tuples.size();
-      List<Pair<Long, Pair<Integer, Integer>>> taskIndexes = taskTupleIndexes.get(taskId);
-      if (taskIndexes == null) {
-        taskIndexes = new ArrayList<Pair<Long, Pair<Integer, Integer>>>();
-        taskTupleIndexes.put(taskId, taskIndexes);
-      }
-      taskIndexes.add(
-          new Pair<Long, Pair<Integer, Integer>>(currentPage.getFirst(), new Pair(rowNumInPage, nextRowNum)));
-      rowNumInPage = nextRowNum;
+  /**
+   * Records the rows written by a task into the current page. It must be called while holding the lock of
+   * the appender.
+   */
+  private int addTupleIndex(QueryUnitAttemptId taskId, long currentPos, int rowNum) throws IOException {
+    long posAfterWritten = appender.getOffset();
 
-      if (posAfterWritten - currentPage.getFirst() > pageSize) {
-        nextPage(posAfterWritten);
-        rowNumInPage = 0;
-      }
+    int writtenBytes = (int)(posAfterWritten - currentPos);
 
-      totalRows += tuples.size();
-      return writtenBytes;
+    int nextRowNum = rowNumInPage + rowNum;
+    List<Pair<Long, Pair<Integer, Integer>>> taskIndexes = taskTupleIndexes.get(taskId);
+    if (taskIndexes == null) {
+      taskIndexes = new ArrayList<Pair<Long, Pair<Integer, Integer>>>();
+      taskTupleIndexes.put(taskId, taskIndexes);
     }
+    taskIndexes.add(
+        new Pair<Long, Pair<Integer, Integer>>(currentPage.getFirst(), new Pair(rowNumInPage, nextRowNum)));
+    rowNumInPage = nextRowNum;
+
+    if (posAfterWritten - currentPage.getFirst() > pageSize) {
+      nextPage(posAfterWritten);
+      rowNumInPage = 0;
+    }
+
+    totalRows += rowNum;
+    return writtenBytes;
   }
 
   public long getOffset() throws IOException {
@@ -204,6 +299,8 @@ public class HashShuffleAppender implements Appender {
   }
 
   public void taskFinished(QueryUnitAttemptId taskId) {
-    taskTupleIndexes.remove(taskId);
+    synchronized(appender) {
+      taskTupleIndexes.remove(taskId);
+    }
   }
 }
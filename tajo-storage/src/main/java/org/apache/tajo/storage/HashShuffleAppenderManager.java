@@ -38,17 +38,17 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class HashShuffleAppenderManager {
   private static final Log LOG = LogFactory.getLog(HashShuffleAppenderManager.class);
 
-  private Map<ExecutionBlockId, Map<Integer, PartitionAppenderMeta>> appenderMap =
+  private ConcurrentMap<ExecutionBlockId, Map<Integer, PartitionAppenderMeta>> appenderMap =
       new ConcurrentHashMap<ExecutionBlockId, Map<Integer, PartitionAppenderMeta>>();
   private TajoConf systemConf;
   private FileSystem defaultFS;
   private FileSystem localFS;
   private LocalDirAllocator lDirAllocator;
-  private int pageSize;
 
   public HashShuffleAppenderManager(TajoConf systemConf) throws IOException {
     this.systemConf = systemConf;
@@ -59,20 +59,32 @@ public class HashShuffleAppenderManager {
     // initialize DFS and LocalFileSystems
     defaultFS = TajoConf.getTajoRootDir(systemConf).getFileSystem(systemConf);
     localFS = FileSystem.getLocal(systemConf);
-    pageSize = systemConf.getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME) * 1024 * 1024;
   }
 
+  /**
+   * Returns the appender of a partition. Appenders which already exist are returned without any lock,
+   * and a new appender is created while holding only the lock of its execution block.
+   * The page size of a new appender is taken from <code>tajoConf</code> of the task.
+   */
   public HashShuffleAppender getAppender(TajoConf tajoConf, ExecutionBlockId ebId, int partId,
                               TableMeta meta, Schema outSchema) throws IOException {
-    synchronized (appenderMap) {
-      Map<Integer, PartitionAppenderMeta> partitionAppenderMap = appenderMap.get(ebId);
+    Map<Integer, PartitionAppenderMeta> partitionAppenderMap = appenderMap.get(ebId);
 
-      if (partitionAppenderMap == null) {
-        partitionAppenderMap = new ConcurrentHashMap<Integer, PartitionAppenderMeta>();
-        appenderMap.put(ebId, partitionAppenderMap);
+    if (partitionAppenderMap == null) {
+      partitionAppenderMap = new ConcurrentHashMap<Integer, PartitionAppenderMeta>();
+      Map<Integer, PartitionAppenderMeta> existing = appenderMap.putIfAbsent(ebId, partitionAppenderMap);
+      if (existing != null) {
+        partitionAppenderMap = existing;
       }
+    }
 
-      PartitionAppenderMeta partitionAppenderMeta = partitionAppenderMap.get(partId);
+    PartitionAppenderMeta partitionAppenderMeta = partitionAppenderMap.get(partId);
+    if (partitionAppenderMeta != null) {
+      return partitionAppenderMeta.appender;
+    }
+
+    synchronized (partitionAppenderMap) {
+      partitionAppenderMeta = partitionAppenderMap.get(partId);
       if (partitionAppenderMeta == null) {
         Path dataFile = getDataFile(ebId, partId);
         FileSystem fs = dataFile.getFileSystem(systemConf);
@@ -92,15 +104,16 @@ public class HashShuffleAppenderManager {
         partitionAppenderMeta = new PartitionAppenderMeta();
         partitionAppenderMeta.partId = partId;
         partitionAppenderMeta.dataFile = dataFile;
+        int pageSize = tajoConf.getIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME) * 1024 * 1024;
         partitionAppenderMeta.appender = new HashShuffleAppender(ebId, partId, pageSize, appender);
         partitionAppenderMeta.appender.init();
         partitionAppenderMap.put(partId, partitionAppenderMeta);
 
         LOG.info("Create Hash shuffle file(partId=" + partId + "): " + dataFile);
       }
-
-      return partitionAppenderMeta.appender;
     }
+
+    return partitionAppenderMeta.appender;
   }
 
   public static int getPartParentId(int partId, TajoConf tajoConf) {
@@ -123,10 +136,7 @@ public class HashShuffleAppenderManager {
   }
 
   public List<HashShuffleIntermediate> close(ExecutionBlockId ebId) throws IOException {
-    Map<Integer, PartitionAppenderMeta> partitionAppenderMap = null;
-    synchronized (appenderMap) {
-      partitionAppenderMap = appenderMap.remove(ebId);
-    }
+    Map<Integer, PartitionAppenderMeta> partitionAppenderMap = appenderMap.remove(ebId);
 
     if (partitionAppenderMap == null) {
       LOG.info("Close HashShuffleAppender:" + ebId + ", not a hash shuffle");
@@ -155,16 +165,14 @@ public class HashShuffleAppenderManager {
   }
 
   public void finalizeTask(QueryUnitAttemptId taskId) {
-    synchronized (appenderMap) {
-      Map<Integer, PartitionAppenderMeta> partitionAppenderMap =
-        appenderMap.get(taskId.getQueryUnitId().getExecutionBlockId());
-      if (partitionAppenderMap == null) {
-        return;
-      }
+    Map<Integer, PartitionAppenderMeta> partitionAppenderMap =
+      appenderMap.get(taskId.getQueryUnitId().getExecutionBlockId());
+    if (partitionAppenderMap == null) {
+      return;
+    }
 
-      for (PartitionAppenderMeta eachAppender: partitionAppenderMap.values()) {
-        eachAppender.appender.taskFinished(taskId);
-      }
+    for (PartitionAppenderMeta eachAppender: partitionAppenderMap.values()) {
+      eachAppender.appender.taskFinished(taskId);
     }
   }
 
@@ -45,6 +45,7 @@ public class MergeScanner implements Scanner {
   private boolean projectable = false;
   private boolean selectable = false;
   private Schema target;
+  private Object searchCondition;
   private float progress;
   protected TableStats tableStats;
 
@@ -130,6 +131,9 @@ public class MergeScanner implements Scanner {
       currentFragment = iterator.next();
       currentScanner = StorageManagerFactory.getStorageManager((TajoConf)conf).getScanner(meta, schema,
           currentFragment, target);
+      if (searchCondition != null && currentScanner.isSelectable()) {
+        currentScanner.setSearchCondition(searchCondition);
+      }
       currentScanner.init();
       return currentScanner;
     } else {
@@ -164,6 +168,17 @@ public class MergeScanner implements Scanner {
 
   @Override
   public void setSearchCondition(Object expr) {
+    this.searchCondition = expr;
+
+    // The first scanner was already opened in the constructor. So, it is reopened with the search condition.
+    if (currentScanner != null && selectable) {
+      try {
+        currentScanner.close();
+        reset();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 
   @Override
@@ -25,6 +25,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.statistics.TableStats;
@@ -48,6 +49,8 @@ public class RawFile {
 
   public static class RawFileScanner extends FileScanner implements SeekableScanner {
     private FileChannel channel;
+    // it is not null if read-ahead is enabled. All reads from the channel go through it.
+    private ReadAheadInputStream readAhead;
     private DataType[] columnTypes;
 
     private ByteBuffer buffer;
@@ -82,12 +85,16 @@ public class RawFile {
       fis = new FileInputStream(file);
       channel = fis.getChannel();
       fileLimit = fragment.getStartKey() + fragment.getEndKey(); // fileLimit is less than or equal to fileSize
+      if (isReadAheadEnabled()) {
+        readAhead = new ReadAheadInputStream(channel, fragment.getStartKey(), fileLimit, getReadAheadBufferSize(),
+            ReadAheadIOPool.getPool(conf, fragment));
+      }
 
       if (tableStats != null) {
         tableStats.setNumBytes(fragment.getEndKey());
       }
       if (LOG.isDebugEnabled()) {
-        LOG.debug("RawFileScanner open:" + fragment + "," + channel.position() + ", total file size :" + channel.size()
+        LOG.debug("RawFileScanner open:" + fragment + "," + position() + ", total file size :" + channel.size()
             + ", fragment size :" + fragment.getEndKey() + ", fileLimit: " + fileLimit);
       }
 
@@ -109,28 +116,60 @@ public class RawFile {
 
       // initial read
       if (fragment.getStartKey() > 0) {
-	channel.position(fragment.getStartKey());
+	position(fragment.getStartKey());
       }
-      numBytesRead = channel.read(buffer);
+      numBytesRead = read(buffer);
       buffer.flip();
 
       super.init();
     }
 
+    private long position() throws IOException {
+      return readAhead != null ? readAhead.getPos() : channel.position();
+    }
+
+    private void position(long newPosition) throws IOException {
+      if (readAhead != null) {
+        readAhead.seek(newPosition);
+      } else {
+        channel.position(newPosition);
+      }
+    }
+
+    /**
+     * Reads bytes from the file into the given buffer. A read through the read-ahead stream fills the buffer
+     * as far as possible because it stops at the boundary of its internal buffers.
+     */
+    private int read(ByteBuffer dst) throws IOException {
+      if (readAhead == null) {
+        return channel.read(dst);
+      }
+
+      int total = 0;
+      while (dst.hasRemaining()) {
+        int n = readAhead.read(dst);
+        if (n < 0) {
+          return total == 0 ? -1 : total;
+        }
+        total += n;
+      }
+      return total;
+    }
+
     @Override
     public long getNextOffset() throws IOException {
-      return channel.position() - buffer.remaining();
+      return position() - buffer.remaining();
     }
 
     @Override
     public void seek(long offset) throws IOException {
-      long currentPos = channel.position();
+      long currentPos = position();
       if(currentPos < offset &&  offset < currentPos + buffer.limit()){
         buffer.position((int)(offset - currentPos));
       } else {
         buffer.clear();
-        channel.position(offset);
-        int bytesRead = channel.read(buffer);
+        position(offset);
+        int bytesRead = read(buffer);
         numBytesRead = bytesRead;
         buffer.flip();
         eof = false;
@@ -144,7 +183,7 @@ public class RawFile {
       }
       int currentDataSize = buffer.remaining();
       buffer.compact();
-      int bytesRead = channel.read(buffer);
+      int bytesRead = read(buffer);
       if (bytesRead == -1) {
         eof = true;
         return false;
@@ -247,6 +286,20 @@ public class RawFile {
 
     @Override
     public Tuple next() throws IOException {
+      Tuple current;
+      while ((current = readNextTuple()) != null) {
+        // unqualified rows are skipped without being copied.
+        if (filter == null || filter.isMatched(current)) {
+          return new VTuple(current);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Decodes the next record into the reused tuple.
+     */
+    private Tuple readNextTuple() throws IOException {
       if(eof) return null;
 
       if (buffer.remaining() < headerSize) {
@@ -377,10 +430,10 @@ public class RawFile {
         }
       }
 
-      if(!buffer.hasRemaining() && channel.position() == fileLimit){
+      if(!buffer.hasRemaining() && position() == fileLimit){
         eof = true;
       }
-      return new VTuple(tuple);
+      return tuple;
     }
 
     @Override
@@ -388,8 +441,8 @@ public class RawFile {
       // clear the buffer
       buffer.clear();
       // reload initial buffer
-      channel.position(fragment.getStartKey());
-      numBytesRead = channel.read(buffer);
+      position(fragment.getStartKey());
+      numBytesRead = read(buffer);
       buffer.flip();
       eof = false;
     }
@@ -402,7 +455,7 @@ public class RawFile {
       }
 
       StorageUtil.closeBuffer(buffer);
-      IOUtils.cleanup(LOG, channel, fis);
+      IOUtils.cleanup(LOG, readAhead, channel, fis);
     }
 
     @Override
@@ -412,7 +465,7 @@ public class RawFile {
 
     @Override
     public boolean isSelectable() {
-      return false;
+      return true;
     }
 
     @Override
@@ -426,7 +479,7 @@ public class RawFile {
         tableStats.setNumRows(recordCount);
         long filePos = 0;
         if (channel != null) {
-          filePos = channel.position();
+          filePos = position();
           tableStats.setReadBytes(filePos);
         }
 
@@ -447,15 +500,372 @@ public class RawFile {
     }
   }
 
+  /**
+   * Encodes a tuple into the record format written by {@link RawFileAppender}. An encoder keeps no state
+   * about written records, so it can be shared by threads which serialize rows into their own buffers
+   * before handing them to an appender.
+   */
+  public static class RawTupleEncoder {
+    private static final int RECORD_SIZE = 4;
+    private final DataType[] columnTypes;
+    private final int nullFlagsLength;
+    private final int headerSize;
+
+    public RawTupleEncoder(Schema schema) {
+      columnTypes = new DataType[schema.size()];
+      for (int i = 0; i < schema.size(); i++) {
+        columnTypes[i] = schema.getColumn(i).getDataType();
+      }
+
+      // compute the number of bytes, representing the null flags
+      nullFlagsLength = new BitArray(schema.size()).bytesLength();
+      headerSize = RECORD_SIZE + 2 + nullFlagsLength;
+    }
+
+    /**
+     * @return true if all columns of the schema can be encoded in the RAW record format
+     */
+    public static boolean isSupported(Schema schema) {
+      for (Column column : schema.getColumns()) {
+        switch (column.getDataType().getType()) {
+        case NULL_TYPE:
+        case BOOLEAN:
+        case BIT:
+        case INT2:
+        case INT4:
+        case INT8:
+        case FLOAT4:
+        case FLOAT8:
+        case CHAR:
+        case TEXT:
+        case BLOB:
+        case PROTOBUF:
+        case DATE:
+        case TIME:
+        case TIMESTAMP:
+        case INET4:
+          break;
+        default:
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Writes a tuple at the current position of the buffer.
+     *
+     * @return the number of written bytes, or -1 if the remaining space of the buffer is not enough.
+     *         In the latter case, the position of the buffer is not changed.
+     */
+    public int encode(Tuple t, ByteBuffer buffer) throws IOException {
+      if (buffer.remaining() < headerSize) {
+        return -1;
+      }
+
+      int recordOffset = buffer.position();
+      // reset the null flags, which are set in place while the fields are written
+      for (int i = 0; i < nullFlagsLength; i++) {
+        buffer.put(recordOffset + RECORD_SIZE + 2 + i, (byte) 0);
+      }
+      // skip the row header
+      buffer.position(recordOffset + headerSize);
+
+      for (int i = 0; i < columnTypes.length; i++) {
+        if (t.isNull(i)) {
+          setNullFlag(buffer, recordOffset, i);
+          continue;
+        }
+
+        // 8 is the maximum bytes size of all types
+        if (buffer.remaining() < 8) {
+          buffer.position(recordOffset);
+          return -1;
+        }
+
+        switch(columnTypes[i].getType()) {
+          case NULL_TYPE:
+            setNullFlag(buffer, recordOffset, i);
+            continue;
+
+          case BOOLEAN:
+          case BIT:
+            buffer.put(t.getByte(i));
+            break;
+
+          case INT2 :
+            buffer.putShort(t.getInt2(i));
+            break;
+
+          case INT4 :
+            writeRawVarint32(buffer, RawFileAppender.encodeZigZag32(t.getInt4(i)));
+            break;
+
+          case INT8 :
+            writeRawVarint64(buffer, RawFileAppender.encodeZigZag64(t.getInt8(i)));
+            break;
+
+          case FLOAT4 :
+            buffer.putFloat(t.getFloat4(i));
+            break;
+
+          case FLOAT8 :
+            buffer.putDouble(t.getFloat8(i));
+            break;
+
+          case CHAR:
+          case TEXT:
+          case BLOB:
+          case PROTOBUF: {
+            byte [] rawBytes = t.getBytes(i);
+            if (buffer.remaining() < rawBytes.length + RawFileAppender.computeRawVarint32Size(rawBytes.length)) {
+              buffer.position(recordOffset);
+              return -1;
+            }
+            writeRawVarint32(buffer, rawBytes.length);
+            buffer.put(rawBytes);
+            break;
+          }
+
+          case DATE:
+            buffer.putInt(t.getInt4(i));
+            break;
+
+          case TIME:
+          case TIMESTAMP:
+            buffer.putLong(t.getInt8(i));
+            break;
+
+          case INET4 :
+            buffer.put(t.getBytes(i));
+            break;
+
+          default:
+            throw new IOException("Cannot support data type: " + columnTypes[i].getType());
+        }
+      }
+
+      // write a record header
+      int recordSize = buffer.position() - recordOffset;
+      buffer.putInt(recordOffset, recordSize);
+      buffer.putShort(recordOffset + RECORD_SIZE, (short) nullFlagsLength);
+      return recordSize;
+    }
+
+    private static void setNullFlag(ByteBuffer buffer, int recordOffset, int idx) {
+      // the same bit order as BitArray
+      int flagPos = recordOffset + RECORD_SIZE + 2 + (idx / 8);
+      buffer.put(flagPos, (byte) (buffer.get(flagPos) | (1 << (7 - (idx % 8)))));
+    }
+
+    /**
+     * Encode and write a varint.  {@code value} is treated as
+     * unsigned, so it won't be sign-extended if negative.
+     */
+    public static void writeRawVarint32(ByteBuffer buffer, int value) {
+      while (true) {
+        if ((value & ~0x7F) == 0) {
+          buffer.put((byte) value);
+          return;
+        } else {
+          buffer.put((byte) ((value & 0x7F) | 0x80));
+          value >>>= 7;
+        }
+      }
+    }
+
+    /** Encode and write a varint. */
+    public static void writeRawVarint64(ByteBuffer buffer, long value) {
+      while (true) {
+        if ((value & ~0x7FL) == 0) {
+          buffer.put((byte) value);
+          return;
+        } else {
+          buffer.put((byte) ((value & 0x7F) | 0x80));
+          value >>>= 7;
+        }
+      }
+    }
+  }
+
+  /**
+   * Decodes a record written by {@link RawTupleEncoder} from the current position of a buffer. Unlike
+   * {@link RawFileScanner}, it expects that a whole record resides in the buffer.
+   */
+  public static class RawTupleDecoder {
+    private final DataType[] columnTypes;
+    private final BitArray nullFlags;
+
+    public RawTupleDecoder(Schema schema) {
+      columnTypes = new DataType[schema.size()];
+      for (int i = 0; i < schema.size(); i++) {
+        columnTypes[i] = schema.getColumn(i).getDataType();
+      }
+      nullFlags = new BitArray(schema.size());
+    }
+
+    /**
+     * Reads a record into the given tuple, and moves the position of the buffer to the next record.
+     */
+    public void decode(ByteBuffer buffer, Tuple tuple) throws IOException {
+      int recordOffset = buffer.position();
+      int recordSize = buffer.getInt();
+      int nullFlagSize = buffer.getShort();
+
+      int bufferLimit = buffer.limit();
+      buffer.limit(buffer.position() + nullFlagSize);
+      nullFlags.fromByteBuffer(buffer);
+      buffer.limit(bufferLimit);
+
+      for (int i = 0; i < columnTypes.length; i++) {
+        // check if the i'th column is null
+        if (nullFlags.get(i)) {
+          tuple.put(i, NullDatum.get());
+          continue;
+        }
+
+        switch (columnTypes[i].getType()) {
+          case BOOLEAN :
+            tuple.put(i, DatumFactory.createBool(buffer.get()));
+            break;
+
+          case BIT :
+            tuple.put(i, DatumFactory.createBit(buffer.get()));
+            break;
+
+          case CHAR : {
+            byte [] rawBytes = new byte[readRawVarint32(buffer)];
+            buffer.get(rawBytes);
+            tuple.put(i, DatumFactory.createChar(rawBytes));
+            break;
+          }
+
+          case INT2 :
+            tuple.put(i, DatumFactory.createInt2(buffer.getShort()));
+            break;
+
+          case INT4 :
+            tuple.put(i, DatumFactory.createInt4(RawFileScanner.decodeZigZag32(readRawVarint32(buffer))));
+            break;
+
+          case INT8 :
+            tuple.put(i, DatumFactory.createInt8(RawFileScanner.decodeZigZag64(readRawVarint64(buffer))));
+            break;
+
+          case FLOAT4 :
+            tuple.put(i, DatumFactory.createFloat4(buffer.getFloat()));
+            break;
+
+          case FLOAT8 :
+            tuple.put(i, DatumFactory.createFloat8(buffer.getDouble()));
+            break;
+
+          case TEXT : {
+            byte [] rawBytes = new byte[readRawVarint32(buffer)];
+            buffer.get(rawBytes);
+            tuple.put(i, DatumFactory.createText(rawBytes));
+            break;
+          }
+
+          case BLOB : {
+            byte [] rawBytes = new byte[readRawVarint32(buffer)];
+            buffer.get(rawBytes);
+            tuple.put(i, DatumFactory.createBlob(rawBytes));
+            break;
+          }
+
+          case PROTOBUF: {
+            byte [] rawBytes = new byte[readRawVarint32(buffer)];
+            buffer.get(rawBytes);
+
+            ProtobufDatumFactory factory = ProtobufDatumFactory.get(columnTypes[i]);
+            Message.Builder builder = factory.newBuilder();
+            builder.mergeFrom(rawBytes);
+            tuple.put(i, factory.createDatum(builder.build()));
+            break;
+          }
+
+          case INET4 : {
+            byte [] ipv4Bytes = new byte[4];
+            buffer.get(ipv4Bytes);
+            tuple.put(i, DatumFactory.createInet4(ipv4Bytes));
+            break;
+          }
+
+          case DATE: {
+            int val = buffer.getInt();
+            if (val < Integer.MIN_VALUE + 1) {
+              tuple.put(i, NullDatum.get());
+            } else {
+              tuple.put(i, DatumFactory.createFromInt4(columnTypes[i], val));
+            }
+            break;
+          }
+
+          case TIME:
+          case TIMESTAMP: {
+            long val = buffer.getLong();
+            if (val < Long.MIN_VALUE + 1) {
+              tuple.put(i, NullDatum.get());
+            } else {
+              tuple.put(i, DatumFactory.createFromInt8(columnTypes[i], val));
+            }
+            break;
+          }
+
+          case NULL_TYPE:
+            tuple.put(i, NullDatum.get());
+            break;
+
+          default:
+        }
+      }
+
+      buffer.position(recordOffset + recordSize);
+    }
+
+    /**
+     * @return the size of a record which starts at the given offset of the buffer
+     */
+    public static int getRecordSize(ByteBuffer buffer, int recordOffset) {
+      return buffer.getInt(recordOffset);
+    }
+
+    private static int readRawVarint32(ByteBuffer buffer) throws IOException {
+      int shift = 0;
+      int result = 0;
+      while (shift < 32) {
+        final byte b = buffer.get();
+        result |= (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+        shift += 7;
+      }
+      throw new IOException("Invalid Variable int32");
+    }
+
+    private static long readRawVarint64(ByteBuffer buffer) throws IOException {
+      int shift = 0;
+      long result = 0;
+      while (shift < 64) {
+        final byte b = buffer.get();
+        result |= (long)(b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return result;
+        }
+        shift += 7;
+      }
+      throw new IOException("Invalid Variable int64");
+    }
+  }
+
   public static class RawFileAppender extends FileAppender {
     private FileChannel channel;
     private RandomAccessFile randomAccessFile;
-    private DataType[] columnTypes;
+    private RawTupleEncoder encoder;
 
     private ByteBuffer buffer;
-    private BitArray nullFlags;
-    private int headerSize = 0;
-    private static final int RECORD_SIZE = 4;
     private long pos;
 
     private TableStatistics stats;
@@ -480,18 +890,9 @@ public class RawFile {
       channel = randomAccessFile.getChannel();
       pos = 0;
 
-      columnTypes = new DataType[schema.size()];
-      for (int i = 0; i < schema.size(); i++) {
-        columnTypes[i] = schema.getColumn(i).getDataType();
-      }
-
+      encoder = new RawTupleEncoder(schema);
       buffer = ByteBuffer.allocateDirect(64 * 1024);
 
-      // comput the number of bytes, representing the null flags
-
-      nullFlags = new BitArray(schema.size());
-      headerSize = RECORD_SIZE + 2 + nullFlags.bytesLength();
-
       if (enabledStats) {
         this.stats = new TableStatistics(this.schema);
       }
@@ -504,6 +905,14 @@ public class RawFile {
       return pos;
     }
 
+    /**
+     * @return the encoder of this appender, which can be used to serialize rows to be written through
+     *         {@link #addEncodedRows(java.nio.ByteBuffer, int)}.
+     */
+    public RawTupleEncoder getEncoder() {
+      return encoder;
+    }
+
     private void flushBuffer() throws IOException {
       buffer.limit(buffer.position());
       buffer.flip();
@@ -511,27 +920,6 @@ public class RawFile {
       buffer.clear();
     }
 
-    private boolean flushBufferAndReplace(int recordOffset, int sizeToBeWritten)
-        throws IOException {
-
-      // if the buffer reaches the limit,
-      // write the bytes from 0 to the previous record.
-      if (buffer.remaining() < sizeToBeWritten) {
-
-        int limit = buffer.position();
-        buffer.limit(recordOffset);
-        buffer.flip();
-        channel.write(buffer);
-        buffer.position(recordOffset);
-        buffer.limit(limit);
-        buffer.compact();
-
-        return true;
-      } else {
-        return false;
-      }
-    }
-
     /**
      * Encode a ZigZag-encoded 32-bit value.  ZigZag encodes signed integers
      * into values that can be efficiently encoded with varint.  (Otherwise,
@@ -567,15 +955,7 @@ public class RawFile {
      * unsigned, so it won't be sign-extended if negative.
      */
     public void writeRawVarint32(int value) throws IOException {
-      while (true) {
-        if ((value & ~0x7F) == 0) {
-          buffer.put((byte) value);
-          return;
-        } else {
-          buffer.put((byte) ((value & 0x7F) | 0x80));
-          value >>>= 7;
-        }
-      }
+      RawTupleEncoder.writeRawVarint32(buffer, value);
     }
 
     /**
@@ -593,136 +973,59 @@ public class RawFile {
 
     /** Encode and write a varint. */
     public void writeRawVarint64(long value) throws IOException {
-      while (true) {
-        if ((value & ~0x7FL) == 0) {
-          buffer.put((byte) value);
-          return;
-        } else {
-          buffer.put((byte) ((value & 0x7F) | 0x80));
-          value >>>= 7;
-        }
-      }
+      RawTupleEncoder.writeRawVarint64(buffer, value);
     }
 
     @Override
     public void addTuple(Tuple t) throws IOException {
-
-      if (buffer.remaining() < headerSize) {
-        flushBuffer();
-      }
-
-      // skip the row header
-      int recordOffset = buffer.position();
-      buffer.position(recordOffset + headerSize);
-      // reset the null flags
-      nullFlags.clear();
-      for (int i = 0; i < schema.size(); i++) {
-        if (enabledStats) {
+      if (enabledStats) {
+        for (int i = 0; i < schema.size(); i++) {
           stats.analyzeField(i, t.get(i));
         }
+      }
 
-        if (t.isNull(i)) {
-          nullFlags.set(i);
-          continue;
-        }
-
-        // 8 is the maximum bytes size of all types
-        if (flushBufferAndReplace(recordOffset, 8)) {
-          recordOffset = 0;
+      int written = encoder.encode(t, buffer);
+      if (written < 0) {
+        flushBuffer();
+        written = encoder.encode(t, buffer);
+        if (written < 0) {
+          throw new IOException("A record is larger than the write buffer (" + buffer.capacity() + " bytes)");
         }
+      }
+      pos += written;
+      addZoneMapRow(t);
 
-        switch(columnTypes[i].getType()) {
-          case NULL_TYPE:
-            nullFlags.set(i);
-            continue;
-
-          case BOOLEAN:
-          case BIT:
-            buffer.put(t.getByte(i));
-            break;
-
-          case INT2 :
-            buffer.putShort(t.getInt2(i));
-            break;
-
-          case INT4 :
-            writeRawVarint32(encodeZigZag32(t.getInt4(i)));
-            break;
-
-          case INT8 :
-            writeRawVarint64(encodeZigZag64(t.getInt8(i)));
-            break;
-
-          case FLOAT4 :
-            buffer.putFloat(t.getFloat4(i));
-            break;
-
-          case FLOAT8 :
-            buffer.putDouble(t.getFloat8(i));
-            break;
-
-          case CHAR:
-          case TEXT: {
-            byte [] strBytes = t.getBytes(i);
-            if (flushBufferAndReplace(recordOffset, strBytes.length + computeRawVarint32Size(strBytes.length))) {
-              recordOffset = 0;
-            }
-            writeRawVarint32(strBytes.length);
-            buffer.put(strBytes);
-            break;
-          }
-
-        case DATE:
-          buffer.putInt(t.getInt4(i));
-          break;
-
-        case TIME:
-        case TIMESTAMP:
-          buffer.putLong(t.getInt8(i));
-          break;
-
-          case BLOB : {
-            byte [] rawBytes = t.getBytes(i);
-            if (flushBufferAndReplace(recordOffset, rawBytes.length + computeRawVarint32Size(rawBytes.length))) {
-              recordOffset = 0;
-            }
-            writeRawVarint32(rawBytes.length);
-            buffer.put(rawBytes);
-            break;
-          }
-
-          case PROTOBUF: {
-            byte [] rawBytes = t.getBytes(i);
-            if (flushBufferAndReplace(recordOffset, rawBytes.length + computeRawVarint32Size(rawBytes.length))) {
-              recordOffset = 0;
-            }
-            writeRawVarint32(rawBytes.length);
-            buffer.put(rawBytes);
-            break;
-          }
+      if (enabledStats) {
+        stats.incrementRow();
+      }
+    }
 
-          case INET4 :
-            buffer.put(t.getBytes(i));
-            break;
+    /**
+     * Writes records which were already encoded by a {@link RawTupleEncoder}, from the position to the limit
+     * of the given buffer. Only the number of rows is counted in the statistics for them.
+     *
+     * @param rows encoded records
+     * @param rowNum the number of records in the buffer
+     */
+    public void addEncodedRows(ByteBuffer rows, int rowNum) throws IOException {
+      // values of encoded records are unknown, so the zone map cannot cover them.
+      zoneMapWriter = null;
 
-          default:
-            throw new IOException("Cannot support data type: " + columnTypes[i].getType());
+      int length = rows.remaining();
+      if (buffer.remaining() >= length) {
+        buffer.put(rows);
+      } else {
+        flushBuffer();
+        while (rows.hasRemaining()) {
+          channel.write(rows);
         }
       }
-
-      // write a record header
-      int bufferPos = buffer.position();
-      buffer.position(recordOffset);
-      buffer.putInt(bufferPos - recordOffset);
-      byte [] flags = nullFlags.toArray();
-      buffer.putShort((short) flags.length);
-      buffer.put(flags);
-
-      pos += bufferPos - recordOffset;
-      buffer.position(bufferPos);
+      pos += length;
 
       if (enabledStats) {
-        stats.incrementRow();
+        for (int i = 0; i < rowNum; i++) {
+          stats.incrementRow();
+        }
       }
     }
 
@@ -745,6 +1048,7 @@ public class RawFile {
 
       StorageUtil.closeBuffer(buffer);
       IOUtils.cleanup(LOG, channel, randomAccessFile);
+      writeZoneMap();
     }
 
     @Override
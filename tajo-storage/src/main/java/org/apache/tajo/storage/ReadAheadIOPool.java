@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.storage.v2.DiskDeviceInfo;
+import org.apache.tajo.storage.v2.DiskMountInfo;
+import org.apache.tajo.storage.v2.DiskUtil;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * It keeps the I/O thread pools used by {@link ReadAheadInputStream}. Each disk has its own pool of
+ * tajo.storage.read-ahead.threads-per-disk threads, so the prefetches of concurrent scanners do not
+ * overload a single disk. A disk is identified by the volume id of a HDFS fragment or by the mount path of
+ * a local file. Files on an unknown disk share one pool.
+ */
+public class ReadAheadIOPool {
+  private static final Log LOG = LogFactory.getLog(ReadAheadIOPool.class);
+
+  private static final String UNKNOWN_DISK = "unknown";
+
+  private static final Map<String, ExecutorService> pools = new HashMap<String, ExecutorService>();
+
+  /** local mount paths sorted from the deepest one */
+  private static SortedSet<DiskMountInfo> diskMountInfos;
+
+  /**
+   * @return the pool of the disk which stores the given fragment.
+   */
+  public static ExecutorService getPool(Configuration conf, FileFragment fragment) {
+    return getPool(conf, getDiskKey(fragment));
+  }
+
+  private static synchronized ExecutorService getPool(Configuration conf, final String diskKey) {
+    ExecutorService pool = pools.get(diskKey);
+    if (pool == null) {
+      int threadNum = Math.max(1, TajoConf.getIntVar(conf, ConfVars.STORAGE_READ_AHEAD_THREADS_PER_DISK));
+      pool = Executors.newFixedThreadPool(threadNum, new ThreadFactory() {
+        private final AtomicInteger seq = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread thread = new Thread(r, "ReadAhead-" + diskKey + "-" + seq.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      pools.put(diskKey, pool);
+      LOG.info("Create read-ahead I/O pool for disk " + diskKey + " (threads: " + threadNum + ")");
+    }
+    return pool;
+  }
+
+  static String getDiskKey(FileFragment fragment) {
+    int[] diskIds = fragment.getDiskIds();
+    if (diskIds.length > 0 && diskIds[0] >= 0) {
+      return "volume-" + diskIds[0];
+    }
+
+    Path path = fragment.getPath();
+    String scheme = path.toUri().getScheme();
+    if (scheme == null || "file".equals(scheme)) {
+      int deviceId = findLocalDevice(path.toUri().getPath());
+      if (deviceId >= 0) {
+        return "device-" + deviceId;
+      }
+    }
+    return UNKNOWN_DISK;
+  }
+
+  private static synchronized int findLocalDevice(String fullPath) {
+    if (diskMountInfos == null) {
+      diskMountInfos = new TreeSet<DiskMountInfo>();
+      try {
+        for (DiskDeviceInfo eachDevice : DiskUtil.getDiskDeviceInfos()) {
+          diskMountInfos.addAll(eachDevice.getMountInfos());
+        }
+      } catch (IOException e) {
+        LOG.warn("Cannot get the disk device information: " + e.getMessage());
+      }
+    }
+
+    for (DiskMountInfo eachMountInfo : diskMountInfos) {
+      if (fullPath.indexOf(eachMountInfo.getMountPath()) == 0) {
+        return eachMountInfo.getDeviceId();
+      }
+    }
+    return -1;
+  }
+}
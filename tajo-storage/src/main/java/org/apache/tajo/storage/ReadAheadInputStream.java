@@ -0,0 +1,341 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.PositionedReadable;
+import org.apache.hadoop.fs.Seekable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * An input stream which reads a file ahead of its consumer. It has two buffers. While a consumer reads the
+ * current buffer, the next range of the file is filled into the other buffer by a thread of an I/O pool.
+ * The buffers are direct if the source can read into a direct buffer.
+ *
+ * A seek within the current buffer does not cause any I/O. Other seeks discard the prefetched data and
+ * restart the read-ahead from the new position.
+ */
+public class ReadAheadInputStream extends InputStream
+    implements Seekable, PositionedReadable, ByteBufferReadable, ReadableByteChannel {
+  private final FSDataInputStream in;
+  private final FileChannel channel;
+  /** the end offset up to which this stream reads ahead */
+  private final long end;
+  private final ExecutorService pool;
+
+  /** the buffer being consumed */
+  private ByteBuffer current;
+  /** the file offset of the first byte of the current buffer */
+  private long currentStart;
+  /** the buffer which is not used. It is null while it is being filled. */
+  private ByteBuffer spare;
+  private ByteBuffer pendingBuffer;
+  private Future<ByteBuffer> pending;
+
+  private boolean closed = false;
+
+  public ReadAheadInputStream(FSDataInputStream in, long start, long end, int bufferSize, ExecutorService pool)
+      throws IOException {
+    this(in, null, start, end, bufferSize, pool, in.getWrappedStream() instanceof ByteBufferReadable);
+  }
+
+  public ReadAheadInputStream(FileChannel channel, long start, long end, int bufferSize, ExecutorService pool)
+      throws IOException {
+    this(null, channel, start, end, bufferSize, pool, true);
+  }
+
+  private ReadAheadInputStream(FSDataInputStream in, FileChannel channel, long start, long end, int bufferSize,
+                               ExecutorService pool, boolean direct) throws IOException {
+    this.in = in;
+    this.channel = channel;
+    this.end = end;
+    this.pool = pool;
+
+    current = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    spare = direct ? ByteBuffer.allocateDirect(bufferSize) : ByteBuffer.allocate(bufferSize);
+    restart(start);
+  }
+
+  /**
+   * Discards the buffered data and starts to read ahead from the given position.
+   */
+  private void restart(long pos) throws IOException {
+    cancelPending();
+    current.clear();
+    current.limit(0);
+    currentStart = pos;
+    if (pos < end) {
+      prefetch(pos);
+    }
+  }
+
+  private void prefetch(final long pos) {
+    final ByteBuffer buffer = spare;
+    spare = null;
+    pendingBuffer = buffer;
+    pending = pool.submit(new Callable<ByteBuffer>() {
+      @Override
+      public ByteBuffer call() throws Exception {
+        buffer.clear();
+        buffer.limit((int) Math.min(buffer.capacity(), end - pos));
+        fill(pos, buffer);
+        buffer.flip();
+        return buffer;
+      }
+    });
+  }
+
+  private void fill(long pos, ByteBuffer buffer) throws IOException {
+    if (channel != null) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, pos + buffer.position()) < 0) {
+          break;
+        }
+      }
+      return;
+    }
+
+    synchronized (in) {
+      if (in.getPos() != pos) {
+        in.seek(pos);
+      }
+      while (buffer.hasRemaining()) {
+        int n;
+        if (buffer.isDirect()) {
+          n = in.read(buffer);
+        } else {
+          n = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+          if (n > 0) {
+            buffer.position(buffer.position() + n);
+          }
+        }
+        if (n < 0) {
+          break;
+        }
+      }
+    }
+  }
+
+  private ByteBuffer waitPending() throws IOException {
+    try {
+      return pending.get();
+    } catch (InterruptedException e) {
+      throw new InterruptedIOException(e.getMessage());
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      pending = null;
+      spare = pendingBuffer;
+      pendingBuffer = null;
+    }
+  }
+
+  private void cancelPending() throws IOException {
+    if (pending != null) {
+      waitPending();
+    }
+  }
+
+  /**
+   * Switches the current buffer to the prefetched one, and starts to read ahead the next range.
+   *
+   * @return false if it reaches the end of the stream
+   */
+  private boolean advance() throws IOException {
+    if (pending == null) {
+      return false;
+    }
+
+    long start = currentStart + current.limit();
+    ByteBuffer filled = waitPending();
+    spare = current;
+    current = filled;
+    currentStart = start;
+
+    if (!current.hasRemaining()) {
+      return false;
+    }
+    long next = currentStart + current.limit();
+    if (next < end) {
+      prefetch(next);
+    }
+    return true;
+  }
+
+  private void checkOpen() throws IOException {
+    if (closed) {
+      throw new ClosedChannelException();
+    }
+  }
+
+  @Override
+  public int read() throws IOException {
+    checkOpen();
+    if (!current.hasRemaining() && !advance()) {
+      return -1;
+    }
+    return current.get() & 0xff;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    checkOpen();
+    if (len == 0) {
+      return 0;
+    }
+    if (!current.hasRemaining() && !advance()) {
+      return -1;
+    }
+    int n = Math.min(len, current.remaining());
+    current.get(b, off, n);
+    return n;
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    checkOpen();
+    if (!dst.hasRemaining()) {
+      return 0;
+    }
+    if (!current.hasRemaining() && !advance()) {
+      return -1;
+    }
+    int n = Math.min(dst.remaining(), current.remaining());
+    ByteBuffer src = current.duplicate();
+    src.limit(src.position() + n);
+    dst.put(src);
+    current.position(current.position() + n);
+    return n;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0) {
+      return 0;
+    }
+    long pos = getPos();
+    long skipped = Math.min(n, Math.max(0, end - pos));
+    seek(pos + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    checkOpen();
+    return current.remaining();
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    checkOpen();
+    if (pos >= currentStart && pos <= currentStart + current.limit()) {
+      current.position((int) (pos - currentStart));
+    } else {
+      restart(pos);
+    }
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    // the position is kept in currentStart after this stream is closed
+    return closed ? currentStart : currentStart + current.position();
+  }
+
+  @Override
+  public boolean seekToNewSource(long targetPos) throws IOException {
+    return false;
+  }
+
+  @Override
+  public int read(long position, byte[] buffer, int offset, int length) throws IOException {
+    if (channel != null) {
+      return channel.read(ByteBuffer.wrap(buffer, offset, length), position);
+    }
+    synchronized (in) {
+      return in.read(position, buffer, offset, length);
+    }
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer, int offset, int length) throws IOException {
+    if (channel != null) {
+      ByteBuffer dst = ByteBuffer.wrap(buffer, offset, length);
+      while (dst.hasRemaining()) {
+        if (channel.read(dst, position + dst.position() - offset) < 0) {
+          throw new EOFException("End of file reached before reading fully.");
+        }
+      }
+      return;
+    }
+    synchronized (in) {
+      in.readFully(position, buffer, offset, length);
+    }
+  }
+
+  @Override
+  public void readFully(long position, byte[] buffer) throws IOException {
+    readFully(position, buffer, 0, buffer.length);
+  }
+
+  @Override
+  public boolean isOpen() {
+    return !closed;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    currentStart = getPos();
+    closed = true;
+
+    try {
+      cancelPending();
+    } catch (IOException e) {
+      // the prefetched data is discarded
+    } finally {
+      StorageUtil.closeBuffer(current);
+      StorageUtil.closeBuffer(spare);
+      current = null;
+      spare = null;
+      if (channel != null) {
+        channel.close();
+      } else {
+        in.close();
+      }
+    }
+  }
+}
@@ -71,15 +71,19 @@ public class RowStoreUtil {
 
 
     public Tuple toTuple(byte [] bytes) {
+      return toTuple(bytes, 0, bytes.length);
+    }
+
+    public Tuple toTuple(byte [] bytes, int offset, int length) {
       nullFlags.clear();
-      ByteBuffer bb = ByteBuffer.wrap(bytes);
+      ByteBuffer bb = ByteBuffer.wrap(bytes, offset, length);
       Tuple tuple = new VTuple(schema.size());
       Column col;
       TajoDataTypes.DataType type;
 
-      bb.limit(headerSize);
+      bb.limit(offset + headerSize);
       nullFlags.fromByteBuffer(bb);
-      bb.limit(bytes.length);
+      bb.limit(offset + length);
 
       for (int i =0; i < schema.size(); i++) {
         if (nullFlags.get(i)) {
@@ -0,0 +1,344 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import com.google.common.base.Preconditions;
+import org.apache.tajo.datum.Datum;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A search condition which is pushed down into a selectable {@link Scanner}. It is a conjunction of predicates,
+ * each of which compares a single column with constants (e.g., <code>col1 &lt; 10 AND col2 IS NOT NULL</code> or
+ * <code>col1 IN (1, 3) AND (col2 &lt; 5 OR col2 &gt; 10)</code>).
+ *
+ * A scanner can evaluate it before decoding the other columns of a row, or it can skip a block of rows whose
+ * column statistics cannot satisfy it. A scanner does not have to remove all unqualified rows, so a caller
+ * should still evaluate its original condition.
+ */
+public class ScanFilter {
+  public static enum Op {
+    EQUAL,
+    NOT_EQUAL,
+    LTH,
+    LEQ,
+    GTH,
+    GEQ,
+    IS_NULL,
+    IS_NOT_NULL,
+    IN,
+    AND,
+    OR
+  }
+
+  public static class Predicate {
+    private final int columnId;
+    private final Op op;
+    private final Datum value;
+    private final Datum [] values;
+    private final Predicate [] children;
+
+    /**
+     * @param columnId The column id in the schema of a scanner
+     * @param op The comparison operator
+     * @param value The constant value to be compared. It is ignored for IS_NULL and IS_NOT_NULL.
+     */
+    public Predicate(int columnId, Op op, Datum value) {
+      Preconditions.checkArgument(op.ordinal() <= Op.IS_NOT_NULL.ordinal(), "Unexpected operator: " + op);
+      Preconditions.checkArgument(op == Op.IS_NULL || op == Op.IS_NOT_NULL || (value != null && value.isNotNull()),
+          "A comparison predicate requires a non-null value");
+      this.columnId = columnId;
+      this.op = op;
+      this.value = value;
+      this.values = null;
+      this.children = null;
+    }
+
+    /**
+     * Creates an IN predicate.
+     *
+     * @param columnId The column id in the schema of a scanner
+     * @param values The non-null constant values
+     */
+    public Predicate(int columnId, Datum [] values) {
+      Preconditions.checkArgument(values.length > 0, "An IN predicate requires at least one value");
+      for (Datum datum : values) {
+        Preconditions.checkArgument(datum != null && datum.isNotNull(), "An IN predicate requires non-null values");
+      }
+      this.columnId = columnId;
+      this.op = Op.IN;
+      this.value = null;
+      this.values = values;
+      this.children = null;
+    }
+
+    /**
+     * Creates a conjunction or a disjunction of predicates on the same column.
+     *
+     * @param op AND or OR
+     * @param children The predicates on the same column
+     */
+    public Predicate(Op op, List<Predicate> children) {
+      Preconditions.checkArgument(op == Op.AND || op == Op.OR, "Unexpected operator: " + op);
+      Preconditions.checkArgument(children.size() > 0, op + " requires at least one predicate");
+      for (Predicate child : children) {
+        Preconditions.checkArgument(child.getColumnId() == children.get(0).getColumnId(),
+            op + " requires predicates on the same column");
+      }
+      this.columnId = children.get(0).getColumnId();
+      this.op = op;
+      this.value = null;
+      this.values = null;
+      this.children = children.toArray(new Predicate[children.size()]);
+    }
+
+    public int getColumnId() {
+      return columnId;
+    }
+
+    public Op getOp() {
+      return op;
+    }
+
+    public Datum getValue() {
+      return value;
+    }
+
+    /**
+     * @return The values of an IN predicate
+     */
+    public Datum [] getValues() {
+      return values;
+    }
+
+    /**
+     * @return The child predicates of an AND or OR predicate
+     */
+    public Predicate [] getChildren() {
+      return children;
+    }
+
+    public boolean isMatched(Datum datum) {
+      switch (op) {
+        case IS_NULL: return datum.isNull();
+        case IS_NOT_NULL: return datum.isNotNull();
+        case AND:
+          for (Predicate child : children) {
+            if (!child.isMatched(datum)) {
+              return false;
+            }
+          }
+          return true;
+        case OR:
+          for (Predicate child : children) {
+            if (child.isMatched(datum)) {
+              return true;
+            }
+          }
+          return false;
+        default:
+      }
+
+      if (datum.isNull()) {
+        return false;
+      }
+
+      if (op == Op.IN) {
+        for (Datum v : values) {
+          if (datum.compareTo(v) == 0) {
+            return true;
+          }
+        }
+        return false;
+      }
+
+      int cmp = datum.compareTo(value);
+      switch (op) {
+        case EQUAL: return cmp == 0;
+        case NOT_EQUAL: return cmp != 0;
+        case LTH: return cmp < 0;
+        case LEQ: return cmp <= 0;
+        case GTH: return cmp > 0;
+        case GEQ: return cmp >= 0;
+        default: return true;
+      }
+    }
+
+    /**
+     * Checks if any value in a block of rows can satisfy this predicate according to the column statistics.
+     *
+     * @param min The minimum value of this column in the block, or null if unknown
+     * @param max The maximum value of this column in the block, or null if unknown
+     * @param nullCount The number of null values in the block, or -1 if unknown
+     * @param rowNum The number of rows in the block, or -1 if unknown
+     * @return false only if no row in the block can satisfy this predicate
+     */
+    public boolean canMatch(Datum min, Datum max, long nullCount, long rowNum) {
+      boolean allNull = nullCount >= 0 && rowNum >= 0 && nullCount >= rowNum;
+
+      switch (op) {
+        case IS_NULL: return nullCount != 0;
+        case IS_NOT_NULL: return !allNull;
+        case AND:
+          for (Predicate child : children) {
+            if (!child.canMatch(min, max, nullCount, rowNum)) {
+              return false;
+            }
+          }
+          return true;
+        case OR:
+          for (Predicate child : children) {
+            if (child.canMatch(min, max, nullCount, rowNum)) {
+              return true;
+            }
+          }
+          return false;
+        default:
+      }
+
+      if (allNull) {
+        return false;
+      } else if (min == null || max == null || min.isNull() || max.isNull()) {
+        return true;
+      }
+
+      switch (op) {
+        case EQUAL: return min.compareTo(value) <= 0 && max.compareTo(value) >= 0;
+        case NOT_EQUAL: return min.compareTo(value) != 0 || max.compareTo(value) != 0;
+        case LTH: return min.compareTo(value) < 0;
+        case LEQ: return min.compareTo(value) <= 0;
+        case GTH: return max.compareTo(value) > 0;
+        case GEQ: return max.compareTo(value) >= 0;
+        case IN:
+          for (Datum v : values) {
+            if (min.compareTo(v) <= 0 && max.compareTo(v) >= 0) {
+              return true;
+            }
+          }
+          return false;
+        default: return true;
+      }
+    }
+
+    @Override
+    public String toString() {
+      switch (op) {
+        case IN: return "$" + columnId + " IN " + Arrays.toString(values);
+        case AND:
+        case OR: {
+          StringBuilder sb = new StringBuilder("(");
+          for (int i = 0; i < children.length; i++) {
+            if (i > 0) {
+              sb.append(" ").append(op).append(" ");
+            }
+            sb.append(children[i]);
+          }
+          return sb.append(")").toString();
+        }
+        default: return "$" + columnId + " " + op + (value != null ? " " + value : "");
+      }
+    }
+  }
+
+  private final Predicate [] predicates;
+  private final int [] columnIds;
+
+  public ScanFilter(List<Predicate> predicates) {
+    Preconditions.checkArgument(predicates.size() > 0, "ScanFilter requires at least one predicate");
+    this.predicates = predicates.toArray(new Predicate[predicates.size()]);
+
+    TreeSet<Integer> ids = new TreeSet<Integer>();
+    for (Predicate predicate : predicates) {
+      ids.add(predicate.getColumnId());
+    }
+    columnIds = new int[ids.size()];
+    int i = 0;
+    for (Integer id : ids) {
+      columnIds[i++] = id;
+    }
+  }
+
+  public Predicate [] getPredicates() {
+    return predicates;
+  }
+
+  /**
+   * @return The ids of columns referred by this filter in ascending order
+   */
+  public int [] getColumnIds() {
+    return columnIds;
+  }
+
+  public boolean containsColumn(int columnId) {
+    return Arrays.binarySearch(columnIds, columnId) >= 0;
+  }
+
+  /**
+   * Evaluates this filter against a row. Only the columns referred by this filter are read from the tuple,
+   * so a lazily decoded tuple does not decode the other columns.
+   */
+  public boolean isMatched(Tuple tuple) {
+    for (Predicate predicate : predicates) {
+      if (!predicate.isMatched(tuple.get(predicate.getColumnId()))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if a column value can satisfy all predicates on the column.
+   */
+  public boolean isMatched(int columnId, Datum datum) {
+    for (Predicate predicate : predicates) {
+      if (predicate.getColumnId() == columnId && !predicate.isMatched(datum)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if any row in a block can satisfy all predicates on a column according to the column statistics.
+   *
+   * @see Predicate#canMatch(Datum, Datum, long, long)
+   */
+  public boolean canMatch(int columnId, Datum min, Datum max, long nullCount, long rowNum) {
+    for (Predicate predicate : predicates) {
+      if (predicate.getColumnId() == columnId && !predicate.canMatch(min, max, nullCount, rowNum)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < predicates.length; i++) {
+      if (i > 0) {
+        sb.append(" AND ");
+      }
+      sb.append(predicates[i]);
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,271 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.datum.ProtobufDatum;
+import org.apache.tajo.exception.UnsupportedException;
+
+import java.util.Arrays;
+
+/**
+ * A tuple which refers to a line in a shared text buffer. It keeps only the start and end offsets of fields in
+ * the buffer, and it deserializes a field when the field is accessed. Unlike {@link LazyTuple}, it does not copy
+ * field bytes, so a scanner can reuse it across rows by calling {@link #reset(byte[], long)}.
+ *
+ * A field which was not tokenized is not projected, and its value is null.
+ */
+public class TextLineTuple implements Tuple {
+  private final Schema schema;
+  private final byte[] nullBytes;
+  private final SerializerDeserializer serde;
+
+  private byte[] data;
+  private long offset;
+  private final int[] starts;
+  private final int[] ends;
+  private final Datum[] values;
+
+  public TextLineTuple(Schema schema, byte[] nullBytes, SerializerDeserializer serde) {
+    this.schema = schema;
+    this.nullBytes = nullBytes;
+    this.serde = serde;
+    this.starts = new int[schema.size()];
+    this.ends = new int[schema.size()];
+    this.values = new Datum[schema.size()];
+    Arrays.fill(starts, -1);
+  }
+
+  /**
+   * Makes this tuple refer to a new line. All fields are cleared.
+   *
+   * @param data The buffer containing the line
+   * @param offset The file offset of the line
+   */
+  public void reset(byte[] data, long offset) {
+    this.data = data;
+    this.offset = offset;
+    Arrays.fill(starts, -1);
+    Arrays.fill(values, null);
+  }
+
+  /**
+   * Sets the range of a tokenized field in the buffer.
+   */
+  public void setField(int fieldId, int start, int end) {
+    starts[fieldId] = start;
+    ends[fieldId] = end;
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean contains(int fieldid) {
+    return starts[fieldid] >= 0 || values[fieldid] != null;
+  }
+
+  @Override
+  public boolean isNull(int fieldid) {
+    return get(fieldid) instanceof NullDatum;
+  }
+
+  @Override
+  public void clear() {
+    reset(null, -1);
+  }
+
+  //////////////////////////////////////////////////////
+  // Setter
+  //////////////////////////////////////////////////////
+  @Override
+  public void put(int fieldId, Datum value) {
+    values[fieldId] = value;
+    starts[fieldId] = -1;
+  }
+
+  @Override
+  public void put(int fieldId, Datum[] values) {
+    for (int i = fieldId, j = 0; j < values.length; i++, j++) {
+      put(i, values[j]);
+    }
+  }
+
+  @Override
+  public void put(int fieldId, Tuple tuple) {
+    for (int i = fieldId, j = 0; j < tuple.size(); i++, j++) {
+      put(i, tuple.get(j));
+    }
+  }
+
+  @Override
+  public void put(Datum[] values) {
+    put(0, values);
+  }
+
+  //////////////////////////////////////////////////////
+  // Getter
+  //////////////////////////////////////////////////////
+  @Override
+  public Datum get(int fieldId) {
+    if (values[fieldId] != null) {
+      return values[fieldId];
+    } else if (starts[fieldId] >= 0) {
+      try {
+        values[fieldId] = serde.deserialize(schema.getColumn(fieldId), data, starts[fieldId],
+            ends[fieldId] - starts[fieldId], nullBytes);
+      } catch (Exception e) {
+        values[fieldId] = NullDatum.get();
+      }
+      starts[fieldId] = -1;
+    } else {
+      //non-projection
+    }
+    return values[fieldId];
+  }
+
+  @Override
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  @Override
+  public long getOffset() {
+    return this.offset;
+  }
+
+  @Override
+  public boolean getBool(int fieldId) {
+    return get(fieldId).asBool();
+  }
+
+  @Override
+  public byte getByte(int fieldId) {
+    return get(fieldId).asByte();
+  }
+
+  @Override
+  public char getChar(int fieldId) {
+    return get(fieldId).asChar();
+  }
+
+  @Override
+  public byte [] getBytes(int fieldId) {
+    return get(fieldId).asByteArray();
+  }
+
+  @Override
+  public short getInt2(int fieldId) {
+    return get(fieldId).asInt2();
+  }
+
+  @Override
+  public int getInt4(int fieldId) {
+    return get(fieldId).asInt4();
+  }
+
+  @Override
+  public long getInt8(int fieldId) {
+    return get(fieldId).asInt8();
+  }
+
+  @Override
+  public float getFloat4(int fieldId) {
+    return get(fieldId).asFloat4();
+  }
+
+  @Override
+  public double getFloat8(int fieldId) {
+    return get(fieldId).asFloat8();
+  }
+
+  @Override
+  public String getText(int fieldId) {
+    return get(fieldId).asChars();
+  }
+
+  @Override
+  public ProtobufDatum getProtobufDatum(int fieldId) {
+    throw new UnsupportedException();
+  }
+
+  @Override
+  public char[] getUnicodeChars(int fieldId) {
+    return get(fieldId).asUnicodeChars();
+  }
+
+  public String toString() {
+    boolean first = true;
+    StringBuilder str = new StringBuilder();
+    str.append("(");
+    Datum d;
+    for (int i = 0; i < values.length; i++) {
+      d = get(i);
+      if (d != null) {
+        if (first) {
+          first = false;
+        } else {
+          str.append(", ");
+        }
+        str.append(i)
+            .append("=>")
+            .append(d);
+      }
+    }
+    str.append(")");
+    return str.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(getValues());
+  }
+
+  @Override
+  public Datum[] getValues() {
+    Datum[] datums = new Datum[values.length];
+    for (int i = 0; i < values.length; i++) {
+      datums[i] = get(i);
+    }
+    return datums;
+  }
+
+  /**
+   * @return A copy which does not refer to the shared buffer
+   */
+  @Override
+  public Tuple clone() throws CloneNotSupportedException {
+    VTuple tuple = new VTuple(getValues());
+    tuple.setOffset(offset);
+    return tuple;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (obj instanceof Tuple) {
+      Tuple other = (Tuple) obj;
+      return Arrays.equals(getValues(), other.getValues());
+    }
+    return false;
+  }
+}
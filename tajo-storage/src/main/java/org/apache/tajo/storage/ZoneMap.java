@@ -0,0 +1,240 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.proto.CatalogProtos.TableStatsProto;
+import org.apache.tajo.catalog.statistics.ColumnStats;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A zone map keeps the min/max values and the number of nulls of each column for every block of rows in a table
+ * file. It is stored in a hidden sidecar file next to the data file, and it is used to prune the fragments which
+ * cannot satisfy a search condition before they are scheduled.
+ *
+ * A block covers the byte range [startOffset, endOffset) of the data file, and it contains the rows which start
+ * in the range.
+ */
+public class ZoneMap {
+  private static final Log LOG = LogFactory.getLog(ZoneMap.class);
+
+  public static final String ZONEMAP_FILE_SUFFIX = ".zonemap";
+  private static final int VERSION = 1;
+
+  public static class Block {
+    private final long startOffset;
+    private final long endOffset;
+    private final TableStats stats;
+
+    public Block(long startOffset, long endOffset, TableStats stats) {
+      this.startOffset = startOffset;
+      this.endOffset = endOffset;
+      this.stats = stats;
+    }
+
+    public long getStartOffset() {
+      return startOffset;
+    }
+
+    public long getEndOffset() {
+      return endOffset;
+    }
+
+    public TableStats getStats() {
+      return stats;
+    }
+
+    /**
+     * @return false only if no row in this block can satisfy the filter
+     */
+    public boolean canMatch(Schema schema, ScanFilter filter) {
+      for (ScanFilter.Predicate predicate : filter.getPredicates()) {
+        String columnName = schema.getColumn(predicate.getColumnId()).getSimpleName();
+        for (ColumnStats columnStats : stats.getColumnStats()) {
+          if (columnStats.getColumn().getSimpleName().equals(columnName)) {
+            if (!predicate.canMatch(columnStats.getMinValue(), columnStats.getMaxValue(),
+                columnStats.getNumNulls(), stats.getNumRows())) {
+              return false;
+            }
+            break;
+          }
+        }
+      }
+      return true;
+    }
+  }
+
+  private final long dataFileLength;
+  private final List<Block> blocks;
+
+  public ZoneMap(long dataFileLength, List<Block> blocks) {
+    this.dataFileLength = dataFileLength;
+    this.blocks = blocks;
+  }
+
+  public long getDataFileLength() {
+    return dataFileLength;
+  }
+
+  public List<Block> getBlocks() {
+    return Collections.unmodifiableList(blocks);
+  }
+
+  /**
+   * Checks if any row in the given range of the data file can satisfy the filter. A fragment reads the rows which
+   * start in its range, so every block overlapping the range is checked.
+   *
+   * @param start The start offset of a fragment
+   * @param length The length of a fragment
+   * @param schema The schema which the column ids of the filter refer to
+   * @param filter A search condition
+   * @return false only if no row in the range can satisfy the filter
+   */
+  public boolean canMatch(long start, long length, Schema schema, ScanFilter filter) {
+    long end = start + length;
+    for (Block block : blocks) {
+      if (block.getEndOffset() < start || block.getStartOffset() > end) {
+        continue;
+      }
+      if (block.canMatch(schema, filter)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public static Path getZoneMapPath(Path dataFile) {
+    // a hidden file is not listed as a data file of a table
+    return new Path(dataFile.getParent(), "." + dataFile.getName() + ZONEMAP_FILE_SUFFIX);
+  }
+
+  public static boolean isZoneMapPath(Path path) {
+    String name = path.getName();
+    return name.startsWith(".") && name.endsWith(ZONEMAP_FILE_SUFFIX);
+  }
+
+  public void write(FileSystem fs, Path dataFile) throws IOException {
+    FSDataOutputStream out = fs.create(getZoneMapPath(dataFile), true);
+    try {
+      out.writeInt(VERSION);
+      out.writeLong(dataFileLength);
+      out.writeInt(blocks.size());
+      for (Block block : blocks) {
+        out.writeLong(block.getStartOffset());
+        out.writeLong(block.getEndOffset());
+        block.getStats().getProto().writeDelimitedTo(out);
+      }
+    } finally {
+      IOUtils.closeStream(out);
+    }
+  }
+
+  /**
+   * Reads the zone map of a data file.
+   *
+   * A zone map is stale if its data file was modified after it was written, or if the length of its data file
+   * differs from the length recorded in it.
+   *
+   * @param fs The file system of the data file
+   * @param dataFile The current status of the data file
+   * @return The zone map, or null if the data file does not have a zone map or if its zone map is stale.
+   */
+  public static ZoneMap read(FileSystem fs, FileStatus dataFile) throws IOException {
+    Path zoneMapPath = getZoneMapPath(dataFile.getPath());
+    FSDataInputStream in;
+    try {
+      // a zone map is written after its data file is closed, and renaming does not change modification times.
+      if (fs.getFileStatus(zoneMapPath).getModificationTime() < dataFile.getModificationTime()) {
+        return null;
+      }
+      in = fs.open(zoneMapPath);
+    } catch (FileNotFoundException e) {
+      return null;
+    }
+
+    try {
+      int version = in.readInt();
+      long length = in.readLong();
+      if (version != VERSION || length != dataFile.getLen()) {
+        return null;
+      }
+
+      int blockNum = in.readInt();
+      List<Block> blocks = new ArrayList<Block>(blockNum);
+      for (int i = 0; i < blockNum; i++) {
+        long startOffset = in.readLong();
+        long endOffset = in.readLong();
+        blocks.add(new Block(startOffset, endOffset, new TableStats(TableStatsProto.parseDelimitedFrom(in))));
+      }
+      return new ZoneMap(length, blocks);
+    } finally {
+      IOUtils.closeStream(in);
+    }
+  }
+
+  /**
+   * Removes the fragments which cannot satisfy a search condition according to the zone maps of their files.
+   * Fragments of files without a valid zone map are always kept.
+   *
+   * @param conf Configuration
+   * @param schema The schema which the column ids of the filter refer to
+   * @param filter A search condition
+   * @param fragments Fragments to be pruned
+   * @return The remaining fragments in the same order
+   */
+  public static List<FileFragment> pruneFragments(Configuration conf, Schema schema, ScanFilter filter,
+                                                  Collection<FileFragment> fragments) throws IOException {
+    Map<Path, ZoneMap> zoneMaps = new HashMap<Path, ZoneMap>();
+    List<FileFragment> remains = new ArrayList<FileFragment>(fragments.size());
+
+    for (FileFragment fragment : fragments) {
+      Path path = fragment.getPath();
+      if (!zoneMaps.containsKey(path)) {
+        FileSystem fs = path.getFileSystem(conf);
+        ZoneMap zoneMap = null;
+        try {
+          zoneMap = read(fs, fs.getFileStatus(path));
+        } catch (IOException e) {
+          LOG.warn("Cannot read the zone map of " + path + ": " + e.getMessage());
+        }
+        zoneMaps.put(path, zoneMap);
+      }
+
+      ZoneMap zoneMap = zoneMaps.get(path);
+      if (zoneMap == null || zoneMap.canMatch(fragment.getStartKey(), fragment.getEndKey(), schema, filter)) {
+        remains.add(fragment);
+      }
+    }
+    return remains;
+  }
+}
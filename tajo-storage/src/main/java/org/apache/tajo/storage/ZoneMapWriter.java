@@ -0,0 +1,92 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * It collects the per-block statistics of a data file while an appender writes rows, and it writes them into
+ * the zone map of the data file. This class is not thread-safe.
+ *
+ * @see ZoneMap
+ */
+public class ZoneMapWriter {
+  private final Schema schema;
+  private final long blockSize;
+  private final List<ZoneMap.Block> blocks = new ArrayList<ZoneMap.Block>();
+
+  private TableStatistics current;
+  private long blockStart = 0;
+
+  /**
+   * @param schema The schema of the data file
+   * @param blockSize The approximate number of bytes covered by a block
+   */
+  public ZoneMapWriter(Schema schema, long blockSize) {
+    this.schema = schema;
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * Adds a row which has been written. A block is closed when the written bytes exceed the block size.
+   *
+   * @param tuple A written row
+   * @param offset The offset of the data file after the row has been written. Rows which are buffered by an
+   *               appender belong to the block which is closed after they are flushed.
+   */
+  public void addRow(Tuple tuple, long offset) {
+    if (current == null) {
+      current = new TableStatistics(schema);
+    }
+    for (int i = 0; i < schema.size(); i++) {
+      current.analyzeField(i, tuple.get(i));
+    }
+    current.incrementRow();
+
+    if (offset - blockStart >= blockSize) {
+      closeBlock(offset);
+    }
+  }
+
+  private void closeBlock(long endOffset) {
+    blocks.add(new ZoneMap.Block(blockStart, endOffset, current.getTableStat()));
+    blockStart = endOffset;
+    current = null;
+  }
+
+  /**
+   * Closes the last block and writes the zone map of a data file.
+   *
+   * @param fs The file system of the data file
+   * @param dataFile The path of the data file
+   * @param dataFileLength The length of the closed data file
+   */
+  public void write(FileSystem fs, Path dataFile, long dataFileLength) throws IOException {
+    if (current != null) {
+      closeBlock(dataFileLength);
+    }
+    new ZoneMap(dataFileLength, blocks).write(fs, dataFile);
+  }
+}
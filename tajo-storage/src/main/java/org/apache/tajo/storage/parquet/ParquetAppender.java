@@ -110,6 +110,8 @@ public class ParquetAppender extends FileAppender {
       }
     }
     writer.write(tuple);
+    // offsets are not tracked, so the zone map has a single block for the whole file.
+    addZoneMapRow(tuple);
     if (enabledStats) {
       stats.incrementRow();
     }
@@ -128,6 +130,7 @@ public class ParquetAppender extends FileAppender {
   @Override
   public void close() throws IOException {
     writer.close();
+    writeZoneMap();
   }
 
   public long getEstimatedOutputSize() throws IOException {
@@ -55,7 +55,8 @@ public class ParquetScanner extends FileScanner {
     if (targets == null) {
       targets = schema.toArray();
     }
-    reader = new TajoParquetReader(fragment.getPath(), schema, new Schema(targets));
+    reader = new TajoParquetReader(fragment.getPath(), schema, new Schema(targets), filter,
+        fragment.getStartKey(), fragment.getEndKey());
     super.init();
   }
 
@@ -98,22 +99,24 @@ public class ParquetScanner extends FileScanner {
   }
 
   /**
-   * Returns whether this scanner is selectable.
+   * Returns whether this scanner is selectable. Row groups which cannot
+   * satisfy the search condition are skipped by their column statistics.
    *
-   * @return false
+   * @return true
    */
   @Override
   public boolean isSelectable() {
-    return false;
+    return true;
   }
 
   /**
-   * Returns whether this scanner is splittable.
+   * Returns whether this scanner is splittable. A fragment reads the row
+   * groups starting in it.
    *
-   * @return false
+   * @return true
    */
   @Override
   public boolean isSplittable() {
-    return false;
+    return true;
   }
 }
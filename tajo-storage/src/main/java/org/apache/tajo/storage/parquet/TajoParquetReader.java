@@ -18,13 +18,42 @@
 
 package org.apache.tajo.storage.parquet;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.util.ReflectionUtils;
+import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.ScanFilter;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.thirdparty.parquet.ParquetReader;
+import parquet.bytes.BytesInput;
+import parquet.column.ColumnDescriptor;
+import parquet.column.Dictionary;
+import parquet.column.Encoding;
+import parquet.column.page.DictionaryPage;
+import parquet.column.statistics.Statistics;
 import parquet.filter.UnboundRecordFilter;
+import parquet.format.DictionaryPageHeader;
+import parquet.format.PageHeader;
+import parquet.format.PageType;
+import parquet.format.Util;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ColumnChunkMetaData;
+import parquet.hadoop.metadata.CompressionCodecName;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Tajo implementation of {@link ParquetReader} to read Tajo records from a
@@ -32,6 +61,15 @@ import java.io.IOException;
  * directly.
  */
 public class TajoParquetReader extends ParquetReader<Tuple> {
+  private static final Log LOG = LogFactory.getLog(TajoParquetReader.class);
+
+  private Path file;
+  private Schema readSchema;
+  private ScanFilter scanFilter;
+  private long splitStart = 0;
+  private long splitEnd = Long.MAX_VALUE;
+  private FSDataInputStream dictionaryIn;
+
   /**
    * Creates a new TajoParquetReader.
    *
@@ -40,6 +78,7 @@ public class TajoParquetReader extends ParquetReader<Tuple> {
    */
   public TajoParquetReader(Path file, Schema readSchema) throws IOException {
     super(file, new TajoReadSupport(readSchema));
+    this.readSchema = readSchema;
   }
 
   /**
@@ -52,6 +91,47 @@ public class TajoParquetReader extends ParquetReader<Tuple> {
   public TajoParquetReader(Path file, Schema readSchema,
                            Schema requestedSchema) throws IOException {
     super(file, new TajoReadSupport(readSchema, requestedSchema));
+    this.readSchema = readSchema;
+  }
+
+  /**
+   * Creates a new TajoParquetReader.
+   *
+   * @param file The file to read from.
+   * @param readSchema Tajo schema of the table.
+   * @param requestedSchema Tajo schema of the projection.
+   * @param scanFilter Search condition. Row groups whose column statistics
+   *        cannot satisfy it are skipped.
+   */
+  public TajoParquetReader(Path file, Schema readSchema,
+                           Schema requestedSchema,
+                           ScanFilter scanFilter) throws IOException {
+    super(file, new TajoReadSupport(readSchema, requestedSchema));
+    this.file = file;
+    this.readSchema = readSchema;
+    this.scanFilter = scanFilter;
+  }
+
+  /**
+   * Creates a new TajoParquetReader which reads only the row groups starting
+   * in a split of the file.
+   *
+   * @param file The file to read from.
+   * @param readSchema Tajo schema of the table.
+   * @param requestedSchema Tajo schema of the projection.
+   * @param scanFilter Search condition. Row groups whose column statistics
+   *        cannot satisfy it are skipped.
+   * @param splitStart The start offset of the split.
+   * @param splitLength The length of the split.
+   */
+  public TajoParquetReader(Path file, Schema readSchema,
+                           Schema requestedSchema,
+                           ScanFilter scanFilter,
+                           long splitStart, long splitLength)
+      throws IOException {
+    this(file, readSchema, requestedSchema, scanFilter);
+    this.splitStart = splitStart;
+    this.splitEnd = splitStart + splitLength;
   }
 
   /**
@@ -65,6 +145,7 @@ public class TajoParquetReader extends ParquetReader<Tuple> {
                            UnboundRecordFilter recordFilter)
       throws IOException {
     super(file, new TajoReadSupport(readSchema), recordFilter);
+    this.readSchema = readSchema;
   }
 
   /**
@@ -81,5 +162,265 @@ public class TajoParquetReader extends ParquetReader<Tuple> {
       throws IOException {
     super(file, new TajoReadSupport(readSchema, requestedSchema),
           recordFilter);
+    this.readSchema = readSchema;
+  }
+
+  /**
+   * Skips the row groups which do not start in the split, and the row groups
+   * which cannot satisfy the search condition according to their column
+   * statistics or dictionaries. Each row group belongs to exactly one split
+   * because a split owns the row groups starting in it.
+   *
+   * @param blocks All row groups of a file.
+   * @return Row groups to be read.
+   */
+  @Override
+  protected List<BlockMetaData> filterBlocks(List<BlockMetaData> blocks) {
+    List<BlockMetaData> filtered = new ArrayList<BlockMetaData>();
+    try {
+      for (BlockMetaData block : blocks) {
+        long start = getStartingPos(block);
+        if (start < splitStart || start >= splitEnd) {
+          continue;
+        }
+        if (scanFilter == null) {
+          filtered.add(block);
+          continue;
+        }
+        if (canMatchByStatistics(block) && canMatchByDictionaries(block)) {
+          filtered.add(block);
+        }
+      }
+    } catch (IOException e) {
+      // dictionaries are optional for filtering, so all remaining row groups are read.
+      LOG.warn("Cannot read dictionaries of " + file + ": " + e.getMessage());
+      filtered.clear();
+      for (BlockMetaData block : blocks) {
+        long start = getStartingPos(block);
+        if (start >= splitStart && start < splitEnd && canMatchByStatistics(block)) {
+          filtered.add(block);
+        }
+      }
+    } finally {
+      IOUtils.closeStream(dictionaryIn);
+      dictionaryIn = null;
+    }
+    return filtered;
+  }
+
+  /**
+   * @return The offset of the first byte of a row group.
+   */
+  public static long getStartingPos(BlockMetaData block) {
+    long start = Long.MAX_VALUE;
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      start = Math.min(start, chunk.getStartingPos());
+    }
+    return start;
+  }
+
+  /**
+   * @return The offset next to the last byte of a row group.
+   */
+  public static long getEndingPos(BlockMetaData block) {
+    long end = 0;
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      end = Math.max(end, chunk.getStartingPos() + chunk.getTotalSize());
+    }
+    return end;
+  }
+
+  private boolean canMatchByStatistics(BlockMetaData block) {
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      String [] path = chunk.getPath().toArray();
+      if (path.length != 1) {
+        continue;
+      }
+      int columnId = readSchema.getColumnIdByName(path[0]);
+      if (columnId < 0 || !scanFilter.containsColumn(columnId)) {
+        continue;
+      }
+
+      Statistics stats = chunk.getStatistics();
+      if (stats == null || stats.isEmpty()) {
+        continue;
+      }
+      Column column = readSchema.getColumn(columnId);
+      Datum min = toDatum(column, stats.genericGetMin());
+      Datum max = toDatum(column, stats.genericGetMax());
+      if (!scanFilter.canMatch(columnId, min, max, stats.getNumNulls(),
+          block.getRowCount())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks the dictionaries of column chunks which are entirely dictionary
+   * encoded. If no value in the dictionary of a column satisfies the
+   * predicates on the column, and null values cannot satisfy them either, no
+   * row in the row group can satisfy the search condition.
+   */
+  private boolean canMatchByDictionaries(BlockMetaData block)
+      throws IOException {
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      String [] path = chunk.getPath().toArray();
+      if (path.length != 1 || !isDictionaryEncoded(chunk)) {
+        continue;
+      }
+      int columnId = readSchema.getColumnIdByName(path[0]);
+      if (columnId < 0 || !scanFilter.containsColumn(columnId)
+          || scanFilter.isMatched(columnId, NullDatum.get())) {
+        continue;
+      }
+      Column column = readSchema.getColumn(columnId);
+      if (!isDictionaryType(column)) {
+        continue;
+      }
+
+      Dictionary dictionary = readDictionary(chunk);
+      if (dictionary == null) {
+        continue;
+      }
+      boolean matched = false;
+      for (int id = 0; id <= dictionary.getMaxId() && !matched; id++) {
+        matched = scanFilter.isMatched(columnId,
+            decodeDictionary(column, dictionary, id));
+      }
+      if (!matched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parquet writers fall back to the plain encoding when a dictionary becomes
+   * too large, so a column chunk is entirely dictionary encoded only if its
+   * values are never plain encoded.
+   */
+  private static boolean isDictionaryEncoded(ColumnChunkMetaData chunk) {
+    return chunk.getEncodings().contains(Encoding.PLAIN_DICTIONARY)
+        && !chunk.getEncodings().contains(Encoding.PLAIN);
+  }
+
+  private static boolean isDictionaryType(Column column) {
+    switch (column.getDataType().getType()) {
+      case INT2:
+      case INT4:
+      case INT8:
+      case FLOAT4:
+      case FLOAT8:
+      case TEXT:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static Datum decodeDictionary(Column column, Dictionary dictionary,
+                                        int id) {
+    switch (column.getDataType().getType()) {
+      case INT2:
+        return DatumFactory.createInt2((short) dictionary.decodeToInt(id));
+      case INT4:
+        return DatumFactory.createInt4(dictionary.decodeToInt(id));
+      case INT8:
+        return DatumFactory.createInt8(dictionary.decodeToLong(id));
+      case FLOAT4:
+        return DatumFactory.createFloat4(dictionary.decodeToFloat(id));
+      case FLOAT8:
+        return DatumFactory.createFloat8(dictionary.decodeToDouble(id));
+      case TEXT:
+        return DatumFactory.createText(dictionary.decodeToBinary(id).getBytes());
+      default:
+        throw new IllegalArgumentException("Unexpected type: " + column);
+    }
+  }
+
+  /**
+   * Reads the dictionary page at the beginning of a column chunk.
+   *
+   * @return The dictionary, or null if the column chunk does not start with
+   *         a dictionary page.
+   */
+  private Dictionary readDictionary(ColumnChunkMetaData chunk)
+      throws IOException {
+    if (dictionaryIn == null) {
+      dictionaryIn = file.getFileSystem(new Configuration()).open(file);
+    }
+    FSDataInputStream in = dictionaryIn;
+    in.seek(chunk.getStartingPos());
+    PageHeader header = Util.readPageHeader(in);
+    if (header.getType() != PageType.DICTIONARY_PAGE) {
+      return null;
+    }
+
+    byte [] bytes = new byte[header.getCompressed_page_size()];
+    in.readFully(bytes);
+    int uncompressedSize = header.getUncompressed_page_size();
+    if (chunk.getCodec() != CompressionCodecName.UNCOMPRESSED) {
+      bytes = decompress(chunk.getCodec(), bytes, uncompressedSize);
+    }
+
+    DictionaryPageHeader dictionaryHeader = header.getDictionary_page_header();
+    DictionaryPage page = new DictionaryPage(BytesInput.from(bytes),
+        dictionaryHeader.getNum_values(),
+        Encoding.valueOf(dictionaryHeader.getEncoding().name()));
+    ColumnDescriptor descriptor = new ColumnDescriptor(
+        chunk.getPath().toArray(), chunk.getType(), 0, 1);
+    return page.getEncoding().initDictionary(descriptor, page);
+  }
+
+  private static byte [] decompress(CompressionCodecName codecName,
+                                    byte [] bytes, int uncompressedSize)
+      throws IOException {
+    Configuration conf = new Configuration();
+    CompressionCodec codec;
+    try {
+      codec = (CompressionCodec) ReflectionUtils.newInstance(
+          Class.forName(codecName.getHadoopCompressionCodecClassName()), conf);
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Unknown codec: " + codecName, e);
+    }
+
+    byte [] uncompressed = new byte[uncompressedSize];
+    InputStream in = codec.createInputStream(new ByteArrayInputStream(bytes));
+    try {
+      IOUtils.readFully(in, uncompressed, 0, uncompressedSize);
+    } finally {
+      IOUtils.closeStream(in);
+    }
+    return uncompressed;
+  }
+
+  /**
+   * Converts a statistics value into a datum. Only numeric statistics are
+   * used because the binary statistics of old Parquet writers are not
+   * reliable.
+   *
+   * @return A datum, or null if the statistics value is not usable.
+   */
+  private static Datum toDatum(Column column, Object value) {
+    if (!(value instanceof Number)) {
+      return null;
+    }
+    Number number = (Number) value;
+    switch (column.getDataType().getType()) {
+      case INT2:
+      case INT4:
+        return DatumFactory.createInt4(number.intValue());
+      case INT8:
+        return DatumFactory.createInt8(number.longValue());
+      case FLOAT4:
+        return Float.isNaN(number.floatValue()) ? null :
+            DatumFactory.createFloat4(number.floatValue());
+      case FLOAT8:
+        return Double.isNaN(number.doubleValue()) ? null :
+            DatumFactory.createFloat8(number.doubleValue());
+      default:
+        return null;
+    }
   }
 }
@@ -869,6 +869,8 @@ public class RCFile {
     @Override
     public void addTuple(Tuple t) throws IOException {
       append(t);
+      // rows are buffered until a row group is flushed, so they are bounded by the offset after flushing.
+      addZoneMapRow(t);
       // Statistical section
 
       if (enabledStats) {
@@ -1110,6 +1112,7 @@ public class RCFile {
         out.flush();
         IOUtils.cleanup(LOG, out);
         out = null;
+        writeZoneMap();
       }
     }
   }
@@ -1171,6 +1174,9 @@ public class RCFile {
     // column value lengths for each of the selected columns
     private NonSyncDataInputBuffer[] colValLenBufferReadIn;
 
+    // whether each of the selected columns is referred by the search condition
+    private boolean[] filterColumns;
+
     private LongWritable rowId;
     private byte[] nullChars;
     private SerializerDeserializer serde;
@@ -1207,15 +1213,13 @@ public class RCFile {
         targets = schema.toArray();
       }
 
-      targetColumnIndexes = new int[targets.length];
-      for (int i = 0; i < targets.length; i++) {
-        targetColumnIndexes[i] = schema.getColumnId(targets[i].getQualifiedName());
-      }
-      Arrays.sort(targetColumnIndexes);
+      // the columns referred by the search condition are also read
+      targetColumnIndexes = getReadColumnIds();
 
       FileSystem fs = fragment.getPath().getFileSystem(conf);
       end = fs.getFileStatus(fragment.getPath()).getLen();
-      in = openFile(fs, fragment.getPath(), 4096);
+      // the header is read from the beginning of the file before seeking to the start of this fragment.
+      in = readAheadIfEnabled(openFile(fs, fragment.getPath(), 4096), 0, end);
       if (LOG.isDebugEnabled()) {
         LOG.debug("RCFile open:" + fragment.getPath() + "," + start + "," + (endOffset - startOffset) +
             "," + fs.getFileStatus(fragment.getPath()).getLen());
@@ -1266,6 +1270,13 @@ public class RCFile {
         }
       }
 
+      if (filter != null) {
+        filterColumns = new boolean[targetColumnIndexes.length];
+        for (int i = 0; i < targetColumnIndexes.length; i++) {
+          filterColumns[i] = filter.containsColumn(targetColumnIndexes[i]);
+        }
+      }
+
       currentKey = createKeyBuffer();
       currentValue = new ValueBuffer(null, columnNumber, targetColumnIndexes, codec, skippedColIDs);
 
@@ -1624,20 +1635,26 @@ public class RCFile {
         return null;
       }
 
-      more = nextBuffer(rowId);
-      long lastSeenSyncPos = lastSeenSyncPos();
-      if (lastSeenSyncPos >= endOffset) {
-        more = false;
-        return null;
-      }
+      Tuple tuple = new VTuple(schema.size());
+      while (true) {
+        more = nextBuffer(rowId);
+        long lastSeenSyncPos = lastSeenSyncPos();
+        if (lastSeenSyncPos >= endOffset) {
+          more = false;
+          return null;
+        }
 
-      if (!more) {
-        return null;
-      }
+        if (!more) {
+          return null;
+        }
 
-      Tuple tuple = new VTuple(schema.size());
-      getCurrentRow(tuple);
-      return tuple;
+        if (filter == null) {
+          getCurrentRow(tuple);
+          return tuple;
+        } else if (getCurrentRowIfMatched(tuple)) {
+          return tuple;
+        }
+      }
     }
 
     @Override
@@ -1704,21 +1721,69 @@ public class RCFile {
       }
 
       for (int j = 0; j < selectedColumns.length; ++j) {
-        SelectedColumn col = selectedColumns[j];
-        int i = col.colIndex;
+        readColumn(j, tuple);
+      }
+      rowFetched = true;
+    }
 
-        if (col.isNulled) {
-          tuple.put(i, NullDatum.get());
-        } else {
-          colAdvanceRow(j, col);
+    /**
+     * Get the current row only if it satisfies the search condition. The columns referred by the condition
+     * are deserialized first, and the other columns of an unqualified row are skipped without deserialization.
+     *
+     * @return true if the current row satisfies the search condition
+     * @throws IOException
+     */
+    private boolean getCurrentRowIfMatched(Tuple tuple) throws IOException {
+      if (!keyInit || rowFetched) {
+        return false;
+      }
+
+      if (!currentValue.inited) {
+        currentValueBuffer();
+      }
+
+      for (int j = 0; j < selectedColumns.length; ++j) {
+        if (filterColumns[j]) {
+          readColumn(j, tuple);
+        }
+      }
 
-          Datum datum = serde.deserialize(schema.getColumn(i),
-              currentValue.loadedColumnsValueBuffer[j].getData(), col.rowReadIndex, col.prvLength, nullChars);
-          tuple.put(i, datum);
-          col.rowReadIndex += col.prvLength;
+      boolean matched = filter.isMatched(tuple);
+      for (int j = 0; j < selectedColumns.length; ++j) {
+        if (!filterColumns[j]) {
+          if (matched) {
+            readColumn(j, tuple);
+          } else {
+            skipColumn(j);
+          }
         }
       }
       rowFetched = true;
+      return matched;
+    }
+
+    private void readColumn(int selCol, Tuple tuple) throws IOException {
+      SelectedColumn col = selectedColumns[selCol];
+      int i = col.colIndex;
+
+      if (col.isNulled) {
+        tuple.put(i, NullDatum.get());
+      } else {
+        colAdvanceRow(selCol, col);
+
+        Datum datum = serde.deserialize(schema.getColumn(i),
+            currentValue.loadedColumnsValueBuffer[selCol].getData(), col.rowReadIndex, col.prvLength, nullChars);
+        tuple.put(i, datum);
+        col.rowReadIndex += col.prvLength;
+      }
+    }
+
+    private void skipColumn(int selCol) throws IOException {
+      SelectedColumn col = selectedColumns[selCol];
+      if (!col.isNulled) {
+        colAdvanceRow(selCol, col);
+        col.rowReadIndex += col.prvLength;
+      }
     }
 
     /**
@@ -1779,7 +1844,7 @@ public class RCFile {
 
     @Override
     public boolean isSelectable() {
-      return false;
+      return true;
     }
 
     @Override
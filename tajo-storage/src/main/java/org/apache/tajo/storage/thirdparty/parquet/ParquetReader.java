@@ -133,15 +133,30 @@ public class ParquetReader<T> implements Closeable {
       reader.close();
       reader = null;
     }
-    if (footersIterator.hasNext()) {
+    while (footersIterator.hasNext()) {
       Footer footer = footersIterator.next();
+      List<BlockMetaData> blocks = filterBlocks(footer.getParquetMetadata().getBlocks());
+      if (blocks.isEmpty()) {
+        continue;
+      }
       reader = new InternalParquetRecordReader<T>(readSupport, filter);
       reader.initialize(
           readContext.getRequestedSchema(), globalMetaData.getSchema(), footer.getParquetMetadata().getFileMetaData().getKeyValueMetaData(),
-          readContext.getReadSupportMetadata(), footer.getFile(), footer.getParquetMetadata().getBlocks(), conf);
+          readContext.getReadSupportMetadata(), footer.getFile(), blocks, conf);
+      break;
     }
   }
 
+  /**
+   * Chooses the row groups to be read. A subclass can skip row groups, for example, by using column statistics.
+   *
+   * @param blocks all row groups of a file
+   * @return row groups to be read
+   */
+  protected List<BlockMetaData> filterBlocks(List<BlockMetaData> blocks) {
+    return blocks;
+  }
+
   @Override
   public void close() throws IOException {
     if (reader != null) {
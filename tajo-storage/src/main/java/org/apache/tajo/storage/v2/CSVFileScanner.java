@@ -381,6 +381,10 @@ public class CSVFileScanner extends FileScannerV2 {
 
   @Override
   protected long[] reportReadBytes() {
+    ScheduledInputStream stream = sin;
+    if (stream != null) {
+      return new long[]{stream.getTotalReadBytesForFetch(), stream.getTotalReadBytesFromDisk()};
+    }
     return new long[]{totalReadBytesForFetch, totalReadBytesFromDisk};
   }
 }
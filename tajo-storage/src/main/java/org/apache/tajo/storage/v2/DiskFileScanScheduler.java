@@ -62,6 +62,11 @@ public final class DiskFileScanScheduler extends Thread {
 
   private long lastReportTime = 0;
 
+  // bytes per second during the last report interval
+  private volatile long fetchThroughput = 0;
+
+  private volatile long diskScanThroughput = 0;
+
 	public DiskFileScanScheduler(
 			StorageManagerV2.StorgaeManagerContext smContext,
 			DiskDeviceInfo diskDeviceInfo) {
@@ -165,6 +170,39 @@ public final class DiskFileScanScheduler extends Thread {
       return requestQueue.size();
   }
 
+  /**
+   * @return the number of scanners waiting for this disk, including the scanners waiting for their consumers.
+   */
+  public int getQueueDepth() {
+    synchronized(fetchingScanners) {
+      return requestQueue.size() + fetchingScanners.size();
+    }
+  }
+
+  public int getNumOfRunningScanners() {
+    return numOfRunningScanners.get();
+  }
+
+  public String getDiskName() {
+    return diskDeviceInfo.getName();
+  }
+
+  public long getTotalReadBytesFromDisk() {
+    return totalReadBytesFromDisk.get();
+  }
+
+  public long getTotalReadBytesForFetch() {
+    return totalReadBytesForFetch.get();
+  }
+
+  public long getDiskScanThroughput() {
+    return diskScanThroughput;
+  }
+
+  public long getFetchThroughput() {
+    return fetchThroughput;
+  }
+
   boolean isAllScannerRunning() {
     return numOfRunningScanners.get() >= scanConcurrency;
   }
@@ -182,24 +220,28 @@ public final class DiskFileScanScheduler extends Thread {
 		this.interrupt();
 	}
 
-  public void printDiskSchedulerInfo() {
+  /**
+   * Computes the throughputs since the last call. It is called by the status report thread of ScanScheduler.
+   */
+  public synchronized void updateThroughput() {
     long currentReadBytes[] = new long[]{totalReadBytesForFetch.get(), totalReadBytesFromDisk.get()};
-    int[] throughput = new int[2];
-    if(lastReportTime != 0 && lastReportReadBytes != null) {
-      int sec = (int)((System.currentTimeMillis() - lastReportTime)/1000);
-      throughput[0] = (int)((currentReadBytes[0] - lastReportReadBytes[0])/sec);
-      throughput[1] = (int)((currentReadBytes[1] - lastReportReadBytes[1])/sec);
+    long currentTime = System.currentTimeMillis();
+    if(lastReportTime != 0 && lastReportReadBytes != null && currentTime > lastReportTime) {
+      long elapsed = currentTime - lastReportTime;
+      fetchThroughput = (currentReadBytes[0] - lastReportReadBytes[0]) * 1000 / elapsed;
+      diskScanThroughput = (currentReadBytes[1] - lastReportReadBytes[1]) * 1000 / elapsed;
     }
-    lastReportTime = System.currentTimeMillis();
+    lastReportTime = currentTime;
+    lastReportReadBytes = currentReadBytes;
+  }
 
+  public void printDiskSchedulerInfo() {
     LOG.info("===>" + DiskFileScanScheduler.this.diskDeviceInfo
         + ", request=" + requestQueue.size()
         + ", fetching=" + fetchingScanners.size()
         + ", running=" + numOfRunningScanners.get()
         + ", totalScan=" + totalScanCount
-        + ", FetchThroughput=" + throughput[0]/1024 + "KB"
-        + ", DiskScanThroughput=" + throughput[1]/1024 + "KB");
-
-    lastReportReadBytes = currentReadBytes;
+        + ", FetchThroughput=" + fetchThroughput/1024 + "KB"
+        + ", DiskScanThroughput=" + diskScanThroughput/1024 + "KB");
   }
 }
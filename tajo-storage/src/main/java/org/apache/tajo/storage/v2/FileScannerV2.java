@@ -33,11 +33,15 @@ import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.fragment.FileFragment;
 
 import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public abstract class FileScannerV2 implements Scanner {
   private static final Log LOG = LogFactory.getLog(FileScannerV2.class);
 
+  private static final String LOCAL_HOST_NAME = getLocalHostName();
+
 	protected AtomicBoolean closed = new AtomicBoolean(false);
 
 	protected FileSystem fs;
@@ -60,6 +64,9 @@ public abstract class FileScannerV2 implements Scanner {
   
   protected TableStats tableStats;
 
+  /** the read bytes which were already reported to the disk scheduler: {for fetch, from disk} */
+  private final long[] reportedReadBytes = new long[2];
+
   protected abstract boolean scanNext(int length) throws IOException;
 
   protected abstract boolean initFirstScan(int maxBytesPerSchedule) throws IOException;
@@ -92,6 +99,10 @@ public abstract class FileScannerV2 implements Scanner {
   public void init() throws IOException {
     closed.set(false);
     firstSchdeuled.set(true);
+    synchronized (reportedReadBytes) {
+      reportedReadBytes[0] = 0;
+      reportedReadBytes[1] = 0;
+    }
 
     if(!inited) {
       smContext.requestFileScan(this);
@@ -147,13 +158,18 @@ public abstract class FileScannerV2 implements Scanner {
     return fragment.getPath();
   }
 
+  /**
+   * @return the HDFS volume id of the replica stored in this host, or -1 if it is unknown.
+   */
   public int getDiskId() {
-    if(fragment.getDiskIds().length <= 0) {
-      //LOG.warn("===> No DiskId:" + fragment.getPath() + ":" + fragment.getStartKey());
-      return -1;
-    } else {
-      return fragment.getDiskIds()[0];
+    int[] diskIds = fragment.getDiskIds();
+    String[] hosts = fragment.getHosts();
+    for (int i = 0; i < hosts.length && i < diskIds.length; i++) {
+      if (hosts[i].equals(LOCAL_HOST_NAME)) {
+        return diskIds[i];
+      }
     }
+    return -1;
   }
 
   public void setSearchCondition(Object expr) {
@@ -170,6 +186,15 @@ public abstract class FileScannerV2 implements Scanner {
     return fragment.getPath() + ":" + fragment.getStartKey();
   }
 
+  private static String getLocalHostName() {
+    try {
+      return InetAddress.getLocalHost().getHostName();
+    } catch (UnknownHostException e) {
+      LOG.warn("Cannot get the local host name: " + e.getMessage());
+      return "localhost";
+    }
+  }
+
   public void scan(int maxBytesPerSchedule) throws IOException {
     long startTime = System.currentTimeMillis();
     try {
@@ -191,6 +216,24 @@ public abstract class FileScannerV2 implements Scanner {
     }
     } finally {
       totalScanTime += System.currentTimeMillis() - startTime;
+      reportReadBytesToScheduler();
+    }
+  }
+
+  /**
+   * Reports the bytes read since the last report, so the disk scheduler can compute the throughput of
+   * its disk while this scanner is running.
+   */
+  private void reportReadBytesToScheduler() {
+    synchronized (reportedReadBytes) {
+      long[] readBytes = reportReadBytes();
+      long[] delta = new long[2];
+      for (int i = 0; i < 2; i++) {
+        // the counters of a scanner can be reset when its input stream is reopened.
+        delta[i] = readBytes[i] >= reportedReadBytes[i] ? readBytes[i] - reportedReadBytes[i] : readBytes[i];
+        reportedReadBytes[i] = readBytes[i];
+      }
+      smContext.incrementReadBytes(allocatedDiskId, delta);
     }
   }
 
@@ -199,8 +242,7 @@ public abstract class FileScannerV2 implements Scanner {
     if(closed.get()) {
       return;
     }
-    long[] readBytes = reportReadBytes();
-    smContext.incrementReadBytes(allocatedDiskId, readBytes);
+    reportReadBytesToScheduler();
     closed.set(true);
     progress = 1.0f;
     LOG.info(toString() + " closed, totalScanTime=" + totalScanTime);
@@ -58,6 +58,8 @@ public class RCFileScanner extends FileScannerV2 {
   private boolean first = true;
   private int maxBytesPerSchedule;
   private SerializerDeserializer serde;
+  // the read bytes of the closed input stream
+  private long[] closedReadBytes = new long[]{0, 0};
   private byte[] nullChars;
   private Object lock = new Object();
 
@@ -153,6 +155,9 @@ public class RCFileScanner extends FileScannerV2 {
     }
     try {
       if(in != null) {
+        if(sin != null) {
+          closedReadBytes = new long[]{sin.getTotalReadBytesForFetch(), sin.getTotalReadBytesFromDisk()};
+        }
         in.close();
         in = null;
         sin = null;
@@ -291,10 +296,11 @@ public class RCFileScanner extends FileScannerV2 {
 
   @Override
   protected long[] reportReadBytes() {
-    if(sin == null) {
-      return new long[]{0, 0};
+    ScheduledInputStream stream = sin;
+    if(stream == null) {
+      return closedReadBytes;
     } else {
-      return new long[]{sin.getTotalReadBytesForFetch(), sin.getTotalReadBytesFromDisk()};
+      return new long[]{stream.getTotalReadBytesForFetch(), stream.getTotalReadBytesFromDisk()};
     }
   }
 }
@@ -22,6 +22,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.tajo.storage.v2.StorageManagerV2.StorgaeManagerContext;
 
+import java.io.File;
+import java.net.URI;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -33,17 +35,16 @@ public final class ScanScheduler extends Thread {
   private final Object scanQueueLock;
   private StorgaeManagerContext context;
 
-  private Map<String, FileScannerV2> requestMap = new HashMap<String, FileScannerV2>();
-
   private final Map<Integer, DiskFileScanScheduler> diskFileScannerMap = new HashMap<Integer, DiskFileScanScheduler>();
 
   private Map<Integer, DiskDeviceInfo> diskDeviceInfoMap = new HashMap<Integer, DiskDeviceInfo>();
 
   private SortedSet<DiskMountInfo> diskMountInfos = new TreeSet<DiskMountInfo>();
 
-  private AtomicBoolean stopped = new AtomicBoolean(false);
+  /** HDFS volume id (the index of a datanode data directory) -> the id of the local disk device */
+  private Map<Integer, Integer> volumeDeviceMap = new HashMap<Integer, Integer>();
 
-  private Random rand = new Random(System.currentTimeMillis());
+  private AtomicBoolean stopped = new AtomicBoolean(false);
 
   private Thread schedulerStatusReportThread;
 
@@ -62,6 +63,7 @@ public final class ScanScheduler extends Thread {
 
         diskMountInfos.addAll(eachInfo.getMountInfos());
       }
+      initVolumeDeviceMap();
 
       initFileScanners();
     } catch (Exception e) {
@@ -81,6 +83,7 @@ public final class ScanScheduler extends Thread {
             synchronized (diskFileScannerMap) {
               for (DiskFileScanScheduler eachScheduler : diskFileScannerMap
                   .values()) {
+                eachScheduler.updateThroughput();
                 eachScheduler.printDiskSchedulerInfo();
               }
             }
@@ -103,25 +106,8 @@ public final class ScanScheduler extends Thread {
             break;
           }
         } else {
-          int diskId = fileScannerV2.getDiskId();
-
-          int emptyDiskId = findEmptyDisk();
-          if(emptyDiskId < 0) {
-            if(diskId < 0 || diskId >= diskDeviceInfoMap.size()) {
-              diskId = findDiskPartitionPath(fileScannerV2.getPath().toString());
-              if(diskId < 0) {
-
-                diskId = findMinQueueDisk();
-                if(diskId < 0) {
-                  diskId = rand.nextInt(diskDeviceInfoMap.size());
-                }
-              }
-            }
-          } else {
-            diskId = emptyDiskId;
-          }
+          int diskId = findDisk(fileScannerV2);
           synchronized(diskFileScannerMap) {
-            requestMap.put(fileScannerV2.getId(), fileScannerV2);
             DiskFileScanScheduler diskScheduler = diskFileScannerMap.get(diskId);
             fileScannerV2.setAllocatedDiskId(diskId);
             diskScheduler.requestScanFile(fileScannerV2);
@@ -131,6 +117,39 @@ public final class ScanScheduler extends Thread {
     }
   }
 
+  private void initVolumeDeviceMap() {
+    List<URI> storageDirs = DiskUtil.getStorageDirs();
+    for (int i = 0; i < storageDirs.size(); i++) {
+      int deviceId = findDiskPartitionPath(new File(storageDirs.get(i).getPath()).getAbsolutePath());
+      if (deviceId >= 0) {
+        volumeDeviceMap.put(i, deviceId);
+      }
+    }
+  }
+
+  /**
+   * Finds the disk which stores the file of a scanner, so that all scans of a disk are throttled by the
+   * scheduler of the disk. If the disk is unknown (e.g., a remote block), it chooses an idle disk or
+   * the disk with the shortest queue.
+   */
+  private int findDisk(FileScannerV2 fileScanner) {
+    int volumeId = fileScanner.getDiskId();
+    if (volumeId >= 0 && volumeDeviceMap.containsKey(volumeId)) {
+      return volumeDeviceMap.get(volumeId);
+    }
+
+    int diskId = findDiskPartitionPath(fileScanner.getPath().toUri().getPath());
+    if (diskId >= 0 && diskFileScannerMap.containsKey(diskId)) {
+      return diskId;
+    }
+
+    diskId = findEmptyDisk();
+    if (diskId < 0) {
+      diskId = findMinQueueDisk();
+    }
+    return diskId;
+  }
+
   private int findEmptyDisk() {
     synchronized(diskFileScannerMap) {
       for(DiskFileScanScheduler eachDiskScanner: diskFileScannerMap.values()) {
@@ -170,7 +189,16 @@ public final class ScanScheduler extends Thread {
   }
 
   public void incrementReadBytes(int diskId, long[] readBytes) {
-    diskFileScannerMap.get(diskId).incrementReadBytes(readBytes);
+    DiskFileScanScheduler diskScheduler = diskFileScannerMap.get(diskId);
+    if (diskScheduler != null) {
+      diskScheduler.incrementReadBytes(readBytes);
+    }
+  }
+
+  public Collection<DiskFileScanScheduler> getDiskFileScanSchedulers() {
+    synchronized(diskFileScannerMap) {
+      return new ArrayList<DiskFileScanScheduler>(diskFileScannerMap.values());
+    }
   }
 
   private void initFileScanners() {
@@ -0,0 +1,288 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage.v2;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.tajo.catalog.Column;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.statistics.TableStats;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.storage.Scanner;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.fragment.FileFragment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * It makes a file scanner without its own v2 implementation (e.g., RAW, Parquet and SequenceFile) run in
+ * the schedule slots of the disk scheduler. In each slot, a thread of the disk scheduler reads tuples from the
+ * underlying scanner into a queue, and the consumer takes tuples from the queue. The underlying scanner does
+ * not read its file out of the schedule slots, so the concurrency of each disk is kept by the disk scheduler.
+ */
+public class ScheduledScanner extends FileScannerV2 {
+  private static final Log LOG = LogFactory.getLog(ScheduledScanner.class);
+
+  /** the maximum number of tuples read in a schedule slot */
+  private static final int MAX_TUPLES_PER_SLOT = 10000;
+
+  /** If the buffered tuples exceed it, the scanner waits for its consumer without occupying a schedule slot. */
+  private static final int MAX_BUFFERED_TUPLES = 4 * MAX_TUPLES_PER_SLOT;
+
+  /** the number of tuples which are passed to the consumer at once */
+  private static final int BATCH_SIZE = 256;
+
+  private final Scanner scanner;
+
+  /** It is held while the underlying scanner is used. */
+  private final Object scanLock = new Object();
+
+  private final LinkedList<Tuple> tupleQueue = new LinkedList<Tuple>();
+
+  // the fields below are guarded by tupleQueue
+  private boolean eof = false;
+  private IOException error;
+  /** the estimated bytes of the tuples read from the underlying scanner */
+  private long readBytes = 0;
+  /** the estimated bytes of the tuples taken by the consumer */
+  private long fetchedBytes = 0;
+
+  public ScheduledScanner(Configuration conf, Schema schema, TableMeta meta, FileFragment fragment,
+                          Scanner scanner) throws IOException {
+    super(conf, meta, schema, fragment);
+    this.scanner = scanner;
+  }
+
+  public Scanner getScanner() {
+    return scanner;
+  }
+
+  @Override
+  protected boolean initFirstScan(int maxBytesPerSchedule) throws IOException {
+    synchronized (tupleQueue) {
+      tupleQueue.clear();
+      eof = false;
+      error = null;
+      readBytes = 0;
+      fetchedBytes = 0;
+    }
+    synchronized (scanLock) {
+      try {
+        scanner.init();
+      } catch (IOException e) {
+        finish(e);
+        return false;
+      }
+    }
+    return scanNext(maxBytesPerSchedule);
+  }
+
+  @Override
+  protected boolean scanNext(int length) throws IOException {
+    synchronized (scanLock) {
+      if (isClosed() || isStopScanScheduling()) {
+        return false;
+      }
+
+      List<Tuple> batch = new ArrayList<Tuple>(BATCH_SIZE);
+      long batchBytes = 0;
+      long slotBytes = 0;
+      try {
+        for (int i = 0; i < MAX_TUPLES_PER_SLOT && slotBytes < length; i++) {
+          Tuple tuple = scanner.next();
+          if (tuple == null) {
+            enqueue(batch, batchBytes);
+            finish(null);
+            return false;
+          }
+
+          // the underlying scanner can reuse its tuple.
+          Datum[] values = new Datum[tuple.size()];
+          long tupleBytes = 0;
+          for (int j = 0; j < values.length; j++) {
+            values[j] = tuple.get(j);
+            if (values[j] != null) {
+              tupleBytes += values[j].size();
+            }
+          }
+          Tuple copy = new VTuple(values);
+          copy.setOffset(tuple.getOffset());
+
+          batch.add(copy);
+          batchBytes += tupleBytes;
+          slotBytes += tupleBytes;
+          if (batch.size() >= BATCH_SIZE) {
+            enqueue(batch, batchBytes);
+            batch = new ArrayList<Tuple>(BATCH_SIZE);
+            batchBytes = 0;
+          }
+        }
+        enqueue(batch, batchBytes);
+        return true;
+      } catch (IOException e) {
+        finish(e);
+        return false;
+      } catch (RuntimeException e) {
+        finish(new IOException(e.getMessage(), e));
+        return false;
+      }
+    }
+  }
+
+  private void enqueue(List<Tuple> batch, long batchBytes) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    synchronized (tupleQueue) {
+      tupleQueue.addAll(batch);
+      readBytes += batchBytes;
+      tupleQueue.notifyAll();
+    }
+  }
+
+  private void finish(IOException e) {
+    if (e != null) {
+      LOG.error(toString() + " failed: " + e.getMessage(), e);
+    }
+    synchronized (tupleQueue) {
+      eof = true;
+      error = e;
+      tupleQueue.notifyAll();
+    }
+  }
+
+  @Override
+  protected Tuple nextTuple() throws IOException {
+    synchronized (tupleQueue) {
+      while (tupleQueue.isEmpty() && !eof && !isClosed()) {
+        try {
+          tupleQueue.wait(1000);
+        } catch (InterruptedException e) {
+          throw new IOException(e.getMessage(), e);
+        }
+      }
+      if (error != null) {
+        throw error;
+      }
+      Tuple tuple = tupleQueue.poll();
+      if (tuple != null) {
+        for (int i = 0; i < tuple.size(); i++) {
+          Datum value = tuple.get(i);
+          if (value != null) {
+            fetchedBytes += value.size();
+          }
+        }
+      }
+      return tuple;
+    }
+  }
+
+  @Override
+  protected long getFilePosition() throws IOException {
+    synchronized (tupleQueue) {
+      return fragment.getStartKey() + readBytes;
+    }
+  }
+
+  @Override
+  public boolean isFetchProcessing() {
+    synchronized (tupleQueue) {
+      return tupleQueue.size() >= MAX_BUFFERED_TUPLES;
+    }
+  }
+
+  @Override
+  public boolean isStopScanScheduling() {
+    synchronized (tupleQueue) {
+      return eof;
+    }
+  }
+
+  @Override
+  public void scannerReset() {
+  }
+
+  @Override
+  protected long[] reportReadBytes() {
+    synchronized (tupleQueue) {
+      return new long[]{fetchedBytes, readBytes};
+    }
+  }
+
+  @Override
+  public void setTarget(Column[] targets) {
+    super.setTarget(targets);
+    scanner.setTarget(targets);
+  }
+
+  @Override
+  public void setSearchCondition(Object expr) {
+    super.setSearchCondition(expr);
+    scanner.setSearchCondition(expr);
+  }
+
+  @Override
+  public boolean isProjectable() {
+    return scanner.isProjectable();
+  }
+
+  @Override
+  public boolean isSelectable() {
+    return scanner.isSelectable();
+  }
+
+  @Override
+  public boolean isSplittable() {
+    return scanner.isSplittable();
+  }
+
+  @Override
+  public float getProgress() {
+    return isClosed() ? 1.0f : scanner.getProgress();
+  }
+
+  @Override
+  public TableStats getInputStats() {
+    TableStats stats = scanner.getInputStats();
+    return stats != null ? stats : super.getInputStats();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (isClosed()) {
+      return;
+    }
+    synchronized (tupleQueue) {
+      tupleQueue.clear();
+      eof = true;
+      tupleQueue.notifyAll();
+    }
+    // it waits for the schedule slot in progress.
+    synchronized (scanLock) {
+      scanner.close();
+    }
+    super.close();
+  }
+}
@@ -25,12 +25,14 @@ import org.apache.tajo.catalog.TableMeta;
 import org.apache.tajo.catalog.proto.CatalogProtos;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.storage.AbstractStorageManager;
+import org.apache.tajo.storage.FileScanner;
 import org.apache.tajo.storage.NullScanner;
 import org.apache.tajo.storage.Scanner;
 import org.apache.tajo.storage.fragment.FileFragment;
 import org.apache.tajo.storage.fragment.Fragment;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Queue;
 
@@ -96,6 +98,11 @@ public final class StorageManagerV2 extends AbstractStorageManager {
       scanner.setTarget(target.toArray());
     }
 
+    // a file format without its own v2 scanner is also read in the schedule slots of the disk scheduler.
+    if (!(scanner instanceof FileScannerV2) && scanner instanceof FileScanner) {
+      scanner = new ScheduledScanner(conf, schema, meta, (FileFragment) fragment, scanner);
+    }
+
     if(scanner instanceof FileScannerV2) {
       ((FileScannerV2)scanner).setStorageManagerContext(context);
     }
@@ -144,6 +151,13 @@ public final class StorageManagerV2 extends AbstractStorageManager {
     }
   }
 
+  /**
+   * @return the schedulers of the local disks. They provide the queue depth and the throughput of each disk.
+   */
+  public Collection<DiskFileScanScheduler> getDiskFileScanSchedulers() {
+    return scanScheduler.getDiskFileScanSchedulers();
+  }
+
 	public void stop() {
 		if(scanScheduler != null) {
 			scanScheduler.stopScheduler();
@@ -0,0 +1,128 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.Datum;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.ColumnarStoreUtil.ColumnarStoreDecoder;
+import org.apache.tajo.storage.ColumnarStoreUtil.ColumnarStoreEncoder;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestColumnarStoreUtil {
+
+  private static Schema createSchema() {
+    Schema schema = new Schema();
+    schema.addColumn("col1", Type.BOOLEAN);
+    schema.addColumn("col2", Type.BIT);
+    schema.addColumn("col3", Type.CHAR);
+    schema.addColumn("col4", Type.INT2);
+    schema.addColumn("col5", Type.INT4);
+    schema.addColumn("col6", Type.INT8);
+    schema.addColumn("col7", Type.FLOAT4);
+    schema.addColumn("col8", Type.FLOAT8);
+    schema.addColumn("col9", Type.TEXT);
+    schema.addColumn("col10", Type.TEXT);
+    schema.addColumn("col11", Type.BLOB);
+    schema.addColumn("col12", Type.INET4);
+    return schema;
+  }
+
+  private static Tuple createTuple(int i) {
+    Tuple tuple = new VTuple(12);
+    tuple.put(new Datum[] {
+        DatumFactory.createBool(i % 2 == 0),
+        DatumFactory.createBit((byte) i),
+        DatumFactory.createChar('7'),
+        DatumFactory.createInt2((short) i),
+        i % 3 == 0 ? NullDatum.get() : DatumFactory.createInt4(i),
+        DatumFactory.createInt8(i * 1000l),
+        DatumFactory.createFloat4(i + 0.5f),
+        DatumFactory.createFloat8(i + 0.25d),
+        // a low-cardinality column, which will be dictionary-encoded
+        i % 7 == 0 ? NullDatum.get() : DatumFactory.createText("status_" + (i % 5)),
+        DatumFactory.createText("comment_" + i),
+        DatumFactory.createBlob(("blob_" + i).getBytes()),
+        DatumFactory.createInet4("192.168.0." + (i % 256))
+    });
+    return tuple;
+  }
+
+  @Test
+  public final void testToBytesAndToTuples() throws IOException {
+    Schema schema = createSchema();
+    ColumnarStoreEncoder encoder = ColumnarStoreUtil.createEncoder(schema);
+    ColumnarStoreDecoder decoder = ColumnarStoreUtil.createDecoder(schema);
+
+    int rowNum = 1000;
+    for (int i = 0; i < rowNum; i++) {
+      encoder.add(createTuple(i));
+    }
+    assertEquals(rowNum, encoder.getRowNum());
+
+    byte[] block = encoder.toBytes();
+    assertTrue(block.length <= encoder.getEstimatedSize());
+
+    Tuple[] tuples = decoder.toTuples(block);
+    assertEquals(rowNum, tuples.length);
+    for (int i = 0; i < rowNum; i++) {
+      assertEquals(createTuple(i), tuples[i]);
+    }
+
+    encoder.reset();
+    assertEquals(0, encoder.getRowNum());
+    assertEquals(0, decoder.toTuples(encoder.toBytes()).length);
+  }
+
+  @Test
+  public final void testCompression() throws IOException {
+    Schema schema = createSchema();
+    ColumnarStoreEncoder encoder = ColumnarStoreUtil.createEncoder(schema);
+    for (int i = 0; i < 1000; i++) {
+      encoder.add(createTuple(i));
+    }
+    byte[] block = encoder.toBytes();
+
+    CompressionCodec codec = ColumnarStoreUtil.getCodec(new TajoConf(), "deflate");
+    assertNotNull(codec);
+    byte[] compressed = ColumnarStoreUtil.compress(codec, block);
+    assertTrue(compressed.length < block.length);
+    assertArrayEquals(block, ColumnarStoreUtil.decompress(codec, compressed));
+
+    assertNull(ColumnarStoreUtil.getCodec(new TajoConf(), "no_such_codec"));
+  }
+
+  @Test
+  public final void testIsSupported() {
+    Schema schema = createSchema();
+    assertTrue(ColumnarStoreUtil.isSupported(schema));
+
+    // a result set of this schema is sent in the row format
+    schema.addColumn("col13", Type.INET6);
+    assertFalse(ColumnarStoreUtil.isSupported(schema));
+  }
+}
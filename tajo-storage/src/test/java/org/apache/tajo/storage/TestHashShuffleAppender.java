@@ -0,0 +1,155 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.storage;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.ExecutionBlockId;
+import org.apache.tajo.QueryIdFactory;
+import org.apache.tajo.QueryUnitAttemptId;
+import org.apache.tajo.catalog.CatalogUtil;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.TableMeta;
+import org.apache.tajo.catalog.proto.CatalogProtos.StoreType;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.conf.TajoConf.ConfVars;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.HashShuffleAppenderManager.HashShuffleIntermediate;
+import org.apache.tajo.storage.fragment.FileFragment;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.apache.tajo.util.Pair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class TestHashShuffleAppender {
+  private static final String TEST_PATH = "target/test-data/TestHashShuffleAppender";
+  private static final int TASK_NUM = 4;
+  private static final int BATCH_NUM = 10;
+  private static final int BATCH_SIZE = 1000;
+
+  @Test
+  public void testConcurrentAddTuples() throws Exception {
+    final TajoConf conf = new TajoConf();
+    Path testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+    conf.setVar(ConfVars.WORKER_TEMPORAL_DIR, testDir.toUri().getPath());
+    conf.setIntVar(ConfVars.SHUFFLE_HASH_APPENDER_PAGE_VOLUME, 1);
+
+    final Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+    schema.addColumn("score", Type.FLOAT8);
+    schema.addColumn("ts", Type.INT8);
+    final TableMeta meta = CatalogUtil.newTableMeta(StoreType.RAW);
+
+    final HashShuffleAppenderManager manager = new HashShuffleAppenderManager(conf);
+    final ExecutionBlockId ebId = QueryIdFactory.newExecutionBlockId(QueryIdFactory.newQueryId(
+        System.currentTimeMillis(), 0));
+
+    ExecutorService executor = Executors.newFixedThreadPool(TASK_NUM);
+    List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+    for (int i = 0; i < TASK_NUM; i++) {
+      final int taskSeq = i;
+      futures.add(executor.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          QueryUnitAttemptId taskId =
+              QueryIdFactory.newQueryUnitAttemptId(QueryIdFactory.newQueryUnitId(ebId, taskSeq), 0);
+          HashShuffleAppender appender = manager.getAppender(conf, ebId, 0, meta, schema);
+
+          int writtenBytes = 0;
+          for (int batch = 0; batch < BATCH_NUM; batch++) {
+            List<Tuple> tuples = new ArrayList<Tuple>();
+            for (int row = 0; row < BATCH_SIZE; row++) {
+              int id = (taskSeq * BATCH_NUM + batch) * BATCH_SIZE + row;
+              tuples.add(createTuple(id));
+            }
+            writtenBytes += appender.addTuples(taskId, tuples);
+          }
+          return writtenBytes;
+        }
+      }));
+    }
+
+    long writtenBytes = 0;
+    for (Future<Integer> future : futures) {
+      writtenBytes += future.get();
+    }
+    executor.shutdown();
+
+    List<HashShuffleIntermediate> intermediates = manager.close(ebId);
+    assertEquals(1, intermediates.size());
+    HashShuffleIntermediate intermediate = intermediates.get(0);
+    assertEquals(writtenBytes, intermediate.getVolume());
+    assertTrue(intermediate.getPages().size() > 1);
+
+    long pageVolume = 0;
+    for (Pair<Long, Integer> page : intermediate.getPages()) {
+      assertEquals(pageVolume, page.getFirst().longValue());
+      pageVolume += page.getSecond();
+    }
+    assertEquals(writtenBytes, pageVolume);
+
+    int indexedRows = 0;
+    for (Pair<Long, Pair<Integer, Integer>> index : intermediate.getFailureTskTupleIndexes()) {
+      indexedRows += index.getSecond().getSecond() - index.getSecond().getFirst();
+    }
+    assertEquals(TASK_NUM * BATCH_NUM * BATCH_SIZE, indexedRows);
+
+    String ebDir = ebId.getQueryId().toString() + "/output/" + ebId.getId() + "/hash-shuffle";
+    Path dataFile = StorageUtil.concatPath(new Path(testDir, ebDir),
+        "" + HashShuffleAppenderManager.getPartParentId(0, conf), "0");
+    FileSystem fs = dataFile.getFileSystem(conf);
+    assertEquals(writtenBytes, fs.getFileStatus(dataFile).getLen());
+
+    FileFragment fragment = new FileFragment("hash-shuffle", dataFile, 0, writtenBytes);
+    Scanner scanner = new RawFile.RawFileScanner(conf, schema, meta, fragment);
+    scanner.init();
+    boolean [] found = new boolean[TASK_NUM * BATCH_NUM * BATCH_SIZE];
+    int rowNum = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      int id = tuple.get(0).asInt4();
+      assertFalse(found[id]);
+      found[id] = true;
+      assertEquals(createTuple(id), tuple);
+      rowNum++;
+    }
+    scanner.close();
+    assertEquals(TASK_NUM * BATCH_NUM * BATCH_SIZE, rowNum);
+  }
+
+  private static Tuple createTuple(int id) {
+    Tuple tuple = new VTuple(4);
+    tuple.put(0, DatumFactory.createInt4(id));
+    tuple.put(1, DatumFactory.createText("name_" + id + "_abcdefghijklmnopqrstuvwxyz0123456789"));
+    tuple.put(2, id % 7 == 0 ? NullDatum.get() : DatumFactory.createFloat8(id * 0.5d));
+    tuple.put(3, DatumFactory.createInt8(-1L * id * 100000L));
+    return tuple;
+  }
+}
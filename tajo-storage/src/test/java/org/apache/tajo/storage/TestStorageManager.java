@@ -20,6 +20,7 @@ package org.apache.tajo.storage;
 
 import com.google.common.collect.Lists;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdfs.*;
@@ -154,6 +155,64 @@ public class TestStorageManager {
     }
   }
 
+  private static void writeFile(FileSystem fs, Path path, String contents) throws IOException {
+    FSDataOutputStream out = fs.create(path, true);
+    out.write(contents.getBytes());
+    out.close();
+  }
+
+  @Test
+  public void testGetSplitWithListingCache() throws Exception {
+    final Configuration conf = new HdfsConfiguration();
+    String testDataPath = TEST_PATH + "/" + UUID.randomUUID().toString();
+    conf.set(MiniDFSCluster.HDFS_MINIDFS_BASEDIR, testDataPath);
+    conf.setInt(TajoConf.ConfVars.STORAGE_SPLIT_LISTING_CACHE_MAX_ENTRIES.varname, 100);
+
+    final MiniDFSCluster cluster = new MiniDFSCluster.Builder(conf)
+        .numDataNodes(1).build();
+
+    try {
+      DistributedFileSystem fs = cluster.getFileSystem();
+      Path tablePath = fs.makeQualified(new Path("/testGetSplitWithListingCache"));
+      int partitionNum = 4;
+      Path [] partitions = new Path[partitionNum];
+      for (int i = 0; i < partitionNum; i++) {
+        partitions[i] = new Path(tablePath, "id=" + i);
+        fs.mkdirs(partitions[i]);
+        writeFile(fs, new Path(partitions[i], "part-0"), i + "\n");
+      }
+      AbstractStorageManager sm = StorageManagerFactory.getStorageManager(new TajoConf(conf), tablePath);
+
+      Schema schema = new Schema();
+      schema.addColumn("id", Type.INT4);
+      TableMeta meta = CatalogUtil.newTableMeta(StoreType.CSV);
+
+      // the splits of parallel generated paths keep the order of the input paths.
+      List<FileFragment> splits = sm.getSplits("data", meta, schema, partitions);
+      assertEquals(partitionNum, splits.size());
+      for (int i = 0; i < partitionNum; i++) {
+        assertEquals(partitions[i].toUri().getPath(), splits.get(i).getPath().getParent().toUri().getPath());
+      }
+
+      // a cached listing is reused while the directory is unchanged.
+      assertEquals(partitionNum, sm.getSplits("data", meta, schema, partitions).size());
+
+      // a file added to a directory invalidates its cached listing.
+      writeFile(fs, new Path(partitions[0], "part-1"), "0\n");
+      assertEquals(partitionNum + 1, sm.getSplits("data", meta, schema, partitions).size());
+
+      // a single file is also cached with its length.
+      Path file = new Path(partitions[1], "part-0");
+      assertEquals(2, sm.getSplits("data", meta, schema, file).get(0).getEndKey().longValue());
+      fs.close();
+    } finally {
+      cluster.shutdown();
+
+      File dir = new File(testDataPath);
+      dir.delete();
+    }
+  }
+
   @Test
   public void testGetSplitWithBlockStorageLocationsBatching() throws Exception {
     final Configuration conf = new HdfsConfiguration();
@@ -199,4 +258,69 @@ public class TestStorageManager {
       dir.delete();
     }
   }
+
+  @Test
+  public void testGetParquetSplitsAlignedToRowGroups() throws Exception {
+    final Configuration conf = new HdfsConfiguration();
+    String testDataPath = TEST_PATH + "/" + UUID.randomUUID().toString();
+    conf.set(MiniDFSCluster.HDFS_MINIDFS_BASEDIR, testDataPath);
+    conf.setLong(DFSConfigKeys.DFS_NAMENODE_MIN_BLOCK_SIZE_KEY, 0);
+    conf.setLong(DFSConfigKeys.DFS_BLOCK_SIZE_KEY, 256 * 1024);
+
+    final MiniDFSCluster cluster = new MiniDFSCluster.Builder(conf)
+        .numDataNodes(2).build();
+
+    try {
+      DistributedFileSystem fs = cluster.getFileSystem();
+      Path tablePath = fs.makeQualified(new Path("/testGetParquetSplitsAlignedToRowGroups"));
+      AbstractStorageManager sm = StorageManagerFactory.getStorageManager(new TajoConf(conf), tablePath);
+
+      Schema schema = new Schema();
+      schema.addColumn("id", Type.INT4);
+      schema.addColumn("name", Type.TEXT);
+      TableMeta meta = CatalogUtil.newTableMeta(StoreType.PARQUET);
+      meta.putOption("parquet.block.size", String.valueOf(64 * 1024));
+      meta.putOption("parquet.enable.dictionary", "false");
+
+      int tupleNum = 100000;
+      Appender appender = sm.getAppender(meta, schema, new Path(tablePath, "table.parquet"));
+      appender.init();
+      for (int i = 0; i < tupleNum; i++) {
+        Tuple tuple = new VTuple(2);
+        tuple.put(0, DatumFactory.createInt4(i));
+        tuple.put(1, DatumFactory.createText("name_" + i));
+        appender.addTuple(tuple);
+      }
+      appender.close();
+
+      List<FileFragment> splits = sm.getSplits("data", meta, schema, tablePath);
+      assertTrue(splits.size() > 1);
+
+      long lastEnd = 0;
+      int tupleCnt = 0;
+      for (FileFragment split : splits) {
+        assertTrue(split.getStartKey() >= lastEnd);
+        assertTrue(split.getHosts().length > 0);
+        lastEnd = split.getStartKey() + split.getEndKey();
+
+        Scanner scanner = sm.getScanner(meta, schema, split);
+        scanner.init();
+        int splitTupleCnt = 0;
+        while (scanner.next() != null) {
+          splitTupleCnt++;
+        }
+        scanner.close();
+        // every split contains at least one row group
+        assertTrue(splitTupleCnt > 0);
+        tupleCnt += splitTupleCnt;
+      }
+      assertEquals(tupleNum, tupleCnt);
+      fs.close();
+    } finally {
+      cluster.shutdown();
+
+      File dir = new File(testDataPath);
+      dir.delete();
+    }
+  }
 }
@@ -54,6 +54,8 @@ import java.util.Collection;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
@@ -124,7 +126,7 @@ public class TestStorages {
         {StoreType.CSV, true, true, true},
         {StoreType.RAW, false, false, true},
         {StoreType.RCFILE, true, true, false},
-        {StoreType.PARQUET, false, false, false},
+        {StoreType.PARQUET, true, false, false},
         {StoreType.SEQUENCEFILE, true, true, false},
         {StoreType.AVRO, false, false, false},
     });
@@ -295,6 +297,287 @@ public class TestStorages {
     assertEquals(tupleNum, tupleCnt);
   }
 
+  @Test
+  public void testSearchCondition() throws IOException {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("age", Type.INT8);
+    schema.addColumn("score", Type.FLOAT4);
+
+    TableMeta meta = CatalogUtil.newTableMeta(storeType);
+    meta.setOptions(StorageUtil.newPhysicalProperties(storeType));
+    if (storeType == StoreType.AVRO) {
+      meta.putOption(StorageConstants.AVRO_SCHEMA_LITERAL,
+                     TEST_PROJECTION_AVRO_SCHEMA);
+    }
+
+    Path tablePath = new Path(testDir, "testSearchCondition.data");
+    Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(meta, schema, tablePath);
+    appender.init();
+    int tupleNum = 10000;
+    VTuple vTuple;
+
+    for (int i = 0; i < tupleNum; i++) {
+      vTuple = new VTuple(3);
+      vTuple.put(0, DatumFactory.createInt4(i));
+      vTuple.put(1, DatumFactory.createInt8(i + 1));
+      vTuple.put(2, DatumFactory.createFloat4(i + 2));
+      appender.addTuple(vTuple);
+    }
+    appender.close();
+
+    FileStatus status = fs.getFileStatus(tablePath);
+    FileFragment fragment = new FileFragment("testReadAndWrite", tablePath, 0, status.getLen());
+
+    // id >= 5000 AND age < 7000, where id is not a target column
+    ScanFilter filter = new ScanFilter(Lists.newArrayList(
+        new ScanFilter.Predicate(0, ScanFilter.Op.GEQ, DatumFactory.createInt4(5000)),
+        new ScanFilter.Predicate(1, ScanFilter.Op.LTH, DatumFactory.createInt8(7000))));
+
+    Schema target = new Schema();
+    target.addColumn("age", Type.INT8);
+    target.addColumn("score", Type.FLOAT4);
+    Scanner scanner = StorageManagerFactory.getStorageManager(conf).getScanner(meta, schema, fragment, target);
+    if (scanner.isSelectable()) {
+      scanner.setSearchCondition(filter);
+    }
+    scanner.init();
+
+    int tupleCnt = 0;
+    int matchedCnt = 0;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      long age = tuple.get(1).asInt8();
+      assertTrue(age + 1 == tuple.get(2).asFloat4());
+      if (age >= 5001 && age < 7000) {
+        matchedCnt++;
+      }
+      tupleCnt++;
+    }
+    scanner.close();
+
+    assertEquals(1999, matchedCnt);
+    // Parquet skips only row groups which cannot satisfy the condition.
+    if (scanner.isSelectable() && storeType != StoreType.PARQUET) {
+      assertEquals(matchedCnt, tupleCnt);
+    } else {
+      assertEquals(tupleNum, tupleCnt);
+    }
+  }
+
+  @Test
+  public void testLazyTokenize() throws IOException {
+    if (storeType != StoreType.CSV) {
+      return;
+    }
+
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+    schema.addColumn("age", Type.INT8);
+    schema.addColumn("score", Type.FLOAT4);
+
+    TableMeta meta = CatalogUtil.newTableMeta(storeType);
+    Path tablePath = new Path(testDir, "testLazyTokenize.data");
+    Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(meta, schema, tablePath);
+    appender.init();
+    int tupleNum = 10000;
+    for (int i = 0; i < tupleNum; i++) {
+      VTuple vTuple = new VTuple(4);
+      vTuple.put(0, DatumFactory.createInt4(i));
+      vTuple.put(1, i % 10 == 0 ? NullDatum.get() : DatumFactory.createText("name_" + i));
+      vTuple.put(2, DatumFactory.createInt8(i + 1));
+      vTuple.put(3, DatumFactory.createFloat4(i + 2));
+      appender.addTuple(vTuple);
+    }
+    appender.close();
+
+    TajoConf lazyConf = new TajoConf(conf);
+    lazyConf.setBoolVar(TajoConf.ConfVars.CSVFILE_LAZY_TOKENIZE_ENABLED, true);
+    FileStatus status = fs.getFileStatus(tablePath);
+    FileFragment fragment = new FileFragment("testLazyTokenize", tablePath, 0, status.getLen());
+
+    Schema target = new Schema();
+    target.addColumn("name", Type.TEXT);
+    target.addColumn("score", Type.FLOAT4);
+    // a storage manager is cached with its configuration, so the scanner is directly created.
+    Scanner scanner = new CSVFile.CSVScanner(lazyConf, schema, meta, fragment);
+    scanner.setTarget(target.toArray());
+    // id >= 5000, where id is not a target column
+    scanner.setSearchCondition(new ScanFilter(Lists.newArrayList(
+        new ScanFilter.Predicate(0, ScanFilter.Op.GEQ, DatumFactory.createInt4(5000)))));
+    scanner.init();
+
+    int tupleCnt = 0;
+    Tuple first = null;
+    Tuple tuple;
+    while ((tuple = scanner.next()) != null) {
+      if (first == null) {
+        first = tuple;
+      }
+      // the tuple is reused across rows
+      assertTrue(first == tuple);
+
+      int id = tuple.get(0).asInt4();
+      assertTrue(id >= 5000);
+      if (id % 10 == 0) {
+        assertTrue(tuple.isNull(1));
+      } else {
+        assertEquals("name_" + id, tuple.getText(1));
+      }
+      assertNull(tuple.get(2));
+      assertEquals(id + 2, tuple.getFloat4(3), 0.0f);
+      tupleCnt++;
+    }
+    scanner.close();
+    assertEquals(5000, tupleCnt);
+  }
+
+  @Test
+  public void testReadAhead() throws IOException {
+    if (storeType != StoreType.CSV && storeType != StoreType.RAW && storeType != StoreType.RCFILE) {
+      return;
+    }
+
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("name", Type.TEXT);
+    schema.addColumn("age", Type.INT8);
+
+    TableMeta meta = CatalogUtil.newTableMeta(storeType);
+    meta.setOptions(StorageUtil.newPhysicalProperties(storeType));
+    Path tablePath = new Path(testDir, "testReadAhead.data");
+    Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(meta, schema, tablePath);
+    appender.init();
+    int tupleNum = 10000;
+    for (int i = 0; i < tupleNum; i++) {
+      VTuple vTuple = new VTuple(3);
+      vTuple.put(0, DatumFactory.createInt4(i));
+      vTuple.put(1, DatumFactory.createText("name_" + i));
+      vTuple.put(2, DatumFactory.createInt8(i + 1));
+      appender.addTuple(vTuple);
+    }
+    appender.close();
+
+    TajoConf readAheadConf = new TajoConf(conf);
+    readAheadConf.setBoolVar(TajoConf.ConfVars.STORAGE_READ_AHEAD_ENABLED, true);
+    // a small buffer makes the scanner switch its buffers many times.
+    readAheadConf.setIntVar(TajoConf.ConfVars.STORAGE_READ_AHEAD_BUFFER_SIZE, 1);
+
+    FileStatus status = fs.getFileStatus(tablePath);
+    long fileLen = status.getLen();
+    long[] splits = splitable ? new long[] {0, fileLen / 3, fileLen} : new long[] {0, fileLen};
+
+    // a storage manager is cached with its configuration, so the scanner is directly created.
+    Class<? extends Scanner> scannerClass =
+        StorageManagerFactory.getStorageManager(conf).getScannerClass(storeType);
+    int tupleCnt = 0;
+    for (int i = 0; i < splits.length - 1; i++) {
+      FileFragment fragment = new FileFragment("testReadAhead", tablePath, splits[i], splits[i + 1] - splits[i]);
+      Scanner scanner = AbstractStorageManager.newScannerInstance(scannerClass, readAheadConf, schema, meta, fragment);
+      scanner.init();
+      Tuple tuple;
+      while ((tuple = scanner.next()) != null) {
+        int id = tuple.get(0).asInt4();
+        assertEquals("name_" + id, tuple.get(1).asChars());
+        assertEquals(id + 1, tuple.get(2).asInt8());
+        tupleCnt++;
+      }
+      scanner.close();
+    }
+    assertEquals(tupleNum, tupleCnt);
+  }
+
+  @Test
+  public void testZoneMap() throws IOException {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("age", Type.INT8);
+    schema.addColumn("score", Type.FLOAT4);
+
+    TableMeta meta = CatalogUtil.newTableMeta(storeType);
+    meta.setOptions(StorageUtil.newPhysicalProperties(storeType));
+    if (storeType == StoreType.AVRO) {
+      meta.putOption(StorageConstants.AVRO_SCHEMA_LITERAL,
+                     TEST_PROJECTION_AVRO_SCHEMA);
+    }
+
+    Path tablePath = new Path(testDir, "testZoneMap.data");
+    Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(meta, schema, tablePath);
+    boolean zoneMapSupported = storeType == StoreType.CSV || storeType == StoreType.RAW ||
+        storeType == StoreType.RCFILE || storeType == StoreType.PARQUET;
+    if (zoneMapSupported) {
+      ((FileAppender) appender).enableZoneMap(4 * 1024);
+    }
+    appender.init();
+    int tupleNum = 10000;
+    VTuple vTuple;
+
+    for (int i = 0; i < tupleNum; i++) {
+      vTuple = new VTuple(3);
+      vTuple.put(0, DatumFactory.createInt4(i));
+      vTuple.put(1, i % 10 == 0 ? NullDatum.get() : DatumFactory.createInt8(i + 1));
+      vTuple.put(2, DatumFactory.createFloat4(i + 2));
+      appender.addTuple(vTuple);
+    }
+    appender.close();
+
+    FileStatus status = fs.getFileStatus(tablePath);
+    ZoneMap zoneMap = ZoneMap.read(fs, status);
+    if (!zoneMapSupported) {
+      assertNull(zoneMap);
+      return;
+    }
+    assertNotNull(zoneMap);
+    // a stale zone map is ignored
+    assertNull(ZoneMap.read(fs, new FileStatus(status.getLen() + 1, false, status.getReplication(),
+        status.getBlockSize(), status.getModificationTime(), tablePath)));
+    long zoneMapModificationTime = fs.getFileStatus(ZoneMap.getZoneMapPath(tablePath)).getModificationTime();
+    fs.setTimes(tablePath, zoneMapModificationTime + 1000, -1);
+    assertNull(ZoneMap.read(fs, fs.getFileStatus(tablePath)));
+    fs.setTimes(tablePath, status.getModificationTime(), -1);
+
+    long rowNum = 0;
+    for (ZoneMap.Block block : zoneMap.getBlocks()) {
+      rowNum += block.getStats().getNumRows();
+    }
+    assertEquals(tupleNum, rowNum);
+    // Parquet does not track offsets, so its zone map has a single block.
+    if (storeType == StoreType.PARQUET) {
+      assertEquals(1, zoneMap.getBlocks().size());
+    } else {
+      assertTrue(zoneMap.getBlocks().size() > 4);
+    }
+
+    List<FileFragment> fragments = Lists.newArrayList();
+    long fragmentSize = status.getLen() / 4;
+    for (int i = 0; i < 4; i++) {
+      long start = i * fragmentSize;
+      long length = i == 3 ? status.getLen() - start : fragmentSize;
+      fragments.add(new FileFragment("testZoneMap", tablePath, start, length));
+    }
+
+    // id >= 5000
+    ScanFilter filter = new ScanFilter(Lists.newArrayList(
+        new ScanFilter.Predicate(0, ScanFilter.Op.GEQ, DatumFactory.createInt4(5000))));
+    List<FileFragment> remains = ZoneMap.pruneFragments(conf, schema, filter, fragments);
+    if (storeType == StoreType.PARQUET) {
+      assertEquals(4, remains.size());
+    } else {
+      assertTrue(remains.size() < 4);
+      assertEquals(fragments.get(3), remains.get(remains.size() - 1));
+    }
+
+    // id > 10000 cannot be satisfied by any row
+    filter = new ScanFilter(Lists.newArrayList(
+        new ScanFilter.Predicate(0, ScanFilter.Op.GTH, DatumFactory.createInt4(10000))));
+    assertEquals(0, ZoneMap.pruneFragments(conf, schema, filter, fragments).size());
+
+    // age IS NULL is satisfied by some rows in every block
+    filter = new ScanFilter(Lists.newArrayList(new ScanFilter.Predicate(1, ScanFilter.Op.IS_NULL, null)));
+    assertEquals(4, ZoneMap.pruneFragments(conf, schema, filter, fragments).size());
+  }
+
   @Test
   public void testVariousTypes() throws IOException {
     Schema schema = new Schema();
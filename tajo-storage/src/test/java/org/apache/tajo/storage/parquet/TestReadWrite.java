@@ -19,6 +19,7 @@
 package org.apache.tajo.storage.parquet;
 
 import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
 
 import java.io.File;
 import java.io.IOException;
@@ -31,12 +32,15 @@ import org.apache.hadoop.fs.Path;
 import org.apache.tajo.catalog.Column;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.datum.Datum;
 import org.apache.tajo.datum.DatumFactory;
 import org.apache.tajo.datum.NullDatum;
+import org.apache.tajo.storage.ScanFilter;
 import org.apache.tajo.storage.Tuple;
 import org.apache.tajo.storage.VTuple;
 
 import org.junit.Test;
+import parquet.hadoop.metadata.CompressionCodecName;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
@@ -111,4 +115,58 @@ public class TestReadWrite {
     assertArrayEquals(HELLO.getBytes(Charsets.UTF_8), tuple.getBytes(9));
     assertEquals(NullDatum.get(), tuple.get(10));
   }
+
+  @Test
+  public void testFilterRowGroups() throws Exception {
+    Path file = createTmpFile();
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("fruit", Type.TEXT);
+    String [] fruits = new String[] {"apple", "banana", "cherry"};
+
+    // small row groups
+    TajoParquetWriter writer = new TajoParquetWriter(file, schema,
+        CompressionCodecName.GZIP, 1024, 1024, true, false);
+    int rowNum = 3000;
+    for (int i = 0; i < rowNum; i++) {
+      Tuple tuple = new VTuple(schema.size());
+      tuple.put(0, DatumFactory.createInt4(i));
+      tuple.put(1, DatumFactory.createText(fruits[i / 1000]));
+      writer.write(tuple);
+    }
+    writer.close();
+
+    // fruit IN ('banana') is checked by dictionaries
+    ScanFilter filter = new ScanFilter(Lists.newArrayList(new ScanFilter.Predicate(1,
+        new Datum[] {DatumFactory.createText("banana")})));
+    int [] counts = countRows(file, schema, filter);
+    assertEquals(1000, counts[1]);
+    assertTrue(counts[0] < rowNum);
+
+    // id < 100 OR id >= 2900 is checked by statistics
+    filter = new ScanFilter(Lists.newArrayList(new ScanFilter.Predicate(ScanFilter.Op.OR,
+        Lists.newArrayList(
+            new ScanFilter.Predicate(0, ScanFilter.Op.LTH, DatumFactory.createInt4(100)),
+            new ScanFilter.Predicate(0, ScanFilter.Op.GEQ, DatumFactory.createInt4(2900))))));
+    counts = countRows(file, schema, filter);
+    assertEquals(200, counts[1]);
+    assertTrue(counts[0] < rowNum);
+  }
+
+  /**
+   * @return The number of read rows and the number of rows satisfying the filter
+   */
+  private int [] countRows(Path file, Schema schema, ScanFilter filter) throws IOException {
+    TajoParquetReader reader = new TajoParquetReader(file, schema, schema, filter);
+    int [] counts = new int[2];
+    Tuple tuple;
+    while ((tuple = reader.read()) != null) {
+      counts[0]++;
+      if (filter.isMatched(tuple)) {
+        counts[1]++;
+      }
+    }
+    reader.close();
+    return counts;
+  }
 }
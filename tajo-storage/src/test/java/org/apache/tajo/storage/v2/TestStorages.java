@@ -118,6 +118,7 @@ public class TestStorages {
         {StoreType.PARQUET, false, false},
         {StoreType.AVRO, false, false},
         {StoreType.RAW, false, false},
+        {StoreType.SEQUENCEFILE, true, true},
     });
   }
 
@@ -230,6 +231,80 @@ public class TestStorages {
     assertEquals(tupleNum, tupleCnt);
   }
 
+  @Test
+  public void testDiskScheduledScan() throws IOException {
+    Schema schema = new Schema();
+    schema.addColumn("id", Type.INT4);
+    schema.addColumn("age", Type.INT8);
+    schema.addColumn("score", Type.FLOAT4);
+
+    TableMeta meta = CatalogUtil.newTableMeta(storeType);
+    meta.setOptions(StorageUtil.newPhysicalProperties(storeType));
+    if (storeType == StoreType.AVRO) {
+      meta.putOption(StorageConstants.AVRO_SCHEMA_LITERAL,
+                     TEST_PROJECTION_AVRO_SCHEMA);
+    }
+
+    int fileNum = 4;
+    int tupleNum = 10000;
+    Scanner[] scanners = new Scanner[fileNum];
+    for (int i = 0; i < fileNum; i++) {
+      Path tablePath = new Path(testDir, "testDiskScheduledScan_" + i + ".data");
+      Appender appender = StorageManagerFactory.getStorageManager(conf).getAppender(meta, schema, tablePath);
+      appender.init();
+      for (int j = 0; j < tupleNum; j++) {
+        VTuple vTuple = new VTuple(3);
+        vTuple.put(0, DatumFactory.createInt4(j));
+        vTuple.put(1, DatumFactory.createInt8(j + 1));
+        vTuple.put(2, DatumFactory.createFloat4(j + 2));
+        appender.addTuple(vTuple);
+      }
+      appender.close();
+
+      FileStatus status = fs.getFileStatus(tablePath);
+      FileFragment fragment = new FileFragment("testDiskScheduledScan", tablePath, 0, status.getLen());
+      scanners[i] = StorageManagerFactory.getStorageManager(conf).getScanner(meta, schema, fragment, schema);
+      // every file format is read in the schedule slots of the disk scheduler.
+      assertTrue(scanners[i] instanceof FileScannerV2);
+    }
+
+    // the scanners are read alternately, so they are scheduled concurrently.
+    int[] tupleCnts = new int[fileNum];
+    for (Scanner eachScanner : scanners) {
+      eachScanner.init();
+    }
+    boolean remaining = true;
+    while (remaining) {
+      remaining = false;
+      for (int i = 0; i < fileNum; i++) {
+        if (scanners[i] == null) {
+          continue;
+        }
+        Tuple tuple = scanners[i].next();
+        if (tuple == null) {
+          scanners[i].close();
+          scanners[i] = null;
+        } else {
+          assertEquals(tupleCnts[i], tuple.get(0).asInt4());
+          assertEquals(tupleCnts[i] + 1, tuple.get(1).asInt8());
+          tupleCnts[i]++;
+          remaining = true;
+        }
+      }
+    }
+
+    for (int i = 0; i < fileNum; i++) {
+      assertEquals(tupleNum, tupleCnts[i]);
+    }
+
+    long readBytes = 0;
+    StorageManagerV2 storageManager = (StorageManagerV2) StorageManagerFactory.getStorageManager(conf);
+    for (DiskFileScanScheduler eachScheduler : storageManager.getDiskFileScanSchedulers()) {
+      readBytes += eachScheduler.getTotalReadBytesFromDisk();
+    }
+    assertTrue(readBytes > 0);
+  }
+
   @Test
   public void testVariousTypes() throws IOException {
     Schema schema = new Schema();
@@ -0,0 +1,251 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.pullserver;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.IOUtils;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.storage.index.bst.BSTIndex;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A bounded LRU cache of opened BST index readers of range shuffle outputs. Without it, every range fetch
+ * reads an index file from disk again although all fetches to the same map output use the same index.
+ *
+ * An index is keyed by its output directory (i.e., <code>{queryId}/output/{sid}/{taskAttemptId}/output</code>).
+ * Cached indexes of an execution block or a query are evicted when it is cleaned up, and indexes unused for
+ * the expire time are evicted by {@link #evictExpired()}. An evicted reader is closed once all requests using it
+ * release it.
+ */
+public class BSTIndexReaderCache {
+  private static final Log LOG = LogFactory.getLog(BSTIndexReaderCache.class);
+
+  /** the maximum number of offset ranges cached for each index */
+  private static final int MAX_CACHED_RANGES = 128;
+
+  private final LinkedHashMap<String, CachedIndex> cache = new LinkedHashMap<String, CachedIndex>(16, 0.75f, true);
+  private final int maxEntries;
+  private final long expireMillis;
+
+  public BSTIndexReaderCache(int maxEntries, long expireMillis) {
+    this.maxEntries = maxEntries;
+    this.expireMillis = expireMillis;
+  }
+
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  /**
+   * Opens the index file of an output directory without caching it. Its reader must be closed by the caller.
+   */
+  public static CachedIndex open(Path outDir) throws IOException {
+    BSTIndex.BSTIndexReader reader = new BSTIndex(new TajoConf()).getIndexReader(new Path(outDir, "index"));
+    reader.open();
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("BSTIndex is loaded from disk (" + reader.getFirstKey() + ", " + reader.getLastKey() + ")");
+    }
+    return new CachedIndex(getExecutionBlockKey(outDir), reader);
+  }
+
+  /**
+   * Returns a cached index of an output directory, or opens its index file if absent.
+   * The returned index must be released by {@link #release(CachedIndex)}.
+   */
+  public CachedIndex acquire(Path outDir) throws IOException {
+    String key = outDir.toString();
+
+    synchronized (this) {
+      CachedIndex index = cache.get(key);
+      if (index != null) {
+        index.refCount++;
+        return index;
+      }
+    }
+
+    // an index file is read without holding the lock.
+    CachedIndex loaded = open(outDir);
+    CachedIndex index;
+    synchronized (this) {
+      index = cache.get(key);
+      if (index == null) {
+        index = loaded;
+        cache.put(key, index);
+      }
+      index.refCount++;
+      evictIfFull();
+    }
+
+    // another request has loaded the same index in the meantime.
+    if (index != loaded) {
+      loaded.close();
+    }
+    return index;
+  }
+
+  public synchronized void release(CachedIndex index) {
+    index.refCount--;
+    index.lastAccessTime = System.currentTimeMillis();
+    if (index.evicted && index.refCount == 0) {
+      index.close();
+    }
+  }
+
+  /**
+   * Evicts all cached indexes of a query.
+   */
+  public synchronized void invalidate(String queryId) {
+    String prefix = queryId + "/";
+    Iterator<CachedIndex> it = cache.values().iterator();
+    while (it.hasNext()) {
+      CachedIndex index = it.next();
+      if (index.ebKey.startsWith(prefix)) {
+        it.remove();
+        evict(index);
+      }
+    }
+  }
+
+  /**
+   * Evicts all cached indexes of an execution block.
+   */
+  public synchronized void invalidate(String queryId, String sid) {
+    String ebKey = queryId + "/" + sid;
+    Iterator<CachedIndex> it = cache.values().iterator();
+    while (it.hasNext()) {
+      CachedIndex index = it.next();
+      if (index.ebKey.equals(ebKey)) {
+        it.remove();
+        evict(index);
+      }
+    }
+  }
+
+  public synchronized void invalidateAll() {
+    for (CachedIndex index : cache.values()) {
+      evict(index);
+    }
+    cache.clear();
+  }
+
+  /**
+   * Evicts the indexes which have not been used for the expire time. A query whose cleanup request does not reach
+   * this cache (e.g., the pull server runs as a YARN auxiliary service) does not keep its index files opened.
+   */
+  public void evictExpired() {
+    evictExpired(System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  synchronized void evictExpired(long now) {
+    Iterator<CachedIndex> it = cache.values().iterator();
+    while (it.hasNext()) {
+      CachedIndex index = it.next();
+      if (index.refCount == 0 && now - index.lastAccessTime >= expireMillis) {
+        it.remove();
+        evict(index);
+      }
+    }
+  }
+
+  private void evictIfFull() {
+    Iterator<CachedIndex> it = cache.values().iterator();
+    while (cache.size() > maxEntries && it.hasNext()) {
+      CachedIndex eldest = it.next();
+      it.remove();
+      evict(eldest);
+    }
+  }
+
+  private void evict(CachedIndex index) {
+    index.evicted = true;
+    if (index.refCount == 0) {
+      index.close();
+    }
+  }
+
+  /**
+   * @return {queryId}/{sid} of an output directory
+   */
+  private static String getExecutionBlockKey(Path outDir) {
+    Path taskDir = outDir.getParent();
+    Path ebDir = taskDir != null ? taskDir.getParent() : null;
+    Path queryDir = ebDir != null && ebDir.getParent() != null ? ebDir.getParent().getParent() : null;
+    if (queryDir == null) {
+      return outDir.toString();
+    }
+    return queryDir.getName() + "/" + ebDir.getName();
+  }
+
+  public static class CachedIndex {
+    private final String ebKey;
+    private final BSTIndex.BSTIndexReader reader;
+    private final Map<String, long []> ranges = new LinkedHashMap<String, long[]>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+        return size() > MAX_CACHED_RANGES;
+      }
+    };
+
+    // guarded by BSTIndexReaderCache
+    private int refCount = 0;
+    private boolean evicted = false;
+    private long lastAccessTime = System.currentTimeMillis();
+    private volatile boolean closed = false;
+
+    CachedIndex(String ebKey, BSTIndex.BSTIndexReader reader) {
+      this.ebKey = ebKey;
+      this.reader = reader;
+    }
+
+    public BSTIndex.BSTIndexReader getReader() {
+      return reader;
+    }
+
+    /**
+     * @return A pair of start and end offsets of a range previously found, or null if absent.
+     */
+    public long [] getRange(String rangeKey) {
+      synchronized (ranges) {
+        return ranges.get(rangeKey);
+      }
+    }
+
+    public void putRange(String rangeKey, long startOffset, long endOffset) {
+      synchronized (ranges) {
+        ranges.put(rangeKey, new long[] {startOffset, endOffset});
+      }
+    }
+
+    public void close() {
+      closed = true;
+      IOUtils.cleanup(LOG, reader);
+    }
+
+    @VisibleForTesting
+    boolean isClosed() {
+      return closed;
+    }
+  }
+}
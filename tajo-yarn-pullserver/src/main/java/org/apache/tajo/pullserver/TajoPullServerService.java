@@ -19,6 +19,7 @@
 package org.apache.tajo.pullserver;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.commons.codec.binary.Base64;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
@@ -42,6 +43,7 @@ import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
 import org.apache.hadoop.security.ssl.SSLFactory;
 import org.apache.hadoop.service.AbstractService;
 import org.apache.hadoop.yarn.api.records.ApplicationId;
+import org.apache.tajo.QueryIdFactory;
 import org.apache.tajo.catalog.Schema;
 import org.apache.tajo.conf.TajoConf;
 import org.apache.tajo.conf.TajoConf.ConfVars;
@@ -72,6 +74,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -92,6 +96,15 @@ public class TajoPullServerService extends AbstractService {
   public static final String SHUFFLE_READAHEAD_BYTES = "tajo.pullserver.readahead.bytes";
   public static final int DEFAULT_SHUFFLE_READAHEAD_BYTES = 4 * 1024 * 1024;
 
+  public static final String INDEX_CACHE_SIZE = "tajo.pullserver.index-cache.size";
+  public static final int DEFAULT_INDEX_CACHE_SIZE = 1024;
+
+  public static final String INDEX_CACHE_EXPIRE_MS = "tajo.pullserver.index-cache.expire-ms";
+  public static final long DEFAULT_INDEX_CACHE_EXPIRE_MS = 5 * 60 * 1000L;
+
+  private BSTIndexReaderCache indexReaderCache;
+  private ScheduledExecutorService indexCacheCleaner;
+
   private int port;
   private ChannelFactory selector;
   private final ChannelGroup accepted = new DefaultChannelGroup();
@@ -198,6 +211,26 @@ public class TajoPullServerService extends AbstractService {
 
   public void stopApp(ApplicationId appId) {
     userRsrc.remove(appId.toString());
+    // an application of Tajo corresponds to a query (see ApplicationIdUtils)
+    invalidateIndexCache(QueryIdFactory.newQueryId(appId.getClusterTimestamp(), appId.getId()).toString());
+  }
+
+  /**
+   * Evicts cached range shuffle indexes of a query.
+   */
+  public void invalidateIndexCache(String queryId) {
+    if (indexReaderCache != null) {
+      indexReaderCache.invalidate(queryId);
+    }
+  }
+
+  /**
+   * Evicts cached range shuffle indexes of an execution block.
+   */
+  public void invalidateIndexCache(String queryId, String sid) {
+    if (indexReaderCache != null) {
+      indexReaderCache.invalidate(queryId, sid);
+    }
   }
 
   @Override
@@ -209,6 +242,18 @@ public class TajoPullServerService extends AbstractService {
       readaheadLength = conf.getInt(SHUFFLE_READAHEAD_BYTES,
           DEFAULT_SHUFFLE_READAHEAD_BYTES);
 
+      long indexCacheExpireMs = conf.getLong(INDEX_CACHE_EXPIRE_MS, DEFAULT_INDEX_CACHE_EXPIRE_MS);
+      indexReaderCache = new BSTIndexReaderCache(conf.getInt(INDEX_CACHE_SIZE, DEFAULT_INDEX_CACHE_SIZE),
+          indexCacheExpireMs);
+      indexCacheCleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setNameFormat("PullServer IndexCache Cleaner").setDaemon(true).build());
+      indexCacheCleaner.scheduleWithFixedDelay(new Runnable() {
+        @Override
+        public void run() {
+          indexReaderCache.evictExpired();
+        }
+      }, indexCacheExpireMs, indexCacheExpireMs, TimeUnit.MILLISECONDS);
+
       int workerNum = conf.getInt("tajo.shuffle.rpc.server.io-thread-num",
           Runtime.getRuntime().availableProcessors() * 2);
 
@@ -319,6 +364,13 @@ public class TajoPullServerService extends AbstractService {
       bootstrap.releaseExternalResources();
       pipelineFact.destroy();
 
+      if (indexCacheCleaner != null) {
+        indexCacheCleaner.shutdownNow();
+      }
+      if (indexReaderCache != null) {
+        indexReaderCache.invalidateAll();
+      }
+
       localFS.close();
     } catch (Throwable t) {
       LOG.error(t);
@@ -515,9 +567,6 @@ public class TajoPullServerService extends AbstractService {
       String shuffleType = types.get(0);
       String sid = subQueryIds.get(0);
 
-      long offset = (offsetList != null && !offsetList.isEmpty()) ? Long.parseLong(offsetList.get(0)) : -1L;
-      long length = (lengthList != null && !lengthList.isEmpty()) ? Long.parseLong(lengthList.get(0)) : -1L;
-
       if (!shuffleType.equals("h") && !shuffleType.equals("s") && taskIdList == null) {
         sendError(ctx, "Required taskIds", BAD_REQUEST);
       }
@@ -552,7 +601,7 @@ public class TajoPullServerService extends AbstractService {
 
         FileChunk chunk;
         try {
-          chunk = getFileCunks(path, startKey, endKey, last);
+          chunk = getCachedFileChunks(path, startKey, endKey, last);
         } catch (Throwable t) {
           LOG.error("ERROR Request: " + request.getUri(), t);
           sendError(ctx, "Cannot get file chunks to be sent", BAD_REQUEST);
@@ -564,29 +613,47 @@ public class TajoPullServerService extends AbstractService {
 
         // if a subquery requires a hash shuffle or a scattered hash shuffle
       } else if (shuffleType.equals("h") || shuffleType.equals("s")) {
-        int partParentId = HashShuffleAppenderManager.getPartParentId(Integer.parseInt(partId), (TajoConf) conf);
-        String partPath = queryBaseDir + "/" + sid + "/hash-shuffle/" + partParentId + "/" + partId;
-        if (!lDirAlloc.ifExists(partPath, conf)) {
-          LOG.warn("Partition shuffle file not exists: " + partPath);
-          sendError(ctx, NO_CONTENT);
+        // A request may contain multiple partitions and their offset ranges in comma separated values.
+        // All of them are sent in one response.
+        String [] partIdArray = partId.split(",");
+        String [] offsetArray = (offsetList != null && !offsetList.isEmpty()) ? offsetList.get(0).split(",") : null;
+        String [] lengthArray = (lengthList != null && !lengthList.isEmpty()) ? lengthList.get(0).split(",") : null;
+        if ((offsetArray != null && offsetArray.length != partIdArray.length) ||
+            (lengthArray != null && lengthArray.length != partIdArray.length)) {
+          sendError(ctx, "The numbers of part ids, offsets and lengths are different", BAD_REQUEST);
           return;
         }
 
-        Path path = localFS.makeQualified(lDirAlloc.getLocalPathToRead(partPath, conf));
+        for (int i = 0; i < partIdArray.length; i++) {
+          long offset = offsetArray != null ? Long.parseLong(offsetArray[i]) : -1L;
+          long length = lengthArray != null ? Long.parseLong(lengthArray[i]) : -1L;
 
-        File file = new File(path.toUri());
-        long startPos = (offset >= 0 && length >= 0) ? offset : 0;
-        long readLen = (offset >= 0 && length >= 0) ? length : file.length();
+          int partParentId = HashShuffleAppenderManager.getPartParentId(Integer.parseInt(partIdArray[i]),
+              (TajoConf) conf);
+          String partPath = queryBaseDir + "/" + sid + "/hash-shuffle/" + partParentId + "/" + partIdArray[i];
+          if (!lDirAlloc.ifExists(partPath, conf)) {
+            LOG.warn("Partition shuffle file not exists: " + partPath);
+            continue;
+          }
 
-        if (startPos >= file.length()) {
-          String errorMessage = "Start pos[" + startPos + "] great than file length [" + file.length() + "]";
-          LOG.error(errorMessage);
-          sendError(ctx, errorMessage, BAD_REQUEST);
-          return;
+          Path path = localFS.makeQualified(lDirAlloc.getLocalPathToRead(partPath, conf));
+
+          File file = new File(path.toUri());
+          long startPos = (offset >= 0 && length >= 0) ? offset : 0;
+          long readLen = (offset >= 0 && length >= 0) ? length : file.length();
+
+          if (startPos >= file.length()) {
+            String errorMessage = "Start pos[" + startPos + "] great than file length [" + file.length() + "]";
+            LOG.error(errorMessage);
+            sendError(ctx, errorMessage, BAD_REQUEST);
+            return;
+          }
+          if (LOG.isDebugEnabled()) {
+            LOG.debug("RequestURL: " + request.getUri() + ", part=" + partIdArray[i] + ", fileLen=" + file.length());
+          }
+          FileChunk chunk = new FileChunk(file, startPos, readLen);
+          chunks.add(chunk);
         }
-        LOG.info("RequestURL: " + request.getUri() + ", fileLen=" + file.length());
-        FileChunk chunk = new FileChunk(file, startPos, readLen);
-        chunks.add(chunk);
       } else {
         LOG.error("Unknown shuffle type: " + shuffleType);
         sendError(ctx, "Unknown shuffle type:" + shuffleType, BAD_REQUEST);
@@ -702,17 +769,43 @@ public class TajoPullServerService extends AbstractService {
                                       String startKey,
                                       String endKey,
                                       boolean last) throws IOException {
-    BSTIndex index = new BSTIndex(new TajoConf());
-    BSTIndex.BSTIndexReader idxReader =
-        index.getIndexReader(new Path(outDir, "index"));
-    idxReader.open();
+    BSTIndexReaderCache.CachedIndex index = BSTIndexReaderCache.open(outDir);
+    try {
+      return getFileCunks(outDir, index, startKey, endKey, last);
+    } finally {
+      index.close();
+    }
+  }
+
+  private FileChunk getCachedFileChunks(Path outDir,
+                                        String startKey,
+                                        String endKey,
+                                        boolean last) throws IOException {
+    BSTIndexReaderCache.CachedIndex cachedIndex = indexReaderCache.acquire(outDir);
+    try {
+      return getFileCunks(outDir, cachedIndex, startKey, endKey, last);
+    } finally {
+      indexReaderCache.release(cachedIndex);
+    }
+  }
+
+  private static FileChunk getFileCunks(Path outDir,
+                                        BSTIndexReaderCache.CachedIndex cachedIndex,
+                                        String startKey,
+                                        String endKey,
+                                        boolean last) throws IOException {
+    BSTIndex.BSTIndexReader idxReader = cachedIndex.getReader();
     Schema keySchema = idxReader.getKeySchema();
     TupleComparator comparator = idxReader.getComparator();
 
-    LOG.info("BSTIndex is loaded from disk (" + idxReader.getFirstKey() + ", "
-        + idxReader.getLastKey());
-
     File data = new File(URI.create(outDir.toUri() + "/output"));
+
+    String rangeKey = startKey + ":" + endKey + (last ? ":last" : "");
+    long [] cachedRange = cachedIndex.getRange(rangeKey);
+    if (cachedRange != null) {
+      return new FileChunk(data, cachedRange[0], cachedRange[1] - cachedRange[0]);
+    }
+
     byte [] startBytes = Base64.decodeBase64(startKey);
     byte [] endBytes = Base64.decodeBase64(endKey);
 
@@ -733,11 +826,13 @@ public class TajoPullServerService extends AbstractService {
           + ", decoded byte size: " + endBytes.length, t);
     }
 
-    LOG.info("GET Request for " + data.getAbsolutePath() + " (start="+start+", end="+ end +
-        (last ? ", last=true" : "") + ")");
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("GET Request for " + data.getAbsolutePath() + " (start=" + start + ", end=" + end +
+          (last ? ", last=true" : "") + ")");
+    }
 
     if (idxReader.getFirstKey() == null && idxReader.getLastKey() == null) { // if # of rows is zero
-      LOG.info("There is no contents");
+      LOG.debug("There is no contents");
       return null;
     }
 
@@ -799,10 +894,12 @@ public class TajoPullServerService extends AbstractService {
       endOffset = data.length();
     }
 
-    idxReader.close();
+    cachedIndex.putRange(rangeKey, startOffset, endOffset);
 
     FileChunk chunk = new FileChunk(data, startOffset, endOffset - startOffset);
-    LOG.info("Retrieve File Chunk: " + chunk);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Retrieve File Chunk: " + chunk);
+    }
     return chunk;
   }
 }
@@ -0,0 +1,167 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.tajo.pullserver;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.tajo.catalog.Schema;
+import org.apache.tajo.catalog.SortSpec;
+import org.apache.tajo.common.TajoDataTypes.Type;
+import org.apache.tajo.conf.TajoConf;
+import org.apache.tajo.datum.DatumFactory;
+import org.apache.tajo.storage.Tuple;
+import org.apache.tajo.storage.TupleComparator;
+import org.apache.tajo.storage.VTuple;
+import org.apache.tajo.storage.index.bst.BSTIndex;
+import org.apache.tajo.storage.index.bst.BSTIndex.BSTIndexWriter;
+import org.apache.tajo.util.CommonTestingUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class TestBSTIndexReaderCache {
+  private static final String TEST_PATH = "target/test-data/TestBSTIndexReaderCache";
+  private TajoConf conf;
+  private Path testDir;
+
+  @Before
+  public void setUp() throws Exception {
+    conf = new TajoConf();
+    testDir = CommonTestingUtil.getTestDir(TEST_PATH);
+  }
+
+  /**
+   * Writes the index of a range shuffle output, and returns its output directory.
+   */
+  private Path createIndex(String queryId, String sid, String taskAttemptId) throws IOException {
+    Path outDir = new Path(testDir, queryId + "/output/" + sid + "/" + taskAttemptId + "/output");
+    Schema keySchema = new Schema();
+    keySchema.addColumn("key", Type.INT4);
+    TupleComparator comparator = new TupleComparator(keySchema,
+        new SortSpec[] {new SortSpec(keySchema.getColumn(0))});
+
+    BSTIndexWriter writer = new BSTIndex(conf).getIndexWriter(new Path(outDir, "index"),
+        BSTIndex.TWO_LEVEL_INDEX, keySchema, comparator);
+    writer.open();
+    for (int i = 0; i < 10; i++) {
+      Tuple key = new VTuple(1);
+      key.put(0, DatumFactory.createInt4(i));
+      writer.write(key, i * 100);
+    }
+    writer.flush();
+    writer.close();
+    return testDir.getFileSystem(conf).makeQualified(outDir);
+  }
+
+  @Test
+  public void testAcquireAndRelease() throws IOException {
+    BSTIndexReaderCache cache = new BSTIndexReaderCache(10, 60 * 1000);
+    Path outDir = createIndex("q_1_0001", "1", "ta_1");
+
+    BSTIndexReaderCache.CachedIndex first = cache.acquire(outDir);
+    BSTIndexReaderCache.CachedIndex second = cache.acquire(outDir);
+    assertSame(first, second);
+    assertEquals(1, cache.size());
+    assertEquals(0, first.getReader().getFirstKey().getInt4(0));
+
+    cache.release(first);
+    cache.release(second);
+    // a released index is kept opened for the next request
+    assertFalse(first.isClosed());
+    assertSame(first, cache.acquire(outDir));
+    cache.release(first);
+  }
+
+  @Test
+  public void testEvictWhileInUse() throws IOException {
+    BSTIndexReaderCache cache = new BSTIndexReaderCache(1, 60 * 1000);
+    Path outDir1 = createIndex("q_1_0001", "1", "ta_1");
+    Path outDir2 = createIndex("q_1_0001", "1", "ta_2");
+
+    BSTIndexReaderCache.CachedIndex index1 = cache.acquire(outDir1);
+    BSTIndexReaderCache.CachedIndex index2 = cache.acquire(outDir2);
+    assertEquals(1, cache.size());
+
+    // an evicted index is closed after the last request using it releases it
+    assertFalse(index1.isClosed());
+    cache.release(index1);
+    assertTrue(index1.isClosed());
+
+    cache.release(index2);
+    assertFalse(index2.isClosed());
+
+    // an evicted index is loaded again
+    BSTIndexReaderCache.CachedIndex reloaded = cache.acquire(outDir1);
+    assertNotSame(index1, reloaded);
+    cache.release(reloaded);
+    assertTrue(index2.isClosed());
+  }
+
+  @Test
+  public void testInvalidate() throws IOException {
+    BSTIndexReaderCache cache = new BSTIndexReaderCache(10, 60 * 1000);
+    BSTIndexReaderCache.CachedIndex q1Sid1 = cache.acquire(createIndex("q_1_0001", "1", "ta_1"));
+    BSTIndexReaderCache.CachedIndex q1Sid2 = cache.acquire(createIndex("q_1_0001", "2", "ta_1"));
+    BSTIndexReaderCache.CachedIndex q2Sid1 = cache.acquire(createIndex("q_1_0002", "1", "ta_1"));
+    cache.release(q1Sid1);
+    cache.release(q1Sid2);
+    assertEquals(3, cache.size());
+
+    cache.invalidate("q_1_0001", "1");
+    assertEquals(2, cache.size());
+    assertTrue(q1Sid1.isClosed());
+    assertFalse(q1Sid2.isClosed());
+
+    cache.invalidate("q_1_0001");
+    assertEquals(1, cache.size());
+    assertTrue(q1Sid2.isClosed());
+    assertFalse(q2Sid1.isClosed());
+
+    // an index in use is closed when it is released
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertFalse(q2Sid1.isClosed());
+    cache.release(q2Sid1);
+    assertTrue(q2Sid1.isClosed());
+  }
+
+  @Test
+  public void testEvictExpired() throws IOException {
+    BSTIndexReaderCache cache = new BSTIndexReaderCache(10, 1000);
+    BSTIndexReaderCache.CachedIndex idle = cache.acquire(createIndex("q_1_0001", "1", "ta_1"));
+    BSTIndexReaderCache.CachedIndex inUse = cache.acquire(createIndex("q_1_0001", "1", "ta_2"));
+    cache.release(idle);
+
+    long now = System.currentTimeMillis();
+    cache.evictExpired(now - 1000);
+    assertEquals(2, cache.size());
+
+    cache.evictExpired(now + 1000);
+    assertEquals(1, cache.size());
+    assertTrue(idle.isClosed());
+    assertFalse(inUse.isClosed());
+
+    cache.release(inUse);
+    cache.evictExpired(System.currentTimeMillis() + 1000);
+    assertEquals(0, cache.size());
+    assertTrue(inUse.isClosed());
+  }
+}